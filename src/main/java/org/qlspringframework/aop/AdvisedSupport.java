@@ -1,6 +1,13 @@
 package org.qlspringframework.aop;
 
 import org.aopalliance.intercept.MethodInterceptor;
+import org.qlspringframework.aop.framework.InvocationErrorReporter;
+import org.qlspringframework.aop.framework.adapter.AdvisorAdapterRegistry;
+import org.qlspringframework.aop.framework.adapter.DefaultAdvisorAdapterRegistry;
+import org.qlspringframework.aop.target.HotSwappableTargetSource;
+
+import java.lang.reflect.Method;
+import java.util.*;
 
 /**
  * AdvisedSupper类是用于配置和管理目标源、方法匹配器和方法拦截器的超级类
@@ -12,6 +19,9 @@ import org.aopalliance.intercept.MethodInterceptor;
  */
 public class AdvisedSupport {
 
+    // 没有任何拦截器的方法对应的拦截器链
+    private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
+
     // 目标源，代表了需要被拦截和处理的目标对象
     private TargetSource targetSource;
 
@@ -24,6 +34,110 @@ public class AdvisedSupport {
     // 是否开启Cglib代理
     private boolean proxyTargetClass = true;
 
+    // 作用于目标对象的Advisor，按照列表顺序执行
+    private final List<Advisor> advisors = new ArrayList<>();
+
+    // 把Advisor中的Advice转换为拦截器的适配器注册表
+    private AdvisorAdapterRegistry advisorAdapterRegistry = DefaultAdvisorAdapterRegistry.getInstance();
+
+    // 代理方法调用异常的上报器，为空时不上报
+    private volatile InvocationErrorReporter invocationErrorReporter;
+
+    // 方法与拦截器链的缓存，代理类传入的Method对象是固定的，因此按照对象引用作为key
+    // 采用写时复制，调用时只读取volatile引用，不需要加锁
+    private volatile Map<Method, MethodInterceptor[]> methodCache = new IdentityHashMap<>();
+
+    /**
+     * 获取方法对应的拦截器链
+     * 第一次调用某个方法时执行切点匹配并缓存结果，之后同一个方法直接从缓存当中获取
+     *
+     * @param method 代理对象被调用的方法
+     * @param targetClass 目标对象的类型
+     * @return 拦截器链，方法不需要被拦截时返回空数组
+     */
+    public MethodInterceptor[] getInterceptors(Method method, Class<?> targetClass) {
+        MethodInterceptor[] interceptors = methodCache.get(method);
+        if (interceptors == null) {
+            synchronized (this) {
+                interceptors = methodCache.get(method);
+                if (interceptors == null) {
+                    interceptors = resolveInterceptors(method, targetClass);
+                    Map<Method, MethodInterceptor[]> newCache = new IdentityHashMap<>(methodCache);
+                    newCache.put(method, interceptors);
+                    methodCache = newCache;
+                }
+            }
+        }
+        return interceptors;
+    }
+
+    /**
+     * 解析方法对应的拦截器链
+     * 先是直接设置的方法拦截器，然后按照顺序依次是匹配该方法的Advisor转换出的拦截器
+     */
+    private MethodInterceptor[] resolveInterceptors(Method method, Class<?> targetClass) {
+        List<MethodInterceptor> interceptors = new ArrayList<>();
+        if (methodInterceptor != null && methodMatcher != null && methodMatcher.matches(method, targetClass)) {
+            interceptors.add(methodInterceptor);
+        }
+        for (Advisor advisor : advisors) {
+            if (advisor instanceof PointcutAdvisor) {
+                PointCut pointcut = ((PointcutAdvisor) advisor).getPointcut();
+                if (!pointcut.getClassFilter().matches(targetClass) || !pointcut.getMethodMatcher().matches(method, targetClass)) {
+                    continue;
+                }
+            }
+            // 非MethodInterceptor的Advice通过适配器转换，只在解析拦截器链时执行一次
+            Collections.addAll(interceptors, advisorAdapterRegistry.getInterceptors(advisor));
+        }
+        return interceptors.isEmpty() ? NO_INTERCEPTORS : interceptors.toArray(NO_INTERCEPTORS);
+    }
+
+    /**
+     * 获取决定方法是否被拦截的配置签名
+     * 签名相同的两个代理配置对于同一个目标类拦截的方法完全相同，可以共用同一个代理类
+     * 方法匹配器和Advisor均按照对象引用比较
+     *
+     * @return 由方法匹配器、是否设置了方法拦截器、是否设置了异常上报器、目标源是否为静态以及所有Advisor组成的列表
+     */
+    public synchronized List<Object> getAdvisorSignature() {
+        List<Object> signature = new ArrayList<>(advisors.size() + 4);
+        signature.add(methodMatcher);
+        signature.add(methodInterceptor != null);
+        signature.add(invocationErrorReporter != null);
+        signature.add(targetSource == null || targetSource.isStatic());
+        signature.addAll(advisors);
+        return signature;
+    }
+
+    /**
+     * 添加Advisor，多个Advisor按照添加的顺序执行
+     *
+     * @param advisor 要添加的Advisor
+     */
+    public void addAdvisor(Advisor advisor) {
+        synchronized (this) {
+            this.advisors.add(advisor);
+        }
+        clearMethodCache();
+    }
+
+    /**
+     * 获取所有的Advisor
+     *
+     * @return 只读的Advisor列表
+     */
+    public List<Advisor> getAdvisors() {
+        return Collections.unmodifiableList(advisors);
+    }
+
+    /**
+     * 代理配置发生变化时清空拦截器链缓存
+     */
+    private synchronized void clearMethodCache() {
+        this.methodCache = new IdentityHashMap<>();
+    }
+
 
 
     /**
@@ -42,6 +156,7 @@ public class AdvisedSupport {
      */
     public void setMethodMatcher(MethodMatcher methodMatcher) {
         this.methodMatcher = methodMatcher;
+        clearMethodCache();
     }
 
     /**
@@ -59,7 +174,15 @@ public class AdvisedSupport {
      * @param targetSource 要设置的TargetSource实例，代表需要被处理的目标对象
      */
     public void setTargetSource(TargetSource targetSource) {
+        // 可热替换的目标源根据使用它的代理配置判断替换时是否要求原目标类型
+        if (this.targetSource instanceof HotSwappableTargetSource) {
+            ((HotSwappableTargetSource) this.targetSource).removeAdvisedSupport(this);
+        }
         this.targetSource = targetSource;
+        if (targetSource instanceof HotSwappableTargetSource) {
+            ((HotSwappableTargetSource) targetSource).addAdvisedSupport(this);
+        }
+        clearMethodCache();
     }
 
     /**
@@ -78,6 +201,7 @@ public class AdvisedSupport {
      */
     public void setMethodInterceptor(MethodInterceptor methodInterceptor) {
         this.methodInterceptor = methodInterceptor;
+        clearMethodCache();
     }
 
     public boolean isProxyTargetClass() {
@@ -87,5 +211,31 @@ public class AdvisedSupport {
     public void setProxyTargetClass(boolean proxyTargetClass) {
         this.proxyTargetClass = proxyTargetClass;
     }
-}
 
+    public InvocationErrorReporter getInvocationErrorReporter() {
+        return invocationErrorReporter;
+    }
+
+    /**
+     * 设置代理方法调用异常的上报器，需要在创建代理对象之前设置
+     *
+     * @param invocationErrorReporter 异常上报器，可以通过SampledInvocationErrorReporter进行采样
+     */
+    public void setInvocationErrorReporter(InvocationErrorReporter invocationErrorReporter) {
+        this.invocationErrorReporter = invocationErrorReporter;
+    }
+
+    public AdvisorAdapterRegistry getAdvisorAdapterRegistry() {
+        return advisorAdapterRegistry;
+    }
+
+    /**
+     * 设置Advice适配器注册表，默认使用所有代理共用的DefaultAdvisorAdapterRegistry
+     *
+     * @param advisorAdapterRegistry Advice适配器注册表
+     */
+    public void setAdvisorAdapterRegistry(AdvisorAdapterRegistry advisorAdapterRegistry) {
+        this.advisorAdapterRegistry = advisorAdapterRegistry;
+        clearMethodCache();
+    }
+}
@@ -1,11 +1,13 @@
 package org.qlspringframework.aop;
 
+import org.aopalliance.aop.Advice;
+
 /**
- * 前置通知标记接口
+ * 后置通知标记接口
  *
  * @title AfterAdvice
  * @date 2025/5/24 16:44
  * @author jixu
  */
-public interface AfterAdvice {
+public interface AfterAdvice extends Advice {
 }
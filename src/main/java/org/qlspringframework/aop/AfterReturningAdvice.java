@@ -1,15 +1,24 @@
 package org.qlspringframework.aop;
 
-import org.aopalliance.aop.Advice;
-
 import java.lang.reflect.Method;
 
 /**
+ * 返回通知，在目标方法正常返回后执行，目标方法抛出异常时不会执行
+ *
  * @author jixu
  * @title AfterReturningAdvice
  * @date 2025/5/24 16:41
  */
 public interface AfterReturningAdvice extends AfterAdvice {
 
-    void after(Method method, Object[] args, Object target);
+    /**
+     * 在目标方法正常返回后执行的方法。
+     *
+     * @param returnValue 目标方法的返回值，void方法为null
+     * @param method 目标方法的反射对象
+     * @param args 目标方法的参数数组
+     * @param target 目标对象
+     * @throws Throwable 抛出的异常会代替返回值抛给调用方
+     */
+    void afterReturning(Object returnValue, Method method, Object[] args, Object target) throws Throwable;
 }
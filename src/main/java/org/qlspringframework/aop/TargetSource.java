@@ -2,6 +2,8 @@ package org.qlspringframework.aop;
 
 /**
  * TargetSource类用于封装目标源对象，并提供获取目标对象及其接口信息的方法
+ * 默认实现始终返回同一个目标对象，子类可以重写getTarget和releaseTarget，
+ * 每次方法调用时从目标源获取目标对象，调用结束后归还（例如对象池、线程绑定的目标对象）
  *
  * @author jixu
  * @title TargetSource
@@ -9,7 +11,7 @@ package org.qlspringframework.aop;
  */
 public class TargetSource {
 
-    // 保存目标源对象
+    // 保存目标源对象，子类自行管理目标对象时为空
     private final Object target;
 
     /**
@@ -21,13 +23,39 @@ public class TargetSource {
         this.target = target;
     }
 
+    /**
+     * 供自行管理目标对象的子类使用，子类必须重写getTarget和getTargetClass
+     */
+    protected TargetSource() {
+        this.target = null;
+    }
+
+    /**
+     * 获取目标对象的类型，代理对象创建时使用，不会触发目标对象的获取
+     *
+     * @return 目标对象的类型
+     */
+    public Class<?> getTargetClass() {
+        return this.target.getClass();
+    }
+
     /**
      * 获取被代理对象所实现的所有接口
      *
      * @return 目标对象所实现的接口数组
      */
     public Class<?>[] getTargetInterfaceClass(){
-        return this.target.getClass().getInterfaces();
+        return getTargetClass().getInterfaces();
+    }
+
+    /**
+     * 是否每次都返回同一个目标对象
+     * 返回true时代理对象可以直接把方法分发给目标对象，并且不需要调用releaseTarget
+     *
+     * @return 默认实现返回true
+     */
+    public boolean isStatic() {
+        return true;
     }
 
     /**
@@ -38,5 +66,12 @@ public class TargetSource {
     public Object getTarget(){
         return this.target;
     }
-}
 
+    /**
+     * 归还通过getTarget获取的目标对象，代理对象在每次方法调用结束后调用
+     *
+     * @param target 本次调用使用的目标对象
+     */
+    public void releaseTarget(Object target) {
+    }
+}
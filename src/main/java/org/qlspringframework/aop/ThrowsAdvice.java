@@ -0,0 +1,24 @@
+package org.qlspringframework.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * 异常通知，在目标方法抛出异常后执行，执行完成后原异常继续抛给调用方
+ *
+ * @author jixu
+ * @title ThrowsAdvice
+ * @date 2025/6/18 15:00
+ */
+public interface ThrowsAdvice extends AfterAdvice {
+
+    /**
+     * 在目标方法抛出异常后执行的方法。
+     *
+     * @param method 目标方法的反射对象
+     * @param args 目标方法的参数数组
+     * @param target 目标对象
+     * @param ex 目标方法抛出的异常
+     * @throws Throwable 抛出的异常会代替原异常抛给调用方
+     */
+    void afterThrowing(Method method, Object[] args, Object target, Throwable ex) throws Throwable;
+}
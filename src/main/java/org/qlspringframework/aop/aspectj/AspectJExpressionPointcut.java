@@ -6,6 +6,8 @@ import org.aspectj.weaver.tools.PointcutPrimitive;
 import org.qlspringframework.aop.ClassFilter;
 import org.qlspringframework.aop.MethodMatcher;
 import org.qlspringframework.aop.PointCut;
+import org.qlspringframework.cache.Cache;
+import org.qlspringframework.cache.support.LocalCache;
 
 import java.lang.reflect.Method;
 import java.util.HashSet;
@@ -30,13 +32,51 @@ public class AspectJExpressionPointcut implements ClassFilter , MethodMatcher ,
         SUPPORTED_PRIMITIVES.add(PointcutPrimitive.EXECUTION);
     }
 
+    // 方法匹配结果与类匹配结果缓存的最大容量，超过后按照分段LRU淘汰
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    // 表达式缓存的最大容量，表达式缓存在所有切点之间共享，生命周期与JVM一致
+    private static final int MAX_EXPRESSION_CACHE_SIZE = 256;
+
+    // 所有切点共用的解析器，解析过程不保证线程安全，需要加锁
+    private static final PointcutParser POINTCUT_PARSER = PointcutParser.getPointcutParserSupportingSpecifiedPrimitivesAndUsingSpecifiedClassLoaderForResolution(
+            SUPPORTED_PRIMITIVES, AspectJExpressionPointcut.class.getClassLoader());
+
+    // 已解析的切点表达式，表达式相同的切点共用同一个PointcutExpression，超过容量后淘汰最久未使用的表达式
+    private static final LocalCache EXPRESSION_CACHE = new LocalCache("pointcutExpressionCache", MAX_EXPRESSION_CACHE_SIZE);
+
     private final PointcutExpression pointcutExpression;
 
+    // 方法匹配结果缓存
+    private final LocalCache shadowMatchCache = new LocalCache("shadowMatchCache", MAX_CACHE_SIZE);
+
+    // 类匹配结果缓存
+    private final LocalCache classMatchCache = new LocalCache("classMatchCache", MAX_CACHE_SIZE);
+
 
     // 通过构造函数传入具体的切点表达式，解析为PointcutExpression
     public AspectJExpressionPointcut(String expression) {
-        PointcutParser pointcutParser = PointcutParser.getPointcutParserSupportingSpecifiedPrimitivesAndUsingSpecifiedClassLoaderForResolution(SUPPORTED_PRIMITIVES, this.getClass().getClassLoader());
-        pointcutExpression = pointcutParser.parsePointcutExpression(expression);
+        pointcutExpression = getPointcutExpression(expression);
+    }
+
+    /**
+     * 从缓存获取解析后的表达式，不存在时解析并缓存
+     * 并发解析同一个表达式时可能各自解析一次，只会缓存其中一个
+     */
+    private static PointcutExpression getPointcutExpression(String expression) {
+        Cache.ValueWrapper cached = EXPRESSION_CACHE.get(expression);
+        if (cached != null) {
+            return (PointcutExpression) cached.get();
+        }
+        PointcutExpression pointcutExpression = parseExpression(expression);
+        EXPRESSION_CACHE.put(expression, pointcutExpression);
+        return pointcutExpression;
+    }
+
+    private static PointcutExpression parseExpression(String expression) {
+        synchronized (POINTCUT_PARSER) {
+            return POINTCUT_PARSER.parsePointcutExpression(expression);
+        }
     }
 
 
@@ -51,7 +91,13 @@ public class AspectJExpressionPointcut implements ClassFilter , MethodMatcher ,
      */
     @Override
     public boolean matches(Class<?> clazz) {
-        return pointcutExpression.couldMatchJoinPointsInType(clazz);
+        Cache.ValueWrapper cached = classMatchCache.get(clazz);
+        if (cached != null) {
+            return (Boolean) cached.get();
+        }
+        boolean matched = pointcutExpression.couldMatchJoinPointsInType(clazz);
+        classMatchCache.put(clazz, matched);
+        return matched;
     }
 
     /**
@@ -63,7 +109,13 @@ public class AspectJExpressionPointcut implements ClassFilter , MethodMatcher ,
      */
     @Override
     public boolean matches(Method method, Class<?> targetClass) {
-        return pointcutExpression.matchesMethodExecution(method).alwaysMatches();
+        Cache.ValueWrapper cached = shadowMatchCache.get(method);
+        if (cached != null) {
+            return (Boolean) cached.get();
+        }
+        boolean matched = pointcutExpression.matchesMethodExecution(method).alwaysMatches();
+        shadowMatchCache.put(method, matched);
+        return matched;
     }
 
     /**
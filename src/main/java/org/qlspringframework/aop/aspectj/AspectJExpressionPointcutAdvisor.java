@@ -3,6 +3,7 @@ package org.qlspringframework.aop.aspectj;
 import org.aopalliance.aop.Advice;
 import org.qlspringframework.aop.PointCut;
 import org.qlspringframework.aop.PointcutAdvisor;
+import org.qlspringframework.core.Ordered;
 
 /**
  * AspectJ表达式切点顾问类
@@ -13,17 +14,20 @@ import org.qlspringframework.aop.PointcutAdvisor;
  * @title AspectJExpressionPointcutAdvisor
  * @date 2025/5/27 21:07
  */
-public class AspectJExpressionPointcutAdvisor implements PointcutAdvisor {
+public class AspectJExpressionPointcutAdvisor implements PointcutAdvisor, Ordered {
 
     // 存储建议对象的变量
     private Advice advice;
 
-    // 存储切点对象的变量
-    private PointCut pointcut;
+    // 存储切点对象的变量，第一次获取时创建
+    private volatile PointCut pointcut;
 
     // 存储切点表达式的变量
     private String expression;
 
+    // 多个Advisor作用于同一个Bean时的执行顺序，值越小越先执行
+    private int order = Ordered.LOWEST_PRECEDENCE;
+
     // 默认构造函数
     public AspectJExpressionPointcutAdvisor() {
     }
@@ -35,10 +39,17 @@ public class AspectJExpressionPointcutAdvisor implements PointcutAdvisor {
      */
     @Override
     public PointCut getPointcut() {
-        if (this.pointcut == null){
-            pointcut = new AspectJExpressionPointcut(expression);
+        PointCut current = this.pointcut;
+        if (current == null){
+            synchronized (this) {
+                current = this.pointcut;
+                if (current == null) {
+                    current = new AspectJExpressionPointcut(expression);
+                    this.pointcut = current;
+                }
+            }
         }
-        return pointcut;
+        return current;
     }
 
     /**
@@ -66,8 +77,27 @@ public class AspectJExpressionPointcutAdvisor implements PointcutAdvisor {
      *
      * @param expression 字符串，表示切点表达式
      */
-    public void setExpression(String expression) {
+    public synchronized void setExpression(String expression) {
         this.expression = expression;
+        this.pointcut = null;
+    }
 
+    /**
+     * 获取执行顺序
+     *
+     * @return 排序值，默认为最低优先级
+     */
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * 设置执行顺序
+     *
+     * @param order 排序值，值越小越先执行
+     */
+    public void setOrder(int order) {
+        this.order = order;
     }
 }
@@ -1,11 +1,12 @@
 package org.qlspringframework.aop.framework;
 
-import net.sf.cglib.proxy.Enhancer;
-import net.sf.cglib.proxy.MethodInterceptor;
-import net.sf.cglib.proxy.MethodProxy;
+import cn.hutool.core.util.ReflectUtil;
+import net.sf.cglib.proxy.*;
 import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.TargetSource;
 
 import java.lang.reflect.Method;
+
 /**
  * CglibDynamicAopProxy 类是使用 CGLIB 库实现的动态代理类。
  * 它主要用于创建目标类的子类，并在子类中织入切面逻辑。
@@ -20,35 +21,206 @@ public class CglibDynamicAopProxy implements AopProxy {
     // AdvisedSupport 对象中包含了目标类的信息以及切面的配置
     private final AdvisedSupport advisedSupport;
 
+    // 代理类缓存
+    private final ProxyClassCache proxyClassCache;
+
     // 构造方法，初始化 CglibDynamicAopProxy 对象
     public CglibDynamicAopProxy(AdvisedSupport advisedSupport) {
+        this(advisedSupport, null);
+    }
+
+    /**
+     * 构造方法，生成的代理类缓存在指定的缓存当中
+     *
+     * @param advisedSupport 代理配置
+     * @param proxyClassCache 代理类缓存，为空时使用共享缓存
+     */
+    public CglibDynamicAopProxy(AdvisedSupport advisedSupport, ProxyClassCache proxyClassCache) {
         this.advisedSupport = advisedSupport;
+        this.proxyClassCache = proxyClassCache != null ? proxyClassCache : ProxyClassCache.getSharedInstance();
     }
 
     /**
      * 获取代理对象
+     * 相同配置的Bean（例如原型Bean）共用缓存中的同一个代理类
      *
      * @return 代理对象，通过该对象可以调用目标方法以及切面方法
      */
     @Override
     public Object getProxy() {
+        Class<?> targetClass = advisedSupport.getTargetSource().getTargetClass();
+        Class<?>[] interfaces = advisedSupport.getTargetSource().getTargetInterfaceClass();
+        Class<?> proxyClass = proxyClassCache.getProxyClass(targetClass, interfaces, advisedSupport.getAdvisorSignature(),
+                () -> createProxyClass(targetClass, interfaces));
+
+        // 回调的顺序与ProxyCallbackFilter返回的下标对应
+        Callback[] callbacks = new Callback[]{
+                new DynamicAdvisedInterceptor(advisedSupport, targetClass),
+                new TargetDispatcher(advisedSupport),
+                new EqualsInterceptor(advisedSupport),
+                new HashCodeInterceptor(advisedSupport)
+        };
+        // 为当前线程注册回调后实例化代理类，实例化完成后立即清除
+        Enhancer.registerCallbacks(proxyClass, callbacks);
+        try {
+            return ReflectUtil.newInstance(proxyClass);
+        } finally {
+            Enhancer.registerCallbacks(proxyClass, null);
+        }
+    }
+
+    /**
+     * 生成代理类
+     * 被拦截的方法交给DynamicAdvisedInterceptor处理，其余方法通过Dispatcher直接调用目标对象
+     */
+    private Class<?> createProxyClass(Class<?> targetClass, Class<?>[] interfaces) {
         // 创建 CGLIB 提供的增强器对象（核心代理创建类）
         Enhancer enhancer = new Enhancer();
 
         // 设置被代理类的父类（目标对象的真实类）
-        enhancer.setSuperclass(advisedSupport.getTargetSource().getTarget().getClass());
+        enhancer.setSuperclass(targetClass);
 
         // 设置代理对象实现的接口（可选）
-        enhancer.setInterfaces(advisedSupport.getTargetSource().getTargetInterfaceClass());
+        enhancer.setInterfaces(interfaces);
+
+        // 设置回调类型以及方法与回调的对应关系
+        enhancer.setCallbackTypes(new Class<?>[]{DynamicAdvisedInterceptor.class, TargetDispatcher.class,
+                EqualsInterceptor.class, HashCodeInterceptor.class});
+        enhancer.setCallbackFilter(new ProxyCallbackFilter(advisedSupport, targetClass));
+
+        // 代理类由ProxyClassCache缓存，不使用cglib自身的静态缓存，避免其持有CallbackFilter引用的目标对象
+        enhancer.setUseCache(false);
+        return enhancer.createClass();
+    }
+
+    /**
+     * 决定代理类中每个方法使用哪个回调，只在生成代理类时执行一次
+     * 0：需要拦截的方法，交给DynamicAdvisedInterceptor
+     * 1：不需要拦截的方法，交给TargetDispatcher直接调用目标对象
+     * 2：equals方法，交给EqualsInterceptor
+     * 3：hashCode方法，交给HashCodeInterceptor
+     * 设置了异常上报器时所有普通方法都交给DynamicAdvisedInterceptor，保证异常都能被上报
+     * 目标源不是静态的时所有普通方法也都交给DynamicAdvisedInterceptor，保证调用结束后归还目标对象
+     */
+    private static class ProxyCallbackFilter implements CallbackFilter {
+
+        private static final int AOP_PROXY = 0;
+
+        private static final int INVOKE_TARGET = 1;
+
+        private static final int INVOKE_EQUALS = 2;
+
+        private static final int INVOKE_HASHCODE = 3;
+
+        private final AdvisedSupport advisedSupport;
+
+        private final Class<?> targetClass;
+
+        ProxyCallbackFilter(AdvisedSupport advisedSupport, Class<?> targetClass) {
+            this.advisedSupport = advisedSupport;
+            this.targetClass = targetClass;
+        }
+
+        @Override
+        public int accept(Method method) {
+            if (isEqualsMethod(method)) {
+                return INVOKE_EQUALS;
+            }
+            if (isHashCodeMethod(method)) {
+                return INVOKE_HASHCODE;
+            }
+            if (advisedSupport.getInvocationErrorReporter() != null || !advisedSupport.getTargetSource().isStatic()) {
+                return AOP_PROXY;
+            }
+            return advisedSupport.getInterceptors(method, targetClass).length > 0 ? AOP_PROXY : INVOKE_TARGET;
+        }
+
+        private static boolean isEqualsMethod(Method method) {
+            return "equals".equals(method.getName())
+                    && method.getParameterCount() == 1
+                    && method.getParameterTypes()[0] == Object.class;
+        }
+
+        private static boolean isHashCodeMethod(Method method) {
+            return "hashCode".equals(method.getName()) && method.getParameterCount() == 0;
+        }
+    }
+
+    /**
+     * 代理对象的equals方法
+     * 与自身比较时返回true，与同一个代理类的其他对象比较时交给目标对象的equals方法
+     */
+    private static class EqualsInterceptor implements MethodInterceptor {
 
-        // 设置方法拦截器，用于处理方法调用
-        enhancer.setCallback(new DynamicAdvisedInterceptor(advisedSupport));
+        private final AdvisedSupport advisedSupport;
+
+        EqualsInterceptor(AdvisedSupport advisedSupport) {
+            this.advisedSupport = advisedSupport;
+        }
 
-        // 创建并返回代理对象
-        return enhancer.create();
+        @Override
+        public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) {
+            Object other = args[0];
+            if (proxy == other) {
+                return true;
+            }
+            if (other == null || !proxy.getClass().isInstance(other)) {
+                return false;
+            }
+            TargetSource targetSource = advisedSupport.getTargetSource();
+            Object target = targetSource.getTarget();
+            try {
+                return target.equals(other);
+            } finally {
+                if (!targetSource.isStatic()) {
+                    targetSource.releaseTarget(target);
+                }
+            }
+        }
     }
 
+    /**
+     * 代理对象的hashCode方法，返回目标对象的hashCode
+     */
+    private static class HashCodeInterceptor implements MethodInterceptor {
+
+        private final AdvisedSupport advisedSupport;
 
+        HashCodeInterceptor(AdvisedSupport advisedSupport) {
+            this.advisedSupport = advisedSupport;
+        }
+
+        @Override
+        public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) {
+            TargetSource targetSource = advisedSupport.getTargetSource();
+            Object target = targetSource.getTarget();
+            try {
+                return target.hashCode();
+            } finally {
+                if (!targetSource.isStatic()) {
+                    targetSource.releaseTarget(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * 不需要拦截的方法直接分发给目标对象，由代理类以普通的虚方法调用执行
+     * 只用于静态的目标源，Dispatcher无法在调用结束后归还目标对象
+     */
+    private static class TargetDispatcher implements Dispatcher {
+
+        private final AdvisedSupport advisedSupport;
+
+        TargetDispatcher(AdvisedSupport advisedSupport) {
+            this.advisedSupport = advisedSupport;
+        }
+
+        @Override
+        public Object loadObject() {
+            return advisedSupport.getTargetSource().getTarget();
+        }
+    }
 
     // CglibMethodInvocation 类用于处理 CGLIB 方法调用
     private static class CglibMethodInvocation extends ReflectiveMethodInvocation{
@@ -61,19 +233,20 @@ public class CglibDynamicAopProxy implements AopProxy {
          * @param target   目标对象，即要调用方法的实例
          * @param argument 方法参数数组，存储调用方法时传递的参数
          */
-        public CglibMethodInvocation(Method method, Object target, Object[] argument, MethodProxy methodProxy) {
-            super(method, target, argument);
+        public CglibMethodInvocation(Method method, Object target, Object[] argument,
+                                     org.aopalliance.intercept.MethodInterceptor[] interceptors, MethodProxy methodProxy) {
+            super(method, target, argument, interceptors);
             this.methodProxy = methodProxy;
         }
 
         /**
-         * 执行当前方法调用
+         * 拦截器链执行完毕后调用目标方法
          *
          * @return 方法执行结果
          * @throws Throwable 方法执行过程中抛出的异常
          */
         @Override
-        public Object proceed() throws Throwable {
+        protected Object invokeJoinpoint() throws Throwable {
             // 使用 MethodProxy 执行方法，提高执行效率
             return this.methodProxy.invoke(target,argument);
         }
@@ -83,12 +256,18 @@ public class CglibDynamicAopProxy implements AopProxy {
     private static class DynamicAdvisedInterceptor implements MethodInterceptor {
         private final AdvisedSupport advisedSupport;
 
-        private DynamicAdvisedInterceptor(AdvisedSupport advisedSupport) {
+        // 目标类型，在创建代理对象时确定
+        private final Class<?> targetClass;
+
+        private DynamicAdvisedInterceptor(AdvisedSupport advisedSupport, Class<?> targetClass) {
             this.advisedSupport = advisedSupport;
+            this.targetClass = targetClass;
         }
 
         /**
          * 拦截方法调用
+         * equals/hashCode已经在生成代理类时交给专门的回调处理，这里只需要执行拦截器链
+         * 异常原样抛给调用方，设置了异常上报器时先交给上报器
          *
          * @param o        代理对象
          * @param method   被调用的方法对象
@@ -99,42 +278,33 @@ public class CglibDynamicAopProxy implements AopProxy {
          */
         @Override
         public Object intercept(Object o, Method method, Object[] objects, MethodProxy methodProxy) throws Throwable {
+            TargetSource targetSource = advisedSupport.getTargetSource();
+            Object target = targetSource.getTarget();
+            CglibMethodInvocation methodInvocation = null;
             try {
-                String methodName = method.getName();
-
-                // equals/hashCode 直接调用目标对象对应方法
-                if ("equals".equals(methodName) && objects != null && objects.length == 1) {
-                    Object other = objects[0];
-                    if (o == other) {
-                        return true;
-                    }
-                    if (other == null || !o.getClass().isAssignableFrom(other.getClass())) {
-                        return false;
-                    }
-                    Object target = advisedSupport.getTargetSource().getTarget();
-                    return target.equals(other);
-                }
-                if ("hashCode".equals(methodName) && (objects == null || objects.length == 0)) {
-                    Object target = advisedSupport.getTargetSource().getTarget();
-                    return target.hashCode();
+                // 获取方法对应的拦截器链，切点匹配只在第一次调用该方法时执行，之后直接从缓存当中获取
+                org.aopalliance.intercept.MethodInterceptor[] interceptors = advisedSupport.getInterceptors(method, targetClass);
+                if (interceptors.length == 0) {
+                    // 这里调用目标对象的方法，避免递归调用代理自身方法
+                    return methodProxy.invoke(target, objects);
                 }
 
-                CglibMethodInvocation methodInvocation = new CglibMethodInvocation(method, advisedSupport.getTargetSource().getTarget(), objects, methodProxy);
-
-                // 规避 equals/hashCode 参与切点匹配
-                if (!("equals".equals(methodName) || "hashCode".equals(methodName)) &&
-                        advisedSupport.getMethodMatcher().matches(method, advisedSupport.getTargetSource().getTarget().getClass())) {
-                    return advisedSupport.getMethodInterceptor().invoke(methodInvocation);
+                methodInvocation = new CglibMethodInvocation(method, target, objects, interceptors, methodProxy);
+                if (!targetSource.isStatic()) {
+                    methodInvocation.setTargetSource(targetSource);
+                }
+                return methodInvocation.proceed();
+            } catch (Throwable ex) {
+                InvocationErrorReporter reporter = advisedSupport.getInvocationErrorReporter();
+                if (reporter != null) {
+                    reporter.report(method, target, ex);
+                }
+                throw ex;
+            } finally {
+                if (!targetSource.isStatic() && (methodInvocation == null || !methodInvocation.isTargetReleaseDeferred())) {
+                    targetSource.releaseTarget(target);
                 }
-
-                // 这里调用目标对象的方法，避免递归调用代理自身方法
-                return method.invoke(advisedSupport.getTargetSource().getTarget(), objects);
-            } catch (Throwable t) {
-                System.err.println("CglibDynamicAopProxy intercept exception: " + t);
-                t.printStackTrace();
-                throw t;
             }
         }
     }
 }
-
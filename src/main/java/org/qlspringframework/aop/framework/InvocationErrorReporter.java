@@ -0,0 +1,24 @@
+package org.qlspringframework.aop.framework;
+
+import java.lang.reflect.Method;
+
+/**
+ * 代理方法调用异常的上报接口
+ * 代理对象本身不会打印或记录任何异常，异常总是原样抛给调用方，
+ * 需要观测异常时通过AdvisedSupport设置该接口的实现
+ *
+ * @author jixu
+ * @title InvocationErrorReporter
+ * @date 2025/6/16 14:00
+ */
+public interface InvocationErrorReporter {
+
+    /**
+     * 上报代理方法调用过程中抛出的异常，该方法不应该抛出异常
+     *
+     * @param method 被调用的方法
+     * @param target 目标对象
+     * @param ex 方法调用抛出的异常，InvocationTargetException已经被解包
+     */
+    void report(Method method, Object target, Throwable ex);
+}
@@ -2,8 +2,10 @@ package org.qlspringframework.aop.framework;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.TargetSource;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 
@@ -53,23 +55,41 @@ public class JdkDynamicAopProxy implements AopProxy , InvocationHandler {
      */
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        TargetSource targetSource = advisedSupport.getTargetSource();
+        Object target = targetSource.getTarget();
+        ReflectiveMethodInvocation invocation = null;
+        try {
+            // 获取方法对应的拦截器链，切点匹配只在第一次调用该方法时执行，之后直接从缓存当中获取
+            MethodInterceptor[] interceptors = advisedSupport.getInterceptors(method, target.getClass());
 
-        // 获取到方法匹配器，通过AspectJExpressionPointcut解析传入的切点表达式，调用对应的matches方法判断是否为被代理类
-        if (advisedSupport.getMethodMatcher().matches(method, advisedSupport.getTargetSource().getTarget().getClass())){
-
-            // 获取到方法拦截器
-            MethodInterceptor methodInterceptor = advisedSupport.getMethodInterceptor();
-
-            // 创建ReflectiveMethodInvocation对象，封装了方法调用的相关信息
-            ReflectiveMethodInvocation invocation = new ReflectiveMethodInvocation(method, advisedSupport.getTargetSource().getTarget(), args);
-
-            // 调用 MethodInterceptor 的 invoke 方法，传入 invocation 作为参数。
-            // invoke 方法会执行拦截器逻辑，通常通过 invocation.proceed() 调用目标方法或下一个拦截器。
-            return methodInterceptor.invoke(invocation);
+            // 如果当前调用的方法不满足切点表达式，则直接调用目标方法
+            if (interceptors.length == 0){
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            }
 
+            // 创建ReflectiveMethodInvocation对象，封装了方法调用的相关信息以及拦截器链
+            // proceed方法会依次执行拦截器，最后调用目标方法
+            invocation = new ReflectiveMethodInvocation(method, target, args, interceptors);
+            if (!targetSource.isStatic()) {
+                invocation.setTargetSource(targetSource);
+            }
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            // 异常原样抛给调用方，设置了异常上报器时先交给上报器
+            InvocationErrorReporter reporter = advisedSupport.getInvocationErrorReporter();
+            if (reporter != null) {
+                reporter.report(method, target, ex);
+            }
+            throw ex;
+        } finally {
+            // 非静态的目标源每次调用结束后归还目标对象，拦截器接管归还时（例如异步执行）由拦截器归还
+            if (!targetSource.isStatic() && (invocation == null || !invocation.isTargetReleaseDeferred())) {
+                targetSource.releaseTarget(target);
+            }
         }
-
-        // 如果方法匹配器判断当前调用的方法不满足切点表达式，则直接调用目标方法
-        return method.invoke(advisedSupport.getTargetSource().getTarget(),args);
     }
 }
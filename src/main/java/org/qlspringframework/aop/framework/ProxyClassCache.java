@@ -0,0 +1,127 @@
+package org.qlspringframework.aop.framework;
+
+import org.qlspringframework.cache.Cache;
+import org.qlspringframework.cache.support.LocalCache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * CGLIB代理类缓存
+ * 按照（目标类，接口，拦截配置签名）缓存已经生成的代理类，相同配置的Bean（例如原型Bean）共用同一个代理类
+ * 签名中的方法匹配器和Advisor按照对象引用比较并被缓存持有，因此缓存按照容量淘汰，
+ * 自动代理创建器为每个容器持有一个缓存并在容器关闭时清空，没有指定缓存时使用容量较小的共享缓存
+ *
+ * @author jixu
+ * @title ProxyClassCache
+ * @date 2025/6/16 10:00
+ */
+public class ProxyClassCache {
+
+    // 默认容量
+    private static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    // 共享缓存的容量，共享缓存的生命周期与JVM一致，容量较小以限制其持有的Advisor
+    private static final int SHARED_MAXIMUM_SIZE = 256;
+
+    private static final ProxyClassCache SHARED_INSTANCE = new ProxyClassCache(SHARED_MAXIMUM_SIZE);
+
+    // 按照分段LRU淘汰的代理类缓存
+    private final LocalCache proxyClasses;
+
+    public ProxyClassCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize 最多缓存的代理类数量
+     */
+    public ProxyClassCache(int maximumSize) {
+        this.proxyClasses = new LocalCache("proxyClassCache", maximumSize);
+    }
+
+    /**
+     * 获取没有指定缓存时使用的共享缓存
+     */
+    public static ProxyClassCache getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    /**
+     * 获取代理类，缓存中不存在时生成并缓存
+     * 并发获取同一个key时可能各自生成一次代理类，只会缓存其中一个
+     *
+     * @param targetClass 目标类
+     * @param interfaces 代理类实现的接口
+     * @param advisorSignature 拦截配置签名
+     * @param proxyClassFactory 生成代理类
+     * @return 代理类
+     */
+    public Class<?> getProxyClass(Class<?> targetClass, Class<?>[] interfaces, List<Object> advisorSignature,
+                                  Supplier<Class<?>> proxyClassFactory) {
+        ProxyClassKey key = new ProxyClassKey(targetClass, interfaces, advisorSignature);
+        Cache.ValueWrapper cached = proxyClasses.get(key);
+        if (cached != null) {
+            return (Class<?>) cached.get();
+        }
+        Class<?> proxyClass = proxyClassFactory.get();
+        proxyClasses.put(key, proxyClass);
+        return proxyClass;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        proxyClasses.clear();
+    }
+
+    /**
+     * 获取缓存的代理类数量
+     */
+    public int size() {
+        return proxyClasses.size();
+    }
+
+    /**
+     * 代理类缓存的key
+     */
+    private static final class ProxyClassKey {
+
+        private final Class<?> targetClass;
+
+        private final List<Class<?>> interfaces;
+
+        private final List<Object> advisorSignature;
+
+        private final int hashCode;
+
+        ProxyClassKey(Class<?> targetClass, Class<?>[] interfaces, List<Object> advisorSignature) {
+            this.targetClass = targetClass;
+            this.interfaces = Arrays.asList(interfaces);
+            this.advisorSignature = advisorSignature;
+            this.hashCode = Objects.hash(targetClass, this.interfaces, advisorSignature);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ProxyClassKey)) {
+                return false;
+            }
+            ProxyClassKey other = (ProxyClassKey) o;
+            return targetClass == other.targetClass
+                    && interfaces.equals(other.interfaces)
+                    && advisorSignature.equals(other.advisorSignature);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -17,6 +17,9 @@ public class ProxyFactory {
     // 保存代理配置信息的属性
     private final AdvisedSupport advisedSupport;
 
+    // CGLIB代理类缓存，为空时使用共享缓存
+    private ProxyClassCache proxyClassCache;
+
     /**
      * 构造方法，初始化代理工厂
      *
@@ -27,6 +30,15 @@ public class ProxyFactory {
     }
 
 
+    /**
+     * 设置CGLIB代理类缓存，由创建代理的组件持有并在容器关闭时清空
+     *
+     * @param proxyClassCache 代理类缓存
+     */
+    public void setProxyClassCache(ProxyClassCache proxyClassCache) {
+        this.proxyClassCache = proxyClassCache;
+    }
+
     public Object getProxy() {
         return createAopProxy().getProxy();
     }
@@ -42,7 +54,7 @@ public class ProxyFactory {
         // 根据配置信息判断是否需要代理目标类本身
         if (advisedSupport.isProxyTargetClass()){
             // 如果需要代理目标类本身，则返回CglibAopProxy代理对象
-            return new CglibDynamicAopProxy(advisedSupport);
+            return new CglibDynamicAopProxy(advisedSupport, proxyClassCache);
         }
 
         // 如果不需要代理目标类本身，则返回JdkDynamicAopProxy代理对象
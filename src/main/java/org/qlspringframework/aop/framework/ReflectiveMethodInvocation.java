@@ -1,13 +1,18 @@
 package org.qlspringframework.aop.framework;
 
+import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
+import org.qlspringframework.aop.TargetSource;
 
 import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * ReflectiveMethodInvocation类实现了MethodInvocation接口，用于处理通过反射调用的方法
  * 它封装了方法调用的相关信息，如方法本身、目标对象以及方法参数
+ * 每次调用proceed时执行拦截器链当中的下一个拦截器，所有拦截器执行完毕后调用目标方法
  *
  * @author jixu
  * @title ReflectiveMethodInvocation
@@ -24,6 +29,18 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
     // 方法参数数组，存储调用方法时传递的参数
     protected final Object[] argument;
 
+    // 拦截器链
+    private final MethodInterceptor[] interceptors;
+
+    // 下一个要执行的拦截器下标
+    private int currentInterceptorIndex;
+
+    // 目标对象所属的非静态目标源，调用结束后需要归还目标对象，静态目标源为null
+    private TargetSource targetSource;
+
+    // 目标对象的归还是否已经交给拦截器负责
+    private volatile boolean targetReleaseDeferred;
+
     /**
      * 构造方法，初始化ReflectiveMethodInvocation对象
      *
@@ -32,9 +49,58 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
      * @param argument 方法参数数组，存储调用方法时传递的参数
      */
     public ReflectiveMethodInvocation(Method method, Object target, Object[] argument) {
+        this(method, target, argument, new MethodInterceptor[0]);
+    }
+
+    /**
+     * 构造方法，初始化带有拦截器链的ReflectiveMethodInvocation对象
+     *
+     * @param method 方法对象，表示要调用的方法
+     * @param target 目标对象，即要调用方法的实例
+     * @param argument 方法参数数组，存储调用方法时传递的参数
+     * @param interceptors 拦截器链，按照数组顺序执行
+     */
+    public ReflectiveMethodInvocation(Method method, Object target, Object[] argument, MethodInterceptor[] interceptors) {
         this.method = method;
         this.target = target;
         this.argument = argument;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * 设置目标对象所属的非静态目标源，由代理对象在创建调用时设置
+     */
+    void setTargetSource(TargetSource targetSource) {
+        this.targetSource = targetSource;
+    }
+
+    /**
+     * 由拦截器接管目标对象的归还，代理对象在调用返回后不再归还目标对象
+     * 用于在其他线程中继续使用目标对象的拦截器（例如异步执行），目标对象使用完毕后必须执行返回的归还操作
+     * 返回的归还操作最多执行一次
+     *
+     * @return 归还目标对象的操作，目标源是静态的时返回null
+     */
+    public Runnable deferTargetRelease() {
+        TargetSource currentTargetSource = this.targetSource;
+        if (currentTargetSource == null) {
+            return null;
+        }
+        this.targetReleaseDeferred = true;
+        Object currentTarget = this.target;
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                currentTargetSource.releaseTarget(currentTarget);
+            }
+        };
+    }
+
+    /**
+     * 目标对象的归还是否已经交给拦截器负责
+     */
+    boolean isTargetReleaseDeferred() {
+        return targetReleaseDeferred;
     }
 
     /**
@@ -58,15 +124,32 @@ public class ReflectiveMethodInvocation implements MethodInvocation {
     }
 
     /**
-     * 执行调用的方法
-     * 通过反射机制，使用目标对象和参数调用方法
+     * 执行拦截器链当中的下一个拦截器，拦截器全部执行完毕后调用目标方法
      *
      * @return 方法调用的结果
      * @throws Throwable 如果方法调用过程中发生异常
      */
     @Override
     public Object proceed() throws Throwable {
-        return method.invoke(target, argument);
+        if (currentInterceptorIndex == interceptors.length) {
+            return invokeJoinpoint();
+        }
+        return interceptors[currentInterceptorIndex++].invoke(this);
+    }
+
+    /**
+     * 调用目标方法
+     * 通过反射机制，使用目标对象和参数调用方法，目标方法抛出的异常会被原样抛出
+     *
+     * @return 方法调用的结果
+     * @throws Throwable 如果方法调用过程中发生异常
+     */
+    protected Object invokeJoinpoint() throws Throwable {
+        try {
+            return method.invoke(target, argument);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
     }
 
     /**
@@ -0,0 +1,47 @@
+package org.qlspringframework.aop.framework;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按照固定间隔采样的异常上报器
+ * 每发生sampleInterval次异常只将其中一次交给被包装的上报器处理，避免高频的业务异常拖慢调用方
+ *
+ * @author jixu
+ * @title SampledInvocationErrorReporter
+ * @date 2025/6/16 14:10
+ */
+public class SampledInvocationErrorReporter implements InvocationErrorReporter {
+
+    private final InvocationErrorReporter delegate;
+
+    private final long sampleInterval;
+
+    private final AtomicLong errorCount = new AtomicLong();
+
+    /**
+     * @param delegate 实际处理异常的上报器
+     * @param sampleInterval 采样间隔，为1时上报所有异常
+     */
+    public SampledInvocationErrorReporter(InvocationErrorReporter delegate, long sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("sampleInterval必须大于0");
+        }
+        this.delegate = delegate;
+        this.sampleInterval = sampleInterval;
+    }
+
+    @Override
+    public void report(Method method, Object target, Throwable ex) {
+        if (errorCount.getAndIncrement() % sampleInterval == 0) {
+            delegate.report(method, target, ex);
+        }
+    }
+
+    /**
+     * 获取发生过的异常总数，包括没有被采样的异常
+     */
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+}
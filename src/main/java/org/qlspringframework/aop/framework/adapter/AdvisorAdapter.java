@@ -0,0 +1,29 @@
+package org.qlspringframework.aop.framework.adapter;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.qlspringframework.aop.Advisor;
+
+/**
+ * Advice适配器，把某一类Advice转换为拦截器链中的MethodInterceptor
+ * 转换只在解析方法的拦截器链时执行一次，转换出的拦截器在每次调用时不应该再分配对象
+ *
+ * @author jixu
+ * @title AdvisorAdapter
+ * @date 2025/6/18 15:10
+ */
+public interface AdvisorAdapter {
+
+    /**
+     * 判断是否支持指定的Advice
+     */
+    boolean supportsAdvice(Advice advice);
+
+    /**
+     * 把Advisor中的Advice转换为MethodInterceptor
+     *
+     * @param advisor 包含被支持的Advice的Advisor
+     * @return 拦截器
+     */
+    MethodInterceptor getInterceptor(Advisor advisor);
+}
@@ -0,0 +1,28 @@
+package org.qlspringframework.aop.framework.adapter;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.qlspringframework.aop.Advisor;
+
+/**
+ * Advice适配器注册表，负责把Advisor转换为拦截器链中的拦截器
+ *
+ * @author jixu
+ * @title AdvisorAdapterRegistry
+ * @date 2025/6/18 15:16
+ */
+public interface AdvisorAdapterRegistry {
+
+    /**
+     * 把Advisor转换为拦截器
+     * 一个Advice可能同时实现多种Advice接口，此时返回多个拦截器
+     *
+     * @param advisor Advisor
+     * @return 拦截器数组
+     */
+    MethodInterceptor[] getInterceptors(Advisor advisor);
+
+    /**
+     * 注册自定义的Advice适配器
+     */
+    void registerAdvisorAdapter(AdvisorAdapter adapter);
+}
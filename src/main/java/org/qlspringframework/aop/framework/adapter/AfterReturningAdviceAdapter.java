@@ -0,0 +1,26 @@
+package org.qlspringframework.aop.framework.adapter;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.qlspringframework.aop.AfterReturningAdvice;
+import org.qlspringframework.aop.Advisor;
+
+/**
+ * 返回通知适配器
+ *
+ * @author jixu
+ * @title AfterReturningAdviceAdapter
+ * @date 2025/6/18 15:13
+ */
+public class AfterReturningAdviceAdapter implements AdvisorAdapter {
+
+    @Override
+    public boolean supportsAdvice(Advice advice) {
+        return advice instanceof AfterReturningAdvice;
+    }
+
+    @Override
+    public MethodInterceptor getInterceptor(Advisor advisor) {
+        return new AfterReturningAdviceInterceptor((AfterReturningAdvice) advisor.getAdvice());
+    }
+}
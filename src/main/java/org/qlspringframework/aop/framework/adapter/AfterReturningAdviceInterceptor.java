@@ -0,0 +1,28 @@
+package org.qlspringframework.aop.framework.adapter;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.qlspringframework.aop.AfterReturningAdvice;
+
+/**
+ * AOP 返回通知拦截器类，目标方法正常返回后执行返回通知
+ *
+ * @author jixu
+ * @title AfterReturningAdviceInterceptor
+ * @date 2025/6/18 15:05
+ */
+public class AfterReturningAdviceInterceptor implements MethodInterceptor {
+
+    private final AfterReturningAdvice advice;
+
+    public AfterReturningAdviceInterceptor(AfterReturningAdvice advice) {
+        this.advice = advice;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation methodInvocation) throws Throwable {
+        Object returnValue = methodInvocation.proceed();
+        advice.afterReturning(returnValue, methodInvocation.getMethod(), methodInvocation.getArguments(), methodInvocation.getThis());
+        return returnValue;
+    }
+}
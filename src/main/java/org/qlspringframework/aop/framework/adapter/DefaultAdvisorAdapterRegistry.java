@@ -0,0 +1,60 @@
+package org.qlspringframework.aop.framework.adapter;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.qlspringframework.aop.Advisor;
+import org.qlspringframework.beans.BeansException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 默认的Advice适配器注册表
+ * MethodInterceptor直接作为拦截器使用，其余Advice交给支持它的适配器转换
+ * 默认注册了前置通知、返回通知和异常通知的适配器
+ *
+ * @author jixu
+ * @title DefaultAdvisorAdapterRegistry
+ * @date 2025/6/18 15:18
+ */
+public class DefaultAdvisorAdapterRegistry implements AdvisorAdapterRegistry {
+
+    // 所有代理默认共用的注册表
+    private static final AdvisorAdapterRegistry INSTANCE = new DefaultAdvisorAdapterRegistry();
+
+    private final List<AdvisorAdapter> adapters = new CopyOnWriteArrayList<>();
+
+    public DefaultAdvisorAdapterRegistry() {
+        registerAdvisorAdapter(new MethodBeforeAdviceAdapter());
+        registerAdvisorAdapter(new AfterReturningAdviceAdapter());
+        registerAdvisorAdapter(new ThrowsAdviceAdapter());
+    }
+
+    public static AdvisorAdapterRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public MethodInterceptor[] getInterceptors(Advisor advisor) {
+        Advice advice = advisor.getAdvice();
+        List<MethodInterceptor> interceptors = new ArrayList<>(1);
+        if (advice instanceof MethodInterceptor) {
+            interceptors.add((MethodInterceptor) advice);
+        }
+        for (AdvisorAdapter adapter : adapters) {
+            if (adapter.supportsAdvice(advice)) {
+                interceptors.add(adapter.getInterceptor(advisor));
+            }
+        }
+        if (interceptors.isEmpty()) {
+            throw new BeansException("不支持的Advice类型：" + (advice == null ? null : advice.getClass().getName()));
+        }
+        return interceptors.toArray(new MethodInterceptor[0]);
+    }
+
+    @Override
+    public void registerAdvisorAdapter(AdvisorAdapter adapter) {
+        adapters.add(adapter);
+    }
+}
@@ -0,0 +1,26 @@
+package org.qlspringframework.aop.framework.adapter;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.qlspringframework.aop.Advisor;
+import org.qlspringframework.aop.MethodBeforeAdvice;
+
+/**
+ * 前置通知适配器
+ *
+ * @author jixu
+ * @title MethodBeforeAdviceAdapter
+ * @date 2025/6/18 15:12
+ */
+public class MethodBeforeAdviceAdapter implements AdvisorAdapter {
+
+    @Override
+    public boolean supportsAdvice(Advice advice) {
+        return advice instanceof MethodBeforeAdvice;
+    }
+
+    @Override
+    public MethodInterceptor getInterceptor(Advisor advisor) {
+        return new MethodBeforeAdviceInterceptor((MethodBeforeAdvice) advisor.getAdvice());
+    }
+}
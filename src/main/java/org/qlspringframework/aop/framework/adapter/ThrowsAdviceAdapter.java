@@ -0,0 +1,26 @@
+package org.qlspringframework.aop.framework.adapter;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.qlspringframework.aop.Advisor;
+import org.qlspringframework.aop.ThrowsAdvice;
+
+/**
+ * 异常通知适配器
+ *
+ * @author jixu
+ * @title ThrowsAdviceAdapter
+ * @date 2025/6/18 15:14
+ */
+public class ThrowsAdviceAdapter implements AdvisorAdapter {
+
+    @Override
+    public boolean supportsAdvice(Advice advice) {
+        return advice instanceof ThrowsAdvice;
+    }
+
+    @Override
+    public MethodInterceptor getInterceptor(Advisor advisor) {
+        return new ThrowsAdviceInterceptor((ThrowsAdvice) advisor.getAdvice());
+    }
+}
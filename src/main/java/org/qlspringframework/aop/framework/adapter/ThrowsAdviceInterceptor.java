@@ -0,0 +1,31 @@
+package org.qlspringframework.aop.framework.adapter;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.qlspringframework.aop.ThrowsAdvice;
+
+/**
+ * AOP 异常通知拦截器类，目标方法抛出异常后执行异常通知，然后继续抛出原异常
+ *
+ * @author jixu
+ * @title ThrowsAdviceInterceptor
+ * @date 2025/6/18 15:08
+ */
+public class ThrowsAdviceInterceptor implements MethodInterceptor {
+
+    private final ThrowsAdvice advice;
+
+    public ThrowsAdviceInterceptor(ThrowsAdvice advice) {
+        this.advice = advice;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation methodInvocation) throws Throwable {
+        try {
+            return methodInvocation.proceed();
+        } catch (Throwable ex) {
+            advice.afterThrowing(methodInvocation.getMethod(), methodInvocation.getArguments(), methodInvocation.getThis(), ex);
+            throw ex;
+        }
+    }
+}
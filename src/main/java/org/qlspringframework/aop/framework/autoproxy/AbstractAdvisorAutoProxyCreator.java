@@ -1,17 +1,21 @@
 package org.qlspringframework.aop.framework.autoproxy;
 
 import org.aopalliance.aop.Advice;
-import org.aopalliance.intercept.MethodInterceptor;
 import org.qlspringframework.aop.*;
-import org.qlspringframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.qlspringframework.aop.framework.ProxyClassCache;
 import org.qlspringframework.aop.framework.ProxyFactory;
+import org.qlspringframework.aop.framework.adapter.AdvisorAdapterRegistry;
+import org.qlspringframework.aop.framework.adapter.DefaultAdvisorAdapterRegistry;
 import org.qlspringframework.beans.BeansException;
 import org.qlspringframework.beans.factory.BeanFactory;
+import org.qlspringframework.beans.factory.DisposableBean;
 import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.core.OrderComparator;
 
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 抽象的顾问自动代理创建者类
@@ -22,12 +26,18 @@ import java.util.Set;
  * @title AbstractAdvisorAutoProxyCreator
  * @date 2025/5/29 00:44
  */
-public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyCreator{
+public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyCreator implements DisposableBean {
 
     // 定义一个 BeanFactory 属性，用于管理 Bean 的创建和生命周期。
     private DefaultListableBeanFactory beanFactory;
 
-    private Set<Object> earlyProxyReferences = new HashSet<>();
+    private Set<Object> earlyProxyReferences = ConcurrentHashMap.newKeySet();
+
+    // 把Advisor中的各类Advice（前置、返回、异常通知等）转换为拦截器的适配器注册表
+    private AdvisorAdapterRegistry advisorAdapterRegistry = DefaultAdvisorAdapterRegistry.getInstance();
+
+    // 当前容器中生成的CGLIB代理类缓存，容器关闭时清空
+    private final ProxyClassCache proxyClassCache = new ProxyClassCache();
 
     /**
      * 设置 BeanFactory。
@@ -40,6 +50,15 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
         this.beanFactory = (DefaultListableBeanFactory) beanFactory;
     }
 
+    /**
+     * 设置Advice适配器注册表，用于支持自定义的Advice类型
+     *
+     * @param advisorAdapterRegistry Advice适配器注册表
+     */
+    public void setAdvisorAdapterRegistry(AdvisorAdapterRegistry advisorAdapterRegistry) {
+        this.advisorAdapterRegistry = advisorAdapterRegistry;
+    }
+
     /**
      * 在 Bean 实例化之前进行后处理。
      * 用于创建自定义 TargetSource代理对象
@@ -116,29 +135,34 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
             return bean;
         }
 
-        // 获取到所有的Advisor
-        Collection<AspectJExpressionPointcutAdvisor> advisors = beanFactory.getBeanOfType(AspectJExpressionPointcutAdvisor.class).values();
-        try {
-
-
-            for (AspectJExpressionPointcutAdvisor advisor : advisors) {
+        // 获取到所有的Advisor，筛选出作用于当前Bean的Advisor并按照order排序
+        List<Advisor> eligibleAdvisors = new ArrayList<>();
+        for (Advisor advisor : beanFactory.getBeanOfType(Advisor.class).values()) {
+            if (!(advisor instanceof PointcutAdvisor)
+                    || ((PointcutAdvisor) advisor).getPointcut().getClassFilter().matches(beanClass)) {
+                eligibleAdvisors.add(advisor);
+            }
+        }
+        if (eligibleAdvisors.isEmpty()) {
+            return bean;
+        }
+        OrderComparator.sort(eligibleAdvisors);
 
-                ClassFilter classFilter = advisor.getPointcut().getClassFilter();
-                if (classFilter.matches(bean.getClass())) {
-                    AdvisedSupport advisedSupport = new AdvisedSupport();
-                    TargetSource targetSource = new TargetSource(bean);
-                    advisedSupport.setTargetSource(targetSource);
-                    advisedSupport.setMethodInterceptor((MethodInterceptor) advisor.getAdvice());
-                    advisedSupport.setMethodMatcher(advisor.getPointcut().getMethodMatcher());
-                    //返回代理对象
-                    return new ProxyFactory(advisedSupport).getProxy();
-                }
+        try {
+            AdvisedSupport advisedSupport = new AdvisedSupport();
+            TargetSource targetSource = new TargetSource(bean);
+            advisedSupport.setTargetSource(targetSource);
+            advisedSupport.setAdvisorAdapterRegistry(advisorAdapterRegistry);
+            for (Advisor advisor : eligibleAdvisors) {
+                advisedSupport.addAdvisor(advisor);
             }
+            //返回代理对象
+            ProxyFactory proxyFactory = new ProxyFactory(advisedSupport);
+            proxyFactory.setProxyClassCache(proxyClassCache);
+            return proxyFactory.getProxy();
         } catch (Exception e) {
             throw new BeansException("代理对象："+beanName+"创建失败", e);
         }
-
-        return bean;
     }
 
     /**
@@ -154,5 +178,20 @@ public abstract class AbstractAdvisorAutoProxyCreator extends AbstractAutoProxyC
         earlyProxyReferences.add(beanName);
         return wrapIfNecessary(bean,beanName);
     }
-}
 
+    /**
+     * 容器关闭时清空代理类缓存，释放代理类以及缓存key引用的Advisor
+     */
+    @Override
+    public void destroy() {
+        proxyClassCache.clear();
+        earlyProxyReferences.clear();
+    }
+
+    /**
+     * 获取当前容器中生成的CGLIB代理类缓存
+     */
+    public ProxyClassCache getProxyClassCache() {
+        return proxyClassCache;
+    }
+}
@@ -0,0 +1,243 @@
+package org.qlspringframework.aop.interceptor;
+
+import cn.hutool.core.util.StrUtil;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.qlspringframework.aop.framework.InvocationErrorReporter;
+import org.qlspringframework.aop.framework.ReflectiveMethodInvocation;
+import org.qlspringframework.aop.support.AopUtils;
+import org.qlspringframework.aop.support.MethodClassKey;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.BeanFactory;
+import org.qlspringframework.beans.factory.BeanFactoryAware;
+import org.qlspringframework.scheduling.annotation.Async;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 异步执行拦截器
+ * 把方法调用提交到@Async指定名称的线程池Bean执行，没有指定名称时使用默认线程池：
+ * 通过构造函数或setDefaultExecutor设置的线程池，未设置时使用名为taskExecutor的Bean
+ *
+ * void方法提交后立即返回，执行过程中的异常交给异常上报器，未设置上报器时由执行线程的UncaughtExceptionHandler处理
+ * 返回Future的方法立即返回一个CompletableFuture，在目标方法返回的Future完成后以相同的结果完成
+ * 线程池拒绝任务时RejectedExecutionException直接抛给调用方
+ *
+ * 方法执行时使用的线程池和返回值类型在第一次调用时解析并缓存
+ * 非静态的目标源（例如对象池）在异步任务执行完毕后归还目标对象，而不是在调用方线程返回时归还
+ *
+ * @author jixu
+ * @title AsyncExecutionInterceptor
+ * @date 2025/6/17 16:40
+ */
+public class AsyncExecutionInterceptor implements MethodInterceptor, BeanFactoryAware {
+
+    public static final String DEFAULT_TASK_EXECUTOR_BEAN_NAME = "taskExecutor";
+
+    private final Map<MethodClassKey, AsyncMethod> asyncMethodCache = new ConcurrentHashMap<>();
+
+    private volatile Executor defaultExecutor;
+
+    private volatile BeanFactory beanFactory;
+
+    private volatile InvocationErrorReporter errorReporter;
+
+    public AsyncExecutionInterceptor() {
+    }
+
+    /**
+     * @param defaultExecutor @Async没有指定线程池名称时使用的线程池
+     */
+    public AsyncExecutionInterceptor(Executor defaultExecutor) {
+        this.defaultExecutor = defaultExecutor;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
+        AsyncMethod asyncMethod = getAsyncMethod(invocation.getMethod(), targetClass);
+        // 目标对象在异步任务中使用，由任务执行完毕后归还，不能在调用方线程返回时归还
+        Runnable targetRelease = invocation instanceof ReflectiveMethodInvocation
+                ? ((ReflectiveMethodInvocation) invocation).deferTargetRelease() : null;
+
+        if (!asyncMethod.returnsFuture) {
+            execute(asyncMethod.executor, () -> {
+                try {
+                    invocation.proceed();
+                } catch (Throwable ex) {
+                    handleUncaughtException(invocation.getMethod(), target, ex);
+                } finally {
+                    releaseTarget(targetRelease);
+                }
+            }, targetRelease);
+            return null;
+        }
+
+        CompletableFuture<Object> resultFuture = new CompletableFuture<>();
+        execute(asyncMethod.executor, () -> {
+            try {
+                Object result = invocation.proceed();
+                completeWith(resultFuture, result);
+            } catch (Throwable ex) {
+                resultFuture.completeExceptionally(ex);
+            } finally {
+                releaseTarget(targetRelease);
+            }
+        }, targetRelease);
+        return resultFuture;
+    }
+
+    /**
+     * 提交异步任务，线程池拒绝任务时任务不会执行，在调用方线程归还目标对象
+     */
+    private static void execute(Executor executor, Runnable task, Runnable targetRelease) {
+        try {
+            executor.execute(task);
+        } catch (RuntimeException | Error ex) {
+            releaseTarget(targetRelease);
+            throw ex;
+        }
+    }
+
+    private static void releaseTarget(Runnable targetRelease) {
+        if (targetRelease != null) {
+            targetRelease.run();
+        }
+    }
+
+    /**
+     * 使用目标方法返回的Future完成返回给调用方的Future
+     * CompletableFuture通过回调完成，不占用执行线程，其他Future在执行线程中等待结果
+     */
+    private static void completeWith(CompletableFuture<Object> resultFuture, Object result) {
+        if (result == null) {
+            resultFuture.complete(null);
+        } else if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, ex) -> {
+                if (ex != null) {
+                    resultFuture.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                } else {
+                    resultFuture.complete(value);
+                }
+            });
+        } else {
+            try {
+                resultFuture.complete(((Future<?>) result).get());
+            } catch (ExecutionException e) {
+                resultFuture.completeExceptionally(e.getCause());
+            } catch (Throwable e) {
+                resultFuture.completeExceptionally(e);
+            }
+        }
+    }
+
+    private void handleUncaughtException(Method method, Object target, Throwable ex) {
+        InvocationErrorReporter reporter = this.errorReporter;
+        if (reporter != null) {
+            reporter.report(method, target, ex);
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+    }
+
+    private AsyncMethod getAsyncMethod(Method method, Class<?> targetClass) {
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        AsyncMethod asyncMethod = asyncMethodCache.get(key);
+        if (asyncMethod == null) {
+            asyncMethod = asyncMethodCache.computeIfAbsent(key, k -> resolveAsyncMethod(method, targetClass));
+        }
+        return asyncMethod;
+    }
+
+    private AsyncMethod resolveAsyncMethod(Method method, Class<?> targetClass) {
+        Class<?> returnType = method.getReturnType();
+        boolean returnsFuture = returnType != void.class;
+        if (returnsFuture && !returnType.isAssignableFrom(CompletableFuture.class)) {
+            throw new BeansException(String.format("异步方法：%s.%s 的返回值只能是void或Future，实际为：%s",
+                    targetClass.getName(), method.getName(), returnType.getName()));
+        }
+        Async async = findAsyncAnnotation(method, targetClass);
+        String qualifier = async != null ? async.value() : null;
+        return new AsyncMethod(determineExecutor(qualifier), returnsFuture);
+    }
+
+    /**
+     * 获取执行方法的线程池
+     *
+     * @param qualifier @Async指定的线程池Bean名称，可以为空
+     * @return 线程池
+     */
+    protected Executor determineExecutor(String qualifier) {
+        if (StrUtil.isEmpty(qualifier)) {
+            Executor executor = this.defaultExecutor;
+            if (executor != null) {
+                return executor;
+            }
+            qualifier = DEFAULT_TASK_EXECUTOR_BEAN_NAME;
+        }
+        if (beanFactory == null || !beanFactory.containsBean(qualifier)) {
+            throw new BeansException(String.format("找不到执行异步方法的线程池：%s", qualifier));
+        }
+        return beanFactory.getBean(qualifier, Executor.class);
+    }
+
+    /**
+     * 查找方法上的@Async注解，依次检查目标类的方法、方法本身、目标类和方法的声明类
+     * JDK代理传入的是接口方法，注解通常标注在实现类的方法上，Object中声明的方法不会异步执行
+     *
+     * @param method 被调用的方法
+     * @param targetClass 目标类
+     * @return @Async注解，不存在时返回null
+     */
+    public static Async findAsyncAnnotation(Method method, Class<?> targetClass) {
+        if (method.getDeclaringClass() == Object.class) {
+            return null;
+        }
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        Async async = specificMethod.getAnnotation(Async.class);
+        if (async == null && specificMethod != method) {
+            async = method.getAnnotation(Async.class);
+        }
+        if (async == null && targetClass != null) {
+            async = targetClass.getAnnotation(Async.class);
+        }
+        if (async == null) {
+            async = method.getDeclaringClass().getAnnotation(Async.class);
+        }
+        return async;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        this.asyncMethodCache.clear();
+    }
+
+    public void setDefaultExecutor(Executor defaultExecutor) {
+        this.defaultExecutor = defaultExecutor;
+        this.asyncMethodCache.clear();
+    }
+
+    public void setErrorReporter(InvocationErrorReporter errorReporter) {
+        this.errorReporter = errorReporter;
+    }
+
+    /**
+     * 解析后的异步方法信息
+     */
+    private static class AsyncMethod {
+
+        private final Executor executor;
+
+        private final boolean returnsFuture;
+
+        AsyncMethod(Executor executor, boolean returnsFuture) {
+            this.executor = executor;
+            this.returnsFuture = returnsFuture;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.qlspringframework.aop.support;
+
+import java.lang.reflect.Method;
+
+/**
+ * AOP相关的工具方法
+ *
+ * @author jixu
+ * @title AopUtils
+ * @date 2025/6/18 09:30
+ */
+public abstract class AopUtils {
+
+    /**
+     * 获取目标类上与指定方法对应的方法
+     * JDK代理传入的是接口方法，而注解通常标注在实现类的方法上，找不到时返回原方法
+     *
+     * @param method 被调用的方法，可能是接口方法
+     * @param targetClass 目标类，可以为空
+     * @return 目标类上的方法
+     */
+    public static Method getMostSpecificMethod(Method method, Class<?> targetClass) {
+        if (targetClass == null || targetClass == method.getDeclaringClass()) {
+            return method;
+        }
+        try {
+            return targetClass.getMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            return method;
+        }
+    }
+}
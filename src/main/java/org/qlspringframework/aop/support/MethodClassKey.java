@@ -0,0 +1,41 @@
+package org.qlspringframework.aop.support;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * 由方法和目标类组成的缓存key
+ * 同一个接口方法在不同的实现类上可能标注了不同的注解，按照方法缓存解析结果时需要同时区分目标类
+ *
+ * @author jixu
+ * @title MethodClassKey
+ * @date 2025/6/18 11:20
+ */
+public final class MethodClassKey {
+
+    private final Method method;
+
+    private final Class<?> targetClass;
+
+    public MethodClassKey(Method method, Class<?> targetClass) {
+        this.method = method;
+        this.targetClass = targetClass;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MethodClassKey)) {
+            return false;
+        }
+        MethodClassKey other = (MethodClassKey) o;
+        return method.equals(other.method) && targetClass == other.targetClass;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(method, targetClass);
+    }
+}
@@ -0,0 +1,58 @@
+package org.qlspringframework.aop.target;
+
+import org.qlspringframework.aop.TargetSource;
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.beans.factory.ObjectFactory;
+
+/**
+ * 需要创建多个目标对象的目标源的基类
+ * 目标对象由ObjectFactory创建，例如 () -> beanFactory.getBean("prototypeBean") 从容器获取原型Bean
+ *
+ * @author jixu
+ * @title AbstractPrototypeBasedTargetSource
+ * @date 2025/6/17 09:40
+ */
+public abstract class AbstractPrototypeBasedTargetSource extends TargetSource {
+
+    private final Class<?> targetClass;
+
+    private final ObjectFactory<?> targetFactory;
+
+    /**
+     * @param targetClass 目标对象的类型，代理对象根据该类型生成
+     * @param targetFactory 目标对象的创建方式，每次调用都需要返回一个新的对象
+     */
+    protected AbstractPrototypeBasedTargetSource(Class<?> targetClass, ObjectFactory<?> targetFactory) {
+        if (targetClass == null || targetFactory == null) {
+            throw new IllegalArgumentException("targetClass和targetFactory不能为空");
+        }
+        this.targetClass = targetClass;
+        this.targetFactory = targetFactory;
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return false;
+    }
+
+    /**
+     * 创建一个新的目标对象
+     */
+    protected Object newPrototypeInstance() {
+        return targetFactory.getObject();
+    }
+
+    /**
+     * 销毁不再使用的目标对象，目标对象实现了DisposableBean时调用其destroy方法
+     */
+    protected void destroyPrototypeInstance(Object target) {
+        if (target instanceof DisposableBean) {
+            ((DisposableBean) target).destroy();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.qlspringframework.aop.target;
+
+import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.TargetSource;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * 可热替换的目标源
+ * 目标对象保存在volatile变量中，调用swap后代理对象的下一次方法调用立即使用新的目标对象，不需要重新创建代理对象
+ * 代理类在创建时已经确定，新的目标对象必须实现原目标对象的所有接口；
+ * cglib代理直接在目标对象上调用原目标类型的方法，因此使用该目标源的AdvisedSupport中有任意一个开启了proxyTargetClass时，
+ * 还要求新的目标对象是原目标类型的实例，全部使用JDK动态代理时允许替换为同一组接口的其他实现
+ *
+ * @author jixu
+ * @title HotSwappableTargetSource
+ * @date 2025/6/17 14:30
+ */
+public class HotSwappableTargetSource extends TargetSource {
+
+    // 创建时的目标类型，代理类根据该类型生成，替换目标对象后不变
+    private final Class<?> targetClass;
+
+    private volatile Object target;
+
+    // 使用该目标源的代理配置，由AdvisedSupport设置目标源时登记，代理配置不再使用后可以被回收
+    private final Set<AdvisedSupport> advisedSupports = Collections.newSetFromMap(new WeakHashMap<>());
+
+    public HotSwappableTargetSource(Object initialTarget) {
+        if (initialTarget == null) {
+            throw new IllegalArgumentException("目标对象不能为空");
+        }
+        this.targetClass = initialTarget.getClass();
+        this.target = initialTarget;
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 目标对象可能被替换，每次调用都需要重新获取
+     */
+    @Override
+    public boolean isStatic() {
+        return false;
+    }
+
+    @Override
+    public Object getTarget() {
+        return target;
+    }
+
+    /**
+     * 登记使用该目标源的代理配置，由AdvisedSupport在设置目标源时调用
+     */
+    public synchronized void addAdvisedSupport(AdvisedSupport advisedSupport) {
+        advisedSupports.add(advisedSupport);
+    }
+
+    /**
+     * 移除登记的代理配置，由AdvisedSupport在替换为其他目标源时调用
+     */
+    public synchronized void removeAdvisedSupport(AdvisedSupport advisedSupport) {
+        advisedSupports.remove(advisedSupport);
+    }
+
+    /**
+     * 是否可能用于基于类的cglib代理
+     * 还没有登记代理配置时与AdvisedSupport的默认配置一致，按照cglib代理处理
+     */
+    private boolean isProxyTargetClass() {
+        if (advisedSupports.isEmpty()) {
+            return true;
+        }
+        for (AdvisedSupport advisedSupport : advisedSupports) {
+            if (advisedSupport.isProxyTargetClass()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 替换目标对象
+     * 用于cglib代理或者原目标类型没有实现任何接口时，新的目标对象必须是原目标类型的实例
+     *
+     * @param newTarget 新的目标对象
+     * @return 被替换的旧目标对象
+     */
+    public synchronized Object swap(Object newTarget) {
+        if (newTarget == null) {
+            throw new IllegalArgumentException("目标对象不能为空");
+        }
+        Class<?>[] interfaces = getTargetInterfaceClass();
+        if ((isProxyTargetClass() || interfaces.length == 0) && !targetClass.isInstance(newTarget)) {
+            throw new IllegalArgumentException(String.format("新的目标对象：%s 不是原目标类型：%s 的实例",
+                    newTarget.getClass().getName(), targetClass.getName()));
+        }
+        for (Class<?> interfaceClass : interfaces) {
+            if (!interfaceClass.isInstance(newTarget)) {
+                throw new IllegalArgumentException(String.format("新的目标对象：%s 没有实现接口：%s",
+                        newTarget.getClass().getName(), interfaceClass.getName()));
+            }
+        }
+        Object oldTarget = this.target;
+        this.target = newTarget;
+        return oldTarget;
+    }
+}
@@ -0,0 +1,73 @@
+package org.qlspringframework.aop.target;
+
+import org.qlspringframework.aop.TargetSource;
+import org.qlspringframework.beans.factory.BeanFactory;
+import org.qlspringframework.beans.factory.ObjectFactory;
+
+/**
+ * 延迟初始化的目标源
+ * 创建代理对象时不会获取目标对象，第一次方法调用时才通过ObjectFactory（例如beanFactory.getBean）获取，
+ * 之后一直使用同一个目标对象，适用于很少被调用但创建开销较大的Bean
+ *
+ * @author jixu
+ * @title LazyInitTargetSource
+ * @date 2025/6/17 14:50
+ */
+public class LazyInitTargetSource extends TargetSource {
+
+    private final Class<?> targetClass;
+
+    private final ObjectFactory<?> targetFactory;
+
+    private volatile Object target;
+
+    /**
+     * @param targetClass 目标对象的类型，代理对象根据该类型生成
+     * @param targetFactory 目标对象的获取方式，只会被调用一次
+     */
+    public LazyInitTargetSource(Class<?> targetClass, ObjectFactory<?> targetFactory) {
+        if (targetClass == null || targetFactory == null) {
+            throw new IllegalArgumentException("targetClass和targetFactory不能为空");
+        }
+        this.targetClass = targetClass;
+        this.targetFactory = targetFactory;
+    }
+
+    /**
+     * 第一次方法调用时从容器获取指定名称的Bean
+     *
+     * @param beanFactory Bean工厂
+     * @param targetBeanName 目标Bean的名称
+     * @param targetClass 目标Bean的类型
+     */
+    public LazyInitTargetSource(BeanFactory beanFactory, String targetBeanName, Class<?> targetClass) {
+        this(targetClass, () -> beanFactory.getBean(targetBeanName));
+    }
+
+    @Override
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    @Override
+    public Object getTarget() {
+        Object current = this.target;
+        if (current == null) {
+            synchronized (this) {
+                current = this.target;
+                if (current == null) {
+                    current = targetFactory.getObject();
+                    this.target = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 目标对象是否已经被获取
+     */
+    public boolean isInitialized() {
+        return target != null;
+    }
+}
@@ -0,0 +1,270 @@
+package org.qlspringframework.aop.target;
+
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.beans.factory.InitializingBean;
+import org.qlspringframework.beans.factory.ObjectFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 对象池目标源
+ * 每次方法调用从池中借出一个目标对象，调用结束后归还，适用于非线程安全并且创建开销较大的目标对象
+ * 空闲对象保存在无锁队列中，对象总数通过CAS控制，不超过maxSize
+ * 池中对象全部被借出时等待其他调用归还，超过maxWait仍然没有可用对象时抛出异常
+ * 归还时空闲对象已经达到maxIdle则直接销毁，afterPropertiesSet时预先创建minIdle个空闲对象
+ *
+ * @author jixu
+ * @title PoolingTargetSource
+ * @date 2025/6/17 10:05
+ */
+public class PoolingTargetSource extends AbstractPrototypeBasedTargetSource implements InitializingBean, DisposableBean {
+
+    // 等待归还时每次休眠的时间
+    private static final long WAIT_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final int maxSize;
+
+    private volatile int maxIdle;
+
+    private volatile int minIdle;
+
+    // 等待可用对象的最长时间，单位毫秒，小于0时一直等待
+    private volatile long maxWait = -1;
+
+    private volatile boolean closed;
+
+    // 空闲对象
+    private final ConcurrentLinkedQueue<Object> idleObjects = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    // 已创建且尚未销毁的对象数量，包括空闲对象和借出的对象
+    private final AtomicInteger totalCount = new AtomicInteger();
+
+    private final AtomicInteger activeCount = new AtomicInteger();
+
+    private final AtomicLong borrowCount = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong waitCount = new AtomicLong();
+
+    private final AtomicLong createdCount = new AtomicLong();
+
+    private final AtomicLong destroyedCount = new AtomicLong();
+
+    /**
+     * @param targetClass 目标对象的类型
+     * @param targetFactory 目标对象的创建方式
+     * @param maxSize 池中对象的最大数量
+     */
+    public PoolingTargetSource(Class<?> targetClass, ObjectFactory<?> targetFactory, int maxSize) {
+        super(targetClass, targetFactory);
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize必须大于0");
+        }
+        this.maxSize = maxSize;
+        this.maxIdle = maxSize;
+    }
+
+    /**
+     * 预先创建minIdle个空闲对象
+     */
+    @Override
+    public void afterPropertiesSet() {
+        while (idleCount.get() < minIdle) {
+            Object target = tryCreate();
+            if (target == null) {
+                return;
+            }
+            idleObjects.offer(target);
+            idleCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 从池中借出一个目标对象
+     *
+     * @return 目标对象
+     */
+    @Override
+    public Object getTarget() {
+        if (closed) {
+            throw new BeansException("对象池已经关闭");
+        }
+        borrowCount.incrementAndGet();
+        long deadline = maxWait < 0 ? Long.MAX_VALUE : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWait);
+        boolean waited = false;
+        for (;;) {
+            Object target = idleObjects.poll();
+            if (target != null) {
+                idleCount.decrementAndGet();
+                hitCount.incrementAndGet();
+                activeCount.incrementAndGet();
+                return target;
+            }
+            target = tryCreate();
+            if (target != null) {
+                activeCount.incrementAndGet();
+                return target;
+            }
+
+            // 池中对象已经全部借出，等待其他调用归还
+            if (!waited) {
+                waited = true;
+                waitCount.incrementAndGet();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new BeansException(String.format("等待%d毫秒后对象池中仍然没有可用的对象，maxSize：%d", maxWait, maxSize));
+            }
+            LockSupport.parkNanos(WAIT_INTERVAL_NANOS);
+            if (closed) {
+                throw new BeansException("对象池已经关闭");
+            }
+        }
+    }
+
+    /**
+     * 对象总数没有达到上限时创建新对象，否则返回null
+     */
+    private Object tryCreate() {
+        for (;;) {
+            int total = totalCount.get();
+            if (total >= maxSize) {
+                return null;
+            }
+            if (totalCount.compareAndSet(total, total + 1)) {
+                break;
+            }
+        }
+        try {
+            Object target = newPrototypeInstance();
+            createdCount.incrementAndGet();
+            return target;
+        } catch (RuntimeException e) {
+            totalCount.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * 归还目标对象，空闲对象达到maxIdle或对象池已经关闭时直接销毁
+     *
+     * @param target 本次调用使用的目标对象
+     */
+    @Override
+    public void releaseTarget(Object target) {
+        activeCount.decrementAndGet();
+        if (!closed && idleCount.incrementAndGet() <= maxIdle) {
+            idleObjects.offer(target);
+            // 归还的同时对象池被关闭，重新清理一次空闲对象
+            if (closed) {
+                destroyIdleObjects();
+            }
+            return;
+        }
+        if (!closed) {
+            idleCount.decrementAndGet();
+        }
+        destroyTarget(target);
+    }
+
+    private void destroyTarget(Object target) {
+        totalCount.decrementAndGet();
+        destroyedCount.incrementAndGet();
+        destroyPrototypeInstance(target);
+    }
+
+    /**
+     * 关闭对象池并销毁所有空闲对象，借出的对象在归还时销毁
+     */
+    @Override
+    public void destroy() {
+        closed = true;
+        destroyIdleObjects();
+    }
+
+    private void destroyIdleObjects() {
+        Object target;
+        while ((target = idleObjects.poll()) != null) {
+            idleCount.decrementAndGet();
+            destroyTarget(target);
+        }
+    }
+
+    public void setMaxIdle(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = Math.min(minIdle, maxSize);
+    }
+
+    public void setMaxWait(long maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * 当前借出的对象数量
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * 当前空闲的对象数量
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * 借出对象的总次数
+     */
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    /**
+     * 直接借出空闲对象的次数
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * 因为对象全部被借出而需要等待的次数
+     */
+    public long getWaitCount() {
+        return waitCount.get();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public long getDestroyedCount() {
+        return destroyedCount.get();
+    }
+}
@@ -0,0 +1,101 @@
+package org.qlspringframework.aop.target;
+
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.beans.factory.ObjectFactory;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 线程绑定的目标源
+ * 每个线程第一次调用时创建自己的目标对象，之后该线程的调用都使用同一个对象，目标对象不需要是线程安全的
+ * 目标源被销毁时销毁所有线程创建的目标对象，其他线程的ThreadLocal中仍然保存着已销毁的对象，
+ * 因此销毁之后任何线程获取目标对象都会抛出异常，不会再返回已销毁的对象
+ *
+ * @author jixu
+ * @title ThreadLocalTargetSource
+ * @date 2025/6/17 10:40
+ */
+public class ThreadLocalTargetSource extends AbstractPrototypeBasedTargetSource implements DisposableBean {
+
+    private final ThreadLocal<Object> targetInThread = new ThreadLocal<>();
+
+    // 所有线程创建的目标对象，用于销毁
+    private final ConcurrentLinkedQueue<Object> targets = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong invocationCount = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private volatile boolean destroyed;
+
+    public ThreadLocalTargetSource(Class<?> targetClass, ObjectFactory<?> targetFactory) {
+        super(targetClass, targetFactory);
+    }
+
+    /**
+     * 获取当前线程的目标对象，不存在时创建
+     *
+     * @return 当前线程的目标对象
+     */
+    @Override
+    public Object getTarget() {
+        if (destroyed) {
+            targetInThread.remove();
+            throw new BeansException("目标源已经销毁");
+        }
+        invocationCount.incrementAndGet();
+        Object target = targetInThread.get();
+        if (target != null) {
+            hitCount.incrementAndGet();
+            return target;
+        }
+        target = newPrototypeInstance();
+        targetInThread.set(target);
+        targets.offer(target);
+        // 创建的同时目标源被销毁，destroy可能已经清理完队列，由当前线程销毁自己创建的对象
+        if (destroyed) {
+            targetInThread.remove();
+            if (targets.remove(target)) {
+                destroyPrototypeInstance(target);
+            }
+            throw new BeansException("目标源已经销毁");
+        }
+        return target;
+    }
+
+    /**
+     * 销毁所有线程创建的目标对象，之后不再提供目标对象
+     */
+    @Override
+    public void destroy() {
+        destroyed = true;
+        Object target;
+        while ((target = targets.poll()) != null) {
+            destroyPrototypeInstance(target);
+        }
+        targetInThread.remove();
+    }
+
+    /**
+     * 获取目标对象的总次数
+     */
+    public long getInvocationCount() {
+        return invocationCount.get();
+    }
+
+    /**
+     * 当前线程已经存在目标对象的次数
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * 已创建的目标对象数量，即使用过该目标源的线程数量
+     */
+    public int getObjectCount() {
+        return targets.size();
+    }
+}
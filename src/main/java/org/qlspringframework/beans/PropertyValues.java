@@ -17,6 +17,9 @@ public class PropertyValues {
     // 定义一个列表用于保存Bean的PropertyValue
     private final List<PropertyValue> propertyValueList = new ArrayList<>();
 
+    // 属性列表的修改次数，用于判断根据属性列表生成的缓存是否已经失效
+    private volatile int modificationCount;
+
     /**
      * 获取所有属性值数组
      *
@@ -33,6 +36,16 @@ public class PropertyValues {
      */
     public void addPropertyValue(PropertyValue propertyValue){
         this.propertyValueList.add(propertyValue);
+        this.modificationCount++;
+    }
+
+    /**
+     * 获取属性列表的修改次数
+     *
+     * @return 每添加一个属性值修改次数加一
+     */
+    public int getModificationCount() {
+        return modificationCount;
     }
 
     /**
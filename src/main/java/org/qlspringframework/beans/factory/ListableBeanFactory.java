@@ -24,6 +24,14 @@ public interface ListableBeanFactory extends BeanFactory {
      */
     <T> Map<String, T> getBeanOfType(Class<T> type);
 
+    /**
+     * 根据指定的类型获取所有符合条件的Bean名称，不会触发Bean的实例化。
+     *
+     * @param type 要查找的Bean类型
+     * @return 符合类型条件的Bean名称数组，按照BeanDefinition的注册顺序排列
+     */
+    String[] getBeanNamesForType(Class<?> type);
+
     /**
      * 获取当前BeanFactory中所有Bean定义的名称。
      *
@@ -1,19 +1,14 @@
 package org.qlspringframework.beans.factory.annotation;
 
-import cn.hutool.core.bean.BeanUtil;
-import cn.hutool.core.util.TypeUtil;
-import org.qlspringframework.beans.PropertyValue;
 import org.qlspringframework.beans.PropertyValues;
 import org.qlspringframework.beans.factory.BeanFactory;
 import org.qlspringframework.beans.factory.BeanFactoryAware;
 import org.qlspringframework.beans.factory.ConfigurableListableBeanFactory;
-import org.qlspringframework.beans.factory.config.BeanReference;
-import org.qlspringframework.beans.factory.config.ConfigurableBeanFactory;
 import org.qlspringframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
-import org.qlspringframework.core.convert.ConversionService;
 import org.qlspringframework.stereotype.Component;
 
-import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author jixu
@@ -27,79 +22,40 @@ public class AutowiredAnnotationBeanPostProcessor implements InstantiationAwareB
 
     private ConfigurableListableBeanFactory beanFactory;
 
+    // 注入元数据缓存，key为Bean的Class对象，避免每次创建Bean时重复反射解析字段和注解
+    private final Map<Class<?>, InjectionMetadata> injectionMetadataCache = new ConcurrentHashMap<>(256);
 
+
+    /**
+     * 解析@Value和@Autowired注解并直接注入到字段当中
+     * 字段已经直接完成注入，因此不再向BeanDefinition追加PropertyValue
+     */
     @Override
     public PropertyValues postProcessPropertyValues(PropertyValues propertyValues, Object bean, String beanName) {
-
-        Class<?> beanClass = bean.getClass();
-        PropertyValues pvs = new PropertyValues();
-
-        // 获取到当前类当中声明的所有属性
-        Field[] declaredFields = beanClass.getDeclaredFields();
-        for (Field field : declaredFields) {
-
-            // 获取到标记Value注解的属性
-            Value valueAnnotation = field.getAnnotation(Value.class);
-            if (valueAnnotation != null){
-                Object value = valueAnnotation.value();
-
-                // 解析Value的属性值，判断是否需要替换占位符
-                value = beanFactory.resolveEmbeddedValue((String) value);
-
-                Class<?> sourceClass = value.getClass();
-                Class<?> targetType = (Class<?>) TypeUtil.getType(field);
-
-                // 类型转换
-                ConversionService conversionService = beanFactory.getConversionService();
-                if (conversionService != null){
-                    boolean canConvert = conversionService.canConvert(sourceClass, targetType);
-                    if (canConvert){
-                        value = conversionService.convert(value,targetType);
-                    }
-
-                }
-
-                // 将解析完毕的字段添加到类属性当中
-                // BeanUtil.setFieldValue(bean,field.getName(),value);
-                pvs.addPropertyValue(new PropertyValue(field.getName(), value));
-
-            }
+        InjectionMetadata metadata = findInjectionMetadata(bean.getClass());
+        if (!metadata.isEmpty()){
+            metadata.inject(bean, beanFactory);
         }
+        return null;
+    }
 
-
-        // 解析Autowired
-        for (Field field : declaredFields) {
-            Autowired autowired = field.getAnnotation(Autowired.class);
-            if (autowired != null){
-                Class<?> type = field.getType();
-
-                String dependentBeanName = null;
-                // 判断是否指定Bean名称
-                Qualifier qualifier = field.getAnnotation(Qualifier.class);
-                Object dependentBean = null;
-                if (qualifier != null){
-                    dependentBeanName = qualifier.value();
-                    dependentBean = beanFactory.getBean(dependentBeanName);
-                }else {
-                    dependentBean = beanFactory.getBean(type);
-                }
-
-                // 在Spring原生的逻辑当中较为复杂，这里只通过反射直接字段注入注入
-                BeanUtil.setFieldValue(bean, field.getName(), dependentBean);
-                // pvs.addPropertyValue(new PropertyValue(field.getName(), dependentBean));
-            }
-
-
+    /**
+     * 获取类的注入元数据，不存在时解析并缓存
+     *
+     * @param beanClass Bean的Class对象
+     * @return 注入元数据
+     */
+    private InjectionMetadata findInjectionMetadata(Class<?> beanClass) {
+        InjectionMetadata metadata = injectionMetadataCache.get(beanClass);
+        if (metadata == null){
+            metadata = injectionMetadataCache.computeIfAbsent(beanClass, InjectionMetadata::forClass);
         }
-
-
-        return pvs;
+        return metadata;
     }
 
 
 
 
-
     @Override
     public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
         return null;
@@ -0,0 +1,303 @@
+package org.qlspringframework.beans.factory.annotation;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.LazyLoader;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.ConfigurableListableBeanFactory;
+import org.qlspringframework.core.convert.ConversionService;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 类的注入元数据
+ * 在第一次处理某个类时解析该类（包括父类）中所有标注了@Value和@Autowired的字段，
+ * 并预先生成字段的赋值句柄，之后同一个类的实例进行注入时不再需要反射查找字段和注解
+ * 同时标注了@Lazy的@Autowired字段注入延迟解析的代理对象
+ *
+ * @author jixu
+ * @title InjectionMetadata
+ * @date 2025/6/11 10:20
+ */
+public class InjectionMetadata {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // 统一的字段赋值句柄类型：(Object bean, Object value) -> void
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> targetClass;
+
+    // 需要注入的字段，@Value字段在前，@Autowired字段在后
+    private final InjectedElement[] injectedElements;
+
+    private InjectionMetadata(Class<?> targetClass, InjectedElement[] injectedElements) {
+        this.targetClass = targetClass;
+        this.injectedElements = injectedElements;
+    }
+
+    /**
+     * 解析指定类的注入元数据
+     * 从当前类开始向上遍历父类，静态字段不参与注入
+     *
+     * @param clazz 要解析的类
+     * @return 注入元数据
+     */
+    public static InjectionMetadata forClass(Class<?> clazz) {
+        List<InjectedElement> valueElements = new ArrayList<>();
+        List<InjectedElement> autowiredElements = new ArrayList<>();
+
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Value value = field.getAnnotation(Value.class);
+                if (value != null) {
+                    valueElements.add(new ValueElement(field, createSetter(field), value.value()));
+                }
+                Autowired autowired = field.getAnnotation(Autowired.class);
+                if (autowired != null) {
+                    Qualifier qualifier = field.getAnnotation(Qualifier.class);
+                    Lazy lazy = field.getAnnotation(Lazy.class);
+                    autowiredElements.add(new AutowiredElement(field, createSetter(field),
+                            qualifier != null ? qualifier.value() : null, lazy != null && lazy.value()));
+                }
+            }
+        }
+
+        List<InjectedElement> elements = new ArrayList<>(valueElements);
+        elements.addAll(autowiredElements);
+        return new InjectionMetadata(clazz, elements.toArray(new InjectedElement[0]));
+    }
+
+    /**
+     * 生成字段的赋值句柄
+     */
+    private static MethodHandle createSetter(Field field) {
+        try {
+            field.setAccessible(true);
+            return LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (Exception e) {
+            throw new BeansException(String.format("无法访问字段：%s.%s", field.getDeclaringClass().getName(), field.getName()), e);
+        }
+    }
+
+    /**
+     * 为Bean实例注入所有字段
+     *
+     * @param bean 要注入的Bean实例
+     * @param beanFactory 用于解析占位符、类型转换以及获取依赖的Bean工厂
+     */
+    public void inject(Object bean, ConfigurableListableBeanFactory beanFactory) {
+        for (InjectedElement element : injectedElements) {
+            element.inject(bean, beanFactory);
+        }
+    }
+
+    public boolean isEmpty() {
+        return injectedElements.length == 0;
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * 单个需要注入的字段
+     */
+    public abstract static class InjectedElement {
+
+        protected final Field field;
+
+        private final MethodHandle setter;
+
+        protected InjectedElement(Field field, MethodHandle setter) {
+            this.field = field;
+            this.setter = setter;
+        }
+
+        protected abstract Object resolveValue(ConfigurableListableBeanFactory beanFactory);
+
+        public void inject(Object bean, ConfigurableListableBeanFactory beanFactory) {
+            Object value = resolveValue(beanFactory);
+            try {
+                setter.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new BeansException(String.format("字段注入失败：%s.%s", field.getDeclaringClass().getName(), field.getName()), e);
+            }
+        }
+
+        public Field getField() {
+            return field;
+        }
+    }
+
+    /**
+     * 标注了@Value的字段
+     * 不包含占位符的值与配置文件无关，解析和类型转换的结果会被缓存
+     */
+    private static class ValueElement extends InjectedElement {
+
+        private final String expression;
+
+        private final boolean staticValue;
+
+        // 缓存的转换结果，与转换时使用的ConversionService绑定
+        private volatile ResolvedValue resolvedValue;
+
+        ValueElement(Field field, MethodHandle setter, String expression) {
+            super(field, setter);
+            this.expression = expression;
+            this.staticValue = !expression.contains("${");
+        }
+
+        @Override
+        protected Object resolveValue(ConfigurableListableBeanFactory beanFactory) {
+            ConversionService conversionService = beanFactory.getConversionService();
+            if (staticValue) {
+                ResolvedValue cached = this.resolvedValue;
+                if (cached != null && cached.conversionService == conversionService) {
+                    return cached.value;
+                }
+            }
+
+            // 解析Value的属性值，判断是否需要替换占位符
+            Object value = beanFactory.resolveEmbeddedValue(expression);
+
+            // 类型转换
+            Class<?> targetType = field.getType();
+            if (conversionService != null && conversionService.canConvert(value.getClass(), targetType)) {
+                value = conversionService.convert(value, targetType);
+            }
+
+            if (staticValue) {
+                this.resolvedValue = new ResolvedValue(value, conversionService);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 标注了@Autowired的字段，指定了@Qualifier时按名称获取依赖，否则按类型获取
+     * 同时标注了@Lazy时注入延迟解析的代理对象，第一次调用代理对象的方法时才获取依赖
+     */
+    private static class AutowiredElement extends InjectedElement {
+
+        private final String qualifier;
+
+        private final boolean lazy;
+
+        AutowiredElement(Field field, MethodHandle setter, String qualifier, boolean lazy) {
+            super(field, setter);
+            this.qualifier = qualifier;
+            this.lazy = lazy;
+        }
+
+        @Override
+        protected Object resolveValue(ConfigurableListableBeanFactory beanFactory) {
+            if (lazy) {
+                return buildLazyResolutionProxy(field.getType(), () -> resolveDependency(beanFactory));
+            }
+            return resolveDependency(beanFactory);
+        }
+
+        private Object resolveDependency(ConfigurableListableBeanFactory beanFactory) {
+            if (qualifier != null) {
+                return beanFactory.getBean(qualifier);
+            }
+            return beanFactory.getBean(field.getType());
+        }
+    }
+
+    /**
+     * 创建延迟解析的代理对象
+     * 接口类型使用JDK动态代理；类使用cglib的LazyLoader生成子类，实例化时不调用构造函数，
+     * 因此没有无参构造函数的类也可以代理，构造函数中的逻辑也不会执行；目标对象只会被解析一次
+     *
+     * @param type 字段类型
+     * @param targetResolver 目标对象的解析方式
+     * @return 代理对象
+     */
+    private static Object buildLazyResolutionProxy(Class<?> type, Supplier<Object> targetResolver) {
+        if (type.isInterface()) {
+            InvocationHandler invocationHandler = new InvocationHandler() {
+
+                private volatile Object target;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    Object currentTarget = target;
+                    if (currentTarget == null) {
+                        synchronized (this) {
+                            currentTarget = target;
+                            if (currentTarget == null) {
+                                currentTarget = targetResolver.get();
+                                target = currentTarget;
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(currentTarget, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }
+            };
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+        }
+        if (Modifier.isFinal(type.getModifiers())) {
+            throw new BeansException(String.format("@Lazy 字段的类型：%s 是final类，无法创建延迟解析的代理对象，请改为接口类型", type.getName()));
+        }
+
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(type);
+        enhancer.setCallbackType(LazyLoader.class);
+        Class<?> proxyClass;
+        try {
+            proxyClass = enhancer.createClass();
+        } catch (RuntimeException e) {
+            throw new BeansException(String.format("无法为@Lazy 字段的类型：%s 创建延迟解析的代理类", type.getName()), e);
+        }
+        // 生成的代理类实现了Factory接口，在第一次调用方法之前设置回调即可
+        Factory proxy = (Factory) instantiateWithoutConstructor(proxyClass);
+        proxy.setCallbacks(new Callback[]{(LazyLoader) targetResolver::get});
+        return proxy;
+    }
+
+    /**
+     * 不调用构造函数创建对象，使用序列化机制所用的构造函数，只执行Object的构造函数
+     * 通过反射访问sun.reflect.ReflectionFactory，Java 8以及之后版本的jdk.unsupported模块都提供该类
+     */
+    private static Object instantiateWithoutConstructor(Class<?> type) {
+        try {
+            Class<?> reflectionFactoryClass = Class.forName("sun.reflect.ReflectionFactory");
+            Object reflectionFactory = reflectionFactoryClass.getMethod("getReflectionFactory").invoke(null);
+            Constructor<?> constructor = (Constructor<?>) reflectionFactoryClass
+                    .getMethod("newConstructorForSerialization", Class.class, Constructor.class)
+                    .invoke(reflectionFactory, type, Object.class.getDeclaredConstructor());
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new BeansException(String.format("无法创建延迟解析的代理对象：%s", type.getName()), e);
+        }
+    }
+
+    private static class ResolvedValue {
+
+        private final Object value;
+
+        private final ConversionService conversionService;
+
+        ResolvedValue(Object value, ConversionService conversionService) {
+            this.value = value;
+            this.conversionService = conversionService;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.qlspringframework.beans.factory.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 延迟初始化注解
+ * 标注在类上时，该单例Bean在容器刷新时不会被提前创建，第一次获取时才创建
+ * 标注在@Autowired字段上时，注入的是一个代理对象，第一次调用代理对象的方法时才获取真正的Bean
+ *
+ * @author jixu
+ * @title Lazy
+ * @date 2025/6/13 14:05
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Lazy {
+    boolean value() default true;
+}
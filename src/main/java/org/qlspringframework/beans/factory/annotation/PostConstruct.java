@@ -0,0 +1,17 @@
+package org.qlspringframework.beans.factory.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 标注Bean的初始化方法，在属性填充完成之后、InitializingBean之前调用
+ * 方法不能有参数，父类中的方法先于子类调用
+ *
+ * @author jixu
+ * @title PostConstruct
+ * @date 2025/6/14 15:00
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PostConstruct {
+}
@@ -0,0 +1,17 @@
+package org.qlspringframework.beans.factory.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 标注Bean的销毁方法，在容器关闭时、DisposableBean之前调用
+ * 方法不能有参数，子类中的方法先于父类调用
+ *
+ * @author jixu
+ * @title PreDestroy
+ * @date 2025/6/14 15:00
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PreDestroy {
+}
@@ -26,6 +26,9 @@ public class BeanDefinition {
     // Bean属性列表
     private PropertyValues propertyValues;
 
+    // 构造函数参数列表
+    private ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
+
     private String destroyMethodName;
 
     private String initMethodName;
@@ -36,12 +39,19 @@ public class BeanDefinition {
     // 多列模式
     private boolean prototype = false;
 
+    // 是否延迟初始化，延迟初始化的单例Bean在容器刷新时不会被提前创建
+    private boolean lazyInit = false;
+
     public void setScope(String scope){
         this.scope = scope;
         this.singleton = SCOPE_SINGLETON.equals(scope);
         this.prototype = SCOPE_PROTOTYPE.equals(scope);
     }
 
+    public String getScope() {
+        return scope;
+    }
+
     public boolean isSingleton() {
         return this.singleton;
     }
@@ -50,6 +60,14 @@ public class BeanDefinition {
         return this.prototype;
     }
 
+    public boolean isLazyInit() {
+        return lazyInit;
+    }
+
+    public void setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
+    }
+
 
 
 
@@ -88,6 +106,31 @@ public class BeanDefinition {
         this.propertyValues = propertyValues;
     }
 
+    /**
+     * 获取构造函数参数列表
+     *
+     * @return 构造函数参数列表
+     */
+    public ConstructorArgumentValues getConstructorArgumentValues() {
+        return constructorArgumentValues;
+    }
+
+    /**
+     * 设置构造函数参数列表
+     *
+     * @param constructorArgumentValues 构造函数参数列表
+     */
+    public void setConstructorArgumentValues(ConstructorArgumentValues constructorArgumentValues) {
+        this.constructorArgumentValues = constructorArgumentValues != null ? constructorArgumentValues : new ConstructorArgumentValues();
+    }
+
+    /**
+     * 判断是否声明了构造函数参数
+     */
+    public boolean hasConstructorArgumentValues() {
+        return !constructorArgumentValues.isEmpty();
+    }
+
     /**
      * 构造函数，根据Bean的Class对象初始化BeanDefinition
      *
@@ -0,0 +1,118 @@
+package org.qlspringframework.beans.factory.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 构造函数参数列表
+ * 保存Bean定义当中声明的构造函数参数，参数可以指定下标，未指定下标的参数按照声明顺序依次填充剩余的位置
+ *
+ * @author: jixu
+ * @create: 2025-06-12 10:05
+ **/
+public class ConstructorArgumentValues {
+
+    // 指定了下标的参数
+    private final Map<Integer, ValueHolder> indexedArgumentValues = new TreeMap<>();
+
+    // 未指定下标的参数
+    private final List<ValueHolder> genericArgumentValues = new ArrayList<>();
+
+    /**
+     * 添加指定下标的参数
+     *
+     * @param index 参数下标
+     * @param valueHolder 参数值
+     */
+    public void addIndexedArgumentValue(int index, ValueHolder valueHolder) {
+        if (index < 0) {
+            throw new IllegalArgumentException("构造函数参数下标不能小于0：" + index);
+        }
+        this.indexedArgumentValues.put(index, valueHolder);
+    }
+
+    /**
+     * 添加未指定下标的参数
+     *
+     * @param valueHolder 参数值
+     */
+    public void addGenericArgumentValue(ValueHolder valueHolder) {
+        this.genericArgumentValues.add(valueHolder);
+    }
+
+    public Map<Integer, ValueHolder> getIndexedArgumentValues() {
+        return Collections.unmodifiableMap(indexedArgumentValues);
+    }
+
+    public List<ValueHolder> getGenericArgumentValues() {
+        return Collections.unmodifiableList(genericArgumentValues);
+    }
+
+    /**
+     * 获取参数个数
+     */
+    public int getArgumentCount() {
+        return indexedArgumentValues.size() + genericArgumentValues.size();
+    }
+
+    public boolean isEmpty() {
+        return indexedArgumentValues.isEmpty() && genericArgumentValues.isEmpty();
+    }
+
+    /**
+     * 按照参数位置排列所有参数
+     * 指定了下标的参数放在对应位置，未指定下标的参数按照声明顺序填充剩余位置
+     *
+     * @return 按照位置排列的参数数组
+     */
+    public ValueHolder[] toArgumentArray() {
+        int count = getArgumentCount();
+        for (Integer index : indexedArgumentValues.keySet()) {
+            if (index >= count) {
+                throw new IllegalArgumentException("构造函数参数下标越界：" + index + "，参数个数：" + count);
+            }
+        }
+        ValueHolder[] arguments = new ValueHolder[count];
+        indexedArgumentValues.forEach((index, valueHolder) -> arguments[index] = valueHolder);
+        int position = 0;
+        for (ValueHolder valueHolder : genericArgumentValues) {
+            while (arguments[position] != null) {
+                position++;
+            }
+            arguments[position] = valueHolder;
+        }
+        return arguments;
+    }
+
+    /**
+     * 单个构造函数参数
+     */
+    public static class ValueHolder {
+
+        // 参数值，可以是普通值或BeanReference
+        private final Object value;
+
+        // 参数类型，可以是类的全限定名或简单类名，为空时不限制类型
+        private final String type;
+
+        public ValueHolder(Object value) {
+            this(value, null);
+        }
+
+        public ValueHolder(Object value, String type) {
+            this.value = value;
+            this.type = type;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public String getType() {
+            return type;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.qlspringframework.beans.factory.config;
+
+/**
+ * 只关心部分Bean类型的BeanPostProcessor
+ * 实现该接口后，对于不支持的Bean类型，该BeanPostProcessor的所有回调方法都会被跳过
+ * 判断结果会按照Bean类型缓存，因此同一个类型的结果必须保持不变
+ *
+ * @author jixu
+ * @title SelectiveBeanPostProcessor
+ * @date 2025/6/15 10:00
+ */
+public interface SelectiveBeanPostProcessor extends BeanPostProcessor {
+
+    /**
+     * 判断是否需要处理指定类型的Bean
+     *
+     * @param beanType Bean的类型
+     * @return 需要处理时返回true
+     */
+    boolean supportsBeanType(Class<?> beanType);
+}
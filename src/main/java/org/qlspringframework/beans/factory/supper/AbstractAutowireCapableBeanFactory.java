@@ -1,21 +1,22 @@
 package org.qlspringframework.beans.factory.supper;
 
+import cn.hutool.core.convert.BasicType;
 import cn.hutool.core.util.ClassUtil;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.core.util.TypeUtil;
 import org.qlspringframework.beans.BeansException;
 import org.qlspringframework.beans.PropertyValue;
 import org.qlspringframework.beans.PropertyValues;
 import org.qlspringframework.beans.factory.BeanFactoryAware;
-import org.qlspringframework.beans.factory.DisposableBean;
-import org.qlspringframework.beans.factory.InitializingBean;
 import org.qlspringframework.beans.factory.ObjectFactory;
 import org.qlspringframework.beans.factory.config.*;
 import org.qlspringframework.core.convert.ConversionService;
 
-import java.lang.reflect.Method;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Properties;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 抽象的自动装配功能的Bean工厂类
@@ -27,7 +28,16 @@ import java.util.Properties;
 public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFactory implements AutowireCapableBeanFactory {
 
     // 实例化策略，用于创建Bean实例
-    private InstantiationStrategy instantiationStrategy = new SimpleInstantiationStrategy();
+    private InstantiationStrategy instantiationStrategy = new FastClassInstantiationStrategy();
+
+    // 属性赋值计划缓存，key为Bean名称
+    private final Map<String, BeanPropertyPlan> propertyPlanCache = new ConcurrentHashMap<>(256);
+
+    // 已解析的构造函数缓存，key为BeanDefinition
+    private final Map<BeanDefinition, Constructor<?>> resolvedConstructorCache = new ConcurrentHashMap<>(64);
+
+    // 生命周期元数据缓存，key为BeanDefinition
+    private final Map<BeanDefinition, LifecycleMetadata> lifecycleMetadataCache = new ConcurrentHashMap<>(256);
 
     /**
      * 创建Bean实例
@@ -79,9 +89,12 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
     private Object doCreateBean(String beanName, BeanDefinition beanDefinition) throws BeansException {
         // 通过反射创建对象
         Object bean = null;
+        // 原始Bean实例，BeanPostProcessor可能把bean替换为代理对象
+        Object rawBean;
         try {
             // 通过InstantiationStrategy实例化Bean
             bean = createBeanInstance(beanDefinition);
+            rawBean = bean;
 
             // 提前暴露Bean
             if (beanDefinition.isSingleton()){
@@ -100,14 +113,17 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
         } catch (Exception e) {
             throw new BeansException(e.getMessage(),e);
         }
-        // 注册带有销毁方法的Bean
-        registerDisposableBeanIfNecessary(beanName, bean, beanDefinition);
+        // 注册带有销毁方法的Bean，销毁方法在原始Bean上执行，不经过代理对象
+        registerDisposableBeanIfNecessary(beanName, rawBean, beanDefinition);
 
-        // 创建完毕后加入缓存
+        // 创建完毕后由getSingleton加入缓存
         if (beanDefinition.isSingleton()){
-            // 如果循环依赖创建了代理对象，在这里不会去重复创建需要从缓存当中取出来
-            Object exposedObject = getSingletonBean(beanName);
-            super.addSingletonBean(beanName, exposedObject);
+            // 如果循环依赖创建了代理对象，在这里不会去重复创建需要从二级缓存当中取出来
+            // 只能读取二级缓存，若从三级缓存获取会再次执行getEarlyBeanReference而产生第二个代理对象
+            Object earlySingletonReference = earlySingletonObjects.get(beanName);
+            if (earlySingletonReference != null){
+                bean = earlySingletonReference;
+            }
         }
         return bean;
     }
@@ -123,15 +139,12 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
  */
 private Object getEarlyBeanReference(String beanName, Object bean) {
     Object exposedObject = bean;
-    // 遍历所有BeanPostProcessor
-    for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
-        // 检查BeanPostProcessor是否实现了SmartInstantiationAwareBeanPostProcessor接口
-        if (beanPostProcessor instanceof SmartInstantiationAwareBeanPostProcessor) {
-            // 调用getEarlyBeanReference方法获取早期Bean引用
-            exposedObject = ((SmartInstantiationAwareBeanPostProcessor) beanPostProcessor).getEarlyBeanReference(exposedObject, beanName);
-            if (exposedObject == null) {
-                return exposedObject;
-            }
+    // 遍历所有SmartInstantiationAwareBeanPostProcessor
+    for (SmartInstantiationAwareBeanPostProcessor beanPostProcessor : getBeanPostProcessorPipeline(bean.getClass()).getSmartInstantiationAwareBeanPostProcessors()) {
+        // 调用getEarlyBeanReference方法获取早期Bean引用
+        exposedObject = beanPostProcessor.getEarlyBeanReference(exposedObject, beanName);
+        if (exposedObject == null) {
+            return exposedObject;
         }
     }
     // 如果没有获取到早期Bean引用，则返回原始Bean实例
@@ -141,31 +154,30 @@ private Object getEarlyBeanReference(String beanName, Object bean) {
 
 
     private void applyBeanPostprocessorsBeforeApplyingPropertyValues(String beanName, Object bean, BeanDefinition beanDefinition) {
-        List<BeanPostProcessor> beanPostProcessors = getBeanPostProcessors();
-        for (BeanPostProcessor beanPostProcessor : beanPostProcessors) {
-            if (beanPostProcessor instanceof  InstantiationAwareBeanPostProcessor) {
-                PropertyValues propertyValues = ((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessPropertyValues(beanDefinition.getPropertyValues(), bean, beanName);
-                if (propertyValues != null) {
-                    for (PropertyValue propertyValue : propertyValues.getPropertyValueList()) {
-                        beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
-                    }
+        InstantiationAwareBeanPostProcessor[] beanPostProcessors = getBeanPostProcessorPipeline(bean.getClass()).getInstantiationAwareBeanPostProcessors();
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : beanPostProcessors) {
+            PropertyValues propertyValues = beanPostProcessor.postProcessPropertyValues(beanDefinition.getPropertyValues(), bean, beanName);
+            if (propertyValues != null) {
+                for (PropertyValue propertyValue : propertyValues.getPropertyValueList()) {
+                    beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
                 }
-
             }
         }
     }
 
     /**
      * 如果需要，注册可销毁的Bean
+     * 销毁方法按照原始Bean的类型解析，代理对象（例如JDK动态代理）上可能找不到@PreDestroy或者指定名称的销毁方法
      *
      * @param beanName Bean名称
-     * @param bean Bean实例
+     * @param bean 原始Bean实例，未经过BeanPostProcessor处理
      * @param beanDefinition Bean的定义信息
      */
     private void registerDisposableBeanIfNecessary(String beanName, Object bean, BeanDefinition beanDefinition) {
         if (beanDefinition.isSingleton()){
-            if (bean instanceof DisposableBean || StrUtil.isNotEmpty(beanDefinition.getDestroyMethodName())){
-                super.registerDisposableBean(beanName,new DisposableBeanAdapter(bean,beanName, beanDefinition.getDestroyMethodName()));
+            LifecycleMetadata lifecycleMetadata = findLifecycleMetadata(bean.getClass(), beanDefinition);
+            if (lifecycleMetadata.hasDestroyMethods()){
+                super.registerDisposableBean(beanName,new DisposableBeanAdapter(bean,beanName, lifecycleMetadata));
             }
         }
     }
@@ -208,18 +220,27 @@ private Object getEarlyBeanReference(String beanName, Object bean) {
      * @throws Exception 如果初始化方法调用失败
      */
     private void invokeInitMethods(String beanName, Object bean, BeanDefinition beanDefinition) throws Exception{
-        if (bean instanceof InitializingBean){
-            ((InitializingBean) bean).afterPropertiesSet();
-        }
+        // @PostConstruct、InitializingBean以及用户自定义的初始化方法都已经在生命周期元数据当中解析完成
+        findLifecycleMetadata(bean.getClass(), beanDefinition).invokeInitMethods(bean, beanName);
+    }
 
-        // 处理用户自定义的初始化方法
-        if (StrUtil.isNotEmpty(beanDefinition.getInitMethodName())){
-            Method initMethod = ClassUtil.getPublicMethod(bean.getClass(), beanDefinition.getInitMethodName());
-            if (initMethod == null) {
-                throw new BeansException(String.format("在Bean：%s 当中找不到名为：%s 的初始化方法",beanName,beanDefinition.getInitMethodName()));
-            }
-            initMethod.invoke(bean);
+    /**
+     * 获取Bean的生命周期元数据，同一个BeanDefinition只解析一次
+     * Bean的实际类型或初始化、销毁方法名称发生变化时重新解析
+     *
+     * @param beanClass Bean的实际类型
+     * @param beanDefinition Bean的定义信息
+     * @return 生命周期元数据
+     */
+    private LifecycleMetadata findLifecycleMetadata(Class<?> beanClass, BeanDefinition beanDefinition) {
+        String initMethodName = beanDefinition.getInitMethodName();
+        String destroyMethodName = beanDefinition.getDestroyMethodName();
+        LifecycleMetadata lifecycleMetadata = lifecycleMetadataCache.get(beanDefinition);
+        if (lifecycleMetadata == null || !lifecycleMetadata.isValidFor(beanClass, initMethodName, destroyMethodName)) {
+            lifecycleMetadata = LifecycleMetadata.forClass(beanClass, initMethodName, destroyMethodName);
+            lifecycleMetadataCache.put(beanDefinition, lifecycleMetadata);
         }
+        return lifecycleMetadata;
     }
 
     /**
@@ -230,7 +251,88 @@ private Object getEarlyBeanReference(String beanName, Object bean) {
      * @return 实例化的Bean对象
      */
     private Object createBeanInstance(BeanDefinition beanDefinition) {
-        return getInstantiationStrategy().instantiate(beanDefinition);
+        if (!beanDefinition.hasConstructorArgumentValues()){
+            return getInstantiationStrategy().instantiate(beanDefinition);
+        }
+        return autowireConstructor(beanDefinition);
+    }
+
+    /**
+     * 通过有参构造函数实例化Bean
+     * 1，解析构造函数参数，Bean引用在每次实例化时都重新获取
+     * 2，第一次实例化时在所有参数个数相同的构造函数当中查找类型匹配的构造函数并缓存，之后直接使用缓存的构造函数
+     * 3，按照构造函数的参数类型完成类型转换，交给实例化策略创建对象
+     *
+     * @param beanDefinition Bean的定义
+     * @return 实例化的Bean对象
+     */
+    private Object autowireConstructor(BeanDefinition beanDefinition) {
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        ConstructorArgumentValues.ValueHolder[] valueHolders = beanDefinition.getConstructorArgumentValues().toArgumentArray();
+        Object[] rawArgs = new Object[valueHolders.length];
+        for (int i = 0; i < valueHolders.length; i++) {
+            Object value = valueHolders[i].getValue();
+            if (value instanceof BeanReference){
+                value = super.getBean(((BeanReference) value).getBeanName());
+            }
+            rawArgs[i] = value;
+        }
+
+        Constructor<?> constructor = resolvedConstructorCache.get(beanDefinition);
+        if (constructor != null){
+            Object[] args = convertConstructorArguments(constructor, valueHolders, rawArgs);
+            if (args != null){
+                return getInstantiationStrategy().instantiate(beanDefinition, constructor, args);
+            }
+        }
+
+        // public构造函数优先
+        Constructor<?>[] candidates = beanClass.getDeclaredConstructors();
+        Arrays.sort(candidates, (c1, c2) -> Boolean.compare(!Modifier.isPublic(c1.getModifiers()), !Modifier.isPublic(c2.getModifiers())));
+        for (Constructor<?> candidate : candidates) {
+            if (candidate.getParameterCount() != valueHolders.length){
+                continue;
+            }
+            Object[] args = convertConstructorArguments(candidate, valueHolders, rawArgs);
+            if (args != null){
+                resolvedConstructorCache.put(beanDefinition, candidate);
+                return getInstantiationStrategy().instantiate(beanDefinition, candidate, args);
+            }
+        }
+        throw new BeansException(String.format("在类：%s 当中找不到与%d个参数匹配的构造函数", beanClass.getName(), valueHolders.length));
+    }
+
+    /**
+     * 按照构造函数的参数类型转换参数
+     *
+     * @return 转换后的参数，参数与构造函数不匹配时返回null
+     */
+    private Object[] convertConstructorArguments(Constructor<?> constructor, ConstructorArgumentValues.ValueHolder[] valueHolders, Object[] rawArgs) {
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] args = new Object[rawArgs.length];
+        ConversionService conversionService = getConversionService();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            String declaredType = valueHolders[i].getType();
+            if (StrUtil.isNotEmpty(declaredType) && !declaredType.equals(parameterType.getName()) && !declaredType.equals(parameterType.getSimpleName())){
+                return null;
+            }
+
+            Object value = rawArgs[i];
+            if (value == null){
+                if (parameterType.isPrimitive()){
+                    return null;
+                }
+            } else if (!ClassUtil.isAssignable(parameterType, value.getClass())){
+                Class<?> targetType = BasicType.wrap(parameterType);
+                if (conversionService == null || !conversionService.canConvert(value.getClass(), targetType)){
+                    return null;
+                }
+                value = conversionService.convert(value, targetType);
+            }
+            args[i] = value;
+        }
+        return args;
     }
 
     /**
@@ -243,47 +345,33 @@ private Object getEarlyBeanReference(String beanName, Object bean) {
      */
     private void applyPropertyValues(Object bean, BeanDefinition beanDefinition, String beanName) {
         try {
-            // 获取要操作Bean的Class对象
-            Class beanClass = beanDefinition.getBeanClass();
-
-            // 循环获取当前Bean的所有属性
-            for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValueList()) {
-                // 对于属性的赋值要通过对应的set方法，构造出set方法的方法名
-                String name = propertyValue.getName();
-                Object value = propertyValue.getValue();
-
-                // 如果是Bean引用，则获取对应的Bean实例
-                if (value instanceof BeanReference){
-                    BeanReference beanReference = (BeanReference) value;
-                    value = super.getBean(beanReference.getBeanName());
-                }else {
-                    Class<?> sourceClass = value.getClass();
-                    Class<?> targetType = (Class<?>) TypeUtil.getFieldType(bean.getClass(), name);
-
-                    ConversionService conversionService = getConversionService();
-                    if (conversionService != null) {
-                        boolean canConvert = conversionService.canConvert(sourceClass, targetType);
-                        if (canConvert) {
-                            value = conversionService.convert(value, targetType);
-                        }
-                    }
-                }
-
-
-
-                // 通过属性的set方法设置属性
-                String setMethodName = "set" + name.substring(0, 1).toUpperCase() + name.substring(1);
-                Class<?> type = beanClass.getDeclaredField(name).getType();
-
-                // 通过反射动态调用
-                Method declaredMethod = beanClass.getDeclaredMethod(setMethodName, type);
-                declaredMethod.invoke(bean, value);
+            if (beanDefinition.getPropertyValues().getModificationCount() == 0){
+                return;
             }
+            getPropertyPlan(beanName, beanDefinition).apply(bean, this);
         }catch (Exception e){
             throw new BeansException(String.format("bean 属性注入异常[%s]",beanName) ,  e);
         }
     }
 
+    /**
+     * 获取Bean的属性赋值计划
+     * 计划按照Bean名称缓存，BeanDefinition或ConversionService发生变化时重新生成
+     *
+     * @param beanName Bean名称
+     * @param beanDefinition Bean的定义信息
+     * @return 属性赋值计划
+     */
+    private BeanPropertyPlan getPropertyPlan(String beanName, BeanDefinition beanDefinition) throws Exception {
+        ConversionService conversionService = getConversionService();
+        BeanPropertyPlan propertyPlan = propertyPlanCache.get(beanName);
+        if (propertyPlan == null || !propertyPlan.isValidFor(beanDefinition, conversionService)){
+            propertyPlan = BeanPropertyPlan.build(beanDefinition, conversionService);
+            propertyPlanCache.put(beanName, propertyPlan);
+        }
+        return propertyPlan;
+    }
+
     // 获取实例化策略
     public InstantiationStrategy getInstantiationStrategy() {
         return instantiationStrategy;
@@ -302,19 +390,14 @@ private Object getEarlyBeanReference(String beanName, Object bean) {
      * @return 如果Bean是代理对象，则返回处理后的Bean实例，否则返回null
      */
     private Object applyBeanPostProcessorsBeforeInstantiation(Class beanClass, String beanName) {
-        // 获取到所有的BeanPostProcess
-        List<BeanPostProcessor> beanPostProcessors = getBeanPostProcessors();
-
-        // 筛选出InstantiationAwareBeanPostProcessor类型的beanPostProcessor
-        for (BeanPostProcessor beanPostProcessor : beanPostProcessors) {
-
-            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor){
-                // 如果前置增强执行成功返回到的Bean非空则说明该Bean是被代理Bean
-                Object bean = ((InstantiationAwareBeanPostProcessor) beanPostProcessor).postProcessBeforeInstantiation(beanClass, beanName);
-                if (bean != null){
-                    return bean;
-                }
+        // 获取到预先筛选好的InstantiationAwareBeanPostProcessor
+        InstantiationAwareBeanPostProcessor[] beanPostProcessors = getBeanPostProcessorPipeline(beanClass).getInstantiationAwareBeanPostProcessors();
 
+        for (InstantiationAwareBeanPostProcessor beanPostProcessor : beanPostProcessors) {
+            // 如果前置增强执行成功返回到的Bean非空则说明该Bean是被代理Bean
+            Object bean = beanPostProcessor.postProcessBeforeInstantiation(beanClass, beanName);
+            if (bean != null){
+                return bean;
             }
         }
 
@@ -333,7 +416,7 @@ private Object getEarlyBeanReference(String beanName, Object bean) {
         Object result = existingBean;
 
         // 获取到所有加入容器当中的BeanPostProcess
-        List<BeanPostProcessor> beanPostProcessors = super.getBeanPostProcessors();
+        BeanPostProcessor[] beanPostProcessors = getBeanPostProcessorPipeline(existingBean.getClass()).getBeanPostProcessors();
         for (BeanPostProcessor postProcessor : beanPostProcessors) {
             Object current = postProcessor.postProcessBeforeInitialization(result, beanName);
             if (current == null){
@@ -354,7 +437,7 @@ private Object getEarlyBeanReference(String beanName, Object bean) {
     @Override
     public Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName) {
         Object result = existingBean;
-        List<BeanPostProcessor> beanPostProcessors = super.getBeanPostProcessors();
+        BeanPostProcessor[] beanPostProcessors = getBeanPostProcessorPipeline(existingBean.getClass()).getBeanPostProcessors();
         for (BeanPostProcessor postProcessor : beanPostProcessors) {
             Object current = postProcessor.postProcessAfterInitialization(result, beanName);
             if (current == null){
@@ -9,9 +9,11 @@ import org.qlspringframework.core.convert.ConversionService;
 import org.qlspringframework.util.StringValueResolver;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 抽象Bean工厂类，继承了DefaultSingletonBeanRegistry以支持单例Bean的注册和管理，
@@ -27,10 +29,15 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
      */
     private final List<BeanPostProcessor> beanPostProcessors  = new ArrayList<>();
 
+    /**
+     * 按照回调类型划分好的BeanPostProcessor处理链，只在添加BeanPostProcessor时重新构建
+     */
+    private volatile BeanPostProcessorPipeline beanPostProcessorPipeline = BeanPostProcessorPipeline.EMPTY;
+
     /**
      * FactoryBean缓存列表，用于存储已创建好的FactoryBean对象
      */
-    private final Map<String , Object> factoryBeanObjectCache = new HashMap<>();
+    private final Map<String , Object> factoryBeanObjectCache = new ConcurrentHashMap<>();
 
     /**
      * 用于存储字符属性解析器对象，要解析的配置文件可能有多份，因此需要定义一个集合来存储
@@ -78,16 +85,29 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
      */
     @Override
     public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
-        this.beanPostProcessors.remove(beanPostProcessor);
-        this.beanPostProcessors.add(beanPostProcessor);
+        synchronized (this.beanPostProcessors) {
+            this.beanPostProcessors.remove(beanPostProcessor);
+            this.beanPostProcessors.add(beanPostProcessor);
+            this.beanPostProcessorPipeline = new BeanPostProcessorPipeline(this.beanPostProcessors);
+        }
     }
 
     /**
      * 获取所有的BeanPostProcessor
-     * @return 包含所有BeanPostProcessor的List
+     * @return 包含所有BeanPostProcessor的只读List，需要通过addBeanPostProcessor添加
      */
     public List<BeanPostProcessor> getBeanPostProcessors(){
-        return this.beanPostProcessors;
+        return Collections.unmodifiableList(Arrays.asList(this.beanPostProcessorPipeline.getBeanPostProcessors()));
+    }
+
+    /**
+     * 获取适用于指定Bean类型的BeanPostProcessor处理链
+     *
+     * @param beanType Bean的类型
+     * @return 已经过滤掉不支持该类型的BeanPostProcessor的处理链
+     */
+    protected BeanPostProcessorPipeline getBeanPostProcessorPipeline(Class<?> beanType){
+        return this.beanPostProcessorPipeline.forBeanType(beanType);
     }
 
     /**
@@ -115,8 +135,13 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
             throw new BeansException("beanDefinition：【" + beanName + "】 为空");
         }
 
-        // 创建Bean
-        Object bean = createBean(beanName, beanDefinition);
+        // 创建Bean，单例Bean加锁创建，保证多线程下只创建一次
+        Object bean;
+        if (beanDefinition.isSingleton()){
+            bean = getSingleton(beanName, () -> createBean(beanName, beanDefinition));
+        }else {
+            bean = createBean(beanName, beanDefinition);
+        }
 
         return getObjectForBeanInstance(bean,beanName);
 
@@ -144,8 +169,14 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
                     object = factoryBeanObjectCache.get(beanName);
                     // 如果缓存中不存在，则调用FactoryBean的getObject方法创建对象，并存入缓存
                     if (object == null){
-                        object = factoryBean.getObject();
-                        this.factoryBeanObjectCache.put(beanName,object);
+                        // 对FactoryBean加锁，避免多个线程重复创建对象
+                        synchronized (factoryBean){
+                            object = factoryBeanObjectCache.get(beanName);
+                            if (object == null){
+                                object = factoryBean.getObject();
+                                this.factoryBeanObjectCache.put(beanName,object);
+                            }
+                        }
                     }
                 }else {
                     // 如果不是单例Bean，直接调用FactoryBean的getObject方法创建对象
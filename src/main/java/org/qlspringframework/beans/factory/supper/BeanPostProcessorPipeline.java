@@ -0,0 +1,103 @@
+package org.qlspringframework.beans.factory.supper;
+
+import org.qlspringframework.beans.factory.config.BeanPostProcessor;
+import org.qlspringframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.qlspringframework.beans.factory.config.SelectiveBeanPostProcessor;
+import org.qlspringframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BeanPostProcessor处理链
+ * 按照回调类型预先将BeanPostProcessor划分为不可变的数组，创建Bean时直接遍历对应的数组，
+ * 不再对每个BeanPostProcessor做instanceof判断
+ * 存在SelectiveBeanPostProcessor时按照Bean类型缓存过滤后的处理链
+ *
+ * @author: jixu
+ * @create: 2025-06-15 10:10
+ **/
+public class BeanPostProcessorPipeline {
+
+    static final BeanPostProcessorPipeline EMPTY = new BeanPostProcessorPipeline(new ArrayList<>(), false);
+
+    private final BeanPostProcessor[] beanPostProcessors;
+
+    private final InstantiationAwareBeanPostProcessor[] instantiationAwareBeanPostProcessors;
+
+    private final SmartInstantiationAwareBeanPostProcessor[] smartInstantiationAwareBeanPostProcessors;
+
+    // 是否包含需要按照Bean类型过滤的BeanPostProcessor
+    private final boolean hasSelectiveBeanPostProcessors;
+
+    // 按照Bean类型过滤后的处理链
+    private final Map<Class<?>, BeanPostProcessorPipeline> pipelinesByBeanType;
+
+    public BeanPostProcessorPipeline(List<BeanPostProcessor> beanPostProcessors) {
+        this(beanPostProcessors, true);
+    }
+
+    private BeanPostProcessorPipeline(List<BeanPostProcessor> beanPostProcessors, boolean filterable) {
+        List<InstantiationAwareBeanPostProcessor> instantiationAware = new ArrayList<>();
+        List<SmartInstantiationAwareBeanPostProcessor> smartInstantiationAware = new ArrayList<>();
+        boolean selective = false;
+        for (BeanPostProcessor beanPostProcessor : beanPostProcessors) {
+            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
+                instantiationAware.add((InstantiationAwareBeanPostProcessor) beanPostProcessor);
+            }
+            if (beanPostProcessor instanceof SmartInstantiationAwareBeanPostProcessor) {
+                smartInstantiationAware.add((SmartInstantiationAwareBeanPostProcessor) beanPostProcessor);
+            }
+            if (beanPostProcessor instanceof SelectiveBeanPostProcessor) {
+                selective = true;
+            }
+        }
+        this.beanPostProcessors = beanPostProcessors.toArray(new BeanPostProcessor[0]);
+        this.instantiationAwareBeanPostProcessors = instantiationAware.toArray(new InstantiationAwareBeanPostProcessor[0]);
+        this.smartInstantiationAwareBeanPostProcessors = smartInstantiationAware.toArray(new SmartInstantiationAwareBeanPostProcessor[0]);
+        this.hasSelectiveBeanPostProcessors = filterable && selective;
+        this.pipelinesByBeanType = this.hasSelectiveBeanPostProcessors ? new ConcurrentHashMap<>(64) : null;
+    }
+
+    /**
+     * 获取指定Bean类型的处理链，过滤掉不支持该类型的SelectiveBeanPostProcessor
+     *
+     * @param beanType Bean的类型，为空时返回完整的处理链
+     * @return 处理链
+     */
+    public BeanPostProcessorPipeline forBeanType(Class<?> beanType) {
+        if (!hasSelectiveBeanPostProcessors || beanType == null) {
+            return this;
+        }
+        BeanPostProcessorPipeline pipeline = pipelinesByBeanType.get(beanType);
+        if (pipeline == null) {
+            pipeline = pipelinesByBeanType.computeIfAbsent(beanType, this::filter);
+        }
+        return pipeline;
+    }
+
+    private BeanPostProcessorPipeline filter(Class<?> beanType) {
+        List<BeanPostProcessor> supported = new ArrayList<>(beanPostProcessors.length);
+        for (BeanPostProcessor beanPostProcessor : beanPostProcessors) {
+            if (!(beanPostProcessor instanceof SelectiveBeanPostProcessor)
+                    || ((SelectiveBeanPostProcessor) beanPostProcessor).supportsBeanType(beanType)) {
+                supported.add(beanPostProcessor);
+            }
+        }
+        return new BeanPostProcessorPipeline(supported, false);
+    }
+
+    public BeanPostProcessor[] getBeanPostProcessors() {
+        return beanPostProcessors;
+    }
+
+    public InstantiationAwareBeanPostProcessor[] getInstantiationAwareBeanPostProcessors() {
+        return instantiationAwareBeanPostProcessors;
+    }
+
+    public SmartInstantiationAwareBeanPostProcessor[] getSmartInstantiationAwareBeanPostProcessors() {
+        return smartInstantiationAwareBeanPostProcessors;
+    }
+}
@@ -0,0 +1,151 @@
+package org.qlspringframework.beans.factory.supper;
+
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.PropertyValue;
+import org.qlspringframework.beans.PropertyValues;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanReference;
+import org.qlspringframework.core.convert.ConversionService;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Bean属性赋值计划
+ * 根据BeanDefinition预先解析出每个属性的set方法句柄以及类型转换后的属性值，
+ * 同一个BeanDefinition多次创建Bean（例如原型Bean）时直接复用，不再重复反射查找和类型转换
+ * 当BeanDefinition、Bean的Class、属性列表或ConversionService发生变化时计划失效
+ *
+ * @author: jixu
+ * @create: 2025-06-11 15:02
+ **/
+public class BeanPropertyPlan {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // 统一的set方法句柄类型：(Object bean, Object value) -> void
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final BeanDefinition beanDefinition;
+
+    private final Class<?> beanClass;
+
+    private final PropertyValues propertyValues;
+
+    private final int modificationCount;
+
+    private final ConversionService conversionService;
+
+    // 按照属性列表顺序排列的属性赋值器
+    private final PropertySetter[] propertySetters;
+
+    private BeanPropertyPlan(BeanDefinition beanDefinition, PropertyValues propertyValues, int modificationCount,
+                             ConversionService conversionService, PropertySetter[] propertySetters) {
+        this.beanDefinition = beanDefinition;
+        this.beanClass = beanDefinition.getBeanClass();
+        this.propertyValues = propertyValues;
+        this.modificationCount = modificationCount;
+        this.conversionService = conversionService;
+        this.propertySetters = propertySetters;
+    }
+
+    /**
+     * 根据BeanDefinition生成属性赋值计划
+     *
+     * @param beanDefinition Bean定义
+     * @param conversionService 类型转换服务，可以为空
+     * @return 属性赋值计划
+     * @throws Exception 找不到属性或set方法时抛出
+     */
+    public static BeanPropertyPlan build(BeanDefinition beanDefinition, ConversionService conversionService) throws Exception {
+        PropertyValues propertyValues = beanDefinition.getPropertyValues();
+        // 先读取修改次数，生成过程中属性列表发生变化时计划会在下一次使用时失效
+        int modificationCount = propertyValues.getModificationCount();
+        Class<?> beanClass = beanDefinition.getBeanClass();
+
+        PropertyValue[] propertyValueList = propertyValues.getPropertyValueList();
+        PropertySetter[] propertySetters = new PropertySetter[propertyValueList.length];
+        for (int i = 0; i < propertyValueList.length; i++) {
+            String name = propertyValueList[i].getName();
+            Object value = propertyValueList[i].getValue();
+
+            // 对于属性的赋值要通过对应的set方法，构造出set方法的方法名
+            Class<?> type = beanClass.getDeclaredField(name).getType();
+            String setMethodName = "set" + name.substring(0, 1).toUpperCase() + name.substring(1);
+            Method setMethod = beanClass.getDeclaredMethod(setMethodName, type);
+            setMethod.setAccessible(true);
+            MethodHandle setter = LOOKUP.unreflect(setMethod).asType(SETTER_TYPE);
+
+            if (value instanceof BeanReference) {
+                propertySetters[i] = new PropertySetter(name, setter, null, ((BeanReference) value).getBeanName());
+                continue;
+            }
+
+            // 非Bean引用的属性值与Bean实例无关，提前完成类型转换
+            if (value != null && conversionService != null && conversionService.canConvert(value.getClass(), type)) {
+                value = conversionService.convert(value, type);
+            }
+            propertySetters[i] = new PropertySetter(name, setter, value, null);
+        }
+        return new BeanPropertyPlan(beanDefinition, propertyValues, modificationCount, conversionService, propertySetters);
+    }
+
+    /**
+     * 判断计划对于当前的BeanDefinition和ConversionService是否仍然有效
+     */
+    public boolean isValidFor(BeanDefinition beanDefinition, ConversionService conversionService) {
+        PropertyValues currentValues = beanDefinition.getPropertyValues();
+        return this.beanDefinition == beanDefinition
+                && this.beanClass == beanDefinition.getBeanClass()
+                && this.propertyValues == currentValues
+                && this.modificationCount == currentValues.getModificationCount()
+                && this.conversionService == conversionService;
+    }
+
+    /**
+     * 按照计划为Bean赋值
+     *
+     * @param bean 要赋值的Bean实例
+     * @param beanFactory 用于获取Bean引用的Bean工厂
+     */
+    public void apply(Object bean, AbstractBeanFactory beanFactory) {
+        for (PropertySetter propertySetter : propertySetters) {
+            // 如果是Bean引用，则获取对应的Bean实例
+            Object value = propertySetter.referenceBeanName != null
+                    ? beanFactory.getBean(propertySetter.referenceBeanName)
+                    : propertySetter.value;
+            try {
+                propertySetter.setter.invokeExact(bean, value);
+            } catch (BeansException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BeansException(String.format("属性：%s 赋值失败", propertySetter.name), e);
+            }
+        }
+    }
+
+    /**
+     * 单个属性的赋值器
+     */
+    private static class PropertySetter {
+
+        private final String name;
+
+        private final MethodHandle setter;
+
+        // 已经完成类型转换的属性值
+        private final Object value;
+
+        // Bean引用的名称，非Bean引用时为空
+        private final String referenceBeanName;
+
+        PropertySetter(String name, MethodHandle setter, Object value, String referenceBeanName) {
+            this.name = name;
+            this.setter = setter;
+            this.value = value;
+            this.referenceBeanName = referenceBeanName;
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package org.qlspringframework.beans.factory.supper;
 
 import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.PropertyValue;
 import org.qlspringframework.beans.factory.ConfigurableListableBeanFactory;
+import org.qlspringframework.beans.factory.annotation.Autowired;
+import org.qlspringframework.beans.factory.annotation.Lazy;
+import org.qlspringframework.beans.factory.annotation.Qualifier;
 import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanReference;
 
+import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 默认的可列出Bean的工厂类，继承了AbstractAutowireCapableBeanFactory并实现了BeanDefinitionRegister和ConfigurableListableBeanFactory接口。
@@ -18,6 +29,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     // 存储Bean名称和其对应定义的Map
     private Map<String , BeanDefinition> beanDefinitionMap = new HashMap<>();
 
+    // 类型索引，保存每个父类、接口与其对应的Bean名称，在注册BeanDefinition时维护
+    private final Map<Class<?>, Set<String>> typeIndex = new HashMap<>();
+
+    // 按类型查找Bean名称的结果缓存
+    private final Map<Class<?>, String[]> beanNamesByTypeCache = new ConcurrentHashMap<>(64);
+
+    // 预实例化单例Bean时的并行度，默认为1即单线程顺序创建
+    private int preInstantiationParallelism = 1;
+
     /**
      * 注册BeanDefinition
      *
@@ -26,9 +46,70 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     @Override
     public void registerBeanDefinition(String beanName, BeanDefinition beanDefinition) {
-        beanDefinitionMap.put(beanName,beanDefinition);
+        synchronized (this.beanDefinitionMap){
+            BeanDefinition existing = beanDefinitionMap.put(beanName,beanDefinition);
+            // 覆盖已有的BeanDefinition时，先从类型索引当中移除旧的类型
+            if (existing != null && existing.getBeanClass() != null){
+                for (Class<?> type : getTypeHierarchy(existing.getBeanClass())) {
+                    Set<String> beanNames = typeIndex.get(type);
+                    if (beanNames != null){
+                        beanNames.remove(beanName);
+                    }
+                }
+            }
+            if (beanDefinition.getBeanClass() != null){
+                for (Class<?> type : getTypeHierarchy(beanDefinition.getBeanClass())) {
+                    typeIndex.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(beanName);
+                }
+            }
+            // 注册新的BeanDefinition后按类型查找的结果失效
+            beanNamesByTypeCache.clear();
+        }
     }
 
+    /**
+     * 获取类的所有父类以及实现的接口（包括父接口）
+     *
+     * @param beanClass Bean的Class对象
+     * @return 包括自身在内的所有父类型
+     */
+    private Set<Class<?>> getTypeHierarchy(Class<?> beanClass) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(beanClass);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (!types.add(type)){
+                continue;
+            }
+            if (type.getSuperclass() != null){
+                queue.add(type.getSuperclass());
+            }
+            Collections.addAll(queue, type.getInterfaces());
+        }
+        return types;
+    }
+
+    /**
+     * 根据类型获取所有符合条件的Bean名称，不会触发Bean的实例化
+     * 结果按照类型缓存，注册新的BeanDefinition时缓存失效
+     *
+     * @param type 要查找的Bean类型
+     * @return 符合条件的Bean名称，按照注册顺序排列
+     */
+    @Override
+    public String[] getBeanNamesForType(Class<?> type) {
+        String[] beanNames = beanNamesByTypeCache.get(type);
+        if (beanNames != null){
+            return beanNames.clone();
+        }
+        synchronized (this.beanDefinitionMap){
+            Set<String> indexed = typeIndex.get(type);
+            beanNames = indexed != null ? indexed.toArray(new String[0]) : new String[0];
+            beanNamesByTypeCache.put(type, beanNames);
+        }
+        return beanNames.clone();
+    }
 
 
     /**
@@ -43,17 +124,166 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     }
 
     /**
-     * 提前实例化所有单例Bean。
+     * 提前实例化所有非延迟初始化的单例Bean。
+     * 并行度大于1时会根据依赖关系图并行创建互不依赖的单例Bean
      */
     @Override
     public void preInstantiateSingletons() {
+        if (preInstantiationParallelism > 1){
+            preInstantiateSingletonsInParallel();
+            return;
+        }
         beanDefinitionMap.forEach((key,value) -> {
-            if (value.isSingleton()){
+            if (value.isSingleton() && !value.isLazyInit()){
                 super.getBean(key);
             }
         });
     }
 
+    /**
+     * 并行预实例化单例Bean
+     * 1，根据BeanReference属性以及@Autowired字段构建依赖关系图，存在循环依赖的Bean合并为同一个节点，在同一线程中创建
+     * 2，没有未完成依赖的节点提交到ForkJoinPool当中执行，节点完成后再提交依赖它的节点
+     * 3，等待全部节点完成，出现异常时抛出第一个异常
+     */
+    private void preInstantiateSingletonsInParallel() {
+        SingletonDependencyGraph graph = new SingletonDependencyGraph(resolveSingletonDependencies());
+        int componentCount = graph.getComponentCount();
+        if (componentCount == 0){
+            return;
+        }
+
+        AtomicInteger[] remainingDependencies = new AtomicInteger[componentCount];
+        for (int i = 0; i < componentCount; i++) {
+            remainingDependencies[i] = new AtomicInteger(graph.getDependencyCount(i));
+        }
+        CountDownLatch latch = new CountDownLatch(componentCount);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ForkJoinPool pool = new ForkJoinPool(preInstantiationParallelism);
+
+        try {
+            for (int i = 0; i < componentCount; i++) {
+                if (remainingDependencies[i].get() == 0){
+                    pool.execute(new ComponentInstantiationTask(i, graph, remainingDependencies, latch, failure, pool));
+                }
+            }
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BeansException("Interrupted while pre-instantiating singletons", e);
+        } finally {
+            pool.shutdown();
+        }
+
+        Throwable ex = failure.get();
+        if (ex instanceof BeansException){
+            throw (BeansException) ex;
+        }
+        if (ex != null){
+            throw new BeansException("Error pre-instantiating singletons", ex);
+        }
+    }
+
+    /**
+     * 解析需要提前实例化的单例Bean之间的依赖关系，延迟初始化的Bean不参与调度，在被依赖时按需创建
+     * 依赖来源包括BeanDefinition当中的BeanReference属性，以及类（包括父类）当中标注了@Autowired的字段
+     *
+     * @return Bean名称与其所依赖的单例Bean名称的映射
+     */
+    private Map<String, Set<String>> resolveSingletonDependencies() {
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+        beanDefinitionMap.forEach((beanName, beanDefinition) -> {
+            if (beanDefinition.isSingleton() && !beanDefinition.isLazyInit()){
+                dependencies.put(beanName, new LinkedHashSet<>());
+            }
+        });
+
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            BeanDefinition beanDefinition = beanDefinitionMap.get(entry.getKey());
+            Set<String> dependsOn = entry.getValue();
+
+            for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValueList()) {
+                if (propertyValue.getValue() instanceof BeanReference){
+                    dependsOn.add(((BeanReference) propertyValue.getValue()).getBeanName());
+                }
+            }
+
+            for (Class<?> clazz = beanDefinition.getBeanClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    // 延迟注入的字段在创建时只注入代理对象，不构成依赖；@Lazy(false)与没有标注相同
+                    Lazy lazy = field.getAnnotation(Lazy.class);
+                    if (!field.isAnnotationPresent(Autowired.class) || (lazy != null && lazy.value())){
+                        continue;
+                    }
+                    Qualifier qualifier = field.getAnnotation(Qualifier.class);
+                    if (qualifier != null){
+                        dependsOn.add(qualifier.value());
+                        continue;
+                    }
+                    Collections.addAll(dependsOn, getBeanNamesForType(field.getType()));
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * 依赖关系图中单个节点的创建任务
+     */
+    private class ComponentInstantiationTask implements Runnable {
+
+        private final int component;
+        private final SingletonDependencyGraph graph;
+        private final AtomicInteger[] remainingDependencies;
+        private final CountDownLatch latch;
+        private final AtomicReference<Throwable> failure;
+        private final ForkJoinPool pool;
+
+        ComponentInstantiationTask(int component, SingletonDependencyGraph graph, AtomicInteger[] remainingDependencies,
+                                   CountDownLatch latch, AtomicReference<Throwable> failure, ForkJoinPool pool) {
+            this.component = component;
+            this.graph = graph;
+            this.remainingDependencies = remainingDependencies;
+            this.latch = latch;
+            this.failure = failure;
+            this.pool = pool;
+        }
+
+        @Override
+        public void run() {
+            try {
+                // 已经出现异常时不再创建剩余的Bean
+                if (failure.get() == null){
+                    for (String beanName : graph.getBeanNames(component)) {
+                        getBean(beanName);
+                    }
+                }
+            } catch (Throwable ex) {
+                failure.compareAndSet(null, ex);
+            } finally {
+                for (Integer dependent : graph.getDependents(component)) {
+                    if (remainingDependencies[dependent].decrementAndGet() == 0){
+                        pool.execute(new ComponentInstantiationTask(dependent, graph, remainingDependencies, latch, failure, pool));
+                    }
+                }
+                latch.countDown();
+            }
+        }
+    }
+
+    /**
+     * 设置预实例化单例Bean时的并行度
+     *
+     * @param preInstantiationParallelism 并行度，小于等于1时单线程顺序创建
+     */
+    public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+        this.preInstantiationParallelism = preInstantiationParallelism;
+    }
+
+    public int getPreInstantiationParallelism() {
+        return preInstantiationParallelism;
+    }
+
     /**
      * 根据指定的类型获取所有符合条件的Bean实例，并以Map形式返回。
      * Map的键为Bean的名称，值为对应的Bean实例。
@@ -63,14 +293,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     @Override
     public <T> Map<String, T> getBeanOfType(Class<T> type) {
-        Map<String, T> result = new HashMap<>();
-        this.beanDefinitionMap.forEach((beanName , beanDefinition)-> {
-            Class beanClass = beanDefinition.getBeanClass();
-            if (type.isAssignableFrom(beanClass)){
-                T bean = (T) getBean(beanName);
-                result.put(beanName,bean);
-            }
-        }) ;
+        Map<String, T> result = new LinkedHashMap<>();
+        for (String beanName : getBeanNamesForType(type)) {
+            result.put(beanName, (T) getBean(beanName));
+        }
         return result;
     }
 
@@ -87,19 +313,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     @Override
     public <T> T getBean(Class<T> requiredType) throws BeansException {
-        List<String> beanNames = new ArrayList<>();
-        for (Map.Entry<String, BeanDefinition> entry : beanDefinitionMap.entrySet()) {
-            Class beanClass = entry.getValue().getBeanClass();
-            if (requiredType.isAssignableFrom(beanClass)) {
-                beanNames.add(entry.getKey());
-            }
-        }
-        if (beanNames.size() == 1) {
-            return super.getBean(beanNames.get(0), requiredType);
+        String[] beanNames = getBeanNamesForType(requiredType);
+        if (beanNames.length == 1) {
+            return super.getBean(beanNames[0], requiredType);
         }
 
         throw new BeansException(requiredType + "expected single bean but found " +
-                beanNames.size() + ": " + beanNames);
+                beanNames.length + ": " + Arrays.toString(beanNames));
     }
 
 
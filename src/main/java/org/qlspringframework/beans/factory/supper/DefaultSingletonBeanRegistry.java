@@ -1,5 +1,6 @@
 package org.qlspringframework.beans.factory.supper;
 
+import org.qlspringframework.beans.BeansException;
 import org.qlspringframework.beans.factory.DisposableBean;
 import org.qlspringframework.beans.factory.ObjectFactory;
 import org.qlspringframework.beans.factory.config.SingletonBeanRegistry;
@@ -7,9 +8,13 @@ import org.qlspringframework.beans.factory.config.SingletonBeanRegistry;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 默认的单例Bean注册表实现类
+ * 单例Bean的创建按照Bean名称加锁，已经创建完成的单例Bean直接从一级缓存读取，不需要加锁
+ * 二级、三级缓存当中的早期引用只对正在创建该Bean的线程可见，其他线程需要等待创建完成
  *
  * @author: jixu
  * @create: 2025-03-28 15:41
@@ -29,6 +34,18 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
     // 保存含有销毁方法的Bean的地方
     private Map<String , DisposableBean> disposableBeans = new ConcurrentHashMap<>();
 
+    // 单例Bean的创建锁，每个Bean名称一把锁
+    private final Map<String , ReentrantLock> singletonLocks = new ConcurrentHashMap<>(256);
+
+    // 正在创建的单例Bean以及创建它的线程
+    private final Map<String , Thread> singletonsCurrentlyInCreation = new ConcurrentHashMap<>(16);
+
+    // 正在等待其他线程创建单例Bean的线程以及所等待的Bean名称，用于检测死锁
+    private final Map<Thread , String> threadsWaitingForSingleton = new ConcurrentHashMap<>(16);
+
+    // 等待创建锁时检测死锁的间隔
+    private static final long LOCK_CHECK_INTERVAL_MILLIS = 10;
+
 
 
     public void registerDisposableBean(String beanName , DisposableBean disposableBean){
@@ -54,6 +71,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
     /**
      * 获取单列Bean
+     * 早期引用只对正在创建该Bean的线程可见，避免其他线程拿到尚未初始化完成的Bean
      *
      * @param beanName Bean名称
      * @return Bean对象
@@ -61,24 +79,137 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
     @Override
     public Object getSingletonBean(String beanName) {
         Object singletonObject = singletonObjects.get(beanName);
+        if (singletonObject == null && singletonsCurrentlyInCreation.get(beanName) == Thread.currentThread()){
+            singletonObject = getEarlySingletonBean(beanName);
+        }
+        return singletonObject;
+    }
+
+    /**
+     * 获取早期引用
+     * 二级缓存当中不存在时从三级缓存获取，三级缓存的工厂只会被执行一次
+     *
+     * @param beanName Bean名称
+     * @return 早期引用，不存在时返回null
+     */
+    private Object getEarlySingletonBean(String beanName) {
+        Object singletonObject = earlySingletonObjects.get(beanName);
         if (singletonObject == null){
-            singletonObject = earlySingletonObjects.get(beanName);
+            // 三级缓存移除当前Bean，remove是原子操作，保证工厂只执行一次
+            ObjectFactory<?> objectFactory = singletonFactories.remove(beanName);
+            if (objectFactory != null){
+                // 获取到真实的对象引用
+                singletonObject = objectFactory.getObject();
+
+                // 添加到二级缓存当中
+                earlySingletonObjects.put(beanName,singletonObject);
+            }
+        }
+        return singletonObject;
+    }
+
+    /**
+     * 获取单例Bean，不存在时加锁并通过singletonFactory创建
+     * 1，一级缓存当中存在时直接返回，不需要加锁
+     * 2，获取Bean名称对应的锁，获取锁之后再次检查一级缓存，其他线程可能已经创建完成
+     * 3，等待锁的过程中检测死锁：两个线程分别创建存在循环依赖的Bean时会互相等待，
+     *    此时使用对方已经暴露的早期引用，与单线程下循环依赖的处理方式一致
+     *
+     * @param beanName Bean名称
+     * @param singletonFactory 用于创建Bean的工厂
+     * @return Bean对象
+     */
+    public Object getSingleton(String beanName , ObjectFactory<?> singletonFactory) {
+        Object singletonObject = singletonObjects.get(beanName);
+        if (singletonObject != null){
+            return singletonObject;
+        }
+
+        Thread currentThread = Thread.currentThread();
+        if (singletonsCurrentlyInCreation.get(beanName) == currentThread){
+            // 同一线程再次创建该Bean且没有可用的早期引用，例如构造函数之间的循环依赖
+            throw new BeansException("Bean：【" + beanName + "】 存在无法解决的循环依赖");
+        }
+
+        ReentrantLock lock = singletonLocks.computeIfAbsent(beanName, key -> new ReentrantLock());
+        if (!acquireSingletonLock(lock, beanName, currentThread)){
+            // 检测到死锁，使用创建线程暴露的早期引用
+            singletonObject = singletonObjects.get(beanName);
             if (singletonObject == null){
-                ObjectFactory<?> objectFactory = singletonFactories.get(beanName);
-                if (objectFactory != null){
-                    // 获取到真实的对象引用
-                    singletonObject = objectFactory.getObject();
+                singletonObject = getEarlySingletonBean(beanName);
+            }
+            if (singletonObject == null){
+                throw new BeansException("多个线程创建单例Bean：【" + beanName + "】 时发生死锁，并且没有可用的早期引用");
+            }
+            return singletonObject;
+        }
 
-                    // 添加到二级缓存当中
-                    earlySingletonObjects.put(beanName,singletonObject);
+        try {
+            singletonObject = singletonObjects.get(beanName);
+            if (singletonObject != null){
+                return singletonObject;
+            }
+            singletonsCurrentlyInCreation.put(beanName, currentThread);
+            try {
+                singletonObject = singletonFactory.getObject();
+                addSingletonBean(beanName, singletonObject);
+            } finally {
+                singletonsCurrentlyInCreation.remove(beanName);
+                // 创建失败时清理早期引用
+                earlySingletonObjects.remove(beanName);
+                singletonFactories.remove(beanName);
+            }
+            return singletonObject;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-                    // 三级缓存移除当前Bean
-                    singletonFactories.remove(beanName);
+    /**
+     * 获取单例Bean的创建锁
+     *
+     * @return 获取到锁时返回true，检测到死锁时返回false
+     */
+    private boolean acquireSingletonLock(ReentrantLock lock , String beanName , Thread currentThread) {
+        if (lock.tryLock()){
+            return true;
+        }
+        threadsWaitingForSingleton.put(currentThread, beanName);
+        try {
+            while (!lock.tryLock(LOCK_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (isDeadlocked(beanName, currentThread)){
+                    return false;
                 }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BeansException("等待单例Bean：【" + beanName + "】 创建时被中断", e);
+        } finally {
+            threadsWaitingForSingleton.remove(currentThread);
+        }
+    }
 
+    /**
+     * 判断当前线程等待Bean时是否会形成死锁
+     * 沿着 Bean -> 创建线程 -> 该线程等待的Bean 的链路查找，回到当前线程则说明形成了环
+     */
+    private boolean isDeadlocked(String beanName , Thread currentThread) {
+        String waitingBeanName = beanName;
+        for (int i = 0; i <= threadsWaitingForSingleton.size(); i++) {
+            Thread creator = singletonsCurrentlyInCreation.get(waitingBeanName);
+            if (creator == null){
+                return false;
+            }
+            if (creator == currentThread){
+                return true;
+            }
+            waitingBeanName = threadsWaitingForSingleton.get(creator);
+            if (waitingBeanName == null){
+                return false;
             }
         }
-        return singletonObject;
+        return false;
     }
 
     /**
@@ -90,5 +221,8 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
     @Override
     public void addSingletonBean(String baenName , Object bean) {
         this.singletonObjects.put(baenName , bean);
+        // Bean创建完毕，清除二级和三级缓存当中的早期引用
+        this.earlySingletonObjects.remove(baenName);
+        this.singletonFactories.remove(baenName);
     }
 }
@@ -1,13 +1,7 @@
 package org.qlspringframework.beans.factory.supper;
 
-import cn.hutool.core.util.ClassUtil;
-import cn.hutool.core.util.StrUtil;
-import org.qlspringframework.beans.BeansException;
 import org.qlspringframework.beans.factory.DisposableBean;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-
 /**
  * @author jixu
  * @title DisposableBeanAdapter
@@ -19,13 +13,17 @@ public class DisposableBeanAdapter implements DisposableBean {
 
     private final String beanName;
 
-    private final String destroyMethodName;
+    private final LifecycleMetadata lifecycleMetadata;
 
 
     public DisposableBeanAdapter(Object bean, String beanName, String destroyMethodName) {
+        this(bean, beanName, LifecycleMetadata.forClass(bean.getClass(), null, destroyMethodName));
+    }
+
+    public DisposableBeanAdapter(Object bean, String beanName, LifecycleMetadata lifecycleMetadata) {
         this.bean = bean;
         this.beanName = beanName;
-        this.destroyMethodName = destroyMethodName;
+        this.lifecycleMetadata = lifecycleMetadata;
     }
 
 
@@ -34,29 +32,12 @@ public class DisposableBeanAdapter implements DisposableBean {
 
         /**
          * 有一下情况会调用销毁方法
-         * 1，用户继承并实现DisposableBean的destroy方法
-         * 2，用户通过XML指定，销毁方法（destroy-method="destroy"）
+         * 1，用户通过@PreDestroy标注的销毁方法
+         * 2，用户继承并实现DisposableBean的destroy方法
+         * 3，用户通过XML指定，销毁方法（destroy-method="close"）
          *
-         * 在执行的过程当中1的优先级是大于2的，其中还有一个极端情况就是用户不仅实现了destroy方法而且其自定义销毁方法的方法名与之同名
+         * 按照1、2、3的顺序执行，销毁方法已经在生命周期元数据当中解析完成，同名的方法只会执行一次
          */
-
-        // 如果该Bean继承并实现了 DisposableBean的destroy方法，则执行该方法，销毁Bean
-        if (bean instanceof DisposableBean){
-            // 执行销毁方法
-            ((DisposableBean) bean).destroy();
-        }
-
-        // 避免用户不仅实现了destroy方法而且其自定义销毁方法的方法名与之同名
-        if (StrUtil.isNotEmpty(destroyMethodName) && ( !(bean instanceof DisposableBean) && StrUtil.equals("destroy",destroyMethodName))){
-            // 通过反射获取到该方法
-            Method method = ClassUtil.getPublicMethod(bean.getClass(), destroyMethodName);
-            try {
-                method.invoke(bean);
-            } catch (Exception e) {
-                throw new BeansException(String.format("在Bean：%s 当中找不到名为：%s 的销毁方法",beanName,destroyMethodName));
-            }
-        }
-
-
+        lifecycleMetadata.invokeDestroyMethods(bean, beanName);
     }
 }
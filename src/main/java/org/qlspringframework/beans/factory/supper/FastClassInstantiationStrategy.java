@@ -0,0 +1,119 @@
+package org.qlspringframework.beans.factory.supper;
+
+import net.sf.cglib.reflect.FastClass;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于字节码生成的实例化策略
+ * 第一次实例化某个构造函数时通过cglib的FastClass为Bean的类生成一个工厂类，之后通过下标直接调用构造函数，不再经过反射
+ * 生成的工厂按照构造函数缓存
+ * 对于FastClass无法访问的构造函数（例如private构造函数）或者当前运行环境无法生成字节码时，退化为MethodHandle调用
+ *
+ * @author: jixu
+ * @create: 2025-06-12 10:40
+ **/
+public class FastClassInstantiationStrategy implements InstantiationStrategy {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // 构造函数对应的实例化器缓存
+    private final Map<Constructor<?>, ConstructorInvoker> invokerCache = new ConcurrentHashMap<>(256);
+
+    // 无参构造函数缓存，key为Bean的Class对象
+    private final Map<Class<?>, Constructor<?>> defaultConstructorCache = new ConcurrentHashMap<>(256);
+
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    /**
+     * 通过无参构造实例化Bean
+     *
+     * @param beanDefinition Bean的定义信息
+     * @return 实例化的Bean对象
+     */
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition) {
+        Class<?> beanClass = beanDefinition.getBeanClass();
+        Constructor<?> constructor = defaultConstructorCache.get(beanClass);
+        if (constructor == null) {
+            try {
+                constructor = beanClass.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new BeansException("在类：" + beanClass.getName() + " 当中找不到无参构造函数", e);
+            }
+            defaultConstructorCache.put(beanClass, constructor);
+        }
+        return instantiate(beanDefinition, constructor, EMPTY_ARGS);
+    }
+
+    /**
+     * 使用指定的构造函数实例化Bean
+     *
+     * @param beanDefinition Bean的定义信息
+     * @param constructor 要使用的构造函数
+     * @param args 构造函数参数
+     * @return 实例化的Bean对象
+     */
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, Constructor<?> constructor, Object[] args) {
+        ConstructorInvoker invoker = invokerCache.get(constructor);
+        if (invoker == null) {
+            invoker = invokerCache.computeIfAbsent(constructor, FastClassInstantiationStrategy::createInvoker);
+        }
+        try {
+            return invoker.newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw new BeansException("实例化Bean失败：" + beanDefinition.getBeanClass().getName(), e.getTargetException());
+        } catch (Throwable e) {
+            throw new BeansException("实例化Bean失败：" + beanDefinition.getBeanClass().getName(), e);
+        }
+    }
+
+    /**
+     * 为构造函数创建实例化器，优先使用FastClass
+     */
+    private static ConstructorInvoker createInvoker(Constructor<?> constructor) {
+        if (!Modifier.isPrivate(constructor.getModifiers()) && !Modifier.isPrivate(constructor.getDeclaringClass().getModifiers())) {
+            try {
+                FastClass fastClass = FastClass.create(constructor.getDeclaringClass());
+                int index = fastClass.getIndex(constructor.getParameterTypes());
+                if (index >= 0) {
+                    return args -> fastClass.newInstance(index, args);
+                }
+            } catch (Throwable ex) {
+                // 无法生成FastClass（例如运行环境禁止定义类），使用MethodHandle调用
+            }
+        }
+        return createMethodHandleInvoker(constructor);
+    }
+
+    private static ConstructorInvoker createMethodHandleInvoker(Constructor<?> constructor) {
+        try {
+            constructor.setAccessible(true);
+            int parameterCount = constructor.getParameterCount();
+            MethodHandle handle = LOOKUP.unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, parameterCount)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return args -> (Object) handle.invokeExact(args);
+        } catch (Exception e) {
+            throw new BeansException("无法访问构造函数：" + constructor, e);
+        }
+    }
+
+    /**
+     * 构造函数实例化器
+     */
+    private interface ConstructorInvoker {
+
+        Object newInstance(Object[] args) throws Throwable;
+    }
+}
@@ -1,7 +1,10 @@
 package org.qlspringframework.beans.factory.supper;
 
+import org.qlspringframework.beans.BeansException;
 import org.qlspringframework.beans.factory.config.BeanDefinition;
 
+import java.lang.reflect.Constructor;
+
 /**
  * 实例化Bean的策略接口
  * 该接口定义了如何实例化Bean的策略方法
@@ -22,5 +25,27 @@ public interface InstantiationStrategy {
      * @return 实例化的Bean对象
      */
     Object instantiate(BeanDefinition beanDefinition);
+
+    /**
+     * 使用指定的构造函数和参数实例化Bean
+     * 默认实现兼容只实现了instantiate(BeanDefinition)的策略：无参构造函数交给该方法实例化，
+     * 有参数的构造函数通过反射调用
+     *
+     * @param beanDefinition Bean定义信息
+     * @param constructor 要使用的构造函数
+     * @param args 已经完成解析和类型转换的构造函数参数
+     * @return 实例化的Bean对象
+     */
+    default Object instantiate(BeanDefinition beanDefinition, Constructor<?> constructor, Object[] args) {
+        if (constructor.getParameterCount() == 0) {
+            return instantiate(beanDefinition);
+        }
+        try {
+            constructor.setAccessible(true);
+            return constructor.newInstance(args);
+        } catch (Exception e) {
+            throw new BeansException("实例化Bean失败：" + beanDefinition.getBeanClass().getName(), e);
+        }
+    }
 }
 
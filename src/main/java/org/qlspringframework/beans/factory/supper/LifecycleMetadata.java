@@ -0,0 +1,206 @@
+package org.qlspringframework.beans.factory.supper;
+
+import cn.hutool.core.util.ClassUtil;
+import cn.hutool.core.util.StrUtil;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.beans.factory.InitializingBean;
+import org.qlspringframework.beans.factory.annotation.PostConstruct;
+import org.qlspringframework.beans.factory.annotation.PreDestroy;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Bean的生命周期元数据
+ * 一次性解析出某个类的初始化方法和销毁方法并生成方法句柄，之后同一个BeanDefinition创建的Bean直接复用
+ *
+ * 初始化方法的调用顺序：@PostConstruct标注的方法 -> InitializingBean.afterPropertiesSet -> 自定义的init-method
+ * 销毁方法的调用顺序：@PreDestroy标注的方法 -> DisposableBean.destroy -> 自定义的destroy-method
+ * 同一个方法只会被调用一次，例如实现了DisposableBean并且destroy-method="destroy"时destroy只会执行一次
+ *
+ * @author: jixu
+ * @create: 2025-06-14 15:10
+ **/
+public class LifecycleMetadata {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // 统一的生命周期方法句柄类型：(Object bean) -> void
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private static final LifecycleMethod[] EMPTY = new LifecycleMethod[0];
+
+    private final Class<?> beanClass;
+
+    private final String initMethodName;
+
+    private final String destroyMethodName;
+
+    private final LifecycleMethod[] initMethods;
+
+    private final LifecycleMethod[] destroyMethods;
+
+    private LifecycleMetadata(Class<?> beanClass, String initMethodName, String destroyMethodName,
+                              LifecycleMethod[] initMethods, LifecycleMethod[] destroyMethods) {
+        this.beanClass = beanClass;
+        this.initMethodName = initMethodName;
+        this.destroyMethodName = destroyMethodName;
+        this.initMethods = initMethods;
+        this.destroyMethods = destroyMethods;
+    }
+
+    /**
+     * 解析指定类的生命周期元数据
+     *
+     * @param beanClass Bean的实际类型
+     * @param initMethodName 自定义的初始化方法名称，可以为空
+     * @param destroyMethodName 自定义的销毁方法名称，可以为空
+     * @return 生命周期元数据
+     */
+    public static LifecycleMetadata forClass(Class<?> beanClass, String initMethodName, String destroyMethodName) {
+        // 初始化方法父类在前，销毁方法子类在前
+        List<Method> postConstructMethods = findAnnotatedMethods(beanClass, PostConstruct.class);
+        Collections.reverse(postConstructMethods);
+        List<Method> preDestroyMethods = findAnnotatedMethods(beanClass, PreDestroy.class);
+
+        LifecycleMethod[] initMethods = resolveLifecycleMethods(beanClass, postConstructMethods,
+                InitializingBean.class, "afterPropertiesSet", initMethodName, "初始化");
+        LifecycleMethod[] destroyMethods = resolveLifecycleMethods(beanClass, preDestroyMethods,
+                DisposableBean.class, "destroy", destroyMethodName, "销毁");
+        return new LifecycleMetadata(beanClass, initMethodName, destroyMethodName, initMethods, destroyMethods);
+    }
+
+    /**
+     * 从子类开始向上查找标注了指定注解的无参实例方法，子类重写的方法只保留一次
+     */
+    private static List<Method> findAnnotatedMethods(Class<?> beanClass, Class<? extends Annotation> annotationType) {
+        List<Method> methods = new ArrayList<>();
+        Set<String> overridden = new HashSet<>();
+        for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(annotationType)) {
+                    continue;
+                }
+                if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0) {
+                    throw new BeansException(String.format("@%s 只能标注在无参的实例方法上：%s.%s",
+                            annotationType.getSimpleName(), current.getName(), method.getName()));
+                }
+                boolean privateMethod = Modifier.isPrivate(method.getModifiers());
+                if (privateMethod || overridden.add(method.getName())) {
+                    methods.add(method);
+                }
+            }
+        }
+        return methods;
+    }
+
+    private static LifecycleMethod[] resolveLifecycleMethods(Class<?> beanClass, List<Method> annotatedMethods,
+                                                             Class<?> callbackInterface, String callbackMethodName,
+                                                             String customMethodName, String description) {
+        List<LifecycleMethod> lifecycleMethods = new ArrayList<>();
+        Set<String> invokedNames = new HashSet<>();
+        for (Method method : annotatedMethods) {
+            lifecycleMethods.add(new LifecycleMethod(method.getName(), createInvoker(method)));
+            if (!Modifier.isPrivate(method.getModifiers())) {
+                invokedNames.add(method.getName());
+            }
+        }
+
+        if (callbackInterface.isAssignableFrom(beanClass) && invokedNames.add(callbackMethodName)) {
+            Method method = ClassUtil.getPublicMethod(callbackInterface, callbackMethodName);
+            lifecycleMethods.add(new LifecycleMethod(callbackMethodName, createInvoker(method)));
+        }
+
+        if (StrUtil.isNotEmpty(customMethodName) && invokedNames.add(customMethodName)) {
+            Method method = ClassUtil.getPublicMethod(beanClass, customMethodName);
+            if (method == null) {
+                throw new BeansException(String.format("在类：%s 当中找不到名为：%s 的%s方法",
+                        beanClass.getName(), customMethodName, description));
+            }
+            lifecycleMethods.add(new LifecycleMethod(customMethodName, createInvoker(method)));
+        }
+        return lifecycleMethods.isEmpty() ? EMPTY : lifecycleMethods.toArray(EMPTY);
+    }
+
+    /**
+     * 生成生命周期方法的调用句柄，返回值会被忽略
+     */
+    private static MethodHandle createInvoker(Method method) {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method).asType(INVOKER_TYPE);
+        } catch (Exception e) {
+            throw new BeansException(String.format("无法访问方法：%s.%s", method.getDeclaringClass().getName(), method.getName()), e);
+        }
+    }
+
+    /**
+     * 判断元数据对于当前的Bean类型和BeanDefinition中的方法名称是否仍然有效
+     */
+    public boolean isValidFor(Class<?> beanClass, String initMethodName, String destroyMethodName) {
+        return this.beanClass == beanClass
+                && Objects.equals(this.initMethodName, initMethodName)
+                && Objects.equals(this.destroyMethodName, destroyMethodName);
+    }
+
+    /**
+     * 依次调用Bean的初始化方法
+     *
+     * @param bean Bean实例
+     * @param beanName Bean名称
+     */
+    public void invokeInitMethods(Object bean, String beanName) {
+        invoke(initMethods, bean, beanName, "初始化");
+    }
+
+    /**
+     * 依次调用Bean的销毁方法
+     *
+     * @param bean Bean实例
+     * @param beanName Bean名称
+     */
+    public void invokeDestroyMethods(Object bean, String beanName) {
+        invoke(destroyMethods, bean, beanName, "销毁");
+    }
+
+    private static void invoke(LifecycleMethod[] lifecycleMethods, Object bean, String beanName, String description) {
+        for (LifecycleMethod lifecycleMethod : lifecycleMethods) {
+            try {
+                lifecycleMethod.invoker.invokeExact(bean);
+            } catch (BeansException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BeansException(String.format("调用Bean：%s 的%s方法：%s 失败", beanName, description, lifecycleMethod.name), e);
+            }
+        }
+    }
+
+    public boolean hasInitMethods() {
+        return initMethods.length > 0;
+    }
+
+    public boolean hasDestroyMethods() {
+        return destroyMethods.length > 0;
+    }
+
+    /**
+     * 单个生命周期方法
+     */
+    private static class LifecycleMethod {
+
+        private final String name;
+
+        private final MethodHandle invoker;
+
+        LifecycleMethod(String name, MethodHandle invoker) {
+            this.name = name;
+            this.invoker = invoker;
+        }
+    }
+}
@@ -32,5 +32,21 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy{
             throw new BeansException(e.getMessage());
         }
     }
-}
 
+    /**
+     * 使用指定的构造函数实例化Bean
+     * @param beanDefinition Bean的定义信息
+     * @param constructor 要使用的构造函数
+     * @param args 构造函数参数
+     * @return 实例化的Bean对象
+     */
+    @Override
+    public Object instantiate(BeanDefinition beanDefinition, Constructor<?> constructor, Object[] args) {
+        try {
+            constructor.setAccessible(true);
+            return constructor.newInstance(args);
+        } catch (Exception e) {
+            throw new BeansException("实例化Bean失败：" + beanDefinition.getBeanClass().getName(), e);
+        }
+    }
+}
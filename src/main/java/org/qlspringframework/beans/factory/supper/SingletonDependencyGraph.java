@@ -0,0 +1,162 @@
+package org.qlspringframework.beans.factory.supper;
+
+import java.util.*;
+
+/**
+ * 单例Bean依赖关系图
+ * 根据单例Bean之间的依赖关系构建有向图，并将存在循环依赖的Bean（强连通分量）合并为一个节点，
+ * 合并后的节点之间构成有向无环图，用于并行预实例化时的调度
+ *
+ * @author: jixu
+ * @create: 2025-06-10 15:20
+ **/
+public class SingletonDependencyGraph {
+
+    // 合并后的节点，每个节点包含一个或多个相互依赖的Bean名称
+    private final List<List<String>> components = new ArrayList<>();
+
+    // 每个节点直接依赖的其他节点个数
+    private final int[] dependencyCounts;
+
+    // 每个节点被哪些节点所依赖
+    private final List<List<Integer>> dependents = new ArrayList<>();
+
+    /**
+     * 构造依赖关系图
+     *
+     * @param dependencies Bean名称与其所依赖Bean名称的映射，不在key当中的依赖会被忽略
+     */
+    public SingletonDependencyGraph(Map<String, Set<String>> dependencies) {
+        List<String> beanNames = new ArrayList<>(dependencies.keySet());
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < beanNames.size(); i++) {
+            indexes.put(beanNames.get(i), i);
+        }
+
+        // 转换为以下标表示的邻接表
+        int[][] edges = new int[beanNames.size()][];
+        for (int i = 0; i < beanNames.size(); i++) {
+            List<Integer> targets = new ArrayList<>();
+            for (String dependency : dependencies.get(beanNames.get(i))) {
+                Integer target = indexes.get(dependency);
+                if (target != null && target != i) {
+                    targets.add(target);
+                }
+            }
+            edges[i] = targets.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int[] componentOf = findComponents(beanNames, edges);
+
+        // 构建合并后节点之间的依赖关系
+        this.dependencyCounts = new int[components.size()];
+        List<Set<Integer>> componentDependencies = new ArrayList<>();
+        for (int i = 0; i < components.size(); i++) {
+            componentDependencies.add(new HashSet<>());
+            dependents.add(new ArrayList<>());
+        }
+        for (int source = 0; source < edges.length; source++) {
+            for (int target : edges[source]) {
+                int from = componentOf[source];
+                int to = componentOf[target];
+                if (from != to && componentDependencies.get(from).add(to)) {
+                    dependencyCounts[from]++;
+                    dependents.get(to).add(from);
+                }
+            }
+        }
+    }
+
+    /**
+     * 通过Tarjan算法（非递归实现，避免依赖链过长时栈溢出）查找强连通分量
+     * 强连通分量按照逆拓扑序产生，即被依赖的节点总是先于依赖它的节点
+     *
+     * @return 每个Bean所属的节点下标
+     */
+    private int[] findComponents(List<String> beanNames, int[][] edges) {
+        int size = beanNames.size();
+        int[] index = new int[size];
+        int[] lowLink = new int[size];
+        int[] componentOf = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(index, -1);
+
+        Deque<Integer> stack = new ArrayDeque<>();
+        // 模拟递归调用栈：{节点下标, 下一个待访问的邻接边下标}
+        Deque<int[]> callStack = new ArrayDeque<>();
+        int counter = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            index[root] = lowLink[root] = counter++;
+            stack.push(root);
+            onStack[root] = true;
+            callStack.push(new int[]{root, 0});
+
+            while (!callStack.isEmpty()) {
+                int[] frame = callStack.peek();
+                int node = frame[0];
+                if (frame[1] < edges[node].length) {
+                    int next = edges[node][frame[1]++];
+                    if (index[next] == -1) {
+                        index[next] = lowLink[next] = counter++;
+                        stack.push(next);
+                        onStack[next] = true;
+                        callStack.push(new int[]{next, 0});
+                    } else if (onStack[next]) {
+                        lowLink[node] = Math.min(lowLink[node], index[next]);
+                    }
+                    continue;
+                }
+
+                callStack.pop();
+                if (lowLink[node] == index[node]) {
+                    List<String> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = stack.pop();
+                        onStack[member] = false;
+                        componentOf[member] = components.size();
+                        component.add(beanNames.get(member));
+                    } while (member != node);
+                    components.add(component);
+                }
+                if (!callStack.isEmpty()) {
+                    int parent = callStack.peek()[0];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+            }
+        }
+        return componentOf;
+    }
+
+    /**
+     * 获取节点个数
+     */
+    public int getComponentCount() {
+        return components.size();
+    }
+
+    /**
+     * 获取节点当中包含的Bean名称
+     */
+    public List<String> getBeanNames(int component) {
+        return components.get(component);
+    }
+
+    /**
+     * 获取节点直接依赖的其他节点个数
+     */
+    public int getDependencyCount(int component) {
+        return dependencyCounts[component];
+    }
+
+    /**
+     * 获取依赖于当前节点的其他节点
+     */
+    public List<Integer> getDependents(int component) {
+        return dependents.get(component);
+    }
+}
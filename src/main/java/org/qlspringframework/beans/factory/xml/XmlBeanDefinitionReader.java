@@ -11,6 +11,7 @@ import org.qlspringframework.beans.BeansException;
 import org.qlspringframework.beans.PropertyValue;
 import org.qlspringframework.beans.factory.config.BeanDefinition;
 import org.qlspringframework.beans.factory.config.BeanReference;
+import org.qlspringframework.beans.factory.config.ConstructorArgumentValues;
 import org.qlspringframework.beans.factory.supper.AbstractBeanDefinitionReader;
 import org.qlspringframework.beans.factory.supper.BeanDefinitionRegister;
 import org.qlspringframework.context.annotation.ClassPathBeanDefinitionScanner;
@@ -19,7 +20,9 @@ import org.qlspringframework.core.io.ResourceLoader;
 
 
 import java.io.InputStream;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 
 
@@ -53,10 +56,22 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
 
     private static final String DESTROY_METHOD_ATTRIBUTE = "destroy-method";
 
+    public static final String LAZY_INIT_ATTRIBUTE = "lazy-init";
+
     public static final String BASE_PACKAGE_ATTRIBUTE = "base-package";
 
     public static final String COMPONENT_SCAN_ELEMENT = "component-scan";
 
+    // 定义XML中构造函数参数标签的元素名称
+    public static final String CONSTRUCTOR_ARG_ELEMENT = "constructor-arg";
+
+    public static final String INDEX_ATTRIBUTE = "index";
+
+    public static final String TYPE_ATTRIBUTE = "type";
+
+    // 通过component-scan扫描过的包
+    private final Set<String> scannedPackages = new LinkedHashSet<>();
+
     /**
      * 构造函数
      * beanDefinitionRegister是用来注册BeanDefinition使用的
@@ -132,6 +147,7 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
             String initMethodName = bean.attributeValue(INIT_METHOD_ATTRIBUTE);
             String destroyMethodName = bean.attributeValue(DESTROY_METHOD_ATTRIBUTE);
             String beanScope = bean.attributeValue(SCOPE_ATTRIBUTE);
+            String lazyInit = bean.attributeValue(LAZY_INIT_ATTRIBUTE);
 
 
             Class<?> clazz;
@@ -153,6 +169,7 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
             if (StrUtil.isNotEmpty(beanScope)) {
                 beanDefinition.setScope(beanScope);
             }
+            beanDefinition.setLazyInit(Boolean.parseBoolean(lazyInit));
 
             List<Element> propertyList = bean.elements(PROPERTY_ELEMENT);
             for (Element property : propertyList) {
@@ -171,6 +188,31 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
                 PropertyValue propertyValue = new PropertyValue(propertyNameAttribute, value);
                 beanDefinition.getPropertyValues().addPropertyValue(propertyValue);
             }
+            List<Element> constructorArgList = bean.elements(CONSTRUCTOR_ARG_ELEMENT);
+            for (Element constructorArg : constructorArgList) {
+                String indexAttribute = constructorArg.attributeValue(INDEX_ATTRIBUTE);
+                String typeAttribute = constructorArg.attributeValue(TYPE_ATTRIBUTE);
+                String valueAttribute = constructorArg.attributeValue(VALUE_ATTRIBUTE);
+                String refAttribute = constructorArg.attributeValue(REF_ATTRIBUTE);
+
+                Object value = valueAttribute;
+                if (StrUtil.isNotEmpty(refAttribute)) {
+                    value = new BeanReference(refAttribute);
+                }
+                ConstructorArgumentValues.ValueHolder valueHolder = new ConstructorArgumentValues.ValueHolder(value, typeAttribute);
+                if (StrUtil.isNotEmpty(indexAttribute)) {
+                    int index;
+                    try {
+                        index = Integer.parseInt(indexAttribute);
+                    } catch (NumberFormatException e) {
+                        throw new BeansException("constructor-arg 的 index 属性必须为整数：" + indexAttribute);
+                    }
+                    beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(index, valueHolder);
+                } else {
+                    beanDefinition.getConstructorArgumentValues().addGenericArgumentValue(valueHolder);
+                }
+            }
+
             if (getRegistry().containsBeanDefinition(beanName)) {
                 //beanName不能重名
                 throw new BeansException("Duplicate beanName[" + beanName + "] is not allowed");
@@ -189,7 +231,19 @@ public class XmlBeanDefinitionReader extends AbstractBeanDefinitionReader {
      */
     private void scanPackage(String scanPath) {
         String[] basePackages = StrUtil.splitToArray(scanPath, ',');
+        for (String basePackage : basePackages) {
+            scannedPackages.add(basePackage.trim());
+        }
         ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(getRegistry());
         scanner.doScan(basePackages);
     }
+
+    /**
+     * 获取通过component-scan扫描过的包
+     *
+     * @return 扫描过的包名数组
+     */
+    public String[] getScannedPackages() {
+        return scannedPackages.toArray(new String[0]);
+    }
 }
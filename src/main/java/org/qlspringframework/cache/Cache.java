@@ -0,0 +1,50 @@
+package org.qlspringframework.cache;
+
+/**
+ * 缓存接口
+ *
+ * @author jixu
+ * @title Cache
+ * @date 2025/6/18 09:40
+ */
+public interface Cache {
+
+    /**
+     * 获取缓存名称
+     */
+    String getName();
+
+    /**
+     * 获取缓存的值
+     *
+     * @param key 缓存的key
+     * @return 缓存值的包装对象，不存在或已过期时返回null，缓存的值本身可以为null
+     */
+    ValueWrapper get(Object key);
+
+    /**
+     * 写入缓存
+     *
+     * @param key 缓存的key
+     * @param value 缓存的值，可以为null
+     */
+    void put(Object key, Object value);
+
+    /**
+     * 删除指定key的缓存
+     */
+    void evict(Object key);
+
+    /**
+     * 删除所有缓存
+     */
+    void clear();
+
+    /**
+     * 缓存值的包装，用于区分缓存不存在和缓存的值为null
+     */
+    interface ValueWrapper {
+
+        Object get();
+    }
+}
@@ -0,0 +1,26 @@
+package org.qlspringframework.cache;
+
+import java.util.Collection;
+
+/**
+ * 缓存管理器，按照名称管理缓存
+ *
+ * @author jixu
+ * @title CacheManager
+ * @date 2025/6/18 09:42
+ */
+public interface CacheManager {
+
+    /**
+     * 获取指定名称的缓存
+     *
+     * @param name 缓存名称
+     * @return 缓存，不存在并且无法创建时返回null
+     */
+    Cache getCache(String name);
+
+    /**
+     * 获取所有缓存的名称
+     */
+    Collection<String> getCacheNames();
+}
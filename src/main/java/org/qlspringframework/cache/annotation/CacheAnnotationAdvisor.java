@@ -0,0 +1,93 @@
+package org.qlspringframework.cache.annotation;
+
+import org.aopalliance.aop.Advice;
+import org.qlspringframework.aop.ClassFilter;
+import org.qlspringframework.aop.MethodMatcher;
+import org.qlspringframework.aop.PointCut;
+import org.qlspringframework.aop.PointcutAdvisor;
+import org.qlspringframework.beans.factory.BeanFactory;
+import org.qlspringframework.beans.factory.BeanFactoryAware;
+import org.qlspringframework.cache.CacheManager;
+import org.qlspringframework.cache.interceptor.CacheInterceptor;
+import org.qlspringframework.core.Ordered;
+
+import java.lang.reflect.Method;
+
+/**
+ * 处理@Cacheable和@CacheEvict注解的Advisor
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为标注了缓存注解的Bean创建代理
+ *
+ * @author jixu
+ * @title CacheAnnotationAdvisor
+ * @date 2025/6/18 11:30
+ */
+public class CacheAnnotationAdvisor implements PointcutAdvisor, BeanFactoryAware, Ordered {
+
+    private final CacheInterceptor advice = new CacheInterceptor();
+
+    private final PointCut pointcut = new CacheAnnotationPointcut();
+
+    private int order = Ordered.LOWEST_PRECEDENCE;
+
+    @Override
+    public PointCut getPointcut() {
+        return pointcut;
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return advice;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        advice.setBeanFactory(beanFactory);
+    }
+
+    /**
+     * 设置使用的缓存管理器，未设置时使用名为cacheManager的Bean
+     */
+    public void setCacheManager(CacheManager cacheManager) {
+        advice.setCacheManager(cacheManager);
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    public void setOrder(int order) {
+        this.order = order;
+    }
+
+    /**
+     * 匹配标注了@Cacheable或@CacheEvict的方法
+     */
+    private static class CacheAnnotationPointcut implements PointCut, ClassFilter, MethodMatcher {
+
+        @Override
+        public boolean matches(Class<?> clazz) {
+            for (Method method : clazz.getMethods()) {
+                if (method.isAnnotationPresent(Cacheable.class) || method.isAnnotationPresent(CacheEvict.class)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return CacheInterceptor.isCacheMethod(method, targetClass);
+        }
+
+        @Override
+        public ClassFilter getClassFilter() {
+            return this;
+        }
+
+        @Override
+        public MethodMatcher getMethodMatcher() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.qlspringframework.cache.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 调用方法时删除缓存
+ * 默认以方法参数作为key删除一条缓存，并且在方法正常返回后才删除
+ *
+ * @author jixu
+ * @title CacheEvict
+ * @date 2025/6/18 09:46
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheEvict {
+
+    /**
+     * 缓存名称
+     */
+    String value();
+
+    /**
+     * 是否删除缓存中的所有数据
+     */
+    boolean allEntries() default false;
+
+    /**
+     * 是否在方法调用之前删除，为true时方法抛出异常也会删除
+     */
+    boolean beforeInvocation() default false;
+}
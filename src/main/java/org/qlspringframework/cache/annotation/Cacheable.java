@@ -0,0 +1,22 @@
+package org.qlspringframework.cache.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 缓存方法的返回值
+ * 以方法参数作为key，缓存中存在时直接返回缓存的值，不存在时调用方法并缓存返回值（包括null）
+ *
+ * @author jixu
+ * @title Cacheable
+ * @date 2025/6/18 09:45
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+
+    /**
+     * 缓存名称
+     */
+    String value();
+}
@@ -0,0 +1,176 @@
+package org.qlspringframework.cache.interceptor;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.qlspringframework.aop.support.AopUtils;
+import org.qlspringframework.aop.support.MethodClassKey;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.BeanFactory;
+import org.qlspringframework.beans.factory.BeanFactoryAware;
+import org.qlspringframework.cache.Cache;
+import org.qlspringframework.cache.CacheManager;
+import org.qlspringframework.cache.annotation.CacheEvict;
+import org.qlspringframework.cache.annotation.Cacheable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存拦截器，处理@Cacheable和@CacheEvict
+ * 缓存key由方法参数生成，缓存从CacheManager中按照名称获取：
+ * 通过构造函数或setCacheManager设置的CacheManager，未设置时使用名为cacheManager的Bean
+ * 方法上的缓存操作在第一次调用时解析并缓存
+ *
+ * @author jixu
+ * @title CacheInterceptor
+ * @date 2025/6/18 11:00
+ */
+public class CacheInterceptor implements MethodInterceptor, BeanFactoryAware {
+
+    public static final String DEFAULT_CACHE_MANAGER_BEAN_NAME = "cacheManager";
+
+    // 没有缓存注解的方法
+    private static final CacheOperation NO_OPERATION = new CacheOperation(null, null, null);
+
+    private final Map<MethodClassKey, CacheOperation> operationCache = new ConcurrentHashMap<>();
+
+    private volatile CacheManager cacheManager;
+
+    private volatile BeanFactory beanFactory;
+
+    public CacheInterceptor() {
+    }
+
+    public CacheInterceptor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? target.getClass() : invocation.getMethod().getDeclaringClass();
+        CacheOperation operation = getCacheOperation(invocation.getMethod(), targetClass);
+        if (operation == NO_OPERATION) {
+            return invocation.proceed();
+        }
+
+        Object key = SimpleKey.generate(invocation.getArguments());
+        if (operation.cacheable != null) {
+            Cache.ValueWrapper cached = operation.cache.get(key);
+            if (cached != null) {
+                return cached.get();
+            }
+            Object result = invocation.proceed();
+            operation.cache.put(key, result);
+            return result;
+        }
+
+        CacheEvict cacheEvict = operation.cacheEvict;
+        if (cacheEvict.beforeInvocation()) {
+            evict(operation.cache, cacheEvict, key);
+        }
+        Object result = invocation.proceed();
+        if (!cacheEvict.beforeInvocation()) {
+            evict(operation.cache, cacheEvict, key);
+        }
+        return result;
+    }
+
+    private static void evict(Cache cache, CacheEvict cacheEvict, Object key) {
+        if (cacheEvict.allEntries()) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    private CacheOperation getCacheOperation(Method method, Class<?> targetClass) {
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        CacheOperation operation = operationCache.get(key);
+        if (operation == null) {
+            operation = operationCache.computeIfAbsent(key, k -> resolveCacheOperation(method, targetClass));
+        }
+        return operation;
+    }
+
+    private CacheOperation resolveCacheOperation(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        Cacheable cacheable = findAnnotation(specificMethod, method, Cacheable.class);
+        if (cacheable != null) {
+            return new CacheOperation(cacheable, null, getCache(cacheable.value()));
+        }
+        CacheEvict cacheEvict = findAnnotation(specificMethod, method, CacheEvict.class);
+        if (cacheEvict != null) {
+            return new CacheOperation(null, cacheEvict, getCache(cacheEvict.value()));
+        }
+        return NO_OPERATION;
+    }
+
+    private static <A extends Annotation> A findAnnotation(Method specificMethod, Method method, Class<A> annotationType) {
+        A annotation = specificMethod.getAnnotation(annotationType);
+        return annotation != null ? annotation : method.getAnnotation(annotationType);
+    }
+
+    /**
+     * 判断方法是否标注了缓存注解
+     *
+     * @param method 被调用的方法
+     * @param targetClass 目标类
+     * @return 标注了@Cacheable或@CacheEvict时返回true
+     */
+    public static boolean isCacheMethod(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        return findAnnotation(specificMethod, method, Cacheable.class) != null
+                || findAnnotation(specificMethod, method, CacheEvict.class) != null;
+    }
+
+    private Cache getCache(String name) {
+        Cache cache = determineCacheManager().getCache(name);
+        if (cache == null) {
+            throw new BeansException(String.format("找不到名为：%s 的缓存", name));
+        }
+        return cache;
+    }
+
+    private CacheManager determineCacheManager() {
+        CacheManager manager = this.cacheManager;
+        if (manager != null) {
+            return manager;
+        }
+        if (beanFactory == null || !beanFactory.containsBean(DEFAULT_CACHE_MANAGER_BEAN_NAME)) {
+            throw new BeansException(String.format("找不到缓存管理器：%s", DEFAULT_CACHE_MANAGER_BEAN_NAME));
+        }
+        return beanFactory.getBean(DEFAULT_CACHE_MANAGER_BEAN_NAME, CacheManager.class);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        this.operationCache.clear();
+    }
+
+    public void setCacheManager(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        this.operationCache.clear();
+    }
+
+    /**
+     * 解析后的缓存操作，cacheable和cacheEvict只有一个不为空
+     */
+    private static class CacheOperation {
+
+        private final Cacheable cacheable;
+
+        private final CacheEvict cacheEvict;
+
+        private final Cache cache;
+
+        CacheOperation(Cacheable cacheable, CacheEvict cacheEvict, Cache cache) {
+            this.cacheable = cacheable;
+            this.cacheEvict = cacheEvict;
+            this.cache = cache;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.qlspringframework.cache.interceptor;
+
+import java.util.Arrays;
+
+/**
+ * 由方法参数组成的缓存key
+ *
+ * @author jixu
+ * @title SimpleKey
+ * @date 2025/6/18 09:50
+ */
+public final class SimpleKey {
+
+    public static final SimpleKey EMPTY = new SimpleKey();
+
+    private final Object[] params;
+
+    private final int hashCode;
+
+    public SimpleKey(Object... params) {
+        this.params = params.clone();
+        this.hashCode = Arrays.deepHashCode(this.params);
+    }
+
+    /**
+     * 根据方法参数生成缓存key
+     * 没有参数时返回EMPTY，只有一个非数组参数时直接使用该参数，否则使用SimpleKey包装所有参数
+     *
+     * @param params 方法参数
+     * @return 缓存key
+     */
+    public static Object generate(Object[] params) {
+        if (params == null || params.length == 0) {
+            return EMPTY;
+        }
+        if (params.length == 1) {
+            Object param = params[0];
+            if (param != null && !param.getClass().isArray()) {
+                return param;
+            }
+        }
+        return new SimpleKey(params);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof SimpleKey && Arrays.deepEquals(params, ((SimpleKey) o).params));
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "SimpleKey " + Arrays.deepToString(params);
+    }
+}
@@ -0,0 +1,59 @@
+package org.qlspringframework.cache.support;
+
+/**
+ * 缓存统计信息的快照
+ *
+ * @author jixu
+ * @title CacheStats
+ * @date 2025/6/18 10:00
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long putCount;
+
+    private final long evictionCount;
+
+    public CacheStats(long hitCount, long missCount, long putCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.evictionCount = evictionCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    /**
+     * 因为容量不足或过期被移除的缓存数量，不包括主动删除的缓存
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 命中率，没有访问过时返回1
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", putCount=" + putCount
+                + ", evictionCount=" + evictionCount + '}';
+    }
+}
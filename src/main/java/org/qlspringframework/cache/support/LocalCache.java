@@ -0,0 +1,252 @@
+package org.qlspringframework.cache.support;
+
+import org.qlspringframework.cache.Cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 进程内缓存，按照容量和写入时间淘汰
+ *
+ * 缓存按照key的hash分为多个段，每个段单独加锁，段内使用分段LRU（Segmented LRU）淘汰：
+ * 新写入的数据进入试用区，在试用区中再次被访问的数据晋升到保护区，保护区满时最久未访问的数据降级回试用区，
+ * 容量不足时优先淘汰试用区中最久未访问的数据，因此只访问过一次的数据不会把经常访问的数据挤出缓存
+ * 设置了过期时间时，数据写入超过该时间后在下一次访问时被移除
+ * 每个段的容量为maximumSize除以段数向上取整，缓存总数可能略大于maximumSize
+ *
+ * @author jixu
+ * @title LocalCache
+ * @date 2025/6/18 10:05
+ */
+public class LocalCache implements Cache {
+
+    // 保护区占段容量的比例
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private static final int MAX_SEGMENTS = 16;
+
+    // 每个段至少容纳的数量，容量较小时减少段数，避免淘汰过于不精确
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private final String name;
+
+    private final long expireAfterWriteNanos;
+
+    private final Segment[] segments;
+
+    /**
+     * 创建不会过期的缓存
+     *
+     * @param name 缓存名称
+     * @param maximumSize 最大容量
+     */
+    public LocalCache(String name, int maximumSize) {
+        this(name, maximumSize, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param name 缓存名称
+     * @param maximumSize 最大容量
+     * @param expireAfterWrite 写入后的过期时间，小于等于0时不过期
+     * @param unit 过期时间的单位
+     */
+    public LocalCache(String name, int maximumSize, long expireAfterWrite, TimeUnit unit) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize必须大于0");
+        }
+        this.name = name;
+        this.expireAfterWriteNanos = expireAfterWrite > 0 ? unit.toNanos(expireAfterWrite) : 0;
+
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount * 2 * MIN_SEGMENT_CAPACITY <= maximumSize) {
+            segmentCount <<= 1;
+        }
+        int segmentCapacity = (maximumSize + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long now = expireAfterWriteNanos > 0 ? System.nanoTime() : 0;
+        return segmentFor(key).get(key, now);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        long expireAt = expireAfterWriteNanos > 0 ? System.nanoTime() + expireAfterWriteNanos : Long.MAX_VALUE;
+        segmentFor(key).put(key, new Entry(value, expireAt));
+    }
+
+    @Override
+    public void evict(Object key) {
+        segmentFor(key).remove(key);
+    }
+
+    @Override
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * 当前缓存的数量，包括已经过期但尚未被移除的数据
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * 获取所有段统计信息的汇总
+     */
+    public CacheStats getStats() {
+        long hitCount = 0, missCount = 0, putCount = 0, evictionCount = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                hitCount += segment.hitCount;
+                missCount += segment.missCount;
+                putCount += segment.putCount;
+                evictionCount += segment.evictionCount;
+            }
+        }
+        return new CacheStats(hitCount, missCount, putCount, evictionCount);
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    /**
+     * 缓存的数据，同时作为get的返回值
+     */
+    private static final class Entry implements ValueWrapper {
+
+        private final Object value;
+
+        // 过期时间，System.nanoTime的时间点，不过期时为Long.MAX_VALUE
+        private final long expireAt;
+
+        Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        @Override
+        public Object get() {
+            return value;
+        }
+
+        boolean isExpired(long now) {
+            return expireAt != Long.MAX_VALUE && expireAt - now <= 0;
+        }
+    }
+
+    /**
+     * 缓存的一个段，所有操作都在段的锁内执行
+     * 两个区域都使用访问顺序的LinkedHashMap，迭代的第一个元素即为最久未访问的数据
+     */
+    private static final class Segment {
+
+        private final int capacity;
+
+        private final int protectedCapacity;
+
+        private final LinkedHashMap<Object, Entry> probation = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final LinkedHashMap<Object, Entry> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private long hitCount;
+
+        private long missCount;
+
+        private long putCount;
+
+        private long evictionCount;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = Math.max(1, (int) (capacity * PROTECTED_RATIO));
+        }
+
+        synchronized Entry get(Object key, long now) {
+            boolean inProtected = true;
+            Entry entry = protectedEntries.get(key);
+            if (entry == null) {
+                inProtected = false;
+                entry = probation.get(key);
+            }
+            if (entry == null) {
+                missCount++;
+                return null;
+            }
+            if (entry.isExpired(now)) {
+                (inProtected ? protectedEntries : probation).remove(key);
+                evictionCount++;
+                missCount++;
+                return null;
+            }
+            if (!inProtected) {
+                // 试用区的数据再次被访问，晋升到保护区
+                probation.remove(key);
+                protectedEntries.put(key, entry);
+                if (protectedEntries.size() > protectedCapacity) {
+                    Map.Entry<Object, Entry> eldest = removeEldest(protectedEntries);
+                    probation.put(eldest.getKey(), eldest.getValue());
+                }
+            }
+            hitCount++;
+            return entry;
+        }
+
+        synchronized void put(Object key, Entry entry) {
+            putCount++;
+            if (protectedEntries.containsKey(key)) {
+                protectedEntries.put(key, entry);
+                return;
+            }
+            probation.put(key, entry);
+            while (probation.size() + protectedEntries.size() > capacity) {
+                removeEldest(probation.isEmpty() ? protectedEntries : probation);
+                evictionCount++;
+            }
+        }
+
+        synchronized void remove(Object key) {
+            if (protectedEntries.remove(key) == null) {
+                probation.remove(key);
+            }
+        }
+
+        synchronized void clear() {
+            probation.clear();
+            protectedEntries.clear();
+        }
+
+        synchronized int size() {
+            return probation.size() + protectedEntries.size();
+        }
+
+        private static Map.Entry<Object, Entry> removeEldest(LinkedHashMap<Object, Entry> map) {
+            Iterator<Map.Entry<Object, Entry>> iterator = map.entrySet().iterator();
+            Map.Entry<Object, Entry> eldest = iterator.next();
+            iterator.remove();
+            return eldest;
+        }
+    }
+}
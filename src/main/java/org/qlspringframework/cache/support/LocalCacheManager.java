@@ -0,0 +1,62 @@
+package org.qlspringframework.cache.support;
+
+import org.qlspringframework.cache.Cache;
+import org.qlspringframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 管理LocalCache的缓存管理器
+ * 第一次获取某个名称的缓存时按照当前配置的容量和过期时间创建
+ *
+ * @author jixu
+ * @title LocalCacheManager
+ * @date 2025/6/18 10:40
+ */
+public class LocalCacheManager implements CacheManager {
+
+    private final ConcurrentMap<String, LocalCache> cacheMap = new ConcurrentHashMap<>();
+
+    private int maximumSize = 1000;
+
+    // 写入后的过期时间，单位毫秒，小于等于0时不过期
+    private long expireAfterWriteMillis;
+
+    @Override
+    public Cache getCache(String name) {
+        LocalCache cache = cacheMap.get(name);
+        if (cache == null) {
+            cache = cacheMap.computeIfAbsent(name,
+                    cacheName -> new LocalCache(cacheName, maximumSize, expireAfterWriteMillis, TimeUnit.MILLISECONDS));
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(cacheMap.keySet());
+    }
+
+    /**
+     * 获取指定缓存的统计信息
+     *
+     * @param name 缓存名称
+     * @return 统计信息，缓存不存在时返回null
+     */
+    public CacheStats getStats(String name) {
+        LocalCache cache = cacheMap.get(name);
+        return cache == null ? null : cache.getStats();
+    }
+
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public void setExpireAfterWriteMillis(long expireAfterWriteMillis) {
+        this.expireAfterWriteMillis = expireAfterWriteMillis;
+    }
+}
@@ -0,0 +1,28 @@
+package org.qlspringframework.context;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 批量处理事件的监听接口
+ * 由RingBufferApplicationEventMulticaster把消费线程一次取出的多个事件合并后一起交给监听器，
+ * 其他事件广播器逐个广播事件时，每个事件作为只有一个元素的批次交给监听器
+ *
+ * @author jixu
+ * @title BatchApplicationListener
+ * @date 2025/6/19 10:00
+ */
+public interface BatchApplicationListener<E extends ApplicationEvent> extends ApplicationListener<E> {
+
+    /**
+     * 批量处理事件
+     *
+     * @param events 按照发布顺序排列的事件，不会为空
+     */
+    void onApplicationEvents(List<E> events);
+
+    @Override
+    default void onApplicationEvent(E event) {
+        onApplicationEvents(Collections.singletonList(event));
+    }
+}
@@ -1,6 +1,7 @@
 package org.qlspringframework.context.annotation;
 
 import cn.hutool.core.util.StrUtil;
+import org.qlspringframework.beans.factory.annotation.Lazy;
 import org.qlspringframework.beans.factory.config.BeanDefinition;
 import org.qlspringframework.beans.factory.supper.BeanDefinitionRegister;
 import org.qlspringframework.stereotype.Component;
@@ -47,6 +48,13 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
                     candidate.setScope(beanScope);
                 }
 
+                // 解析是否延迟初始化
+                Class<?> beanClass = candidate.getBeanClass();
+                Lazy lazy = beanClass.getAnnotation(Lazy.class);
+                if (lazy != null){
+                    candidate.setLazyInit(lazy.value());
+                }
+
                 // 解析Bean名称
                 String beanName = determineBeanName(candidate);
                 register.registerBeanDefinition(beanName,candidate);
@@ -4,21 +4,39 @@ import org.qlspringframework.beans.factory.BeanFactory;
 import org.qlspringframework.beans.factory.BeanFactoryAware;
 import org.qlspringframework.context.ApplicationEvent;
 import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.core.OrderComparator;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 /**
  * 抽象的应用程序事件多播器类，负责管理应用程序事件的广播
  * 它实现了ApplicationEventMulticaster和BeanFactoryAware接口
  *
+ * 所有监听器保存在不可变的注册表快照当中，注册或移除监听器时通过CAS替换整个快照，广播事件时不需要加锁，
+ * 广播过程中注册或移除监听器不会影响正在进行的广播
+ * 监听器监听的事件类型在注册时解析一次，快照按照事件的实际类型缓存匹配的监听器，
+ * 替换快照时同时为已经缓存的事件类型重新筛选监听器
+ * 实现了GenericApplicationListener的监听器由其supportsEventType判断支持的事件类型
+ *
  * @author jixu
  * @title AbstractApplicationEventMulticaster
  * @date 2025/5/19 19:45
  */
 public abstract class AbstractApplicationEventMulticaster implements ApplicationEventMulticaster , BeanFactoryAware {
 
-    // 定义一个Set集合用于保存所有的事件监听者
-    protected final Set<ApplicationListener<ApplicationEvent>> applicationListeners = new HashSet<>();
+    // 泛型数组只能通过通配符数组转换得到，空数组不会写入任何元素，因此转换是安全的
+    @SuppressWarnings("unchecked")
+    private static final ApplicationListener<ApplicationEvent>[] NO_LISTENERS =
+            (ApplicationListener<ApplicationEvent>[]) new ApplicationListener<?>[0];
+
+    private static final Class<?>[] NO_EVENT_TYPES = new Class<?>[0];
+
+    // 当前的监听器注册表快照
+    private final AtomicReference<ListenerRegistry> registry =
+            new AtomicReference<>(new ListenerRegistry(NO_LISTENERS, NO_EVENT_TYPES, new IdentityHashMap<>()));
 
     // 保存BeanFactory的引用，以便于访问BeanFactory中的资源
     protected BeanFactory beanFactory;
@@ -34,13 +52,22 @@ public abstract class AbstractApplicationEventMulticaster implements Application
     }
 
     /**
-     * 添加应用程序事件监听器
+     * 添加应用程序事件监听器，已经注册过的监听器不会重复添加
      *
      * @param listener 要添加的事件监听器
      */
     @Override
     public void addApplicationListener(ApplicationListener<?> listener) {
-        applicationListeners.add((ApplicationListener<ApplicationEvent>) listener);
+        Class<?> eventType = resolveEventType(listener.getClass());
+        while (true) {
+            ListenerRegistry current = registry.get();
+            if (current.indexOf(listener) >= 0) {
+                return;
+            }
+            if (registry.compareAndSet(current, current.add(listener, eventType))) {
+                return;
+            }
+        }
     }
 
     /**
@@ -50,6 +77,188 @@ public abstract class AbstractApplicationEventMulticaster implements Application
      */
     @Override
     public void removeApplicationListener(ApplicationListener<?> listener) {
-        applicationListeners.remove((ApplicationListener<ApplicationEvent>) listener);
+        while (true) {
+            ListenerRegistry current = registry.get();
+            int index = current.indexOf(listener);
+            if (index < 0) {
+                return;
+            }
+            if (registry.compareAndSet(current, current.remove(index))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 获取当前注册的所有监听器
+     *
+     * @return 按照注册顺序排列的只读监听器列表，是调用时的快照
+     */
+    protected List<ApplicationListener<ApplicationEvent>> getApplicationListeners() {
+        return Collections.unmodifiableList(Arrays.asList(registry.get().listeners));
+    }
+
+    /**
+     * 获取支持处理给定事件的监听器
+     * 第一次广播某个类型的事件时筛选匹配的监听器并缓存，之后同一类型的事件直接从缓存当中获取
+     *
+     * @param event 要广播的事件
+     * @return 按照Ordered排序的监听器，排序值相同时保持注册顺序，没有匹配的监听器时返回空数组
+     */
+    protected ApplicationListener<ApplicationEvent>[] getApplicationListeners(ApplicationEvent event) {
+        return registry.get().getListeners(event.getClass());
+    }
+
+    /**
+     * 解析监听器类监听的事件类型
+     * 从监听器类开始向上查找实现的ApplicationListener接口上的泛型参数，
+     * 代理类、继承了监听器的子类以及继承了ApplicationListener的泛型接口（例如BatchApplicationListener）同样可以解析，
+     * 无法解析时监听所有事件
+     *
+     * @param listenerClass 监听器类
+     * @return 监听的事件类型
+     */
+    static Class<?> resolveEventType(Class<?> listenerClass) {
+        Type eventType = findEventType(listenerClass);
+        if (eventType instanceof Class) {
+            return (Class<?>) eventType;
+        }
+        if (eventType instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) eventType).getRawType();
+        }
+        // 泛型参数为类型变量时无法确定具体的事件类型
+        return ApplicationEvent.class;
+    }
+
+    /**
+     * 在指定类型及其父类、父接口中查找ApplicationListener的泛型参数
+     * 父类型上的泛型参数是当前类型声明的类型变量时，替换为当前类型上对应的实际类型
+     */
+    private static Type findEventType(Type type) {
+        Class<?> rawClass = type instanceof ParameterizedType
+                ? (Class<?>) ((ParameterizedType) type).getRawType() : (Class<?>) type;
+        if (rawClass == ApplicationListener.class) {
+            return type instanceof ParameterizedType ? ((ParameterizedType) type).getActualTypeArguments()[0] : null;
+        }
+        if (!ApplicationListener.class.isAssignableFrom(rawClass)) {
+            return null;
+        }
+        List<Type> supertypes = new ArrayList<>(Arrays.asList(rawClass.getGenericInterfaces()));
+        if (rawClass.getGenericSuperclass() != null) {
+            supertypes.add(rawClass.getGenericSuperclass());
+        }
+        for (Type supertype : supertypes) {
+            Type eventType = findEventType(supertype);
+            if (eventType == null) {
+                continue;
+            }
+            if (eventType instanceof TypeVariable && type instanceof ParameterizedType) {
+                TypeVariable<?>[] typeParameters = rawClass.getTypeParameters();
+                for (int i = 0; i < typeParameters.length; i++) {
+                    if (typeParameters[i].equals(eventType)) {
+                        return ((ParameterizedType) type).getActualTypeArguments()[i];
+                    }
+                }
+            }
+            return eventType;
+        }
+        return null;
+    }
+
+    /**
+     * 不可变的监听器注册表快照
+     * 监听器和监听的事件类型按照注册顺序保存在两个数组当中，创建之后不再修改
+     * 事件类型与匹配监听器的缓存采用写时复制，缓存未命中时由广播线程计算后替换，并发替换时丢失的结果会在下一次未命中时重新计算
+     */
+    private static final class ListenerRegistry {
+
+        private final ApplicationListener<ApplicationEvent>[] listeners;
+
+        private final Class<?>[] eventTypes;
+
+        // 事件的Class对象是固定的，因此按照对象引用作为key
+        private volatile Map<Class<?>, ApplicationListener<ApplicationEvent>[]> listenerCache;
+
+        ListenerRegistry(ApplicationListener<ApplicationEvent>[] listeners, Class<?>[] eventTypes,
+                         Map<Class<?>, ApplicationListener<ApplicationEvent>[]> listenerCache) {
+            this.listeners = listeners;
+            this.eventTypes = eventTypes;
+            this.listenerCache = listenerCache;
+        }
+
+        ApplicationListener<ApplicationEvent>[] getListeners(Class<?> eventType) {
+            Map<Class<?>, ApplicationListener<ApplicationEvent>[]> cache = listenerCache;
+            ApplicationListener<ApplicationEvent>[] matched = cache.get(eventType);
+            if (matched == null) {
+                matched = match(eventType);
+                Map<Class<?>, ApplicationListener<ApplicationEvent>[]> newCache = new IdentityHashMap<>(cache);
+                newCache.put(eventType, matched);
+                listenerCache = newCache;
+            }
+            return matched;
+        }
+
+        /**
+         * 筛选监听给定事件类型的监听器并排序
+         */
+        private ApplicationListener<ApplicationEvent>[] match(Class<?> eventType) {
+            List<ApplicationListener<ApplicationEvent>> matched = new ArrayList<>();
+            for (int i = 0; i < listeners.length; i++) {
+                if (supportsEvent(listeners[i], eventTypes[i], eventType)) {
+                    matched.add(listeners[i]);
+                }
+            }
+            OrderComparator.sort(matched);
+            return matched.isEmpty() ? NO_LISTENERS : matched.toArray(NO_LISTENERS);
+        }
+
+        private static boolean supportsEvent(ApplicationListener<ApplicationEvent> listener, Class<?> listenerEventType, Class<?> eventType) {
+            if (listener instanceof GenericApplicationListener) {
+                return ((GenericApplicationListener) listener).supportsEventType(eventType);
+            }
+            return listenerEventType.isAssignableFrom(eventType);
+        }
+
+        int indexOf(Object listener) {
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i].equals(listener)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        ListenerRegistry add(ApplicationListener<?> listener, Class<?> eventType) {
+            ApplicationListener<ApplicationEvent>[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+            newListeners[listeners.length] = (ApplicationListener<ApplicationEvent>) listener;
+            Class<?>[] newEventTypes = Arrays.copyOf(eventTypes, eventTypes.length + 1);
+            newEventTypes[eventTypes.length] = eventType;
+            return rebuild(newListeners, newEventTypes);
+        }
+
+        ListenerRegistry remove(int index) {
+            ApplicationListener<ApplicationEvent>[] newListeners = Arrays.copyOf(listeners, listeners.length - 1);
+            System.arraycopy(listeners, index + 1, newListeners, index, listeners.length - index - 1);
+            Class<?>[] newEventTypes = Arrays.copyOf(eventTypes, eventTypes.length - 1);
+            System.arraycopy(eventTypes, index + 1, newEventTypes, index, eventTypes.length - index - 1);
+            return rebuild(newListeners, newEventTypes);
+        }
+
+        /**
+         * 创建新的快照，并为当前快照已经缓存的事件类型重新筛选监听器
+         * 匹配结果没有变化的事件类型继续使用原来的数组
+         */
+        private ListenerRegistry rebuild(ApplicationListener<ApplicationEvent>[] newListeners, Class<?>[] newEventTypes) {
+            ListenerRegistry newRegistry = new ListenerRegistry(newListeners, newEventTypes, null);
+            Map<Class<?>, ApplicationListener<ApplicationEvent>[]> oldCache = listenerCache;
+            Map<Class<?>, ApplicationListener<ApplicationEvent>[]> newCache = new IdentityHashMap<>(oldCache.size());
+            for (Map.Entry<Class<?>, ApplicationListener<ApplicationEvent>[]> entry : oldCache.entrySet()) {
+                ApplicationListener<ApplicationEvent>[] matched = newRegistry.match(entry.getKey());
+                newCache.put(entry.getKey(), Arrays.equals(matched, entry.getValue()) ? entry.getValue() : matched);
+            }
+            newRegistry.listenerCache = newCache;
+            return newRegistry;
+        }
     }
 }
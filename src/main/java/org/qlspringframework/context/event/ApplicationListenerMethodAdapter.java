@@ -0,0 +1,309 @@
+package org.qlspringframework.context.event;
+
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.BeanFactory;
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.core.Ordered;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 把标注了@EventListener的方法适配为事件监听器
+ * 方法和条件方法在绑定Bean时生成统一类型的方法句柄，所有事件监听方法共用这一个适配器类，广播事件时通过invokeExact直接调用
+ * 调用的是容器最终暴露的Bean，Bean被代理时监听方法经过代理对象执行，JDK动态代理时监听方法必须声明在代理的接口上
+ * 延迟初始化的Bean在第一次收到支持的事件时才从容器中获取
+ *
+ * @author jixu
+ * @title ApplicationListenerMethodAdapter
+ * @date 2025/6/19 15:30
+ */
+public class ApplicationListenerMethodAdapter implements GenericApplicationListener, Ordered {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // 统一的监听方法句柄类型：(Object bean, Object event) -> void
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // 统一的条件方法句柄类型：(Object bean, Object event) -> boolean
+    private static final MethodType CONDITION_TYPE = MethodType.methodType(boolean.class, Object.class, Object.class);
+
+    private final String beanName;
+
+    // 用于获取延迟初始化的Bean，直接绑定Bean时为空
+    private final BeanFactory beanFactory;
+
+    private final ListenerMethod listenerMethod;
+
+    private volatile BoundMethod boundMethod;
+
+    ApplicationListenerMethodAdapter(String beanName, Object bean, ListenerMethod listenerMethod) {
+        this.beanName = beanName;
+        this.beanFactory = null;
+        this.listenerMethod = listenerMethod;
+        this.boundMethod = listenerMethod.bind(bean);
+    }
+
+    ApplicationListenerMethodAdapter(String beanName, BeanFactory beanFactory, ListenerMethod listenerMethod) {
+        this.beanName = beanName;
+        this.beanFactory = beanFactory;
+        this.listenerMethod = listenerMethod;
+    }
+
+    @Override
+    public boolean supportsEventType(Class<?> eventType) {
+        for (Class<?> declaredEventType : listenerMethod.eventTypes) {
+            if (declaredEventType.isAssignableFrom(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 条件方法返回true时调用监听方法，监听方法抛出的非受检异常原样抛出，受检异常包装为BeansException
+     *
+     * @param event 要处理的事件
+     */
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        BoundMethod bound = boundMethod;
+        if (bound == null) {
+            // 单例Bean多次获取得到同一个对象，并发时重复绑定不影响结果
+            bound = listenerMethod.bind(beanFactory.getBean(beanName));
+            boundMethod = bound;
+        }
+        try {
+            if (bound.condition != null && !(boolean) bound.condition.invokeExact(bound.bean, (Object) event)) {
+                return;
+            }
+            bound.invoker.invokeExact(bound.bean, (Object) event);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new BeansException(String.format("调用Bean：%s 的事件监听方法：%s 失败", beanName, listenerMethod.method.getName()), e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return listenerMethod.order;
+    }
+
+    /**
+     * 获取标注了@EventListener的方法
+     */
+    public Method getMethod() {
+        return listenerMethod.method;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%s.%s)", getClass().getSimpleName(), beanName, listenerMethod.method.getName());
+    }
+
+    /**
+     * 绑定到某个Bean上的监听方法句柄
+     */
+    private static final class BoundMethod {
+
+        private final Object bean;
+
+        private final MethodHandle invoker;
+
+        // 条件方法句柄，没有设置条件时为空
+        private final MethodHandle condition;
+
+        BoundMethod(Object bean, MethodHandle invoker, MethodHandle condition) {
+            this.bean = bean;
+            this.invoker = invoker;
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * 解析后的事件监听方法，同一个类的所有Bean共用
+     * 方法句柄按照实际的Bean类型生成并缓存，同一个类的Bean通常都是同一种类型（原始类型或同一个代理类）
+     */
+    static final class ListenerMethod {
+
+        private final Class<?> targetClass;
+
+        private final Method method;
+
+        private final Class<?>[] eventTypes;
+
+        // 条件方法，没有设置条件时为空
+        private final Method conditionMethod;
+
+        private final int order;
+
+        // 最近一次生成的方法句柄
+        private volatile Handles handles;
+
+        private ListenerMethod(Class<?> targetClass, Method method, Class<?>[] eventTypes, Method conditionMethod, int order) {
+            this.targetClass = targetClass;
+            this.method = method;
+            this.eventTypes = eventTypes;
+            this.conditionMethod = conditionMethod;
+            this.order = order;
+        }
+
+        /**
+         * 解析标注了@EventListener的方法
+         *
+         * @param targetClass Bean的原始类型
+         * @param method 标注了@EventListener的方法
+         * @return 解析后的事件监听方法
+         */
+        static ListenerMethod resolve(Class<?> targetClass, Method method) {
+            EventListener annotation = method.getAnnotation(EventListener.class);
+            Class<?>[] eventTypes = resolveEventTypes(method, annotation);
+            Method conditionMethod = annotation.condition().isEmpty()
+                    ? null : findConditionMethod(targetClass, method, annotation.condition(), eventTypes);
+            return new ListenerMethod(targetClass, method, eventTypes, conditionMethod, annotation.order());
+        }
+
+        /**
+         * 把监听方法绑定到Bean上
+         *
+         * @param bean 容器暴露的Bean，可能是代理对象
+         * @return 绑定后的方法句柄
+         */
+        BoundMethod bind(Object bean) {
+            Handles current = handles;
+            if (current == null || current.beanClass != bean.getClass()) {
+                current = new Handles(bean.getClass(),
+                        createHandle(selectInvocableMethod(method, bean.getClass()), INVOKER_TYPE),
+                        conditionMethod == null ? null : createHandle(selectInvocableMethod(conditionMethod, bean.getClass()), CONDITION_TYPE));
+                handles = current;
+            }
+            return new BoundMethod(bean, current.invoker, current.condition);
+        }
+
+        /**
+         * 选择可以在Bean上调用的方法
+         * CGLIB代理是原始类型的子类，直接调用原方法即可经过代理，私有方法不会被代理因此不允许；
+         * JDK动态代理需要改为调用代理接口上的同名方法
+         */
+        private Method selectInvocableMethod(Method candidate, Class<?> beanClass) {
+            if (candidate.getDeclaringClass().isAssignableFrom(beanClass)) {
+                if (beanClass != targetClass && Modifier.isPrivate(candidate.getModifiers())) {
+                    throw new BeansException(String.format("私有方法：%s.%s 无法通过代理对象调用",
+                            candidate.getDeclaringClass().getName(), candidate.getName()));
+                }
+                return candidate;
+            }
+            for (Class<?> proxyInterface : beanClass.getInterfaces()) {
+                try {
+                    return proxyInterface.getMethod(candidate.getName(), candidate.getParameterTypes());
+                } catch (NoSuchMethodException ignored) {
+                }
+            }
+            throw new BeansException(String.format("方法：%s.%s 没有声明在代理对象实现的接口上，无法通过代理对象调用",
+                    candidate.getDeclaringClass().getName(), candidate.getName()));
+        }
+
+        private static Class<?>[] resolveEventTypes(Method method, EventListener annotation) {
+            if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() > 1) {
+                throw new BeansException(String.format("@EventListener 只能标注在最多一个参数的实例方法上：%s.%s",
+                        method.getDeclaringClass().getName(), method.getName()));
+            }
+            Class<?>[] eventTypes = annotation.value();
+            if (method.getParameterCount() == 0) {
+                if (eventTypes.length == 0) {
+                    throw new BeansException(String.format("没有参数的事件监听方法必须通过value指定事件类型：%s.%s",
+                            method.getDeclaringClass().getName(), method.getName()));
+                }
+                return eventTypes;
+            }
+            Class<?> parameterType = method.getParameterTypes()[0];
+            if (eventTypes.length == 0) {
+                if (!ApplicationEvent.class.isAssignableFrom(parameterType)) {
+                    throw new BeansException(String.format("事件监听方法的参数必须是ApplicationEvent的子类：%s.%s",
+                            method.getDeclaringClass().getName(), method.getName()));
+                }
+                return new Class<?>[]{parameterType};
+            }
+            for (Class<?> eventType : eventTypes) {
+                if (!parameterType.isAssignableFrom(eventType)) {
+                    throw new BeansException(String.format("事件类型：%s 与事件监听方法：%s.%s 的参数类型不匹配",
+                            eventType.getName(), method.getDeclaringClass().getName(), method.getName()));
+                }
+            }
+            return eventTypes;
+        }
+
+        /**
+         * 从Bean类开始向上查找返回boolean的条件方法，条件方法没有参数或者参数可以接收所有监听的事件类型
+         */
+        private static Method findConditionMethod(Class<?> beanClass, Method listenerMethod, String name, Class<?>[] eventTypes) {
+            for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Method method : current.getDeclaredMethods()) {
+                    if (name.equals(method.getName()) && method.getReturnType() == boolean.class
+                            && !Modifier.isStatic(method.getModifiers()) && acceptsEventTypes(method, eventTypes)) {
+                        return method;
+                    }
+                }
+            }
+            throw new BeansException(String.format("在类：%s 当中找不到事件监听方法：%s 的条件方法：%s",
+                    beanClass.getName(), listenerMethod.getName(), name));
+        }
+
+        private static boolean acceptsEventTypes(Method method, Class<?>[] eventTypes) {
+            if (method.getParameterCount() == 0) {
+                return true;
+            }
+            if (method.getParameterCount() > 1) {
+                return false;
+            }
+            for (Class<?> eventType : eventTypes) {
+                if (!method.getParameterTypes()[0].isAssignableFrom(eventType)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 生成(Object bean, Object event)形式的方法句柄，没有参数的方法忽略事件参数
+         */
+        private static MethodHandle createHandle(Method method, MethodType type) {
+            try {
+                method.setAccessible(true);
+                MethodHandle handle = LOOKUP.unreflect(method);
+                if (method.getParameterCount() == 0) {
+                    handle = MethodHandles.dropArguments(handle, 1, Object.class);
+                }
+                return handle.asType(type);
+            } catch (Exception e) {
+                throw new BeansException(String.format("无法访问方法：%s.%s", method.getDeclaringClass().getName(), method.getName()), e);
+            }
+        }
+    }
+
+    /**
+     * 按照实际的Bean类型生成的方法句柄
+     */
+    private static final class Handles {
+
+        private final Class<?> beanClass;
+
+        private final MethodHandle invoker;
+
+        private final MethodHandle condition;
+
+        Handles(Class<?> beanClass, MethodHandle invoker, MethodHandle condition) {
+            this.beanClass = beanClass;
+            this.invoker = invoker;
+            this.condition = condition;
+        }
+    }
+}
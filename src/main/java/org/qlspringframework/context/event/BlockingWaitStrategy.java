@@ -0,0 +1,57 @@
+package org.qlspringframework.context.event;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 阻塞等待策略
+ * 消费线程在条件队列上等待，不占用CPU，延迟最高，适合CPU资源紧张或事件发布不频繁的场景
+ * 消费线程进入等待前设置唤醒标记，发布者只有在标记存在时才获取锁进行唤醒，每次等待最多唤醒一次
+ *
+ * @author jixu
+ * @title BlockingWaitStrategy
+ * @date 2025/6/19 10:10
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition condition = lock.newCondition();
+
+    // 是否有消费线程需要被唤醒，先设置标记再检查条件，保证发布者不会错过唤醒
+    private final AtomicBoolean signalNeeded = new AtomicBoolean();
+
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        if (condition.getAsBoolean()) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (true) {
+                signalNeeded.set(true);
+                if (condition.getAsBoolean()) {
+                    return;
+                }
+                this.condition.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        if (!signalNeeded.getAndSet(false)) {
+            return;
+        }
+        lock.lock();
+        try {
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.qlspringframework.context.event;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 忙等待策略
+ * 消费线程持续检查条件，延迟最低，每个消费线程都会占满一个核心，只适合消费线程数量小于CPU核心数的场景
+ *
+ * @author jixu
+ * @title BusySpinWaitStrategy
+ * @date 2025/6/19 10:25
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
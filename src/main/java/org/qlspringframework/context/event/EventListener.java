@@ -0,0 +1,38 @@
+package org.qlspringframework.context.event;
+
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.core.Ordered;
+
+import java.lang.annotation.*;
+
+/**
+ * 将Bean的方法注册为事件监听器
+ * 方法可以声明一个事件类型的参数，此时监听该参数类型的事件；也可以没有参数，此时必须通过value指定监听的事件类型
+ * 容器在单例创建完成之后按类解析一次并生成方法句柄，广播事件时通过容器暴露的Bean（可能是代理对象）直接调用，不需要为每个监听器单独实现ApplicationListener
+ * 方法或Bean类上标注@Async时由事件广播器异步执行
+ *
+ * @author jixu
+ * @title EventListener
+ * @date 2025/6/19 15:20
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventListener {
+
+    /**
+     * 监听的事件类型，为空时使用方法参数的类型
+     */
+    Class<? extends ApplicationEvent>[] value() default {};
+
+    /**
+     * 过滤事件的条件方法名称，为空时处理所有支持的事件
+     * 条件方法声明在同一个Bean当中，返回boolean，可以没有参数或者接收一个事件参数，返回false时跳过该事件
+     */
+    String condition() default "";
+
+    /**
+     * 监听器的排序值，值越小越先执行
+     */
+    int order() default Ordered.LOWEST_PRECEDENCE;
+}
@@ -0,0 +1,111 @@
+package org.qlspringframework.context.event;
+
+import org.qlspringframework.beans.factory.ConfigurableListableBeanFactory;
+import org.qlspringframework.beans.factory.FactoryBean;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 把单例Bean中标注了@EventListener的方法注册为事件监听器
+ * 容器在所有非延迟单例创建完成之后按照BeanDefinition中的类型查找事件监听方法，每个类只解析一次并缓存，
+ * 监听器绑定的是通过getBean获取的Bean，因此经过了所有BeanPostProcessor，Bean被代理时调用代理对象，切面对监听方法同样生效
+ * 延迟初始化的单例Bean在第一次收到支持的事件时才创建，原型Bean每次获取都是新的实例，因此不会注册
+ *
+ * @author jixu
+ * @title EventListenerMethodProcessor
+ * @date 2025/6/19 15:50
+ */
+public class EventListenerMethodProcessor {
+
+    private static final ApplicationListenerMethodAdapter.ListenerMethod[] NO_METHODS = new ApplicationListenerMethodAdapter.ListenerMethod[0];
+
+    private final ConfigurableListableBeanFactory beanFactory;
+
+    private final ApplicationEventMulticaster applicationEventMulticaster;
+
+    // 事件监听方法缓存，key为Bean的原始类型
+    private final Map<Class<?>, ApplicationListenerMethodAdapter.ListenerMethod[]> listenerMethodCache = new ConcurrentHashMap<>(64);
+
+    public EventListenerMethodProcessor(ConfigurableListableBeanFactory beanFactory, ApplicationEventMulticaster applicationEventMulticaster) {
+        this.beanFactory = beanFactory;
+        this.applicationEventMulticaster = applicationEventMulticaster;
+    }
+
+    /**
+     * 为容器中所有单例Bean的事件监听方法创建监听器并注册到事件广播器
+     * 需要在非延迟单例全部创建完成之后调用
+     */
+    public void registerEventListenerMethods() {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            Class<?> beanClass = beanDefinition.getBeanClass();
+            if (!beanDefinition.isSingleton() || beanClass == null || FactoryBean.class.isAssignableFrom(beanClass)) {
+                continue;
+            }
+            ApplicationListenerMethodAdapter.ListenerMethod[] listenerMethods = findListenerMethods(beanClass);
+            if (listenerMethods.length == 0) {
+                continue;
+            }
+            Object bean = beanDefinition.isLazyInit() ? null : beanFactory.getBean(beanName);
+            for (ApplicationListenerMethodAdapter.ListenerMethod listenerMethod : listenerMethods) {
+                applicationEventMulticaster.addApplicationListener(bean == null
+                        ? new ApplicationListenerMethodAdapter(beanName, beanFactory, listenerMethod)
+                        : new ApplicationListenerMethodAdapter(beanName, bean, listenerMethod));
+            }
+        }
+    }
+
+    /**
+     * 为不由BeanDefinition创建的对象注册事件监听方法，例如手动注册的单例
+     *
+     * @param beanName Bean名称
+     * @param bean Bean实例，按照其实际类型查找事件监听方法
+     */
+    public void registerEventListenerMethods(String beanName, Object bean) {
+        for (ApplicationListenerMethodAdapter.ListenerMethod listenerMethod : findListenerMethods(bean.getClass())) {
+            applicationEventMulticaster.addApplicationListener(new ApplicationListenerMethodAdapter(beanName, bean, listenerMethod));
+        }
+    }
+
+    /**
+     * 判断类中是否声明了事件监听方法
+     *
+     * @param beanClass Bean的原始类型
+     * @return 声明了事件监听方法时返回true
+     */
+    public boolean hasEventListenerMethods(Class<?> beanClass) {
+        return findListenerMethods(beanClass).length > 0;
+    }
+
+    private ApplicationListenerMethodAdapter.ListenerMethod[] findListenerMethods(Class<?> beanClass) {
+        ApplicationListenerMethodAdapter.ListenerMethod[] listenerMethods = listenerMethodCache.get(beanClass);
+        if (listenerMethods == null) {
+            listenerMethods = listenerMethodCache.computeIfAbsent(beanClass, EventListenerMethodProcessor::resolveListenerMethods);
+        }
+        return listenerMethods;
+    }
+
+    /**
+     * 从子类开始向上查找标注了@EventListener的方法，子类重写的方法只保留一次
+     */
+    private static ApplicationListenerMethodAdapter.ListenerMethod[] resolveListenerMethods(Class<?> beanClass) {
+        List<ApplicationListenerMethodAdapter.ListenerMethod> listenerMethods = new ArrayList<>();
+        Set<String> overridden = new HashSet<>();
+        for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isBridge() || !method.isAnnotationPresent(EventListener.class)) {
+                    continue;
+                }
+                String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+                if (Modifier.isPrivate(method.getModifiers()) || overridden.add(signature)) {
+                    listenerMethods.add(ApplicationListenerMethodAdapter.ListenerMethod.resolve(beanClass, method));
+                }
+            }
+        }
+        return listenerMethods.isEmpty() ? NO_METHODS : listenerMethods.toArray(NO_METHODS);
+    }
+}
@@ -0,0 +1,27 @@
+package org.qlspringframework.context.event;
+
+/**
+ * 异步广播事件时的顺序保证
+ * 同步执行的监听器总是在发布线程中按照发布顺序执行，不受该配置影响
+ *
+ * @author jixu
+ * @title EventOrdering
+ * @date 2025/6/18 19:05
+ */
+public enum EventOrdering {
+
+    /**
+     * 同一类型的事件按照发布顺序逐个处理，一个事件的所有监听器按照排序依次执行完之后才处理下一个事件
+     */
+    STRICT,
+
+    /**
+     * 同一类型并且排序键相同的事件按照发布顺序逐个处理，排序键不同的事件可以并行处理
+     */
+    PER_KEY,
+
+    /**
+     * 不保证顺序，每个监听器单独提交给线程池执行
+     */
+    NONE
+}
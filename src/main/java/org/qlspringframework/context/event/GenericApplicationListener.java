@@ -0,0 +1,24 @@
+package org.qlspringframework.context.event;
+
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.context.ApplicationListener;
+
+/**
+ * 自行判断支持的事件类型的监听器
+ * 事件广播器不再从监听器类的泛型参数解析事件类型，而是在第一次广播某个类型的事件时调用supportsEventType，
+ * 判断结果随监听器缓存一起保存，之后同一类型的事件不会再次调用
+ *
+ * @author jixu
+ * @title GenericApplicationListener
+ * @date 2025/6/19 15:00
+ */
+public interface GenericApplicationListener extends ApplicationListener<ApplicationEvent> {
+
+    /**
+     * 判断监听器是否支持给定类型的事件
+     *
+     * @param eventType 事件的实际类型
+     * @return 支持时返回true
+     */
+    boolean supportsEventType(Class<?> eventType);
+}
@@ -0,0 +1,83 @@
+package org.qlspringframework.context.event;
+
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.core.OrderComparator;
+import org.qlspringframework.core.Ordered;
+
+/**
+ * 为监听器显式指定事件类型的适配器
+ * Lambda表达式和JDK动态代理实现的监听器在运行时丢失了泛型参数，无法从监听器类解析出事件类型，
+ * 通过该适配器指定事件类型后只会收到对应类型的事件
+ *
+ * 适配器与被适配的监听器相等，因此可以直接使用原来的监听器移除
+ *
+ * @author jixu
+ * @title GenericApplicationListenerAdapter
+ * @date 2025/6/19 15:10
+ */
+public class GenericApplicationListenerAdapter implements GenericApplicationListener, Ordered {
+
+    private final ApplicationListener<ApplicationEvent> delegate;
+
+    private final Class<?> eventType;
+
+    /**
+     * 使用显式指定的事件类型适配监听器
+     *
+     * @param eventType 监听的事件类型
+     * @param delegate 被适配的监听器
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends ApplicationEvent> GenericApplicationListenerAdapter(Class<E> eventType, ApplicationListener<? super E> delegate) {
+        this.delegate = (ApplicationListener<ApplicationEvent>) delegate;
+        this.eventType = eventType;
+    }
+
+    /**
+     * 从监听器的实际类型解析事件类型，用于监听器对象是代理对象的情况
+     *
+     * @param delegate 被适配的监听器
+     * @param listenerClass 监听器的实际类型，例如代理对象的目标类型
+     */
+    @SuppressWarnings("unchecked")
+    public GenericApplicationListenerAdapter(ApplicationListener<?> delegate, Class<?> listenerClass) {
+        this.delegate = (ApplicationListener<ApplicationEvent>) delegate;
+        this.eventType = AbstractApplicationEventMulticaster.resolveEventType(listenerClass);
+    }
+
+    @Override
+    public boolean supportsEventType(Class<?> eventType) {
+        return this.eventType.isAssignableFrom(eventType);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        delegate.onApplicationEvent(event);
+    }
+
+    @Override
+    public int getOrder() {
+        return OrderComparator.getOrder(delegate);
+    }
+
+    public ApplicationListener<ApplicationEvent> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof GenericApplicationListenerAdapter) {
+            return delegate.equals(((GenericApplicationListenerAdapter) other).delegate);
+        }
+        return delegate.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+}
@@ -0,0 +1,473 @@
+package org.qlspringframework.context.event;
+
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.beans.factory.InitializingBean;
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.context.BatchApplicationListener;
+import org.qlspringframework.util.ErrorHandler;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 基于环形缓冲区的事件广播器，适合高频发布的事件
+ * 发布者在预先分配的环形缓冲区中申请序号并写入事件后立即返回，消费线程按照发布顺序批量取出事件并广播给监听器，
+ * 实现了BatchApplicationListener的监听器一次收到同一批次中所有支持的事件
+ *
+ * 多个消费线程时监听器按照注册顺序轮流分配给各个消费线程，每个监听器只由一个消费线程调用，
+ * 因此每个监听器收到的事件总是保持发布顺序，不同的监听器之间并行执行
+ * 缓冲区已满时发布者等待最慢的消费线程空出位置
+ *
+ * 通过名为applicationEventMulticaster的Bean替换默认的事件广播器，在afterPropertiesSet或第一次发布事件时启动消费线程，
+ * 容器关闭时处理完已经发布的事件后停止，停止之后发布事件抛出BeansException
+ * 监听器抛出的异常交给ErrorHandler处理，未设置时由消费线程的UncaughtExceptionHandler处理，不会中断消费线程
+ *
+ * @author jixu
+ * @title RingBufferApplicationEventMulticaster
+ * @date 2025/6/19 10:30
+ */
+public class RingBufferApplicationEventMulticaster extends AbstractApplicationEventMulticaster implements InitializingBean, DisposableBean {
+
+    // 没有批量监听器时使用的空数组，不能直接创建泛型数组，空数组没有元素，由通配符数组转换不会出现类型错误
+    @SuppressWarnings("unchecked")
+    private static final BatchApplicationListener<ApplicationEvent>[] NO_BATCH_LISTENERS =
+            (BatchApplicationListener<ApplicationEvent>[]) new BatchApplicationListener<?>[0];
+
+    private static final int NEW = 0;
+
+    private static final int RUNNING = 1;
+
+    private static final int STOPPED = 2;
+
+    // 缓冲区大小，必须是2的幂
+    private int bufferSize = 1024;
+
+    private int consumerCount = 1;
+
+    // 每个批次最多包含的事件数量
+    private int maxBatchSize = 256;
+
+    // 容器关闭时等待消费线程处理完剩余事件的最长时间
+    private long awaitTerminationMillis = 5000;
+
+    private String threadNamePrefix = "event-bus-";
+
+    private WaitStrategy waitStrategy = new BlockingWaitStrategy();
+
+    private volatile ErrorHandler errorHandler;
+
+    private volatile int state = NEW;
+
+    // 预先分配的事件槽位
+    private ApplicationEvent[] entries;
+
+    // 每个槽位当前发布的圈数，等于序号右移indexShift位，用于判断某个序号的事件是否已经写入
+    private AtomicIntegerArray availableFlags;
+
+    private int indexMask;
+
+    private int indexShift;
+
+    // 已经被发布者申请的最大序号
+    private final AtomicLong claimSequence = new AtomicLong(-1);
+
+    // 每个槽位还没有读取该事件的消费线程数量，只在多个消费线程时使用，最后一个读取的消费线程清空槽位
+    private AtomicIntegerArray pendingReads;
+
+    // 最近一次读取到的最慢消费线程的序号，减少发布者读取所有消费线程序号的次数
+    private volatile long cachedGatingSequence = -1;
+
+    private Consumer[] consumers;
+
+    private Thread[] consumerThreads;
+
+    // 监听器分配到的消费线程
+    private final Map<ApplicationListener<?>, Integer> listenerAssignments = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextAssignment = new AtomicInteger();
+
+    @Override
+    public void afterPropertiesSet() {
+        start();
+    }
+
+    /**
+     * 分配环形缓冲区并启动消费线程，已经启动时不做任何事情
+     */
+    public synchronized void start() {
+        if (state != NEW) {
+            return;
+        }
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new BeansException(String.format("环形缓冲区大小必须是2的幂：%d", bufferSize));
+        }
+        if (consumerCount <= 0 || maxBatchSize <= 0) {
+            throw new BeansException("消费线程数量和批次大小必须大于0");
+        }
+        entries = new ApplicationEvent[bufferSize];
+        availableFlags = new AtomicIntegerArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            availableFlags.set(i, -1);
+        }
+        pendingReads = consumerCount > 1 ? new AtomicIntegerArray(bufferSize) : null;
+        indexMask = bufferSize - 1;
+        indexShift = Integer.numberOfTrailingZeros(bufferSize);
+
+        consumers = new Consumer[consumerCount];
+        consumerThreads = new Thread[consumerCount];
+        for (int i = 0; i < consumerCount; i++) {
+            consumers[i] = new Consumer(i);
+            consumerThreads[i] = new Thread(consumers[i], threadNamePrefix + i);
+            consumerThreads[i].setDaemon(true);
+        }
+        state = RUNNING;
+        for (Thread consumerThread : consumerThreads) {
+            consumerThread.start();
+        }
+    }
+
+    /**
+     * 发布事件，事件写入环形缓冲区后立即返回，由消费线程广播给监听器
+     *
+     * @param event 要广播的事件
+     */
+    @Override
+    public void multicastEvent(ApplicationEvent event) {
+        if (state != RUNNING) {
+            if (state == STOPPED) {
+                throw new BeansException(String.format("事件总线已经关闭，无法发布事件：%s", event.getClass().getName()));
+            }
+            start();
+        }
+        long sequence = claim(event);
+        // 申请序号之后再检查一次状态：读到RUNNING时关闭之后的消费线程一定能看到该序号并等待它写入；
+        // 读到STOPPED时消费线程可能已经退出，事件不会被处理，写入空事件占住序号之后抛出异常
+        boolean stopped = state == STOPPED;
+        int index = (int) sequence & indexMask;
+        entries[index] = stopped ? null : event;
+        if (pendingReads != null) {
+            pendingReads.set(index, consumers.length);
+        }
+        // 写入圈数之后消费线程才能读取该槽位，同时保证事件对消费线程可见
+        availableFlags.set(index, (int) (sequence >>> indexShift));
+        waitStrategy.signalAllWhenBlocking();
+        if (stopped) {
+            throw new BeansException(String.format("事件总线已经关闭，无法发布事件：%s", event.getClass().getName()));
+        }
+    }
+
+    /**
+     * 等待缓冲区空出位置之后再申请序号，申请到的序号一定可以立即写入
+     * 如果先申请序号再等待，等待过程中事件总线关闭时该序号永远不会被写入，消费线程会一直等待这个序号
+     */
+    private long claim(ApplicationEvent event) {
+        while (true) {
+            long current = claimSequence.get();
+            long sequence = current + 1;
+            long wrapPoint = sequence - bufferSize;
+            if (wrapPoint > cachedGatingSequence) {
+                long gatingSequence = getMinimumConsumerSequence();
+                if (wrapPoint > gatingSequence) {
+                    if (state == STOPPED) {
+                        throw new BeansException(String.format("事件总线已经关闭，无法发布事件：%s", event.getClass().getName()));
+                    }
+                    LockSupport.parkNanos(1000);
+                    continue;
+                }
+                cachedGatingSequence = gatingSequence;
+            }
+            if (claimSequence.compareAndSet(current, sequence)) {
+                return sequence;
+            }
+        }
+    }
+
+    private boolean isAvailable(long sequence) {
+        return availableFlags.get((int) sequence & indexMask) == (int) (sequence >>> indexShift);
+    }
+
+    private long getMinimumConsumerSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    /**
+     * 获取环形缓冲区的剩余容量
+     *
+     * @return 还可以发布而不需要等待的事件数量，未启动时返回缓冲区大小
+     */
+    public long getRemainingCapacity() {
+        if (consumers == null) {
+            return bufferSize;
+        }
+        return bufferSize - (claimSequence.get() - getMinimumConsumerSequence());
+    }
+
+    /**
+     * 停止事件总线，等待消费线程处理完已经发布的事件
+     */
+    @Override
+    public void destroy() {
+        Thread[] threads;
+        synchronized (this) {
+            if (state == STOPPED) {
+                return;
+            }
+            boolean started = state == RUNNING;
+            state = STOPPED;
+            if (!started) {
+                return;
+            }
+            threads = consumerThreads;
+        }
+        waitStrategy.signalAllWhenBlocking();
+        long deadline = System.currentTimeMillis() + awaitTerminationMillis;
+        try {
+            for (Thread thread : threads) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining > 0) {
+                    thread.join(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void addApplicationListener(ApplicationListener<?> listener) {
+        super.addApplicationListener(listener);
+        getAssignment(listener);
+    }
+
+    @Override
+    public void removeApplicationListener(ApplicationListener<?> listener) {
+        super.removeApplicationListener(listener);
+        listenerAssignments.remove(listener);
+    }
+
+    private int getAssignment(ApplicationListener<?> listener) {
+        return listenerAssignments.computeIfAbsent(listener, k -> nextAssignment.getAndIncrement() % Math.max(consumerCount, 1));
+    }
+
+    private void handleError(Throwable ex) {
+        ErrorHandler handler = this.errorHandler;
+        if (handler != null) {
+            try {
+                handler.handleError(ex);
+                return;
+            } catch (Throwable handlerEx) {
+                ex = handlerEx;
+            }
+        }
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setConsumerCount(int consumerCount) {
+        this.consumerCount = consumerCount;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public void setAwaitTerminationMillis(long awaitTerminationMillis) {
+        this.awaitTerminationMillis = awaitTerminationMillis;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    /**
+     * 设置消费线程的等待策略，需要在启动之前设置
+     *
+     * @param waitStrategy 等待策略，默认为BlockingWaitStrategy
+     */
+    public void setWaitStrategy(WaitStrategy waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public void setErrorHandler(ErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * 消费线程，按照发布顺序批量处理事件，只调用分配给自己的监听器
+     */
+    private final class Consumer implements Runnable {
+
+        private final int index;
+
+        // 已经处理完的最大序号
+        private final AtomicLong sequence = new AtomicLong(-1);
+
+        // 正在等待的序号，只由消费线程读写
+        private long nextSequence;
+
+        private final BooleanSupplier availableCondition = () -> isAvailable(nextSequence) || state == STOPPED;
+
+        // 事件类型与分配给当前消费线程的监听器，只由消费线程访问
+        private final Map<Class<?>, ListenerPartition> partitions = new HashMap<>();
+
+        // 当前批次中批量监听器收到的事件，按照监听器第一次收到事件的顺序调用
+        private final Map<BatchApplicationListener<ApplicationEvent>, List<ApplicationEvent>> pendingBatches = new IdentityHashMap<>();
+
+        private final List<BatchApplicationListener<ApplicationEvent>> batchListeners = new ArrayList<>();
+
+        Consumer(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            while (true) {
+                if (!isAvailable(next)) {
+                    // 关闭之后处理完所有已经申请的序号再退出，申请了序号的发布者正在写入时让出CPU等待
+                    if (state == STOPPED) {
+                        if (next > claimSequence.get()) {
+                            return;
+                        }
+                        Thread.yield();
+                        continue;
+                    }
+                    nextSequence = next;
+                    try {
+                        waitStrategy.waitFor(availableCondition);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    continue;
+                }
+                long end = next;
+                long limit = next + maxBatchSize - 1;
+                while (end < limit && isAvailable(end + 1)) {
+                    end++;
+                }
+                processBatch(next, end);
+                sequence.lazySet(end);
+                next = end + 1;
+            }
+        }
+
+        private void processBatch(long from, long to) {
+            for (long s = from; s <= to; s++) {
+                ApplicationEvent event = entries[(int) s & indexMask];
+                if (event == null) {
+                    // 事件总线关闭时发布失败的序号
+                    continue;
+                }
+                ListenerPartition partition = getPartition(event);
+                for (ApplicationListener<ApplicationEvent> listener : partition.listeners) {
+                    try {
+                        listener.onApplicationEvent(event);
+                    } catch (Throwable ex) {
+                        handleError(ex);
+                    }
+                }
+                for (BatchApplicationListener<ApplicationEvent> listener : partition.batchListeners) {
+                    List<ApplicationEvent> batch = pendingBatches.get(listener);
+                    if (batch == null) {
+                        batch = new ArrayList<>();
+                        pendingBatches.put(listener, batch);
+                        batchListeners.add(listener);
+                    }
+                    batch.add(event);
+                }
+            }
+            if (!batchListeners.isEmpty()) {
+                for (BatchApplicationListener<ApplicationEvent> listener : batchListeners) {
+                    try {
+                        listener.onApplicationEvents(pendingBatches.get(listener));
+                    } catch (Throwable ex) {
+                        handleError(ex);
+                    }
+                }
+                pendingBatches.clear();
+                batchListeners.clear();
+            }
+            releaseEntries(from, to);
+        }
+
+        /**
+         * 清空已经处理完的槽位，避免缓冲区持有已经消费的事件
+         * 必须在更新消费序号之前执行，此时发布者还不能写入这些槽位
+         */
+        private void releaseEntries(long from, long to) {
+            for (long s = from; s <= to; s++) {
+                int slot = (int) s & indexMask;
+                if (pendingReads == null || pendingReads.decrementAndGet(slot) == 0) {
+                    entries[slot] = null;
+                }
+            }
+        }
+
+        /**
+         * 获取支持给定事件并且分配给当前消费线程的监听器，普通监听器和批量监听器分开保存
+         * 监听器发生变化时getApplicationListeners返回新的数组，划分结果随之重建
+         */
+        @SuppressWarnings("unchecked")
+        private ListenerPartition getPartition(ApplicationEvent event) {
+            ApplicationListener<ApplicationEvent>[] listeners = getApplicationListeners(event);
+            ListenerPartition partition = partitions.get(event.getClass());
+            if (partition == null || partition.source != listeners) {
+                List<ApplicationListener<ApplicationEvent>> owned = new ArrayList<>();
+                List<BatchApplicationListener<ApplicationEvent>> ownedBatch = new ArrayList<>();
+                for (ApplicationListener<ApplicationEvent> listener : listeners) {
+                    if (consumers.length > 1 && getAssignment(listener) != index) {
+                        continue;
+                    }
+                    if (listener instanceof BatchApplicationListener) {
+                        ownedBatch.add((BatchApplicationListener<ApplicationEvent>) listener);
+                    } else {
+                        owned.add(listener);
+                    }
+                }
+                partition = new ListenerPartition(listeners, owned.toArray(Arrays.copyOf(listeners, 0)),
+                        ownedBatch.toArray(NO_BATCH_LISTENERS));
+                partitions.put(event.getClass(), partition);
+            }
+            return partition;
+        }
+    }
+
+    /**
+     * 某个事件类型分配给一个消费线程的监听器
+     */
+    private static final class ListenerPartition {
+
+        // 划分时使用的监听器数组，用于判断划分结果是否过期
+        private final ApplicationListener<ApplicationEvent>[] source;
+
+        private final ApplicationListener<ApplicationEvent>[] listeners;
+
+        private final BatchApplicationListener<ApplicationEvent>[] batchListeners;
+
+        ListenerPartition(ApplicationListener<ApplicationEvent>[] source, ApplicationListener<ApplicationEvent>[] listeners,
+                          BatchApplicationListener<ApplicationEvent>[] batchListeners) {
+            this.source = source;
+            this.listeners = listeners;
+            this.batchListeners = batchListeners;
+        }
+    }
+}
@@ -1,68 +1,438 @@
 package org.qlspringframework.context.event;
 
+import cn.hutool.core.util.StrUtil;
+import org.qlspringframework.aop.interceptor.AsyncExecutionInterceptor;
 import org.qlspringframework.beans.BeansException;
 import org.qlspringframework.beans.factory.BeanFactory;
 import org.qlspringframework.context.ApplicationEvent;
 import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.scheduling.annotation.Async;
+import org.qlspringframework.util.ErrorHandler;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 /**
  * SimpleApplicationEventMulticaster类用于处理应用事件的多播
  * 它继承自AbstractApplicationEventMulticaster，实现了事件多播的具体逻辑
  *
+ * 默认所有监听器在发布线程中按照排序同步执行，设置taskExecutor之后所有监听器提交到该线程池异步执行
+ * 监听器类或其onApplicationEvent方法（@EventListener方法或其所在类）标注了@Async时单独异步执行，@Async指定了名称时使用对应名称的线程池Bean，
+ * 否则使用taskExecutor，未设置taskExecutor时使用名为taskExecutor的Bean
+ *
+ * 异步执行的事件按照EventOrdering保证顺序，可以按照事件类型分别配置，子类事件使用父类事件的配置
+ * 线程池拒绝任务时异常在同步监听器执行完之后抛给发布者，被拒绝的只有本次发布的事件，其他发布者已经提交的事件不会丢失
+ * 监听器抛出的异常交给ErrorHandler处理，未设置ErrorHandler时同步监听器的异常直接抛给发布者，
+ * 异步监听器的异常由执行线程的UncaughtExceptionHandler处理
+ *
  * @author jixu
  * @title SimpleApplicationEventMulticaster
  * @date 2025/5/19 19:59
  */
 public class SimpleApplicationEventMulticaster extends AbstractApplicationEventMulticaster{
 
+    private static final ExecutorGroup[] NO_GROUPS = new ExecutorGroup[0];
+
+    // 广播事件使用的线程池，为空时没有标注@Async的监听器在发布线程中同步执行
+    private volatile Executor taskExecutor;
+
+    private volatile ErrorHandler errorHandler;
+
+    // 没有单独配置的事件类型使用的顺序保证
+    private volatile EventOrdering defaultEventOrdering = EventOrdering.NONE;
+
+    // 按照事件类型配置的顺序保证
+    private final Map<Class<?>, EventOrdering> eventOrderings = new ConcurrentHashMap<>();
+
+    // PER_KEY模式下获取事件的排序键，默认使用事件源
+    private volatile Function<ApplicationEvent, Object> orderingKeyResolver = ApplicationEvent::getSource;
+
+    // 事件类型与分发计划的缓存，监听器发生变化时getApplicationListeners返回新的数组，分发计划随之重建
+    private final Map<Class<?>, DispatchPlan> dispatchPlanCache = new ConcurrentHashMap<>();
+
+    // 需要按顺序执行的事件队列，只在ConcurrentHashMap.compute中访问，队列为空时移除
+    private final ConcurrentHashMap<Object, SerialQueue> serialQueues = new ConcurrentHashMap<>();
+
+    public SimpleApplicationEventMulticaster(){
+    }
+
     public SimpleApplicationEventMulticaster(BeanFactory beanFactory){
         super.beanFactory = beanFactory;
     }
 
     /**
-     * 广播指定的应用程序事件到所有已注册的监听器
+     * 广播指定的应用程序事件到所有支持该事件的监听器
+     * 异步执行的监听器先提交到线程池，然后在发布线程中依次执行同步监听器
+     * 线程池拒绝任务时继续提交其他异步监听器并执行同步监听器，之后再抛出第一个拒绝异常
      *
      * @param event 要广播的事件
      */
     @Override
     public void multicastEvent(ApplicationEvent event) {
-        // 循环获取当前所有的事件监听者
-        for (ApplicationListener<ApplicationEvent> applicationListener : super.applicationListeners) {
-            if (supportsEvent(applicationListener,event)){
-                // 监听到事件发布，执行对应逻辑
-                applicationListener.onApplicationEvent(event);
+        DispatchPlan plan = getDispatchPlan(event);
+        RuntimeException rejected = null;
+        for (ExecutorGroup group : plan.asyncGroups) {
+            rejected = dispatchAsync(group, plan.ordering, event, rejected);
+        }
+        try {
+            // 监听到事件发布，执行对应逻辑
+            for (ApplicationListener<ApplicationEvent> applicationListener : plan.syncListeners) {
+                invokeListener(applicationListener, event);
             }
+        } catch (RuntimeException | Error e) {
+            if (rejected != null) {
+                e.addSuppressed(rejected);
+            }
+            throw e;
+        }
+        if (rejected != null) {
+            throw rejected;
         }
     }
 
     /**
-     * 判断指定的事件监听器是否支持处理给定的应用程序事件
+     * 记录提交异步任务时的异常，只保留第一个，其余作为被抑制的异常
+     */
+    private static RuntimeException recordRejection(RuntimeException rejected, RuntimeException ex) {
+        if (rejected == null) {
+            return ex;
+        }
+        rejected.addSuppressed(ex);
+        return rejected;
+    }
+
+    /**
+     * 调用监听器，设置了ErrorHandler时异常交给ErrorHandler处理，否则直接抛出
      *
-     * @param applicationListener 事件监听器
-     * @param event 应用程序事件
-     * @return 如果监听器支持处理事件，则返回true；否则返回false
+     * @param listener 事件监听器
+     * @param event 要广播的事件
      */
-    protected boolean supportsEvent(ApplicationListener<ApplicationEvent> applicationListener,ApplicationEvent event){
-        // 获取到applicationListener实现的第一个接口
-        Type type = applicationListener.getClass().getGenericInterfaces()[0];
-        // 获取到接口当中的泛型参数类型 --》 具体的ApplicationEvent
-        Type actualTypeArgument = ((ParameterizedType) type).getActualTypeArguments()[0];
-        // 获取到具体的ApplicationEvent对应的类型名称
-        String className = actualTypeArgument.getTypeName();
+    protected void invokeListener(ApplicationListener<ApplicationEvent> listener, ApplicationEvent event) {
+        ErrorHandler handler = this.errorHandler;
+        if (handler == null) {
+            listener.onApplicationEvent(event);
+            return;
+        }
+        try {
+            listener.onApplicationEvent(event);
+        } catch (Throwable ex) {
+            handler.handleError(ex);
+        }
+    }
+
+    /**
+     * 在线程池中调用监听器，异常不会影响同一批次中的其他监听器
+     */
+    private void invokeListenerInBackground(ApplicationListener<ApplicationEvent> listener, ApplicationEvent event) {
+        try {
+            invokeListener(listener, event);
+        } catch (Throwable ex) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+        }
+    }
 
-        Class<?> eventClassName;
+    /**
+     * 把一组异步监听器提交到线程池
+     *
+     * @return 提交过程中的异常，没有新的异常时返回传入的rejected
+     */
+    private RuntimeException dispatchAsync(ExecutorGroup group, EventOrdering ordering, ApplicationEvent event, RuntimeException rejected) {
+        if (ordering == EventOrdering.NONE) {
+            // 某个监听器被拒绝时继续提交其余的监听器
+            for (ApplicationListener<ApplicationEvent> listener : group.listeners) {
+                try {
+                    group.executor.execute(() -> invokeListenerInBackground(listener, event));
+                } catch (RuntimeException ex) {
+                    rejected = recordRejection(rejected, ex);
+                }
+            }
+            return rejected;
+        }
+        Object key;
+        if (ordering == EventOrdering.PER_KEY) {
+            key = Arrays.asList(group.executor, event.getClass(), orderingKeyResolver.apply(event));
+        } else {
+            key = Arrays.asList(group.executor, event.getClass());
+        }
+        try {
+            executeSerially(key, group.executor, () -> {
+                for (ApplicationListener<ApplicationEvent> listener : group.listeners) {
+                    invokeListenerInBackground(listener, event);
+                }
+            });
+        } catch (RuntimeException ex) {
+            rejected = recordRejection(rejected, ex);
+        }
+        return rejected;
+    }
 
+    /**
+     * 按照提交顺序依次执行同一个key的任务
+     * 队列从空变为非空的发布者负责把队列提交到线程池，执行线程依次取出任务直到队列为空
+     * 线程池拒绝时撤销本次提交的任务并抛出异常；
+     * 拒绝发生之前其他发布者可能已经把任务加入队列，这些任务已经被接受，由当前发布者在发布线程中执行完之后再抛出异常
+     */
+    private void executeSerially(Object key, Executor executor, Runnable task) {
+        boolean[] scheduled = new boolean[1];
+        serialQueues.compute(key, (k, current) -> {
+            SerialQueue serialQueue = current != null ? current : new SerialQueue();
+            serialQueue.tasks.add(task);
+            scheduled[0] = !serialQueue.running;
+            serialQueue.running = true;
+            return serialQueue;
+        });
+        if (!scheduled[0]) {
+            return;
+        }
         try {
-            eventClassName = Class.forName(className);
-        } catch (ClassNotFoundException e) {
-            throw new BeansException(String.format("事件名称：【%s】错误",className));
+            executor.execute(() -> drain(key));
+        } catch (RuntimeException e) {
+            boolean[] remaining = new boolean[1];
+            serialQueues.compute(key, (k, current) -> {
+                // 只撤销本次提交的任务
+                current.tasks.removeLastOccurrence(task);
+                if (current.tasks.isEmpty()) {
+                    current.running = false;
+                    return null;
+                }
+                // 其他发布者的任务仍然由当前发布者负责执行，running保持为true
+                remaining[0] = true;
+                return current;
+            });
+            if (remaining[0]) {
+                drain(key);
+            }
+            throw e;
+        }
+    }
+
+    private void drain(Object key) {
+        while (true) {
+            Runnable[] next = new Runnable[1];
+            serialQueues.compute(key, (k, current) -> {
+                next[0] = current.tasks.pollFirst();
+                if (next[0] == null) {
+                    current.running = false;
+                    return null;
+                }
+                return current;
+            });
+            if (next[0] == null) {
+                return;
+            }
+            next[0].run();
+        }
+    }
+
+    private DispatchPlan getDispatchPlan(ApplicationEvent event) {
+        ApplicationListener<ApplicationEvent>[] listeners = getApplicationListeners(event);
+        DispatchPlan plan = dispatchPlanCache.get(event.getClass());
+        if (plan == null || plan.listeners != listeners) {
+            plan = buildDispatchPlan(event.getClass(), listeners);
+            dispatchPlanCache.put(event.getClass(), plan);
         }
+        return plan;
+    }
 
-        // 判断当前Event与目标Event是否相同
-        return eventClassName.isAssignableFrom(event.getClass());
+    /**
+     * 把监听器分为同步执行和异步执行两部分，异步执行的监听器按照线程池分组，组内保持监听器的排序
+     */
+    private DispatchPlan buildDispatchPlan(Class<?> eventType, ApplicationListener<ApplicationEvent>[] listeners) {
+        List<ApplicationListener<ApplicationEvent>> syncListeners = new ArrayList<>();
+        Map<Executor, List<ApplicationListener<ApplicationEvent>>> asyncListeners = new LinkedHashMap<>();
+        for (ApplicationListener<ApplicationEvent> listener : listeners) {
+            Executor executor = determineExecutor(listener);
+            if (executor == null) {
+                syncListeners.add(listener);
+            } else {
+                asyncListeners.computeIfAbsent(executor, k -> new ArrayList<>()).add(listener);
+            }
+        }
+        // 以监听器数组为模板创建空数组，避免创建泛型数组
+        ApplicationListener<ApplicationEvent>[] noListeners = Arrays.copyOf(listeners, 0);
+        List<ExecutorGroup> groups = new ArrayList<>();
+        for (Map.Entry<Executor, List<ApplicationListener<ApplicationEvent>>> entry : asyncListeners.entrySet()) {
+            groups.add(new ExecutorGroup(entry.getKey(), entry.getValue().toArray(noListeners)));
+        }
+        return new DispatchPlan(listeners,
+                syncListeners.size() == listeners.length ? listeners : syncListeners.toArray(noListeners),
+                groups.isEmpty() ? NO_GROUPS : groups.toArray(NO_GROUPS),
+                determineEventOrdering(eventType));
+    }
 
+    /**
+     * 获取执行监听器的线程池
+     *
+     * @param listener 事件监听器
+     * @return 线程池，监听器需要同步执行时返回null
+     */
+    protected Executor determineExecutor(ApplicationListener<?> listener) {
+        Executor executor = this.taskExecutor;
+        Async async = listener instanceof ApplicationListenerMethodAdapter
+                ? findAsyncAnnotation(((ApplicationListenerMethodAdapter) listener).getMethod())
+                : findAsyncAnnotation(listener.getClass());
+        if (async == null) {
+            return executor;
+        }
+        String qualifier = async.value();
+        if (StrUtil.isEmpty(qualifier)) {
+            if (executor != null) {
+                return executor;
+            }
+            qualifier = AsyncExecutionInterceptor.DEFAULT_TASK_EXECUTOR_BEAN_NAME;
+        }
+        if (beanFactory == null || !beanFactory.containsBean(qualifier)) {
+            throw new BeansException(String.format("找不到执行事件监听器：%s 的线程池：%s", listener.getClass().getName(), qualifier));
+        }
+        return beanFactory.getBean(qualifier, Executor.class);
     }
-}
 
+    /**
+     * 查找监听器上的@Async注解，从监听器类开始向上依次检查onApplicationEvent方法和类本身
+     */
+    private static Async findAsyncAnnotation(Class<?> listenerClass) {
+        for (Class<?> current = listenerClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                if ("onApplicationEvent".equals(method.getName()) && method.getParameterCount() == 1 && !method.isBridge()) {
+                    Async async = method.getAnnotation(Async.class);
+                    if (async != null) {
+                        return async;
+                    }
+                }
+            }
+            Async async = current.getAnnotation(Async.class);
+            if (async != null) {
+                return async;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 查找@EventListener方法上的@Async注解，方法上没有时检查声明方法的类
+     */
+    private static Async findAsyncAnnotation(Method listenerMethod) {
+        Async async = listenerMethod.getAnnotation(Async.class);
+        return async != null ? async : listenerMethod.getDeclaringClass().getAnnotation(Async.class);
+    }
+
+    private EventOrdering determineEventOrdering(Class<?> eventType) {
+        for (Class<?> current = eventType; current != null; current = current.getSuperclass()) {
+            EventOrdering ordering = eventOrderings.get(current);
+            if (ordering != null) {
+                return ordering;
+            }
+        }
+        return defaultEventOrdering;
+    }
+
+    /**
+     * 设置广播事件使用的线程池，设置之后所有监听器异步执行
+     *
+     * @param taskExecutor 线程池，为空时恢复同步执行
+     */
+    public void setTaskExecutor(Executor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+        this.dispatchPlanCache.clear();
+    }
+
+    public Executor getTaskExecutor() {
+        return taskExecutor;
+    }
+
+    /**
+     * 设置监听器异常的处理方式
+     *
+     * @param errorHandler 异常处理器，为空时同步监听器的异常直接抛给发布者
+     */
+    public void setErrorHandler(ErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    public ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * 设置没有单独配置的事件类型异步执行时的顺序保证，默认为NONE
+     *
+     * @param defaultEventOrdering 顺序保证
+     */
+    public void setDefaultEventOrdering(EventOrdering defaultEventOrdering) {
+        this.defaultEventOrdering = defaultEventOrdering;
+        this.dispatchPlanCache.clear();
+    }
+
+    /**
+     * 为指定的事件类型及其子类设置异步执行时的顺序保证
+     *
+     * @param eventType 事件类型
+     * @param ordering 顺序保证
+     */
+    public void setEventOrdering(Class<? extends ApplicationEvent> eventType, EventOrdering ordering) {
+        this.eventOrderings.put(eventType, ordering);
+        this.dispatchPlanCache.clear();
+    }
+
+    /**
+     * 设置PER_KEY模式下获取事件排序键的方式，排序键需要正确实现equals和hashCode
+     *
+     * @param orderingKeyResolver 排序键的获取方式，默认使用事件源
+     */
+    public void setOrderingKeyResolver(Function<ApplicationEvent, Object> orderingKeyResolver) {
+        this.orderingKeyResolver = orderingKeyResolver;
+    }
+
+    /**
+     * 某个事件类型的分发计划
+     */
+    private static class DispatchPlan {
+
+        // 构建分发计划时使用的监听器数组，用于判断分发计划是否过期
+        private final ApplicationListener<ApplicationEvent>[] listeners;
+
+        private final ApplicationListener<ApplicationEvent>[] syncListeners;
+
+        private final ExecutorGroup[] asyncGroups;
+
+        private final EventOrdering ordering;
+
+        DispatchPlan(ApplicationListener<ApplicationEvent>[] listeners, ApplicationListener<ApplicationEvent>[] syncListeners,
+                     ExecutorGroup[] asyncGroups, EventOrdering ordering) {
+            this.listeners = listeners;
+            this.syncListeners = syncListeners;
+            this.asyncGroups = asyncGroups;
+            this.ordering = ordering;
+        }
+    }
+
+    /**
+     * 使用同一个线程池执行的监听器
+     */
+    private static class ExecutorGroup {
+
+        private final Executor executor;
+
+        private final ApplicationListener<ApplicationEvent>[] listeners;
+
+        ExecutorGroup(Executor executor, ApplicationListener<ApplicationEvent>[] listeners) {
+            this.executor = executor;
+            this.listeners = listeners;
+        }
+    }
+
+    /**
+     * 需要按顺序执行的任务队列
+     */
+    private static class SerialQueue {
+
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+        // 是否已经提交到线程池或正在执行
+        private boolean running;
+    }
+}
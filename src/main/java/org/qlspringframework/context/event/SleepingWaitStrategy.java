@@ -0,0 +1,54 @@
+package org.qlspringframework.context.event;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 休眠等待策略
+ * 先自旋，然后让出CPU，最后每次休眠一段时间，在延迟和CPU占用之间取得平衡
+ *
+ * @author jixu
+ * @title SleepingWaitStrategy
+ * @date 2025/6/19 10:15
+ */
+public class SleepingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    private static final int YIELD_TRIES = 100;
+
+    private final long sleepNanos;
+
+    public SleepingWaitStrategy() {
+        this(100_000L);
+    }
+
+    /**
+     * @param sleepNanos 自旋和让出CPU之后每次休眠的纳秒数
+     */
+    public SleepingWaitStrategy(long sleepNanos) {
+        this.sleepNanos = sleepNanos;
+    }
+
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        int counter = 0;
+        while (!condition.getAsBoolean()) {
+            if (counter < SPIN_TRIES) {
+                counter++;
+            } else if (counter < SPIN_TRIES + YIELD_TRIES) {
+                counter++;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(sleepNanos);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
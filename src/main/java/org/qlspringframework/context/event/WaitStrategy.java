@@ -0,0 +1,26 @@
+package org.qlspringframework.context.event;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 环形缓冲区消费线程没有可以处理的事件时的等待策略
+ *
+ * @author jixu
+ * @title WaitStrategy
+ * @date 2025/6/19 10:05
+ */
+public interface WaitStrategy {
+
+    /**
+     * 等待直到条件满足
+     *
+     * @param condition 等待的条件，有新事件发布或事件总线关闭时满足
+     * @throws InterruptedException 等待过程中线程被中断
+     */
+    void waitFor(BooleanSupplier condition) throws InterruptedException;
+
+    /**
+     * 发布事件之后唤醒阻塞等待的消费线程，不阻塞等待的策略不需要做任何事情
+     */
+    void signalAllWhenBlocking();
+}
@@ -0,0 +1,35 @@
+package org.qlspringframework.context.event;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 让出CPU等待策略
+ * 短暂自旋之后每次检查条件前调用Thread.yield，延迟低，在没有其他线程需要CPU时会占满一个核心
+ *
+ * @author jixu
+ * @title YieldingWaitStrategy
+ * @date 2025/6/19 10:20
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public void waitFor(BooleanSupplier condition) throws InterruptedException {
+        int counter = 0;
+        while (!condition.getAsBoolean()) {
+            if (counter < SPIN_TRIES) {
+                counter++;
+            } else {
+                Thread.yield();
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+    }
+}
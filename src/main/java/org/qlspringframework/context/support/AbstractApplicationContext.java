@@ -2,6 +2,8 @@ package org.qlspringframework.context.support;
 
 import org.qlspringframework.beans.BeansException;
 import org.qlspringframework.beans.factory.ConfigurableListableBeanFactory;
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
 import org.qlspringframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.qlspringframework.beans.factory.config.BeanPostProcessor;
 import org.qlspringframework.context.ApplicationEvent;
@@ -10,11 +12,12 @@ import org.qlspringframework.context.ConfigurableApplicationContext;
 import org.qlspringframework.context.event.ApplicationEventMulticaster;
 import org.qlspringframework.context.event.ContextCloseEvent;
 import org.qlspringframework.context.event.ContextRefreshedEvent;
+import org.qlspringframework.context.event.EventListenerMethodProcessor;
+import org.qlspringframework.context.event.GenericApplicationListenerAdapter;
 import org.qlspringframework.context.event.SimpleApplicationEventMulticaster;
 import org.qlspringframework.core.convert.ConversionService;
 import org.qlspringframework.core.io.DefaultResourceLoader;
 
-import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -67,6 +70,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         //注册类型转换器和提前实例化单例bean
         finishBeanFactoryInitialization(beanFactory);
 
+        // 单例创建完成之后注册@EventListener方法，此时获取到的是经过代理之后的Bean
+        new EventListenerMethodProcessor(beanFactory, applicationEventMulticaster).registerEventListenerMethods();
+
         // 发布容器刷新完成事件，通知实现了ContextRefreshedEvent
         finishRefresh();
     }
@@ -85,9 +91,14 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 
     /**
      * 初始化事件监听器applicationEventMulticaster
+     * 配置了名为applicationEventMulticaster的Bean时使用该Bean，否则使用SimpleApplicationEventMulticaster
      */
     private void initApplicationEventMulticaster() {
         ConfigurableListableBeanFactory beanFactory = getBeanFactory();
+        if (beanFactory.containsBean(APPLICATION_EVENT_MULTICASTER_BEAN_NAME)) {
+            applicationEventMulticaster = beanFactory.getBean(APPLICATION_EVENT_MULTICASTER_BEAN_NAME, ApplicationEventMulticaster.class);
+            return;
+        }
         applicationEventMulticaster = new SimpleApplicationEventMulticaster(beanFactory);
         beanFactory.addSingletonBean(APPLICATION_EVENT_MULTICASTER_BEAN_NAME,applicationEventMulticaster);
     }
@@ -95,10 +106,16 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
 
     /**
      *  将ApplicationListener的子类事件监听者加入到对应容器当中
+     *  监听器Bean被JDK动态代理后无法从代理类解析出事件类型，此时使用BeanDefinition中的类型解析
      */
     private void registerListeners() {
-        Collection<ApplicationListener> applicationListeners = getBeanOfType(ApplicationListener.class).values();
-        for (ApplicationListener applicationListener : applicationListeners) {
+        ConfigurableListableBeanFactory beanFactory = getBeanFactory();
+        for (String beanName : getBeanNamesForType(ApplicationListener.class)) {
+            ApplicationListener<?> applicationListener = beanFactory.getBean(beanName, ApplicationListener.class);
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (beanDefinition != null && !beanDefinition.getBeanClass().isInstance(applicationListener)) {
+                applicationListener = new GenericApplicationListenerAdapter(applicationListener, beanDefinition.getBeanClass());
+            }
             this.applicationEventMulticaster.addApplicationListener(applicationListener);
         }
     }
@@ -139,6 +156,12 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         // 发布容器关闭通知
         publishEvent(new ContextCloseEvent(this));
 
+        // 异步的事件广播器先处理完已经发布的事件（包括容器关闭事件）再销毁其他Bean，
+        // 否则监听器以及其依赖的Bean可能在事件处理之前就被销毁
+        if (applicationEventMulticaster instanceof DisposableBean) {
+            ((DisposableBean) applicationEventMulticaster).destroy();
+        }
+
         // 销毁Bean
         destroyBeans();
 
@@ -211,6 +234,17 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader i
         return getBeanFactory().getBeanOfType(type);
     }
 
+    /**
+     * 根据指定的类型获取所有符合条件的Bean名称，不会触发Bean的实例化。
+     *
+     * @param type 要查找的Bean类型
+     * @return 符合类型条件的Bean名称数组
+     */
+    @Override
+    public String[] getBeanNamesForType(Class<?> type) {
+        return getBeanFactory().getBeanNamesForType(type);
+    }
+
     /**
      * 获取当前BeanFactory中所有Bean定义的名称。
      *
@@ -1,7 +1,13 @@
 package org.qlspringframework.context.support;
 
+import cn.hutool.core.util.ClassUtil;
+import org.qlspringframework.beans.BeansException;
 import org.qlspringframework.beans.factory.ConfigurableListableBeanFactory;
 import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
 
 /**
  * 抽象可刷新应用上下文类，提供了一个标准的应用上下文实现，
@@ -15,6 +21,12 @@ public abstract class AbstractRefreshableApplicationContext extends AbstractAppl
     // 应用上下文中使用的Bean工厂
     private DefaultListableBeanFactory  beanFactory;
 
+    // 预实例化单例Bean时的并行度，默认单线程
+    private int preInstantiationParallelism = 1;
+
+    // BeanDefinition快照文件的位置，为空时不使用快照
+    private String beanDefinitionSnapshotLocation;
+
     /**
      * 刷新Bean工厂，主要用于创建和初始化Bean
      * 这是应用上下文启动过程中的核心方法之一
@@ -23,11 +35,71 @@ public abstract class AbstractRefreshableApplicationContext extends AbstractAppl
     protected void refreshBeanFactory() {
         // 创建Bean
         DefaultListableBeanFactory beanFactory = createBeanFactory();
-        // 加载BeanDefinition
-        loadBeanDefinitions(beanFactory);
+        if (beanDefinitionSnapshotLocation == null) {
+            // 加载BeanDefinition
+            loadBeanDefinitions(beanFactory);
+        } else {
+            loadBeanDefinitionsWithSnapshot(beanFactory);
+        }
         this.beanFactory = beanFactory;
     }
 
+    /**
+     * 优先从快照加载BeanDefinition，快照不存在或已失效时重新解析配置并生成新的快照
+     *
+     * @param beanFactory Bean工厂
+     */
+    private void loadBeanDefinitionsWithSnapshot(DefaultListableBeanFactory beanFactory) {
+        File snapshotFile = new File(beanDefinitionSnapshotLocation);
+        ClassLoader classLoader = ClassUtil.getClassLoader();
+        long resourceChecksum;
+        try {
+            resourceChecksum = BeanDefinitionSnapshot.checksumResources(getSnapshotSourceResources());
+        } catch (IOException e) {
+            throw new BeansException("BeanDefinition快照读写失败：" + beanDefinitionSnapshotLocation, e);
+        }
+        if (BeanDefinitionSnapshot.load(snapshotFile, resourceChecksum, beanFactory, classLoader)) {
+            return;
+        }
+
+        loadBeanDefinitions(beanFactory);
+        writeSnapshot(snapshotFile, resourceChecksum, beanFactory, classLoader);
+    }
+
+    /**
+     * 生成BeanDefinition快照
+     * 快照只用于加快下次启动，目录不可写或者存在过长的字符串等原因导致写入失败时放弃本次快照，不影响容器刷新
+     */
+    private void writeSnapshot(File snapshotFile, long resourceChecksum, DefaultListableBeanFactory beanFactory, ClassLoader classLoader) {
+        try {
+            String[] scannedPackages = getScannedPackages();
+            long packageChecksum = BeanDefinitionSnapshot.checksumPackages(scannedPackages, classLoader);
+            BeanDefinitionSnapshot.write(snapshotFile, resourceChecksum, scannedPackages, packageChecksum, beanFactory);
+        } catch (IOException | RuntimeException ignored) {
+            // 写了一半的临时文件已经在write中删除，下次刷新时重新解析配置
+        }
+    }
+
+    /**
+     * 获取生成快照所依赖的配置资源，配置内容发生变化时快照失效
+     * 默认没有配置资源，由子类重写
+     *
+     * @return 配置资源数组
+     */
+    protected Resource[] getSnapshotSourceResources() {
+        return new Resource[0];
+    }
+
+    /**
+     * 获取加载BeanDefinition时扫描过的包，包下的类发生变化时快照失效
+     * 默认没有扫描任何包，由子类重写
+     *
+     * @return 扫描过的包
+     */
+    protected String[] getScannedPackages() {
+        return new String[0];
+    }
+
     /**
      * 抽象方法，由子类实现，用于加载Bean定义
      *
@@ -42,6 +114,7 @@ public abstract class AbstractRefreshableApplicationContext extends AbstractAppl
      */
     private DefaultListableBeanFactory createBeanFactory() {
         DefaultListableBeanFactory defaultListableBeanFactory = new DefaultListableBeanFactory();
+        defaultListableBeanFactory.setPreInstantiationParallelism(preInstantiationParallelism);
         return defaultListableBeanFactory;
     }
 
@@ -63,5 +136,24 @@ public abstract class AbstractRefreshableApplicationContext extends AbstractAppl
     public void setBeanFactory(DefaultListableBeanFactory beanFactory) {
         this.beanFactory = beanFactory;
     }
-    
+
+    /**
+     * 设置预实例化单例Bean时的并行度，需要在refresh之前设置
+     *
+     * @param preInstantiationParallelism 并行度，小于等于1时单线程顺序创建
+     */
+    public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+        this.preInstantiationParallelism = preInstantiationParallelism;
+    }
+
+    /**
+     * 设置BeanDefinition快照文件的位置，需要在refresh之前设置
+     * 设置后刷新时优先从快照加载BeanDefinition，跳过配置解析和包扫描
+     *
+     * @param beanDefinitionSnapshotLocation 快照文件路径
+     */
+    public void setBeanDefinitionSnapshotLocation(String beanDefinitionSnapshotLocation) {
+        this.beanDefinitionSnapshotLocation = beanDefinitionSnapshotLocation;
+    }
+
 }
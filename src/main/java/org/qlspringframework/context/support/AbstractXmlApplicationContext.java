@@ -2,6 +2,7 @@ package org.qlspringframework.context.support;
 
 import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
 import org.qlspringframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.qlspringframework.core.io.Resource;
 
 /**
  * 抽象的XML应用上下文类，继承自AbstractRefreshableApplicationContext
@@ -12,6 +13,9 @@ import org.qlspringframework.beans.factory.xml.XmlBeanDefinitionReader;
  **/
 public abstract class AbstractXmlApplicationContext extends AbstractRefreshableApplicationContext{
 
+    // 最近一次加载BeanDefinition时扫描过的包
+    private String[] scannedPackages = new String[0];
+
     /**
      * 加载Bean定义的方法
      * 该方法通过XmlBeanDefinitionReader读取配置资源路径，并加载Bean定义到beanFactory中
@@ -26,6 +30,25 @@ public abstract class AbstractXmlApplicationContext extends AbstractRefreshableA
         String[] locations = getConfigLocations();
         // 使用XmlBeanDefinitionReader加载Bean定义
         xmlBeanDefinitionReader.loadBeanDefinitions(locations);
+        this.scannedPackages = xmlBeanDefinitionReader.getScannedPackages();
+    }
+
+    /**
+     * 快照依赖的配置资源即所有的XML配置文件
+     */
+    @Override
+    protected Resource[] getSnapshotSourceResources() {
+        String[] locations = getConfigLocations();
+        Resource[] resources = new Resource[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            resources[i] = getResource(locations[i]);
+        }
+        return resources;
+    }
+
+    @Override
+    protected String[] getScannedPackages() {
+        return scannedPackages;
     }
 
     /**
@@ -1,6 +1,6 @@
 package org.qlspringframework.context.support;
 
-import org.qlspringframework.beans.factory.config.BeanPostProcessor;
+import org.qlspringframework.beans.factory.config.SelectiveBeanPostProcessor;
 import org.qlspringframework.context.ApplicationContext;
 import org.qlspringframework.context.ApplicationContextAware;
 
@@ -9,7 +9,7 @@ import org.qlspringframework.context.ApplicationContextAware;
  * @title ApplicationContextAwareProcessor
  * @date 2025/5/5 17:17
  */
-public class ApplicationContextAwareProcessor implements BeanPostProcessor {
+public class ApplicationContextAwareProcessor implements SelectiveBeanPostProcessor {
 
 
     private final ApplicationContext applicationContext;
@@ -18,6 +18,13 @@ public class ApplicationContextAwareProcessor implements BeanPostProcessor {
         this.applicationContext = applicationContext;
     }
 
+    /**
+     * 只处理实现了ApplicationContextAware接口的Bean
+     */
+    @Override
+    public boolean supportsBeanType(Class<?> beanType) {
+        return ApplicationContextAware.class.isAssignableFrom(beanType);
+    }
 
     /**
      * 在 Bean 初始化之前执行自定义处理逻辑。
@@ -0,0 +1,355 @@
+package org.qlspringframework.context.support;
+
+import org.qlspringframework.beans.PropertyValue;
+import org.qlspringframework.beans.PropertyValues;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanReference;
+import org.qlspringframework.beans.factory.config.ConstructorArgumentValues;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.core.io.Resource;
+
+import java.io.*;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * BeanDefinition快照
+ * 将容器当中注册的所有BeanDefinition序列化为紧凑的二进制文件，下次启动时直接加载快照，
+ * 跳过XML解析和包扫描
+ *
+ * 快照通过两个校验和判断是否失效：
+ * 1，配置文件内容的校验和
+ * 2，扫描过的包下所有class文件的名称、大小和修改时间的校验和
+ *
+ * 属性值和构造函数参数只支持字符串、BeanReference和null，存在其他类型的值时不生成快照
+ *
+ * @author: jixu
+ * @create: 2025-06-14 10:30
+ **/
+public class BeanDefinitionSnapshot {
+
+    private static final int MAGIC = 0x514C5342;
+
+    private static final int VERSION = 1;
+
+    private static final byte NULL_VALUE = 0;
+
+    private static final byte STRING_VALUE = 1;
+
+    private static final byte REFERENCE_VALUE = 2;
+
+    private BeanDefinitionSnapshot() {
+    }
+
+    /**
+     * 计算配置文件内容的校验和
+     *
+     * @param resources 配置文件
+     * @return 校验和
+     */
+    public static long checksumResources(Resource[] resources) throws IOException {
+        CRC32 crc32 = new CRC32();
+        byte[] buffer = new byte[8192];
+        for (Resource resource : resources) {
+            try (InputStream inputStream = resource.getInputStream()) {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    crc32.update(buffer, 0, read);
+                }
+            }
+        }
+        return crc32.getValue();
+    }
+
+    /**
+     * 计算扫描包下所有class文件的校验和，只读取文件的元信息，不加载类
+     *
+     * @param basePackages 扫描的包
+     * @param classLoader 类加载器
+     * @return 校验和
+     */
+    public static long checksumPackages(String[] basePackages, ClassLoader classLoader) throws IOException {
+        CRC32 crc32 = new CRC32();
+        for (String basePackage : basePackages) {
+            update(crc32, basePackage);
+            String packagePath = basePackage.replace('.', '/');
+            Enumeration<URL> urls = classLoader.getResources(packagePath);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                if ("file".equals(url.getProtocol())) {
+                    checksumDirectory(crc32, Paths.get(URLDecoder.decode(url.getPath(), "UTF-8")));
+                } else if ("jar".equals(url.getProtocol())) {
+                    checksumJar(crc32, url, packagePath + "/");
+                } else {
+                    update(crc32, url.toString());
+                }
+            }
+        }
+        return crc32.getValue();
+    }
+
+    private static void checksumDirectory(CRC32 crc32, Path directory) throws IOException {
+        List<Path> classFiles = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(path -> path.toString().endsWith(".class")).forEach(classFiles::add);
+        }
+        Collections.sort(classFiles);
+        for (Path classFile : classFiles) {
+            update(crc32, directory.relativize(classFile).toString());
+            update(crc32, Files.size(classFile) + ":" + Files.getLastModifiedTime(classFile).toMillis());
+        }
+    }
+
+    private static void checksumJar(CRC32 crc32, URL url, String packagePrefix) throws IOException {
+        URLConnection connection = url.openConnection();
+        if (!(connection instanceof JarURLConnection)) {
+            update(crc32, url.toString());
+            return;
+        }
+        JarURLConnection jarConnection = (JarURLConnection) connection;
+        jarConnection.setUseCaches(false);
+        List<String> entries = new ArrayList<>();
+        try (JarFile jarFile = jarConnection.getJarFile()) {
+            Enumeration<JarEntry> jarEntries = jarFile.entries();
+            while (jarEntries.hasMoreElements()) {
+                JarEntry entry = jarEntries.nextElement();
+                if (entry.getName().startsWith(packagePrefix) && entry.getName().endsWith(".class")) {
+                    entries.add(entry.getName() + ":" + entry.getSize() + ":" + entry.getCrc());
+                }
+            }
+        }
+        Collections.sort(entries);
+        for (String entry : entries) {
+            update(crc32, entry);
+        }
+    }
+
+    private static void update(CRC32 crc32, String value) {
+        crc32.update(value.getBytes(StandardCharsets.UTF_8));
+        crc32.update(0);
+    }
+
+    /**
+     * 将BeanFactory当中的BeanDefinition写入快照文件
+     * 先写入临时文件再替换，避免其他进程读取到写了一半的快照，写入失败时删除临时文件
+     * 字符串按照writeUTF写入，编码后超过64KB的字符串会导致写入失败
+     *
+     * @param file 快照文件
+     * @param resourceChecksum 配置文件的校验和
+     * @param basePackages 扫描过的包
+     * @param packageChecksum 扫描过的包的校验和
+     * @param beanFactory Bean工厂
+     * @return 存在无法序列化的值时返回false
+     * @throws IOException 目录不可写或者字符串过长等原因导致写入失败
+     */
+    public static boolean write(File file, long resourceChecksum, String[] basePackages, long packageChecksum,
+                                DefaultListableBeanFactory beanFactory) throws IOException {
+        String[] beanNames = beanFactory.getBeanDefinitionNames();
+        for (String beanName : beanNames) {
+            if (!isSerializable(beanFactory.getBeanDefinition(beanName))) {
+                return false;
+            }
+        }
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("无法创建目录：" + parent);
+        }
+        File tempFile = new File(file.getAbsolutePath() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(resourceChecksum);
+                out.writeInt(basePackages.length);
+                for (String basePackage : basePackages) {
+                    out.writeUTF(basePackage);
+                }
+                out.writeLong(packageChecksum);
+
+                out.writeInt(beanNames.length);
+                for (String beanName : beanNames) {
+                    out.writeUTF(beanName);
+                    writeBeanDefinition(out, beanFactory.getBeanDefinition(beanName));
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            // 写入失败时删除写了一半的临时文件，已有的快照文件保持不变
+            Files.deleteIfExists(tempFile.toPath());
+            throw e;
+        }
+        return true;
+    }
+
+    private static boolean isSerializable(BeanDefinition beanDefinition) {
+        if (beanDefinition.getBeanClass() == null) {
+            return false;
+        }
+        for (PropertyValue propertyValue : beanDefinition.getPropertyValues().getPropertyValueList()) {
+            if (!isSerializableValue(propertyValue.getValue())) {
+                return false;
+            }
+        }
+        ConstructorArgumentValues argumentValues = beanDefinition.getConstructorArgumentValues();
+        for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getIndexedArgumentValues().values()) {
+            if (!isSerializableValue(valueHolder.getValue())) {
+                return false;
+            }
+        }
+        for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getGenericArgumentValues()) {
+            if (!isSerializableValue(valueHolder.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSerializableValue(Object value) {
+        return value == null || value instanceof String || value instanceof BeanReference;
+    }
+
+    private static void writeBeanDefinition(DataOutputStream out, BeanDefinition beanDefinition) throws IOException {
+        out.writeUTF(beanDefinition.getBeanClass().getName());
+        out.writeUTF(beanDefinition.getScope());
+        out.writeBoolean(beanDefinition.isLazyInit());
+        writeNullableString(out, beanDefinition.getInitMethodName());
+        writeNullableString(out, beanDefinition.getDestroyMethodName());
+
+        PropertyValue[] propertyValues = beanDefinition.getPropertyValues().getPropertyValueList();
+        out.writeInt(propertyValues.length);
+        for (PropertyValue propertyValue : propertyValues) {
+            out.writeUTF(propertyValue.getName());
+            writeValue(out, propertyValue.getValue());
+        }
+
+        ConstructorArgumentValues argumentValues = beanDefinition.getConstructorArgumentValues();
+        out.writeInt(argumentValues.getIndexedArgumentValues().size());
+        for (Map.Entry<Integer, ConstructorArgumentValues.ValueHolder> entry : argumentValues.getIndexedArgumentValues().entrySet()) {
+            out.writeInt(entry.getKey());
+            writeNullableString(out, entry.getValue().getType());
+            writeValue(out, entry.getValue().getValue());
+        }
+        out.writeInt(argumentValues.getGenericArgumentValues().size());
+        for (ConstructorArgumentValues.ValueHolder valueHolder : argumentValues.getGenericArgumentValues()) {
+            writeNullableString(out, valueHolder.getType());
+            writeValue(out, valueHolder.getValue());
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof BeanReference) {
+            out.writeByte(REFERENCE_VALUE);
+            out.writeUTF(((BeanReference) value).getBeanName());
+        } else {
+            out.writeByte(STRING_VALUE);
+            out.writeUTF((String) value);
+        }
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * 从快照文件加载BeanDefinition并注册到BeanFactory
+     * 校验和不一致或者快照文件损坏时不会注册任何BeanDefinition
+     *
+     * @param file 快照文件
+     * @param resourceChecksum 当前配置文件的校验和
+     * @param beanFactory Bean工厂
+     * @param classLoader 用于校验扫描包和加载Bean类的类加载器
+     * @return 加载成功时返回true，快照不存在或已失效时返回false
+     */
+    public static boolean load(File file, long resourceChecksum, DefaultListableBeanFactory beanFactory, ClassLoader classLoader) {
+        if (!file.isFile()) {
+            return false;
+        }
+        Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != resourceChecksum) {
+                return false;
+            }
+            String[] basePackages = new String[in.readInt()];
+            for (int i = 0; i < basePackages.length; i++) {
+                basePackages[i] = in.readUTF();
+            }
+            if (in.readLong() != checksumPackages(basePackages, classLoader)) {
+                return false;
+            }
+
+            int beanCount = in.readInt();
+            for (int i = 0; i < beanCount; i++) {
+                String beanName = in.readUTF();
+                beanDefinitions.put(beanName, readBeanDefinition(in, classLoader));
+            }
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            // 快照损坏或者类已经不存在，视为快照失效
+            return false;
+        }
+
+        beanDefinitions.forEach(beanFactory::registerBeanDefinition);
+        return true;
+    }
+
+    private static BeanDefinition readBeanDefinition(DataInputStream in, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        BeanDefinition beanDefinition = new BeanDefinition(Class.forName(in.readUTF(), false, classLoader));
+        beanDefinition.setScope(in.readUTF());
+        beanDefinition.setLazyInit(in.readBoolean());
+        beanDefinition.setInitMethodName(readNullableString(in));
+        beanDefinition.setDestroyMethodName(readNullableString(in));
+
+        PropertyValues propertyValues = beanDefinition.getPropertyValues();
+        int propertyCount = in.readInt();
+        for (int i = 0; i < propertyCount; i++) {
+            String name = in.readUTF();
+            propertyValues.addPropertyValue(new PropertyValue(name, readValue(in)));
+        }
+
+        ConstructorArgumentValues argumentValues = beanDefinition.getConstructorArgumentValues();
+        int indexedCount = in.readInt();
+        for (int i = 0; i < indexedCount; i++) {
+            int index = in.readInt();
+            String type = readNullableString(in);
+            argumentValues.addIndexedArgumentValue(index, new ConstructorArgumentValues.ValueHolder(readValue(in), type));
+        }
+        int genericCount = in.readInt();
+        for (int i = 0; i < genericCount; i++) {
+            String type = readNullableString(in);
+            argumentValues.addGenericArgumentValue(new ConstructorArgumentValues.ValueHolder(readValue(in), type));
+        }
+        return beanDefinition;
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return in.readUTF();
+            case REFERENCE_VALUE:
+                return new BeanReference(in.readUTF());
+            default:
+                throw new IOException("未知的属性值类型：" + type);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -42,4 +42,18 @@ public class ClassPathXmlApplicationContext extends AbstractXmlApplicationContex
         super.refresh();
     }
 
+    /**
+     * 多参数构造函数，可以选择是否立即刷新上下文。
+     * 不立即刷新时可以在调用refresh之前对上下文进行配置。
+     *
+     * @param configLocations 配置文件的位置数组。
+     * @param refresh 是否立即刷新上下文。
+     */
+    public ClassPathXmlApplicationContext(String[] configLocations, boolean refresh){
+        this.configLocations = configLocations;
+        if (refresh){
+            super.refresh();
+        }
+    }
+
 }
@@ -0,0 +1,43 @@
+package org.qlspringframework.core;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ordered对象的比较器
+ * 按照getOrder的返回值升序排列，未实现Ordered接口的对象排在最后，排序值相同的对象保持原有顺序
+ *
+ * @author jixu
+ * @title OrderComparator
+ * @date 2025/6/15 16:05
+ */
+public class OrderComparator implements Comparator<Object> {
+
+    public static final OrderComparator INSTANCE = new OrderComparator();
+
+    @Override
+    public int compare(Object o1, Object o2) {
+        return Integer.compare(getOrder(o1), getOrder(o2));
+    }
+
+    /**
+     * 获取对象的排序值
+     *
+     * @param obj 要排序的对象
+     * @return 实现了Ordered接口时返回其排序值，否则返回最低优先级
+     */
+    public static int getOrder(Object obj) {
+        return obj instanceof Ordered ? ((Ordered) obj).getOrder() : Ordered.LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * 对列表进行排序，List.sort为稳定排序
+     *
+     * @param list 要排序的列表
+     */
+    public static void sort(List<?> list) {
+        if (list.size() > 1) {
+            list.sort(INSTANCE);
+        }
+    }
+}
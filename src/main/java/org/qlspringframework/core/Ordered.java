@@ -0,0 +1,25 @@
+package org.qlspringframework.core;
+
+/**
+ * 可排序接口
+ * 实现该接口的对象按照getOrder的返回值升序排列，值越小优先级越高
+ *
+ * @author jixu
+ * @title Ordered
+ * @date 2025/6/15 16:00
+ */
+public interface Ordered {
+
+    // 最高优先级
+    int HIGHEST_PRECEDENCE = Integer.MIN_VALUE;
+
+    // 最低优先级，未实现Ordered接口的对象同样视为最低优先级
+    int LOWEST_PRECEDENCE = Integer.MAX_VALUE;
+
+    /**
+     * 获取排序值
+     *
+     * @return 排序值，值越小优先级越高
+     */
+    int getOrder();
+}
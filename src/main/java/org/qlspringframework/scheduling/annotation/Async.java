@@ -0,0 +1,24 @@
+package org.qlspringframework.scheduling.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 异步执行注解
+ * 标注在方法上时该方法被提交到线程池异步执行，标注在类上时类中所有public方法都异步执行
+ * 方法的返回值只能是void或Future（包括CompletableFuture），void方法调用后立即返回，
+ * Future方法返回的对象在异步执行完成后得到方法返回的Future的结果
+ *
+ * @author jixu
+ * @title Async
+ * @date 2025/6/17 16:00
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Async {
+
+    /**
+     * 执行方法的线程池Bean名称，为空时使用默认线程池
+     */
+    String value() default "";
+}
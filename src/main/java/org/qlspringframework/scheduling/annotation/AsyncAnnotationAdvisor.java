@@ -0,0 +1,105 @@
+package org.qlspringframework.scheduling.annotation;
+
+import org.aopalliance.aop.Advice;
+import org.qlspringframework.aop.ClassFilter;
+import org.qlspringframework.aop.MethodMatcher;
+import org.qlspringframework.aop.PointCut;
+import org.qlspringframework.aop.PointcutAdvisor;
+import org.qlspringframework.aop.framework.InvocationErrorReporter;
+import org.qlspringframework.aop.interceptor.AsyncExecutionInterceptor;
+import org.qlspringframework.beans.factory.BeanFactory;
+import org.qlspringframework.beans.factory.BeanFactoryAware;
+import org.qlspringframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+
+/**
+ * 处理@Async注解的Advisor
+ * 注册为Bean后由DefaultAdvisorAutoProxyCreator为标注了@Async的Bean创建代理，
+ * 被标注的方法交给AsyncExecutionInterceptor提交到线程池执行
+ *
+ * @author jixu
+ * @title AsyncAnnotationAdvisor
+ * @date 2025/6/17 17:10
+ */
+public class AsyncAnnotationAdvisor implements PointcutAdvisor, BeanFactoryAware, Ordered {
+
+    private final AsyncExecutionInterceptor advice = new AsyncExecutionInterceptor();
+
+    private final PointCut pointcut = new AsyncAnnotationPointcut();
+
+    private int order = Ordered.LOWEST_PRECEDENCE;
+
+    @Override
+    public PointCut getPointcut() {
+        return pointcut;
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return advice;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        advice.setBeanFactory(beanFactory);
+    }
+
+    /**
+     * 设置@Async没有指定线程池名称时使用的线程池，未设置时使用名为taskExecutor的Bean
+     */
+    public void setExecutor(Executor executor) {
+        advice.setDefaultExecutor(executor);
+    }
+
+    /**
+     * 设置void异步方法的异常上报器
+     */
+    public void setErrorReporter(InvocationErrorReporter errorReporter) {
+        advice.setErrorReporter(errorReporter);
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    public void setOrder(int order) {
+        this.order = order;
+    }
+
+    /**
+     * 匹配类上或方法上标注了@Async的方法
+     */
+    private static class AsyncAnnotationPointcut implements PointCut, ClassFilter, MethodMatcher {
+
+        @Override
+        public boolean matches(Class<?> clazz) {
+            if (clazz.isAnnotationPresent(Async.class)) {
+                return true;
+            }
+            for (Method method : clazz.getMethods()) {
+                if (method.isAnnotationPresent(Async.class)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return AsyncExecutionInterceptor.findAsyncAnnotation(method, targetClass) != null;
+        }
+
+        @Override
+        public ClassFilter getClassFilter() {
+            return this;
+        }
+
+        @Override
+        public MethodMatcher getMethodMatcher() {
+            return this;
+        }
+    }
+}
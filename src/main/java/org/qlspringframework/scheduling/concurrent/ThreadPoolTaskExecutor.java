@@ -0,0 +1,158 @@
+package org.qlspringframework.scheduling.concurrent;
+
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.beans.factory.InitializingBean;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 可以作为Bean配置的线程池
+ * 包装ThreadPoolExecutor，在afterPropertiesSet或第一次提交任务时创建线程池，容器关闭时关闭线程池
+ * 同时对外提供队列长度、拒绝次数等运行指标
+ * 线程池和队列都满时抛出RejectedExecutionException
+ *
+ * @author jixu
+ * @title ThreadPoolTaskExecutor
+ * @date 2025/6/17 16:10
+ */
+public class ThreadPoolTaskExecutor implements Executor, InitializingBean, DisposableBean {
+
+    private int corePoolSize = 1;
+
+    private int maxPoolSize = Integer.MAX_VALUE;
+
+    // 队列容量，小于等于0时不使用队列，任务直接交给线程执行
+    private int queueCapacity = Integer.MAX_VALUE;
+
+    private int keepAliveSeconds = 60;
+
+    private String threadNamePrefix = "async-";
+
+    private volatile ThreadPoolExecutor threadPoolExecutor;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() {
+        getThreadPoolExecutor();
+    }
+
+    /**
+     * 获取被包装的线程池，不存在时创建
+     */
+    public ThreadPoolExecutor getThreadPoolExecutor() {
+        ThreadPoolExecutor executor = this.threadPoolExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.threadPoolExecutor;
+                if (executor == null) {
+                    executor = createThreadPoolExecutor();
+                    this.threadPoolExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private ThreadPoolExecutor createThreadPoolExecutor() {
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new LinkedBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // 记录拒绝次数后按照AbortPolicy抛出异常
+        RejectedExecutionHandler rejectedHandler = (runnable, executor) -> {
+            rejectedCount.incrementAndGet();
+            throw new RejectedExecutionException(String.format("线程池：%s 已满，当前队列长度：%d",
+                    threadNamePrefix, executor.getQueue().size()));
+        };
+        return new ThreadPoolExecutor(corePoolSize, Math.max(corePoolSize, maxPoolSize), keepAliveSeconds, TimeUnit.SECONDS,
+                queue, threadFactory, rejectedHandler);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        getThreadPoolExecutor().execute(task);
+    }
+
+    /**
+     * 关闭线程池，已经提交的任务会继续执行
+     */
+    @Override
+    public void destroy() {
+        ThreadPoolExecutor executor = this.threadPoolExecutor;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public void setCorePoolSize(int corePoolSize) {
+        this.corePoolSize = corePoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public void setKeepAliveSeconds(int keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    public String getThreadNamePrefix() {
+        return threadNamePrefix;
+    }
+
+    /**
+     * 当前在队列中等待执行的任务数量
+     */
+    public int getQueueSize() {
+        ThreadPoolExecutor executor = this.threadPoolExecutor;
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * 因为线程池和队列已满被拒绝的任务数量
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * 正在执行任务的线程数量
+     */
+    public int getActiveCount() {
+        ThreadPoolExecutor executor = this.threadPoolExecutor;
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        ThreadPoolExecutor executor = this.threadPoolExecutor;
+        return executor == null ? 0 : executor.getPoolSize();
+    }
+
+    /**
+     * 已经执行完成的任务数量（近似值）
+     */
+    public long getCompletedTaskCount() {
+        ThreadPoolExecutor executor = this.threadPoolExecutor;
+        return executor == null ? 0 : executor.getCompletedTaskCount();
+    }
+}
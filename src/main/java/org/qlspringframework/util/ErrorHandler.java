@@ -0,0 +1,19 @@
+package org.qlspringframework.util;
+
+/**
+ * 异常处理接口
+ * 用于处理在后台任务或回调中抛出、无法直接交给调用方的异常
+ *
+ * @author jixu
+ * @title ErrorHandler
+ * @date 2025/6/18 19:00
+ */
+public interface ErrorHandler {
+
+    /**
+     * 处理异常，该方法不应该抛出异常
+     *
+     * @param t 抛出的异常
+     */
+    void handleError(Throwable t);
+}
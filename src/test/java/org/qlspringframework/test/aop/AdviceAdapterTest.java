@@ -0,0 +1,121 @@
+package org.qlspringframework.test.aop;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.aop.*;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.qlspringframework.aop.framework.CglibDynamicAopProxy;
+import org.qlspringframework.aop.framework.JdkDynamicAopProxy;
+import org.qlspringframework.aop.framework.adapter.AdvisorAdapter;
+import org.qlspringframework.aop.framework.adapter.DefaultAdvisorAdapterRegistry;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.test.service.CalculatorService;
+import org.qlspringframework.test.service.CalculatorServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author jixu
+ * @title AdviceAdapterTest
+ * @date 2025/6/18 16:00
+ */
+public class AdviceAdapterTest {
+
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    public void testJdkProxyAdvices() {
+        AdvisedSupport advisedSupport = createAdvisedSupport();
+        CalculatorService proxy = (CalculatorService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        assertAdvices(proxy);
+    }
+
+    @Test
+    public void testCglibProxyAdvices() {
+        AdvisedSupport advisedSupport = createAdvisedSupport();
+        CalculatorService proxy = (CalculatorService) new CglibDynamicAopProxy(advisedSupport).getProxy();
+        assertAdvices(proxy);
+    }
+
+    @Test
+    public void testCustomAdvisorAdapter() {
+        DefaultAdvisorAdapterRegistry registry = new DefaultAdvisorAdapterRegistry();
+        registry.registerAdvisorAdapter(new AdvisorAdapter() {
+            @Override
+            public boolean supportsAdvice(Advice advice) {
+                return advice instanceof CountingAdvice;
+            }
+
+            @Override
+            public MethodInterceptor getInterceptor(Advisor advisor) {
+                CountingAdvice advice = (CountingAdvice) advisor.getAdvice();
+                return invocation -> {
+                    advice.count++;
+                    return invocation.proceed();
+                };
+            }
+        });
+
+        CountingAdvice countingAdvice = new CountingAdvice();
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        advisedSupport.setAdvisorAdapterRegistry(registry);
+        advisedSupport.addAdvisor(createAdvisor(countingAdvice));
+        CalculatorService proxy = (CalculatorService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        proxy.add(1, 2);
+        proxy.add(1, 2);
+        Assert.assertEquals(2, countingAdvice.count);
+
+        // 默认的注册表不支持自定义的Advice类型
+        AdvisedSupport unsupported = new AdvisedSupport();
+        unsupported.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        unsupported.addAdvisor(createAdvisor(new CountingAdvice()));
+        CalculatorService unsupportedProxy = (CalculatorService) new JdkDynamicAopProxy(unsupported).getProxy();
+        try {
+            unsupportedProxy.add(1, 2);
+            Assert.fail();
+        } catch (BeansException expected) {
+        }
+    }
+
+    private void assertAdvices(CalculatorService proxy) {
+        Assert.assertEquals(3, proxy.add(1, 2));
+        Assert.assertEquals(Arrays.asList("before add", "afterReturning add 3"), events);
+
+        events.clear();
+        try {
+            proxy.divide(1, 0);
+            Assert.fail();
+        } catch (ArithmeticException expected) {
+        }
+        Assert.assertEquals(Arrays.asList("before divide", "afterThrowing divide ArithmeticException"), events);
+    }
+
+    private AdvisedSupport createAdvisedSupport() {
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        advisedSupport.addAdvisor(createAdvisor((MethodBeforeAdvice) (method, args, target) ->
+                events.add("before " + method.getName())));
+        advisedSupport.addAdvisor(createAdvisor((AfterReturningAdvice) (returnValue, method, args, target) ->
+                events.add("afterReturning " + method.getName() + " " + returnValue)));
+        advisedSupport.addAdvisor(createAdvisor((ThrowsAdvice) (method, args, target, ex) ->
+                events.add("afterThrowing " + method.getName() + " " + ex.getClass().getSimpleName())));
+        return advisedSupport;
+    }
+
+    private AspectJExpressionPointcutAdvisor createAdvisor(Advice advice) {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression("execution(* org.qlspringframework.test.service.CalculatorService.*(..))");
+        advisor.setAdvice(advice);
+        return advisor;
+    }
+
+    private static class CountingAdvice implements Advice {
+
+        private int count;
+    }
+}
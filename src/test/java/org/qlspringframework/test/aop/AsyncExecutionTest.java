@@ -0,0 +1,145 @@
+package org.qlspringframework.test.aop;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.framework.CglibDynamicAopProxy;
+import org.qlspringframework.aop.framework.JdkDynamicAopProxy;
+import org.qlspringframework.aop.target.PoolingTargetSource;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.scheduling.annotation.AsyncAnnotationAdvisor;
+import org.qlspringframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.qlspringframework.test.service.AsyncService;
+import org.qlspringframework.test.service.AsyncServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jixu
+ * @title AsyncExecutionTest
+ * @date 2025/6/17 17:40
+ */
+public class AsyncExecutionTest {
+
+    @Test
+    public void testAsyncMethods() throws Exception {
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:async.xml");
+        try {
+            AsyncService asyncService = applicationContext.getBean("asyncService", AsyncService.class);
+
+            CountDownLatch latch = new CountDownLatch(1);
+            asyncService.record(latch);
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assert.assertTrue(asyncService.getRecordedThreadName().startsWith("task-"));
+
+            // 指定名称的线程池
+            Assert.assertTrue(asyncService.currentThreadName().get(5, TimeUnit.SECONDS).startsWith("report-"));
+
+            // 方法抛出的异常通过Future返回
+            Assert.assertEquals(Integer.valueOf(2), asyncService.divide(4, 2).get(5, TimeUnit.SECONDS));
+            try {
+                asyncService.divide(1, 0).get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof ArithmeticException);
+            }
+
+            // 没有标注@Async的方法同步执行
+            Assert.assertEquals(Thread.currentThread().getName(), asyncService.syncThreadName());
+        } finally {
+            applicationContext.close();
+        }
+    }
+
+    @Test
+    public void testExecutorMetrics() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.afterPropertiesSet();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            executor.execute(() -> { });
+            Assert.assertEquals(1, executor.getQueueSize());
+            try {
+                executor.execute(() -> { });
+                Assert.fail();
+            } catch (RejectedExecutionException expected) {
+            }
+            Assert.assertEquals(1, executor.getRejectedCount());
+            Assert.assertEquals(1, executor.getActiveCount());
+            release.countDown();
+        } finally {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    public void testPooledTargetReleasedAfterAsyncTask() throws Exception {
+        PoolingTargetSource targetSource = new PoolingTargetSource(AsyncServiceImpl.class, AsyncServiceImpl::new, 1);
+        List<Runnable> tasks = new ArrayList<>();
+        AdvisedSupport advisedSupport = createAsyncAdvisedSupport(targetSource, tasks::add);
+        AsyncService jdkProxy = (AsyncService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        AsyncService cglibProxy = (AsyncService) new CglibDynamicAopProxy(advisedSupport).getProxy();
+
+        for (AsyncService proxy : Arrays.asList(jdkProxy, cglibProxy)) {
+            CountDownLatch latch = new CountDownLatch(1);
+            proxy.record(latch);
+            // 任务尚未执行，目标对象不能在调用方线程返回时归还
+            Assert.assertEquals(1, targetSource.getActiveCount());
+            tasks.remove(0).run();
+            Assert.assertEquals(0, latch.getCount());
+            Assert.assertEquals(0, targetSource.getActiveCount());
+
+            Future<Integer> future = proxy.divide(4, 2);
+            Assert.assertEquals(1, targetSource.getActiveCount());
+            tasks.remove(0).run();
+            Assert.assertEquals(Integer.valueOf(2), future.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals(0, targetSource.getActiveCount());
+        }
+    }
+
+    @Test
+    public void testPooledTargetReleasedWhenAsyncTaskRejected() {
+        PoolingTargetSource targetSource = new PoolingTargetSource(AsyncServiceImpl.class, AsyncServiceImpl::new, 1);
+        AdvisedSupport advisedSupport = createAsyncAdvisedSupport(targetSource, task -> {
+            throw new RejectedExecutionException("rejected");
+        });
+        AsyncService proxy = (AsyncService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        try {
+            proxy.record(new CountDownLatch(1));
+            Assert.fail();
+        } catch (RejectedExecutionException expected) {
+        }
+        Assert.assertEquals(0, targetSource.getActiveCount());
+        Assert.assertEquals(1, targetSource.getBorrowCount());
+    }
+
+    private AdvisedSupport createAsyncAdvisedSupport(PoolingTargetSource targetSource, Executor executor) {
+        AsyncAnnotationAdvisor advisor = new AsyncAnnotationAdvisor();
+        advisor.setExecutor(executor);
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(targetSource);
+        advisedSupport.addAdvisor(advisor);
+        return advisedSupport;
+    }
+}
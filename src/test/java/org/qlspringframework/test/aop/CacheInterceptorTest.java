@@ -0,0 +1,84 @@
+package org.qlspringframework.test.aop;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.cache.support.CacheStats;
+import org.qlspringframework.cache.support.LocalCache;
+import org.qlspringframework.cache.support.LocalCacheManager;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.test.service.ExpensiveService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author jixu
+ * @title CacheInterceptorTest
+ * @date 2025/6/18 14:10
+ */
+public class CacheInterceptorTest {
+
+    @Test
+    public void testCacheableAndEvict() {
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:cache.xml");
+        try {
+            ExpensiveService expensiveService = applicationContext.getBean("expensiveService", ExpensiveService.class);
+
+            Assert.assertEquals(55, expensiveService.fibonacci(10));
+            Assert.assertEquals(55, expensiveService.fibonacci(10));
+            Assert.assertEquals(1, expensiveService.getInvocationCount());
+            Assert.assertEquals(6765, expensiveService.fibonacci(20));
+            Assert.assertEquals(2, expensiveService.getInvocationCount());
+
+            // 多个参数组成的key，null结果同样被缓存
+            Assert.assertEquals("ab", expensiveService.join("a", "b"));
+            Assert.assertEquals("ab", expensiveService.join("a", "b"));
+            Assert.assertNull(expensiveService.join(null, "b"));
+            Assert.assertNull(expensiveService.join(null, "b"));
+            Assert.assertEquals(4, expensiveService.getInvocationCount());
+
+            expensiveService.refresh(10);
+            expensiveService.fibonacci(10);
+            expensiveService.fibonacci(20);
+            Assert.assertEquals(5, expensiveService.getInvocationCount());
+
+            expensiveService.refreshAll();
+            expensiveService.fibonacci(20);
+            Assert.assertEquals(6, expensiveService.getInvocationCount());
+
+            LocalCacheManager cacheManager = applicationContext.getBean("cacheManager", LocalCacheManager.class);
+            CacheStats stats = cacheManager.getStats("fibonacci");
+            Assert.assertEquals(2, stats.getHitCount());
+            Assert.assertEquals(4, stats.getMissCount());
+        } finally {
+            applicationContext.close();
+        }
+    }
+
+    @Test
+    public void testSegmentedLruKeepsFrequentEntries() {
+        LocalCache cache = new LocalCache("test", 10);
+        cache.put("hot", 1);
+        Assert.assertNotNull(cache.get("hot"));
+
+        // 只写入一次的数据不会把被再次访问过的数据挤出缓存
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+        Assert.assertEquals(1, cache.get("hot").get());
+        Assert.assertNull(cache.get(0));
+        Assert.assertEquals(99, cache.get(99).get());
+        Assert.assertEquals(10, cache.size());
+        Assert.assertEquals(91, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testExpireAfterWrite() throws Exception {
+        LocalCache cache = new LocalCache("test", 100, 50, TimeUnit.MILLISECONDS);
+        cache.put("key", "value");
+        Assert.assertEquals("value", cache.get("key").get());
+        Thread.sleep(100);
+        Assert.assertNull(cache.get("key"));
+        Assert.assertEquals(1, cache.getStats().getEvictionCount());
+        Assert.assertEquals(0, cache.size());
+    }
+}
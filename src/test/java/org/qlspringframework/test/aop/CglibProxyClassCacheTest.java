@@ -0,0 +1,121 @@
+package org.qlspringframework.test.aop;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.TargetSource;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.qlspringframework.aop.framework.CglibDynamicAopProxy;
+import org.qlspringframework.aop.framework.ProxyClassCache;
+import org.qlspringframework.aop.framework.ProxyFactory;
+import org.qlspringframework.aop.framework.autoproxy.DefaultAdvisorAutoProxyCreator;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.test.service.CalculatorService;
+import org.qlspringframework.test.service.CalculatorServiceImpl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author jixu
+ * @title CglibProxyClassCacheTest
+ * @date 2025/6/16 10:30
+ */
+public class CglibProxyClassCacheTest {
+
+    private final AtomicInteger intercepted = new AtomicInteger();
+
+    private final AspectJExpressionPointcutAdvisor advisor = createAdvisor();
+
+    private final ProxyClassCache proxyClassCache = new ProxyClassCache();
+
+    @Test
+    public void testProxyClassReused(){
+        CalculatorService first = createProxy(new CalculatorServiceImpl());
+        CalculatorService second = createProxy(new CalculatorServiceImpl());
+        Assert.assertSame(first.getClass(), second.getClass());
+        Assert.assertNotSame(first, second);
+    }
+
+    @Test
+    public void testProxyClassNotSharedAcrossAdvisors(){
+        CalculatorService first = createProxy(new CalculatorServiceImpl());
+
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        advisedSupport.addAdvisor(createAdvisor());
+        CalculatorService second = (CalculatorService) new CglibDynamicAopProxy(advisedSupport, proxyClassCache).getProxy();
+        Assert.assertNotSame(first.getClass(), second.getClass());
+    }
+
+    @Test
+    public void testProxyClassReusedWithoutCache(){
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        advisedSupport.addAdvisor(advisor);
+        // 没有指定缓存时使用共享缓存，不会每次都生成新的代理类
+        ProxyFactory proxyFactory = new ProxyFactory(advisedSupport);
+        Object first = proxyFactory.getProxy();
+        Object second = proxyFactory.getProxy();
+        Assert.assertNotSame(first, second);
+        Assert.assertSame(first.getClass(), second.getClass());
+        Assert.assertSame(first.getClass(), new CglibDynamicAopProxy(advisedSupport).getProxy().getClass());
+    }
+
+    @Test
+    public void testProxyClassCacheBounded(){
+        ProxyClassCache boundedCache = new ProxyClassCache(1);
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        advisedSupport.addAdvisor(advisor);
+        new CglibDynamicAopProxy(advisedSupport, boundedCache).getProxy();
+
+        AdvisedSupport other = new AdvisedSupport();
+        other.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        other.addAdvisor(createAdvisor());
+        new CglibDynamicAopProxy(other, boundedCache).getProxy();
+        Assert.assertEquals(1, boundedCache.size());
+    }
+
+    @Test
+    public void testProxyClassCacheClearedOnClose(){
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:event-listener-proxy.xml");
+        DefaultAdvisorAutoProxyCreator autoProxyCreator = applicationContext.getBeanOfType(DefaultAdvisorAutoProxyCreator.class).values().iterator().next();
+        Assert.assertEquals(1, autoProxyCreator.getProxyClassCache().size());
+
+        applicationContext.close();
+        Assert.assertEquals(0, autoProxyCreator.getProxyClassCache().size());
+    }
+
+    @Test
+    public void testUnadvisedMethodDispatchedToTarget(){
+        CalculatorServiceImpl target = new CalculatorServiceImpl();
+        CalculatorService proxy = createProxy(target);
+
+        Assert.assertEquals(-1, proxy.negate(1));
+        Assert.assertEquals(0, intercepted.get());
+        Assert.assertEquals(3, proxy.add(1, 2));
+        Assert.assertEquals(1, intercepted.get());
+
+        // 每个代理对象分发给各自的目标对象
+        Assert.assertEquals(target.hashCode(), proxy.hashCode());
+        Assert.assertEquals(target.toString(), proxy.toString());
+    }
+
+    private CalculatorService createProxy(CalculatorServiceImpl target) {
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(target));
+        advisedSupport.addAdvisor(advisor);
+        return (CalculatorService) new CglibDynamicAopProxy(advisedSupport, proxyClassCache).getProxy();
+    }
+
+    private AspectJExpressionPointcutAdvisor createAdvisor() {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression("execution(* org.qlspringframework.test.service.CalculatorService.add(..))");
+        advisor.setAdvice((MethodInterceptor) invocation -> {
+            intercepted.incrementAndGet();
+            return invocation.proceed();
+        });
+        return advisor;
+    }
+}
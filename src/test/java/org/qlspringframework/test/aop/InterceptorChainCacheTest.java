@@ -0,0 +1,90 @@
+package org.qlspringframework.test.aop;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.MethodMatcher;
+import org.qlspringframework.aop.TargetSource;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcut;
+import org.qlspringframework.aop.framework.CglibDynamicAopProxy;
+import org.qlspringframework.aop.framework.JdkDynamicAopProxy;
+import org.qlspringframework.test.service.CalculatorService;
+import org.qlspringframework.test.service.CalculatorServiceImpl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author jixu
+ * @title InterceptorChainCacheTest
+ * @date 2025/6/15 14:10
+ */
+public class InterceptorChainCacheTest {
+
+    @Test
+    public void testJdkProxyMatchesOncePerMethod(){
+        AtomicInteger matches = new AtomicInteger();
+        AtomicInteger intercepted = new AtomicInteger();
+        CalculatorService proxy = (CalculatorService) new JdkDynamicAopProxy(createAdvisedSupport(matches, intercepted)).getProxy();
+        assertCalls(proxy, matches, intercepted);
+    }
+
+    @Test
+    public void testCglibProxyMatchesOncePerMethod(){
+        AtomicInteger matches = new AtomicInteger();
+        AtomicInteger intercepted = new AtomicInteger();
+        CalculatorService proxy = (CalculatorService) new CglibDynamicAopProxy(createAdvisedSupport(matches, intercepted)).getProxy();
+        assertCalls(proxy, matches, intercepted);
+    }
+
+    @Test
+    public void testCacheClearedWhenInterceptorChanges(){
+        AtomicInteger matches = new AtomicInteger();
+        AtomicInteger intercepted = new AtomicInteger();
+        AdvisedSupport advisedSupport = createAdvisedSupport(matches, intercepted);
+        CalculatorService proxy = (CalculatorService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        proxy.add(1, 2);
+        Assert.assertEquals(1, intercepted.get());
+
+        AtomicInteger replaced = new AtomicInteger();
+        advisedSupport.setMethodInterceptor(invocation -> {
+            replaced.incrementAndGet();
+            return invocation.proceed();
+        });
+        proxy.add(1, 2);
+        Assert.assertEquals(1, intercepted.get());
+        Assert.assertEquals(1, replaced.get());
+    }
+
+    private void assertCalls(CalculatorService proxy, AtomicInteger matches, AtomicInteger intercepted) {
+        Assert.assertEquals(3, proxy.add(1, 2));
+        Assert.assertEquals(-1, proxy.negate(1));
+        // add和negate已经完成匹配，之后的调用不再执行切点匹配
+        int matchCount = matches.get();
+        Assert.assertTrue(matchCount >= 2);
+        for (int i = 0; i < 9; i++) {
+            Assert.assertEquals(3, proxy.add(1, 2));
+            Assert.assertEquals(-1, proxy.negate(1));
+        }
+        Assert.assertEquals(matchCount, matches.get());
+        Assert.assertEquals(10, intercepted.get());
+    }
+
+    private AdvisedSupport createAdvisedSupport(AtomicInteger matches, AtomicInteger intercepted) {
+        MethodMatcher pointcutMatcher = new AspectJExpressionPointcut(
+                "execution(* org.qlspringframework.test.service.CalculatorService.add(..))").getMethodMatcher();
+        MethodInterceptor interceptor = invocation -> {
+            intercepted.incrementAndGet();
+            return invocation.proceed();
+        };
+
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        advisedSupport.setMethodInterceptor(interceptor);
+        advisedSupport.setMethodMatcher((method, targetClass) -> {
+            matches.incrementAndGet();
+            return pointcutMatcher.matches(method, targetClass);
+        });
+        return advisedSupport;
+    }
+}
@@ -0,0 +1,89 @@
+package org.qlspringframework.test.aop;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.TargetSource;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.qlspringframework.aop.framework.CglibDynamicAopProxy;
+import org.qlspringframework.aop.framework.JdkDynamicAopProxy;
+import org.qlspringframework.aop.framework.SampledInvocationErrorReporter;
+import org.qlspringframework.test.service.CalculatorService;
+import org.qlspringframework.test.service.CalculatorServiceImpl;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author jixu
+ * @title InvocationErrorReporterTest
+ * @date 2025/6/16 14:40
+ */
+public class InvocationErrorReporterTest {
+
+    private static final String DIVIDE_EXPRESSION = "execution(* org.qlspringframework.test.service.CalculatorService.divide(..))";
+
+    @Test
+    public void testExceptionPropagatedUnwrapped(){
+        for (boolean advised : new boolean[]{true, false}) {
+            assertArithmeticException((CalculatorService) new JdkDynamicAopProxy(createAdvisedSupport(advised)).getProxy());
+            assertArithmeticException((CalculatorService) new CglibDynamicAopProxy(createAdvisedSupport(advised)).getProxy());
+        }
+    }
+
+    @Test
+    public void testSampledReporter(){
+        List<Method> reported = new ArrayList<>();
+        SampledInvocationErrorReporter reporter = new SampledInvocationErrorReporter(
+                (method, target, ex) -> reported.add(method), 3);
+
+        AdvisedSupport advisedSupport = createAdvisedSupport(false);
+        advisedSupport.setInvocationErrorReporter(reporter);
+        CalculatorService proxy = (CalculatorService) new CglibDynamicAopProxy(advisedSupport).getProxy();
+        for (int i = 0; i < 6; i++) {
+            assertArithmeticException(proxy);
+        }
+        // 没有异常的调用不会上报
+        Assert.assertEquals(2, proxy.divide(4, 2));
+
+        Assert.assertEquals(6, reporter.getErrorCount());
+        Assert.assertEquals(2, reported.size());
+        Assert.assertEquals("divide", reported.get(0).getName());
+    }
+
+    @Test
+    public void testSpecialMethods(){
+        CalculatorServiceImpl target = new CalculatorServiceImpl();
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(target));
+        CalculatorService proxy = (CalculatorService) new CglibDynamicAopProxy(advisedSupport).getProxy();
+
+        Assert.assertEquals(proxy, proxy);
+        Assert.assertNotEquals(proxy, target);
+        Assert.assertNotEquals(proxy, null);
+        Assert.assertEquals(target.hashCode(), proxy.hashCode());
+    }
+
+    private void assertArithmeticException(CalculatorService proxy) {
+        try {
+            proxy.divide(1, 0);
+            Assert.fail();
+        } catch (ArithmeticException expected) {
+            // 目标方法抛出的异常原样抛出
+        }
+    }
+
+    private AdvisedSupport createAdvisedSupport(boolean advised) {
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        if (advised) {
+            AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+            advisor.setExpression(DIVIDE_EXPRESSION);
+            advisor.setAdvice((MethodInterceptor) invocation -> invocation.proceed());
+            advisedSupport.addAdvisor(advisor);
+        }
+        return advisedSupport;
+    }
+}
@@ -0,0 +1,87 @@
+package org.qlspringframework.test.aop;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.TargetSource;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.qlspringframework.aop.framework.CglibDynamicAopProxy;
+import org.qlspringframework.aop.framework.JdkDynamicAopProxy;
+import org.qlspringframework.aop.framework.autoproxy.DefaultAdvisorAutoProxyCreator;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.test.service.CalculatorService;
+import org.qlspringframework.test.service.CalculatorServiceImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author jixu
+ * @title MultiAdvisorTest
+ * @date 2025/6/15 16:30
+ */
+public class MultiAdvisorTest {
+
+    private static final String ADD_EXPRESSION = "execution(* org.qlspringframework.test.service.CalculatorService.add(..))";
+
+    private static final String ALL_EXPRESSION = "execution(* org.qlspringframework.test.service.CalculatorService.*(..))";
+
+    @Test
+    public void testInterceptorChainOrder(){
+        List<String> events = new ArrayList<>();
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        for (int i = 0; i < 5; i++) {
+            advisedSupport.addAdvisor(createAdvisor(ALL_EXPRESSION, "interceptor" + i, i, events));
+        }
+
+        CalculatorService jdkProxy = (CalculatorService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        Assert.assertEquals(3, jdkProxy.add(1, 2));
+        Assert.assertEquals(Arrays.asList("interceptor0", "interceptor1", "interceptor2", "interceptor3", "interceptor4"), events);
+
+        events.clear();
+        CalculatorService cglibProxy = (CalculatorService) new CglibDynamicAopProxy(advisedSupport).getProxy();
+        Assert.assertEquals(-1, cglibProxy.negate(1));
+        Assert.assertEquals(5, events.size());
+    }
+
+    @Test
+    public void testAutoProxyAppliesAllAdvisorsByOrder(){
+        List<String> events = new ArrayList<>();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        DefaultAdvisorAutoProxyCreator autoProxyCreator = new DefaultAdvisorAutoProxyCreator();
+        autoProxyCreator.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(autoProxyCreator);
+
+        registerAdvisor(beanFactory, "second", createAdvisor(ADD_EXPRESSION, "second", 2, events));
+        registerAdvisor(beanFactory, "first", createAdvisor(ALL_EXPRESSION, "first", 1, events));
+        beanFactory.registerBeanDefinition("calculatorService", new BeanDefinition(CalculatorServiceImpl.class));
+
+        CalculatorService calculatorService = beanFactory.getBean("calculatorService", CalculatorService.class);
+        Assert.assertEquals(3, calculatorService.add(1, 2));
+        Assert.assertEquals(Arrays.asList("first", "second"), events);
+
+        events.clear();
+        Assert.assertEquals(-1, calculatorService.negate(1));
+        Assert.assertEquals(Arrays.asList("first"), events);
+    }
+
+    private void registerAdvisor(DefaultListableBeanFactory beanFactory, String beanName, AspectJExpressionPointcutAdvisor advisor) {
+        beanFactory.registerBeanDefinition(beanName, new BeanDefinition(AspectJExpressionPointcutAdvisor.class));
+        beanFactory.addSingletonBean(beanName, advisor);
+    }
+
+    private AspectJExpressionPointcutAdvisor createAdvisor(String expression, String name, int order, List<String> events) {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression(expression);
+        advisor.setOrder(order);
+        advisor.setAdvice((MethodInterceptor) invocation -> {
+            events.add(name);
+            return invocation.proceed();
+        });
+        return advisor;
+    }
+}
@@ -0,0 +1,81 @@
+package org.qlspringframework.test.aop;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.aop.PointCut;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcut;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.qlspringframework.test.service.CalculatorService;
+import org.qlspringframework.test.service.CalculatorServiceImpl;
+import org.qlspringframework.test.service.HelloService;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * @author jixu
+ * @title PointcutCacheTest
+ * @date 2025/6/16 15:40
+ */
+public class PointcutCacheTest {
+
+    private static final String EXPRESSION = "execution(* org.qlspringframework.test.service.CalculatorService.add(..))";
+
+    @Test
+    public void testCachedMatchResult() throws Exception {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut(EXPRESSION);
+        Method add = CalculatorService.class.getMethod("add", int.class, int.class);
+        Method negate = CalculatorService.class.getMethod("negate", int.class);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(pointcut.matches(CalculatorService.class));
+            Assert.assertFalse(pointcut.matches(HelloService.class));
+            Assert.assertTrue(pointcut.matches(add, CalculatorServiceImpl.class));
+            Assert.assertFalse(pointcut.matches(negate, CalculatorServiceImpl.class));
+        }
+
+        // 相同表达式的切点匹配结果一致
+        AspectJExpressionPointcut other = new AspectJExpressionPointcut(EXPRESSION);
+        Assert.assertTrue(other.matches(add, CalculatorServiceImpl.class));
+        Assert.assertFalse(other.matches(negate, CalculatorServiceImpl.class));
+    }
+
+    @Test
+    public void testConcurrentGetPointcut() throws Exception {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression(EXPRESSION);
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<PointCut>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return advisor.getPointcut();
+                }));
+            }
+            start.countDown();
+            PointCut first = futures.get(0).get();
+            for (Future<PointCut> future : futures) {
+                Assert.assertSame(first, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSetExpressionResetsPointcut() throws Exception {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression(EXPRESSION);
+        Method negate = CalculatorService.class.getMethod("negate", int.class);
+        Assert.assertFalse(advisor.getPointcut().getMethodMatcher().matches(negate, CalculatorServiceImpl.class));
+
+        advisor.setExpression("execution(* org.qlspringframework.test.service.CalculatorService.negate(..))");
+        Assert.assertTrue(advisor.getPointcut().getMethodMatcher().matches(negate, CalculatorServiceImpl.class));
+    }
+}
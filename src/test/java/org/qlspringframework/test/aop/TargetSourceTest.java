@@ -0,0 +1,295 @@
+package org.qlspringframework.test.aop;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.TargetSource;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.qlspringframework.aop.framework.CglibDynamicAopProxy;
+import org.qlspringframework.aop.framework.JdkDynamicAopProxy;
+import org.qlspringframework.aop.target.HotSwappableTargetSource;
+import org.qlspringframework.aop.target.LazyInitTargetSource;
+import org.qlspringframework.aop.target.PoolingTargetSource;
+import org.qlspringframework.aop.target.ThreadLocalTargetSource;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.test.service.CalculatorService;
+import org.qlspringframework.test.service.CalculatorServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author jixu
+ * @title TargetSourceTest
+ * @date 2025/6/17 11:20
+ */
+public class TargetSourceTest {
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Test
+    public void testPoolingWithJdkProxy(){
+        PoolingTargetSource targetSource = createPool(2);
+        CalculatorService proxy = (CalculatorService) new JdkDynamicAopProxy(createAdvisedSupport(targetSource)).getProxy();
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(3, proxy.add(1, 2));
+            Assert.assertEquals(-1, proxy.negate(1));
+        }
+        Assert.assertEquals(1, created.get());
+        Assert.assertEquals(6, targetSource.getBorrowCount());
+        Assert.assertEquals(5, targetSource.getHitCount());
+        Assert.assertEquals(0, targetSource.getActiveCount());
+        Assert.assertEquals(1, targetSource.getIdleCount());
+    }
+
+    @Test
+    public void testPoolingWithCglibProxy(){
+        PoolingTargetSource targetSource = createPool(2);
+        CalculatorService proxy = (CalculatorService) new CglibDynamicAopProxy(createAdvisedSupport(targetSource)).getProxy();
+
+        Assert.assertEquals(3, proxy.add(1, 2));
+        // 未被拦截的方法同样需要借出和归还目标对象
+        Assert.assertEquals(-1, proxy.negate(1));
+        try {
+            proxy.divide(1, 0);
+            Assert.fail();
+        } catch (ArithmeticException expected) {
+        }
+        Assert.assertEquals(1, created.get());
+        Assert.assertEquals(3, targetSource.getBorrowCount());
+        Assert.assertEquals(0, targetSource.getActiveCount());
+    }
+
+    @Test
+    public void testPoolBoundedUnderConcurrency() throws Exception {
+        PoolingTargetSource targetSource = createPool(2);
+        CalculatorService proxy = (CalculatorService) new JdkDynamicAopProxy(createAdvisedSupport(targetSource)).getProxy();
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        Assert.assertEquals(j + 1, proxy.add(j, 1));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertTrue(created.get() <= 2);
+        Assert.assertEquals(4000, targetSource.getBorrowCount());
+        Assert.assertEquals(0, targetSource.getActiveCount());
+    }
+
+    @Test
+    public void testPoolExhausted(){
+        PoolingTargetSource targetSource = createPool(1);
+        targetSource.setMaxWait(10);
+        Object target = targetSource.getTarget();
+        try {
+            targetSource.getTarget();
+            Assert.fail();
+        } catch (BeansException expected) {
+        }
+        Assert.assertEquals(1, targetSource.getWaitCount());
+
+        targetSource.releaseTarget(target);
+        Assert.assertSame(target, targetSource.getTarget());
+    }
+
+    @Test
+    public void testPoolIdleBounds(){
+        PoolingTargetSource targetSource = createPool(4);
+        targetSource.setMinIdle(2);
+        targetSource.setMaxIdle(2);
+        targetSource.afterPropertiesSet();
+        Assert.assertEquals(2, created.get());
+        Assert.assertEquals(2, targetSource.getIdleCount());
+
+        Object[] targets = new Object[4];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = targetSource.getTarget();
+        }
+        Assert.assertEquals(4, created.get());
+        for (Object target : targets) {
+            targetSource.releaseTarget(target);
+        }
+        // 超出maxIdle的对象在归还时销毁
+        Assert.assertEquals(2, targetSource.getIdleCount());
+        Assert.assertEquals(2, targetSource.getDestroyedCount());
+
+        targetSource.destroy();
+        Assert.assertEquals(0, targetSource.getIdleCount());
+        Assert.assertEquals(4, targetSource.getDestroyedCount());
+    }
+
+    @Test
+    public void testThreadLocalTargetSource() throws Exception {
+        ThreadLocalTargetSource targetSource = new ThreadLocalTargetSource(CalculatorServiceImpl.class, this::newTarget);
+        CalculatorService proxy = (CalculatorService) new CglibDynamicAopProxy(createAdvisedSupport(targetSource)).getProxy();
+
+        String mainTarget = proxy.toString();
+        Assert.assertEquals(mainTarget, proxy.toString());
+        Assert.assertEquals(3, proxy.add(1, 2));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String otherTarget = executor.submit(proxy::toString).get();
+            Assert.assertNotEquals(mainTarget, otherTarget);
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(2, targetSource.getObjectCount());
+        Assert.assertEquals(4, targetSource.getInvocationCount());
+        Assert.assertEquals(2, targetSource.getHitCount());
+
+        targetSource.destroy();
+        Assert.assertEquals(0, targetSource.getObjectCount());
+    }
+
+    @Test
+    public void testThreadLocalTargetSourceDestroyed() throws Exception {
+        ThreadLocalTargetSource targetSource = new ThreadLocalTargetSource(CalculatorServiceImpl.class, this::newTarget);
+        CalculatorService proxy = (CalculatorService) new CglibDynamicAopProxy(createAdvisedSupport(targetSource)).getProxy();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assert.assertEquals(3, (int) executor.submit(() -> proxy.add(1, 2)).get());
+            // 在主线程销毁，其他线程ThreadLocal中的目标对象已经被销毁，不能再返回
+            targetSource.destroy();
+            try {
+                executor.submit(() -> proxy.add(1, 2)).get();
+                Assert.fail();
+            } catch (ExecutionException expected) {
+                Assert.assertTrue(expected.getCause() instanceof BeansException);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        try {
+            proxy.add(1, 2);
+            Assert.fail();
+        } catch (BeansException expected) {
+        }
+        Assert.assertEquals(1, created.get());
+        Assert.assertEquals(0, targetSource.getObjectCount());
+    }
+
+    @Test
+    public void testHotSwappableTargetSource(){
+        CalculatorServiceImpl first = new CalculatorServiceImpl();
+        HotSwappableTargetSource targetSource = new HotSwappableTargetSource(first);
+        CalculatorService jdkProxy = (CalculatorService) new JdkDynamicAopProxy(createAdvisedSupport(targetSource)).getProxy();
+        CalculatorService cglibProxy = (CalculatorService) new CglibDynamicAopProxy(createAdvisedSupport(targetSource)).getProxy();
+        Assert.assertEquals(first.toString(), jdkProxy.toString());
+        Assert.assertEquals(first.toString(), cglibProxy.toString());
+
+        CalculatorServiceImpl second = new CalculatorServiceImpl() {
+            @Override
+            public int add(int a, int b) {
+                return a + b + 100;
+            }
+        };
+        Assert.assertSame(first, targetSource.swap(second));
+        Assert.assertEquals(103, jdkProxy.add(1, 2));
+        Assert.assertEquals(103, cglibProxy.add(1, 2));
+        Assert.assertEquals(second.toString(), cglibProxy.toString());
+
+        try {
+            targetSource.swap(new Object());
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testHotSwapRequiresTargetClassForCglib(){
+        HotSwappableTargetSource targetSource = new HotSwappableTargetSource(new CalculatorServiceImpl());
+        AdvisedSupport advisedSupport = createAdvisedSupport(targetSource);
+        CalculatorService jdkProxy = (CalculatorService) new JdkDynamicAopProxy(advisedSupport).getProxy();
+        CalculatorService otherImplementation = new CalculatorService() {
+            @Override
+            public int add(int a, int b) {
+                return a + b + 100;
+            }
+
+            @Override
+            public int negate(int a) {
+                return -a;
+            }
+
+            @Override
+            public int divide(int a, int b) {
+                return a / b;
+            }
+        };
+
+        // 代理配置默认开启proxyTargetClass，实现了相同接口但不是原目标类型的实例时拒绝替换
+        try {
+            targetSource.swap(otherImplementation);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        Assert.assertEquals(3, jdkProxy.add(1, 2));
+
+        // 其他开启了proxyTargetClass的代理配置使用同一个目标源时同样拒绝替换
+        advisedSupport.setProxyTargetClass(false);
+        AdvisedSupport cglibAdvisedSupport = createAdvisedSupport(targetSource);
+        try {
+            targetSource.swap(otherImplementation);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // 只用于JDK动态代理时允许替换为同一接口的其他实现
+        cglibAdvisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        targetSource.swap(otherImplementation);
+        Assert.assertEquals(103, jdkProxy.add(1, 2));
+    }
+
+    @Test
+    public void testLazyInitTargetSource(){
+        LazyInitTargetSource targetSource = new LazyInitTargetSource(CalculatorServiceImpl.class, this::newTarget);
+        CalculatorService jdkProxy = (CalculatorService) new JdkDynamicAopProxy(createAdvisedSupport(targetSource)).getProxy();
+        CalculatorService cglibProxy = (CalculatorService) new CglibDynamicAopProxy(createAdvisedSupport(targetSource)).getProxy();
+        // 创建代理对象不会获取目标对象
+        Assert.assertFalse(targetSource.isInitialized());
+        Assert.assertEquals(0, created.get());
+
+        Assert.assertEquals(-1, cglibProxy.negate(1));
+        Assert.assertEquals(3, jdkProxy.add(1, 2));
+        Assert.assertEquals(3, cglibProxy.add(1, 2));
+        Assert.assertTrue(targetSource.isInitialized());
+        Assert.assertEquals(1, created.get());
+    }
+
+    private PoolingTargetSource createPool(int maxSize) {
+        return new PoolingTargetSource(CalculatorServiceImpl.class, this::newTarget, maxSize);
+    }
+
+    private Object newTarget() {
+        created.incrementAndGet();
+        return new CalculatorServiceImpl();
+    }
+
+    private AdvisedSupport createAdvisedSupport(TargetSource targetSource) {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression("execution(* org.qlspringframework.test.service.CalculatorService.add(..))");
+        advisor.setAdvice((MethodInterceptor) invocation -> invocation.proceed());
+
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(targetSource);
+        advisedSupport.addAdvisor(advisor);
+        return advisedSupport;
+    }
+}
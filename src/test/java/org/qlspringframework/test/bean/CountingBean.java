@@ -0,0 +1,37 @@
+package org.qlspringframework.test.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 记录实例化和初始化次数的Bean，用于验证多线程下单例Bean只会被创建一次
+ *
+ * @author jixu
+ * @title CountingBean
+ * @date 2025/6/13 10:12
+ */
+public class CountingBean {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public static final AtomicInteger INITIALIZATIONS = new AtomicInteger();
+
+    private CountingBean peer;
+
+    public CountingBean() {
+        INSTANCES.incrementAndGet();
+    }
+
+    public void init() {
+        INITIALIZATIONS.incrementAndGet();
+        // 放大并发创建的时间窗口
+        Thread.yield();
+    }
+
+    public CountingBean getPeer() {
+        return peer;
+    }
+
+    public void setPeer(CountingBean peer) {
+        this.peer = peer;
+    }
+}
@@ -0,0 +1,28 @@
+package org.qlspringframework.test.bean;
+
+import org.qlspringframework.beans.factory.annotation.Autowired;
+import org.qlspringframework.beans.factory.annotation.Qualifier;
+import org.qlspringframework.beans.factory.annotation.Value;
+
+/**
+ * @author jixu
+ * @title Dog
+ * @date 2025/6/11 11:05
+ */
+public class Dog extends Pet {
+
+    @Value("3")
+    private Integer age;
+
+    @Autowired
+    @Qualifier("car")
+    private Car favoriteCar;
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public Car getFavoriteCar() {
+        return favoriteCar;
+    }
+}
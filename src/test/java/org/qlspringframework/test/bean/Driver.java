@@ -0,0 +1,48 @@
+package org.qlspringframework.test.bean;
+
+/**
+ * @author jixu
+ * @title Driver
+ * @date 2025/6/11 14:20
+ */
+public class Driver {
+
+    private String name;
+
+    private Integer age;
+
+    private Car car;
+
+    public Driver() {
+    }
+
+    public Driver(String name, Integer age, Car car) {
+        this.name = name;
+        this.age = age;
+        this.car = car;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public Car getCar() {
+        return car;
+    }
+
+    public void setCar(Car car) {
+        this.car = car;
+    }
+}
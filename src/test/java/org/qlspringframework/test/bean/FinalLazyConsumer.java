@@ -0,0 +1,18 @@
+package org.qlspringframework.test.bean;
+
+import org.qlspringframework.beans.factory.annotation.Autowired;
+import org.qlspringframework.beans.factory.annotation.Lazy;
+
+/**
+ * @Lazy 注入final类型，无法创建代理
+ *
+ * @author jixu
+ * @title FinalLazyConsumer
+ * @date 2025/6/13 15:16
+ */
+public class FinalLazyConsumer {
+
+    @Autowired
+    @Lazy
+    private String name;
+}
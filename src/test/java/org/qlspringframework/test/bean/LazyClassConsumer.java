@@ -0,0 +1,20 @@
+package org.qlspringframework.test.bean;
+
+import org.qlspringframework.beans.factory.annotation.Autowired;
+import org.qlspringframework.beans.factory.annotation.Lazy;
+
+/**
+ * @author jixu
+ * @title LazyClassConsumer
+ * @date 2025/6/13 15:14
+ */
+public class LazyClassConsumer {
+
+    @Autowired
+    @Lazy
+    private LazyGreeter greeter;
+
+    public LazyGreeter getGreeter() {
+        return greeter;
+    }
+}
@@ -0,0 +1,14 @@
+package org.qlspringframework.test.bean;
+
+import org.qlspringframework.beans.factory.annotation.Lazy;
+import org.qlspringframework.stereotype.Component;
+
+/**
+ * @author jixu
+ * @title LazyComponent
+ * @date 2025/6/13 15:12
+ */
+@Lazy
+@Component
+public class LazyComponent {
+}
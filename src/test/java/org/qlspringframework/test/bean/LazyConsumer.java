@@ -0,0 +1,21 @@
+package org.qlspringframework.test.bean;
+
+import org.qlspringframework.beans.factory.annotation.Autowired;
+import org.qlspringframework.beans.factory.annotation.Lazy;
+import org.qlspringframework.test.service.WorldService;
+
+/**
+ * @author jixu
+ * @title LazyConsumer
+ * @date 2025/6/13 15:10
+ */
+public class LazyConsumer {
+
+    @Autowired
+    @Lazy
+    private WorldService worldService;
+
+    public WorldService getWorldService() {
+        return worldService;
+    }
+}
@@ -0,0 +1,26 @@
+package org.qlspringframework.test.bean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 没有无参构造函数的类，用于测试@Lazy 注入类类型的代理
+ *
+ * @author jixu
+ * @title LazyGreeter
+ * @date 2025/6/13 15:12
+ */
+public class LazyGreeter {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final String name;
+
+    public LazyGreeter(String name) {
+        this.name = name;
+        INSTANCES.incrementAndGet();
+    }
+
+    public String greet() {
+        return "hello " + name;
+    }
+}
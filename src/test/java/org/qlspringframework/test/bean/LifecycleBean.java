@@ -0,0 +1,49 @@
+package org.qlspringframework.test.bean;
+
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.beans.factory.InitializingBean;
+import org.qlspringframework.beans.factory.annotation.PostConstruct;
+import org.qlspringframework.beans.factory.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 记录生命周期方法调用顺序的Bean
+ *
+ * @author jixu
+ * @title LifecycleBean
+ * @date 2025/6/14 15:40
+ */
+public class LifecycleBean implements InitializingBean, DisposableBean {
+
+    public static final List<String> EVENTS = new ArrayList<>();
+
+    @PostConstruct
+    private void postConstruct() {
+        EVENTS.add("postConstruct");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        EVENTS.add("afterPropertiesSet");
+    }
+
+    public void init() {
+        EVENTS.add("init");
+    }
+
+    @PreDestroy
+    public void preDestroy() {
+        EVENTS.add("preDestroy");
+    }
+
+    @Override
+    public void destroy() {
+        EVENTS.add("destroy");
+    }
+
+    public void close() {
+        EVENTS.add("close");
+    }
+}
@@ -0,0 +1,26 @@
+package org.qlspringframework.test.bean;
+
+import org.qlspringframework.beans.factory.annotation.Autowired;
+import org.qlspringframework.beans.factory.annotation.Value;
+
+/**
+ * @author jixu
+ * @title Pet
+ * @date 2025/6/11 11:02
+ */
+public class Pet {
+
+    @Value("${owner}")
+    private String owner;
+
+    @Autowired
+    private Car car;
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public Car getCar() {
+        return car;
+    }
+}
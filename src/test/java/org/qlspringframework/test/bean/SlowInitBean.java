@@ -0,0 +1,52 @@
+package org.qlspringframework.test.bean;
+
+import org.qlspringframework.beans.factory.InitializingBean;
+
+/**
+ * 初始化较慢的Bean，用于模拟初始化时建立连接池、预热缓存等耗时操作
+ *
+ * @author jixu
+ * @title SlowInitBean
+ * @date 2025/6/10 16:02
+ */
+public class SlowInitBean implements InitializingBean {
+
+    private SlowInitBean dependency;
+
+    private long initMillis;
+
+    private volatile boolean initialized;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (dependency != null && !dependency.isInitialized()){
+            throw new IllegalStateException("dependency is not initialized");
+        }
+        try {
+            Thread.sleep(initMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        initialized = true;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public SlowInitBean getDependency() {
+        return dependency;
+    }
+
+    public void setDependency(SlowInitBean dependency) {
+        this.dependency = dependency;
+    }
+
+    public long getInitMillis() {
+        return initMillis;
+    }
+
+    public void setInitMillis(long initMillis) {
+        this.initMillis = initMillis;
+    }
+}
@@ -0,0 +1,139 @@
+package org.qlspringframework.test.benchmark;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.Test;
+import org.qlspringframework.aop.AdvisedSupport;
+import org.qlspringframework.aop.AfterReturningAdvice;
+import org.qlspringframework.aop.MethodBeforeAdvice;
+import org.qlspringframework.aop.ThrowsAdvice;
+import org.qlspringframework.aop.TargetSource;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcut;
+import org.qlspringframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.qlspringframework.aop.framework.CglibDynamicAopProxy;
+import org.qlspringframework.aop.framework.JdkDynamicAopProxy;
+import org.qlspringframework.test.service.CalculatorService;
+import org.qlspringframework.test.service.CalculatorServiceImpl;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * AOP代理方法调用吞吐量测试
+ * 分别测试直接调用、JDK代理、Cglib代理在被拦截方法（add）和未被拦截方法（negate）上的调用吞吐量，
+ * 以及五个拦截器组成的拦截器链、经过适配器转换的前置/返回/异常通知的调用吞吐量和每次调用分配的内存
+ * 不属于默认测试集，通过 mvn test -Dtest=AopProxyBenchmark 手动运行
+ *
+ * @author jixu
+ * @title AopProxyBenchmark
+ * @date 2025/6/15 14:30
+ */
+public class AopProxyBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static final int MEASURE_ROUNDS = 5;
+
+    private static final long ROUND_NANOS = 500_000_000L;
+
+    // 防止JIT消除调用
+    private static int sink;
+
+    @Test
+    public void benchmarkProxyInvocation(){
+        CalculatorService raw = new CalculatorServiceImpl();
+        CalculatorService jdkProxy = (CalculatorService) new JdkDynamicAopProxy(createAdvisedSupport()).getProxy();
+        CalculatorService cglibProxy = (CalculatorService) new CglibDynamicAopProxy(createAdvisedSupport()).getProxy();
+
+        measure("raw advised", () -> raw.add(1, 2));
+        measure("raw unadvised", () -> raw.negate(1));
+        measure("jdk advised", () -> jdkProxy.add(1, 2));
+        measure("jdk unadvised", () -> jdkProxy.negate(1));
+        measure("cglib advised", () -> cglibProxy.add(1, 2));
+        measure("cglib unadvised", () -> cglibProxy.negate(1));
+
+        CalculatorService jdkChainProxy = (CalculatorService) new JdkDynamicAopProxy(createChainAdvisedSupport()).getProxy();
+        CalculatorService cglibChainProxy = (CalculatorService) new CglibDynamicAopProxy(createChainAdvisedSupport()).getProxy();
+        measure("jdk 5 advisors", () -> jdkChainProxy.add(1, 2));
+        measure("cglib 5 advisors", () -> cglibChainProxy.add(1, 2));
+
+        CalculatorService jdkAdaptedProxy = (CalculatorService) new JdkDynamicAopProxy(createAdaptedAdvisedSupport()).getProxy();
+        CalculatorService cglibAdaptedProxy = (CalculatorService) new CglibDynamicAopProxy(createAdaptedAdvisedSupport()).getProxy();
+        measure("jdk adapted", () -> jdkAdaptedProxy.add(1, 2));
+        measure("cglib adapted", () -> cglibAdaptedProxy.add(1, 2));
+    }
+
+    /**
+     * 前置、返回、异常通知各一个，通过适配器转换为拦截器
+     */
+    private AdvisedSupport createAdaptedAdvisedSupport() {
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        Advice[] advices = new Advice[]{
+                (MethodBeforeAdvice) (method, args, target) -> sink++,
+                (AfterReturningAdvice) (returnValue, method, args, target) -> sink++,
+                (ThrowsAdvice) (method, args, target, ex) -> sink++
+        };
+        for (Advice advice : advices) {
+            AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+            advisor.setExpression("execution(* org.qlspringframework.test.service.CalculatorService.add(..))");
+            advisor.setAdvice(advice);
+            advisedSupport.addAdvisor(advisor);
+        }
+        return advisedSupport;
+    }
+
+    private AdvisedSupport createChainAdvisedSupport() {
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        for (int i = 0; i < 5; i++) {
+            AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+            advisor.setExpression("execution(* org.qlspringframework.test.service.CalculatorService.add(..))");
+            advisor.setAdvice((MethodInterceptor) invocation -> invocation.proceed());
+            advisedSupport.addAdvisor(advisor);
+        }
+        return advisedSupport;
+    }
+
+    private AdvisedSupport createAdvisedSupport() {
+        MethodInterceptor interceptor = invocation -> invocation.proceed();
+        AdvisedSupport advisedSupport = new AdvisedSupport();
+        advisedSupport.setTargetSource(new TargetSource(new CalculatorServiceImpl()));
+        advisedSupport.setMethodInterceptor(interceptor);
+        advisedSupport.setMethodMatcher(new AspectJExpressionPointcut(
+                "execution(* org.qlspringframework.test.service.CalculatorService.add(..))").getMethodMatcher());
+        return advisedSupport;
+    }
+
+    private void measure(String name, Call call) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(call);
+        }
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long total = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            total += round(call);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%-16s %,14d ops/s %8.1f bytes/op%n", name,
+                total * 1_000_000_000L / ROUND_NANOS / MEASURE_ROUNDS, (double) allocated / total);
+    }
+
+    private long round(Call call) {
+        long ops = 0;
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < ROUND_NANOS) {
+            for (int i = 0; i < 100; i++) {
+                sink += call.invoke();
+            }
+            ops += 100;
+        }
+        return ops;
+    }
+
+    private interface Call {
+
+        int invoke();
+    }
+}
@@ -0,0 +1,107 @@
+package org.qlspringframework.test.benchmark;
+
+import org.junit.Test;
+import org.qlspringframework.beans.PropertyValue;
+import org.qlspringframework.beans.PropertyValues;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanPostProcessor;
+import org.qlspringframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.qlspringframework.beans.factory.config.SelectiveBeanPostProcessor;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.test.bean.Car;
+import org.qlspringframework.test.bean.Dog;
+
+/**
+ * 注册50个BeanPostProcessor时原型Bean获取吞吐量测试
+ * 其中10个为InstantiationAwareBeanPostProcessor，10个为普通BeanPostProcessor，30个只处理Dog类型的SelectiveBeanPostProcessor
+ * 不属于默认测试集，通过 mvn test -Dtest=BeanPostProcessorPipelineBenchmark 手动运行
+ *
+ * @author jixu
+ * @title BeanPostProcessorPipelineBenchmark
+ * @date 2025/6/15 11:00
+ */
+public class BeanPostProcessorPipelineBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 5;
+
+    private static final long ROUND_NANOS = 1_000_000_000L;
+
+    @Test
+    public void benchmarkPrototypeGetBeanWithPostProcessors(){
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        for (int i = 0; i < 10; i++) {
+            beanFactory.addBeanPostProcessor(new NoOpInstantiationAwareBeanPostProcessor());
+            beanFactory.addBeanPostProcessor(new NoOpBeanPostProcessor());
+        }
+        for (int i = 0; i < 30; i++) {
+            beanFactory.addBeanPostProcessor(new DogOnlyBeanPostProcessor());
+        }
+
+        PropertyValues carValues = new PropertyValues();
+        carValues.addPropertyValue(new PropertyValue("name", "bmw"));
+        BeanDefinition carDefinition = new BeanDefinition(Car.class, carValues);
+        carDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("car", carDefinition);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(beanFactory);
+        }
+        long total = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long ops = round(beanFactory);
+            total += ops;
+            System.out.printf("round %d: %d ops/s%n", i, ops);
+        }
+        System.out.printf("prototype getBean with 50 post processors: %d ops/s (avg of %d rounds)%n", total / MEASURE_ROUNDS, MEASURE_ROUNDS);
+    }
+
+    private long round(DefaultListableBeanFactory beanFactory) {
+        long ops = 0;
+        long start = System.nanoTime();
+        Object sink = null;
+        while (System.nanoTime() - start < ROUND_NANOS) {
+            sink = beanFactory.getBean("car");
+            ops++;
+        }
+        if (sink == null) {
+            throw new IllegalStateException();
+        }
+        return ops;
+    }
+
+    private static class NoOpBeanPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return bean;
+        }
+    }
+
+    private static class NoOpInstantiationAwareBeanPostProcessor extends NoOpBeanPostProcessor implements InstantiationAwareBeanPostProcessor {
+
+        @Override
+        public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+            return null;
+        }
+
+        @Override
+        public PropertyValues postProcessPropertyValues(PropertyValues propertyValues, Object bean, String beanName) {
+            return null;
+        }
+    }
+
+    private static class DogOnlyBeanPostProcessor extends NoOpBeanPostProcessor implements SelectiveBeanPostProcessor {
+
+        @Override
+        public boolean supportsBeanType(Class<?> beanType) {
+            return Dog.class.isAssignableFrom(beanType);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.qlspringframework.test.benchmark;
+
+import org.junit.Test;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.context.BatchApplicationListener;
+import org.qlspringframework.context.event.ApplicationEventMulticaster;
+import org.qlspringframework.context.event.EventListener;
+import org.qlspringframework.context.event.EventListenerMethodProcessor;
+import org.qlspringframework.context.event.RingBufferApplicationEventMulticaster;
+import org.qlspringframework.context.event.SimpleApplicationEventMulticaster;
+
+import java.util.List;
+
+/**
+ * 事件广播吞吐量测试
+ * 注册200个监听器（4种监听类型各50个），每轮依次发布三种事件共1,000,000个
+ * 分别测试同步广播、基于环形缓冲区的异步批量广播以及通过@EventListener方法注册的监听器
+ * 不属于默认测试集，通过 mvn test -Dtest=EventMulticasterBenchmark 手动运行
+ *
+ * @author jixu
+ * @title EventMulticasterBenchmark
+ * @date 2025/6/18 17:00
+ */
+public class EventMulticasterBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2;
+
+    private static final int MEASURE_ROUNDS = 3;
+
+    private static final int EVENTS_PER_ROUND = 1_000_000;
+
+    // 防止JIT消除调用
+    private static long sink;
+
+    @Test
+    public void benchmarkMulticastEvent(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        addListeners(multicaster);
+        measure("multicast", multicaster, () -> {
+        });
+    }
+
+    /**
+     * 50个Bean各声明4个@EventListener方法，同样是200个监听器
+     */
+    @Test
+    public void benchmarkEventListenerMethods(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        EventListenerMethodProcessor processor = new EventListenerMethodProcessor(new DefaultListableBeanFactory(), multicaster);
+        for (int i = 0; i < 50; i++) {
+            processor.registerEventListenerMethods("annotatedListeners" + i, new AnnotatedListeners());
+        }
+        measure("@EventListener", multicaster, () -> {
+        });
+    }
+
+    /**
+     * 环形缓冲区广播器，每轮统计从开始发布到消费线程处理完所有事件的时间
+     */
+    @Test
+    public void benchmarkRingBufferMulticastEvent(){
+        RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+        multicaster.setBufferSize(4096);
+        addListeners(multicaster);
+        CountingBatchListener counter = new CountingBatchListener();
+        multicaster.addApplicationListener(counter);
+        multicaster.afterPropertiesSet();
+
+        measure("ring buffer", multicaster, () -> {
+            long expected = counter.expected += EVENTS_PER_ROUND;
+            while (counter.count < expected) {
+                Thread.yield();
+            }
+        });
+        multicaster.destroy();
+    }
+
+    private void addListeners(ApplicationEventMulticaster multicaster) {
+        for (int i = 0; i < 50; i++) {
+            multicaster.addApplicationListener(new OrderListener());
+            multicaster.addApplicationListener(new PaymentListener());
+            multicaster.addApplicationListener(new RefundListener());
+            multicaster.addApplicationListener(new AllEventListener());
+        }
+    }
+
+    private void measure(String name, ApplicationEventMulticaster multicaster, Runnable awaitCompletion) {
+        ApplicationEvent[] events = new ApplicationEvent[]{
+                new OrderEvent(this), new PaymentEvent(this), new RefundEvent(this)
+        };
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(multicaster, events, awaitCompletion);
+        }
+        long totalNanos = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long nanos = round(multicaster, events, awaitCompletion);
+            totalNanos += nanos;
+            System.out.printf("%s round %d: %,d events/s%n", name, i, EVENTS_PER_ROUND * 1_000_000_000L / nanos);
+        }
+        System.out.printf("%s 1M events across 200 listeners: %,d events/s (avg of %d rounds)%n",
+                name, EVENTS_PER_ROUND * 1_000_000_000L * MEASURE_ROUNDS / totalNanos, MEASURE_ROUNDS);
+    }
+
+    private long round(ApplicationEventMulticaster multicaster, ApplicationEvent[] events, Runnable awaitCompletion) {
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS_PER_ROUND; i++) {
+            multicaster.multicastEvent(events[i % events.length]);
+        }
+        awaitCompletion.run();
+        return System.nanoTime() - start;
+    }
+
+    public static class OrderEvent extends ApplicationEvent {
+
+        public OrderEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class PaymentEvent extends ApplicationEvent {
+
+        public PaymentEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class RefundEvent extends PaymentEvent {
+
+        public RefundEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class OrderListener implements ApplicationListener<OrderEvent> {
+
+        @Override
+        public void onApplicationEvent(OrderEvent event) {
+            sink++;
+        }
+    }
+
+    public static class PaymentListener implements ApplicationListener<PaymentEvent> {
+
+        @Override
+        public void onApplicationEvent(PaymentEvent event) {
+            sink++;
+        }
+    }
+
+    public static class RefundListener implements ApplicationListener<RefundEvent> {
+
+        @Override
+        public void onApplicationEvent(RefundEvent event) {
+            sink++;
+        }
+    }
+
+    public static class AllEventListener implements ApplicationListener<ApplicationEvent> {
+
+        @Override
+        public void onApplicationEvent(ApplicationEvent event) {
+            sink++;
+        }
+    }
+
+    public static class AnnotatedListeners {
+
+        @EventListener
+        public void onOrder(OrderEvent event) {
+            sink++;
+        }
+
+        @EventListener
+        public void onPayment(PaymentEvent event) {
+            sink++;
+        }
+
+        @EventListener
+        public void onRefund(RefundEvent event) {
+            sink++;
+        }
+
+        @EventListener
+        public void onAll(ApplicationEvent event) {
+            sink++;
+        }
+    }
+
+    /**
+     * 统计消费线程已经处理的事件数量，只由一个消费线程写入
+     */
+    public static class CountingBatchListener implements BatchApplicationListener<ApplicationEvent> {
+
+        volatile long count;
+
+        long expected;
+
+        @Override
+        public void onApplicationEvents(List<ApplicationEvent> events) {
+            count += events.size();
+        }
+    }
+}
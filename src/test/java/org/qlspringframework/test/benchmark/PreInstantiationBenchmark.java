@@ -0,0 +1,52 @@
+package org.qlspringframework.test.benchmark;
+
+import org.junit.Test;
+import org.qlspringframework.beans.PropertyValue;
+import org.qlspringframework.beans.PropertyValues;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanReference;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.test.bean.SlowInitBean;
+
+/**
+ * 单例Bean并行预实例化启动耗时测试
+ * 不属于默认测试集，通过 mvn test -Dtest=PreInstantiationBenchmark 手动运行
+ *
+ * @author jixu
+ * @title PreInstantiationBenchmark
+ * @date 2025/6/10 16:30
+ */
+public class PreInstantiationBenchmark {
+
+    private static final int BEAN_COUNT = 400;
+
+    private static final int CHAIN_LENGTH = 4;
+
+    private static final long INIT_MILLIS = 5;
+
+    @Test
+    public void benchmarkPreInstantiation(){
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism <= Math.max(8, cores); parallelism *= 2) {
+            long cost = refresh(parallelism);
+            System.out.printf("parallelism=%-3d beans=%d cost=%dms%n", parallelism, BEAN_COUNT, cost);
+        }
+    }
+
+    private long refresh(int parallelism) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setPreInstantiationParallelism(parallelism);
+        for (int i = 0; i < BEAN_COUNT; i++) {
+            PropertyValues propertyValues = new PropertyValues();
+            propertyValues.addPropertyValue(new PropertyValue("initMillis", INIT_MILLIS));
+            if (i % CHAIN_LENGTH != 0){
+                propertyValues.addPropertyValue(new PropertyValue("dependency", new BeanReference("bean" + (i - 1))));
+            }
+            beanFactory.registerBeanDefinition("bean" + i, new BeanDefinition(SlowInitBean.class, propertyValues));
+        }
+
+        long start = System.nanoTime();
+        beanFactory.preInstantiateSingletons();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
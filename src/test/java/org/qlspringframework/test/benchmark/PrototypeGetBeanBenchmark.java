@@ -0,0 +1,71 @@
+package org.qlspringframework.test.benchmark;
+
+import org.junit.Test;
+import org.qlspringframework.beans.PropertyValue;
+import org.qlspringframework.beans.PropertyValues;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanReference;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.core.convert.supper.DefaultConversionService;
+import org.qlspringframework.test.bean.Car;
+import org.qlspringframework.test.bean.Driver;
+
+/**
+ * 原型Bean获取吞吐量测试
+ * 不属于默认测试集，通过 mvn test -Dtest=PrototypeGetBeanBenchmark 手动运行
+ *
+ * @author jixu
+ * @title PrototypeGetBeanBenchmark
+ * @date 2025/6/11 14:30
+ */
+public class PrototypeGetBeanBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final int MEASURE_ROUNDS = 5;
+
+    private static final long ROUND_NANOS = 1_000_000_000L;
+
+    @Test
+    public void benchmarkPrototypeGetBean(){
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setConversionService(new DefaultConversionService());
+
+        PropertyValues carValues = new PropertyValues();
+        carValues.addPropertyValue(new PropertyValue("name", "bmw"));
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class, carValues));
+
+        PropertyValues driverValues = new PropertyValues();
+        driverValues.addPropertyValue(new PropertyValue("name", "jixu"));
+        driverValues.addPropertyValue(new PropertyValue("age", "18"));
+        driverValues.addPropertyValue(new PropertyValue("car", new BeanReference("car")));
+        BeanDefinition driverDefinition = new BeanDefinition(Driver.class, driverValues);
+        driverDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("driver", driverDefinition);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(beanFactory);
+        }
+        long total = 0;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long ops = round(beanFactory);
+            total += ops;
+            System.out.printf("round %d: %d ops/s%n", i, ops);
+        }
+        System.out.printf("prototype getBean: %d ops/s (avg of %d rounds)%n", total / MEASURE_ROUNDS, MEASURE_ROUNDS);
+    }
+
+    private long round(DefaultListableBeanFactory beanFactory) {
+        long ops = 0;
+        long start = System.nanoTime();
+        Object sink = null;
+        while (System.nanoTime() - start < ROUND_NANOS) {
+            sink = beanFactory.getBean("driver");
+            ops++;
+        }
+        if (sink == null) {
+            throw new IllegalStateException();
+        }
+        return ops;
+    }
+}
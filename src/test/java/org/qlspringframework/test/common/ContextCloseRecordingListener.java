@@ -0,0 +1,40 @@
+package org.qlspringframework.test.common;
+
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.context.event.ContextCloseEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 记录收到容器关闭事件与被销毁的先后顺序
+ *
+ * @author jixu
+ * @title ContextCloseRecordingListener
+ * @date 2025/6/19 17:20
+ */
+public class ContextCloseRecordingListener implements ApplicationListener<ContextCloseEvent>, DisposableBean {
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onApplicationEvent(ContextCloseEvent event) {
+        try {
+            // 模拟较慢的监听器，容器关闭时不能先于事件处理被销毁
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        calls.add("close");
+    }
+
+    @Override
+    public void destroy() {
+        calls.add("destroy");
+    }
+
+    public List<String> getCalls() {
+        return calls;
+    }
+}
@@ -0,0 +1,25 @@
+package org.qlspringframework.test.common;
+
+import org.qlspringframework.aop.MethodBeforeAdvice;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author jixu
+ * @title CountingBeforeAdvice
+ * @date 2025/6/19 18:05
+ */
+public class CountingBeforeAdvice implements MethodBeforeAdvice {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public void before(Method method, Object[] args, Object target) {
+        count.incrementAndGet();
+    }
+
+    public int getCount() {
+        return count.get();
+    }
+}
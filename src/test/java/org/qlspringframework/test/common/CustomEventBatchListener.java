@@ -0,0 +1,25 @@
+package org.qlspringframework.test.common;
+
+import org.qlspringframework.context.BatchApplicationListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author jixu
+ * @title CustomEventBatchListener
+ * @date 2025/6/19 11:20
+ */
+public class CustomEventBatchListener implements BatchApplicationListener<CustomEvent> {
+
+    private final List<CustomEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void onApplicationEvents(List<CustomEvent> events) {
+        this.events.addAll(events);
+    }
+
+    public List<CustomEvent> getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,47 @@
+package org.qlspringframework.test.common;
+
+import org.qlspringframework.context.event.ContextCloseEvent;
+import org.qlspringframework.context.event.ContextRefreshedEvent;
+import org.qlspringframework.context.event.EventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author jixu
+ * @title CustomEventMethodListener
+ * @date 2025/6/19 16:30
+ */
+public class CustomEventMethodListener {
+
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    private boolean enabled = true;
+
+    @EventListener(order = 1)
+    public void onCustomEvent(CustomEvent event) {
+        calls.add("custom");
+    }
+
+    @EventListener(value = CustomEvent.class, condition = "isEnabled", order = 2)
+    public void onEnabledCustomEvent() {
+        calls.add("enabled");
+    }
+
+    @EventListener({ContextRefreshedEvent.class, ContextCloseEvent.class})
+    private void onContextEvent() {
+        calls.add("context");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getCalls() {
+        return calls;
+    }
+}
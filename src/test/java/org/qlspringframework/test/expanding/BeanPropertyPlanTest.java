@@ -0,0 +1,55 @@
+package org.qlspringframework.test.expanding;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.PropertyValue;
+import org.qlspringframework.beans.PropertyValues;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanReference;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.core.convert.supper.DefaultConversionService;
+import org.qlspringframework.test.bean.Car;
+import org.qlspringframework.test.bean.Driver;
+
+/**
+ * @author jixu
+ * @title BeanPropertyPlanTest
+ * @date 2025/6/11 15:40
+ */
+public class BeanPropertyPlanTest {
+
+    @Test
+    public void testPlanReusedAndInvalidated(){
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setConversionService(new DefaultConversionService());
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+
+        PropertyValues propertyValues = new PropertyValues();
+        propertyValues.addPropertyValue(new PropertyValue("name", "jixu"));
+        propertyValues.addPropertyValue(new PropertyValue("age", "18"));
+        propertyValues.addPropertyValue(new PropertyValue("car", new BeanReference("car")));
+        BeanDefinition beanDefinition = new BeanDefinition(Driver.class, propertyValues);
+        beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("driver", beanDefinition);
+
+        Driver first = beanFactory.getBean("driver", Driver.class);
+        Driver second = beanFactory.getBean("driver", Driver.class);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(Integer.valueOf(18), second.getAge());
+        Assert.assertSame(beanFactory.getBean("car"), second.getCar());
+
+        // 属性列表发生变化后重新生成计划，后添加的属性值覆盖先前的值
+        propertyValues.addPropertyValue(new PropertyValue("name", "qlspring"));
+        Assert.assertEquals("qlspring", beanFactory.getBean("driver", Driver.class).getName());
+
+        // 替换BeanDefinition后同样会重新生成计划
+        PropertyValues replaced = new PropertyValues();
+        replaced.addPropertyValue(new PropertyValue("age", "20"));
+        BeanDefinition replacedDefinition = new BeanDefinition(Driver.class, replaced);
+        replacedDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("driver", replacedDefinition);
+        Driver driver = beanFactory.getBean("driver", Driver.class);
+        Assert.assertEquals(Integer.valueOf(20), driver.getAge());
+        Assert.assertNull(driver.getName());
+    }
+}
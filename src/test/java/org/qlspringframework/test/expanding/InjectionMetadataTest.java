@@ -0,0 +1,45 @@
+package org.qlspringframework.test.expanding;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.core.convert.supper.DefaultConversionService;
+import org.qlspringframework.test.bean.Car;
+import org.qlspringframework.test.bean.Dog;
+
+/**
+ * @author jixu
+ * @title InjectionMetadataTest
+ * @date 2025/6/11 11:10
+ */
+public class InjectionMetadataTest {
+
+    @Test
+    public void testInjectSuperclassFields(){
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setConversionService(new DefaultConversionService());
+        beanFactory.addEmbeddedValueResolver(strVal -> strVal.replace("${owner}", "jixu"));
+
+        AutowiredAnnotationBeanPostProcessor postProcessor = new AutowiredAnnotationBeanPostProcessor();
+        postProcessor.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(postProcessor);
+
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+        BeanDefinition dogDefinition = new BeanDefinition(Dog.class);
+        dogDefinition.setScope("prototype");
+        beanFactory.registerBeanDefinition("dog", dogDefinition);
+
+        Car car = beanFactory.getBean("car", Car.class);
+        for (int i = 0; i < 3; i++) {
+            Dog dog = beanFactory.getBean("dog", Dog.class);
+            Assert.assertEquals("jixu", dog.getOwner());
+            Assert.assertEquals(Integer.valueOf(3), dog.getAge());
+            Assert.assertSame(car, dog.getCar());
+            Assert.assertSame(car, dog.getFavoriteCar());
+        }
+        // 字段直接注入，不再向BeanDefinition追加属性
+        Assert.assertEquals(0, dogDefinition.getPropertyValues().getPropertyValueList().length);
+    }
+}
@@ -0,0 +1,58 @@
+package org.qlspringframework.test.expanding;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.PropertyValue;
+import org.qlspringframework.beans.PropertyValues;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanReference;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.test.bean.A;
+import org.qlspringframework.test.bean.B;
+import org.qlspringframework.test.bean.SlowInitBean;
+
+/**
+ * @author jixu
+ * @title ParallelPreInstantiationTest
+ * @date 2025/6/10 16:10
+ */
+public class ParallelPreInstantiationTest {
+
+    @Test
+    public void testDependencyInitializedFirst(){
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setPreInstantiationParallelism(4);
+        for (int i = 0; i < 32; i++) {
+            PropertyValues propertyValues = new PropertyValues();
+            propertyValues.addPropertyValue(new PropertyValue("initMillis", 5L));
+            // 每4个Bean组成一条依赖链
+            if (i % 4 != 0){
+                propertyValues.addPropertyValue(new PropertyValue("dependency", new BeanReference("bean" + (i - 1))));
+            }
+            beanFactory.registerBeanDefinition("bean" + i, new BeanDefinition(SlowInitBean.class, propertyValues));
+        }
+
+        beanFactory.preInstantiateSingletons();
+
+        for (int i = 0; i < 32; i++) {
+            SlowInitBean bean = beanFactory.getBean("bean" + i, SlowInitBean.class);
+            Assert.assertTrue(bean.isInitialized());
+            if (i % 4 != 0){
+                Assert.assertSame(beanFactory.getBean("bean" + (i - 1)), bean.getDependency());
+            }
+        }
+    }
+
+    @Test
+    public void testCircularReference(){
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(new String[]{"classpath:circular-reference-without-proxy-bean.xml"}, false);
+        applicationContext.setPreInstantiationParallelism(4);
+        applicationContext.refresh();
+
+        A a = applicationContext.getBean("a", A.class);
+        B b = applicationContext.getBean("b", B.class);
+        Assert.assertSame(a, b.getA());
+        Assert.assertSame(b, a.getB());
+    }
+}
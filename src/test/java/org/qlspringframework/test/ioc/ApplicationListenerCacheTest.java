@@ -0,0 +1,217 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Test;
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.context.event.SimpleApplicationEventMulticaster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * 事件监听器按照事件类型缓存的测试
+ *
+ * @author jixu
+ * @title ApplicationListenerCacheTest
+ * @date 2025/6/18 17:40
+ */
+public class ApplicationListenerCacheTest {
+
+    @Test
+    public void testRouteByEventType(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        RecordingOrderListener orderListener = new RecordingOrderListener();
+        RecordingPaymentListener paymentListener = new RecordingPaymentListener();
+        RecordingAllListener allListener = new RecordingAllListener();
+        multicaster.addApplicationListener(orderListener);
+        multicaster.addApplicationListener(paymentListener);
+        multicaster.addApplicationListener(allListener);
+
+        multicaster.multicastEvent(new OrderEvent(this));
+        multicaster.multicastEvent(new PaymentEvent(this));
+        // 子类事件同样会广播给监听父类事件的监听器
+        multicaster.multicastEvent(new RefundEvent(this));
+        multicaster.multicastEvent(new OrderEvent(this));
+
+        assertEquals(2, orderListener.events.size());
+        assertEquals(2, paymentListener.events.size());
+        assertEquals(RefundEvent.class, paymentListener.events.get(1).getClass());
+        assertEquals(4, allListener.events.size());
+    }
+
+    @Test
+    public void testCacheInvalidatedOnAddAndRemove(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        RecordingOrderListener first = new RecordingOrderListener();
+        multicaster.addApplicationListener(first);
+        multicaster.multicastEvent(new OrderEvent(this));
+
+        // 缓存建立之后注册的监听器也能收到事件
+        RecordingOrderListener second = new RecordingOrderListener();
+        multicaster.addApplicationListener(second);
+        multicaster.multicastEvent(new OrderEvent(this));
+        assertEquals(2, first.events.size());
+        assertEquals(1, second.events.size());
+
+        multicaster.removeApplicationListener(first);
+        multicaster.multicastEvent(new OrderEvent(this));
+        assertEquals(2, first.events.size());
+        assertEquals(2, second.events.size());
+    }
+
+    @Test
+    public void testResolveEventTypeFromSuperclass(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        // 继承了监听器的子类没有直接实现ApplicationListener接口
+        RecordingOrderListener subclassListener = new RecordingOrderListener() {
+        };
+        multicaster.addApplicationListener(subclassListener);
+
+        multicaster.multicastEvent(new PaymentEvent(this));
+        multicaster.multicastEvent(new OrderEvent(this));
+        assertEquals(1, subclassListener.events.size());
+    }
+
+    @Test
+    public void testSnapshotIteration(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        RecordingOrderListener added = new RecordingOrderListener();
+        // 广播过程中注册新的监听器并移除自身，不影响本次广播
+        ApplicationListener<OrderEvent> selfRemoving = new ApplicationListener<OrderEvent>() {
+            @Override
+            public void onApplicationEvent(OrderEvent event) {
+                multicaster.removeApplicationListener(this);
+                multicaster.addApplicationListener(added);
+            }
+        };
+        RecordingOrderListener last = new RecordingOrderListener();
+        multicaster.addApplicationListener(selfRemoving);
+        multicaster.addApplicationListener(last);
+
+        multicaster.multicastEvent(new OrderEvent(this));
+        assertEquals(0, added.events.size());
+        assertEquals(1, last.events.size());
+
+        multicaster.multicastEvent(new OrderEvent(this));
+        assertEquals(1, added.events.size());
+        assertEquals(2, last.events.size());
+    }
+
+    @Test
+    public void testConcurrentRegistration() throws Exception {
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(null);
+        RecordingAllListener permanent = new RecordingAllListener();
+        multicaster.addApplicationListener(permanent);
+
+        int threads = 4;
+        int iterations = 2000;
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<CountingListener> registered = new CopyOnWriteArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            boolean publisher = t % 2 == 0;
+            new Thread(() -> {
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        if (publisher) {
+                            multicaster.multicastEvent(new OrderEvent(this));
+                        } else {
+                            CountingListener listener = new CountingListener();
+                            multicaster.addApplicationListener(listener);
+                            if (i % 2 == 0) {
+                                multicaster.removeApplicationListener(listener);
+                            } else {
+                                registered.add(listener);
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertNull(failure.get());
+
+        // 并发注册的监听器没有丢失，移除的监听器不再收到事件
+        for (CountingListener listener : registered) {
+            listener.count.set(0);
+        }
+        multicaster.multicastEvent(new OrderEvent(this));
+        assertEquals(iterations, registered.size());
+        for (CountingListener listener : registered) {
+            assertEquals(1, listener.count.get());
+        }
+        assertEquals(threads / 2 * iterations + 1, permanent.events.size());
+    }
+
+    public static class OrderEvent extends ApplicationEvent {
+
+        public OrderEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class PaymentEvent extends ApplicationEvent {
+
+        public PaymentEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class RefundEvent extends PaymentEvent {
+
+        public RefundEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class RecordingOrderListener implements ApplicationListener<OrderEvent> {
+
+        final List<ApplicationEvent> events = new ArrayList<>();
+
+        @Override
+        public void onApplicationEvent(OrderEvent event) {
+            events.add(event);
+        }
+    }
+
+    public static class RecordingPaymentListener implements ApplicationListener<PaymentEvent> {
+
+        final List<ApplicationEvent> events = new ArrayList<>();
+
+        @Override
+        public void onApplicationEvent(PaymentEvent event) {
+            events.add(event);
+        }
+    }
+
+    public static class RecordingAllListener implements ApplicationListener<ApplicationEvent> {
+
+        final List<ApplicationEvent> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onApplicationEvent(ApplicationEvent event) {
+            events.add(event);
+        }
+    }
+
+    public static class CountingListener implements ApplicationListener<OrderEvent> {
+
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void onApplicationEvent(OrderEvent event) {
+            count.incrementAndGet();
+        }
+    }
+}
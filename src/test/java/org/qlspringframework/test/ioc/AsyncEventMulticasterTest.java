@@ -0,0 +1,357 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Test;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.context.event.EventOrdering;
+import org.qlspringframework.context.event.SimpleApplicationEventMulticaster;
+import org.qlspringframework.core.Ordered;
+import org.qlspringframework.scheduling.annotation.Async;
+import org.qlspringframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 事件异步广播、监听器排序、异常处理以及顺序保证的测试
+ *
+ * @author jixu
+ * @title AsyncEventMulticasterTest
+ * @date 2025/6/18 19:30
+ */
+public class AsyncEventMulticasterTest {
+
+    @Test
+    public void testListenerOrder(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        List<String> calls = new ArrayList<>();
+        multicaster.addApplicationListener(new OrderedListener("third", Ordered.LOWEST_PRECEDENCE, calls));
+        multicaster.addApplicationListener(new OrderedListener("first", 1, calls));
+        multicaster.addApplicationListener(new OrderedListener("second", 2, calls));
+
+        multicaster.multicastEvent(new SequenceEvent(this, 0));
+        assertEquals(Arrays.asList("first", "second", "third"), calls);
+    }
+
+    @Test
+    public void testErrorHandler(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        List<String> calls = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        multicaster.addApplicationListener(new FailingListener());
+        multicaster.addApplicationListener(new OrderedListener("after", Ordered.LOWEST_PRECEDENCE, calls));
+
+        try {
+            multicaster.multicastEvent(new SequenceEvent(this, 0));
+            fail("未设置ErrorHandler时异常应该抛给发布者");
+        } catch (IllegalStateException expected) {
+        }
+
+        multicaster.setErrorHandler(errors::add);
+        multicaster.multicastEvent(new SequenceEvent(this, 0));
+        assertEquals(1, errors.size());
+        assertEquals(Collections.singletonList("after"), calls);
+    }
+
+    @Test
+    public void testTaskExecutor() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("event-");
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        multicaster.setTaskExecutor(executor);
+        ThreadRecordingListener listener = new ThreadRecordingListener();
+        multicaster.addApplicationListener(listener);
+
+        multicaster.multicastEvent(new SequenceEvent(this, 0));
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(listener.threadName.startsWith("event-"));
+        executor.destroy();
+    }
+
+    @Test
+    public void testAsyncListener() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("taskExecutor", new BeanDefinition(ThreadPoolTaskExecutor.class));
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(beanFactory);
+        AsyncThreadRecordingListener asyncListener = new AsyncThreadRecordingListener();
+        ThreadRecordingListener syncListener = new ThreadRecordingListener();
+        multicaster.addApplicationListener(asyncListener);
+        multicaster.addApplicationListener(syncListener);
+
+        multicaster.multicastEvent(new SequenceEvent(this, 0));
+        // 没有标注@Async的监听器仍然同步执行
+        assertEquals(Thread.currentThread().getName(), syncListener.threadName);
+        assertTrue(asyncListener.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(asyncListener.threadName.startsWith("async-"));
+        beanFactory.getBean("taskExecutor", ThreadPoolTaskExecutor.class).destroy();
+    }
+
+    @Test
+    public void testStrictOrdering() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        multicaster.setTaskExecutor(executor);
+        multicaster.setEventOrdering(SequenceEvent.class, EventOrdering.STRICT);
+        SequenceListener listener = new SequenceListener(500);
+        multicaster.addApplicationListener(listener);
+
+        for (int i = 0; i < 500; i++) {
+            multicaster.multicastEvent(new SequenceEvent(this, i));
+        }
+        assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, (int) listener.sequences.get(i));
+        }
+        executor.destroy();
+    }
+
+    @Test
+    public void testPerKeyOrdering() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        multicaster.setTaskExecutor(executor);
+        multicaster.setDefaultEventOrdering(EventOrdering.PER_KEY);
+        SequenceListener listener = new SequenceListener(600);
+        multicaster.addApplicationListener(listener);
+
+        String[] sources = new String[]{"a", "b", "c"};
+        for (int i = 0; i < 200; i++) {
+            for (String source : sources) {
+                multicaster.multicastEvent(new SequenceEvent(source, i));
+            }
+        }
+        assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+        Map<Object, Integer> lastSequences = new HashMap<>();
+        for (int i = 0; i < listener.events.size(); i++) {
+            SequenceEvent event = listener.events.get(i);
+            Integer last = lastSequences.put(event.getSource(), event.sequence);
+            assertEquals(last == null ? 0 : last + 1, event.sequence);
+        }
+        executor.destroy();
+    }
+
+    @Test
+    public void testRejectedSerialTask() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch reject = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        // 第一次提交时等待其他发布者排队之后拒绝，第二次直接拒绝，之后在调用线程中直接执行
+        Executor executor = command -> {
+            int call = calls.getAndIncrement();
+            if (call == 0) {
+                executing.countDown();
+                try {
+                    reject.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (call < 2) {
+                throw new RejectedExecutionException("rejected");
+            }
+            command.run();
+        };
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        multicaster.setTaskExecutor(executor);
+        multicaster.setDefaultEventOrdering(EventOrdering.STRICT);
+        SequenceListener listener = new SequenceListener(2);
+        multicaster.addApplicationListener(listener);
+
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        Thread rejected = new Thread(() -> {
+            try {
+                multicaster.multicastEvent(new SequenceEvent(this, 0));
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        rejected.start();
+        assertTrue(executing.await(5, TimeUnit.SECONDS));
+        multicaster.multicastEvent(new SequenceEvent(this, 1));
+        reject.countDown();
+        rejected.join(5000);
+        assertEquals(1, failures.size());
+
+        // 事件1已经被接受，由被拒绝的发布者执行；再次被拒绝时只撤销事件2
+        try {
+            multicaster.multicastEvent(new SequenceEvent(this, 2));
+            fail();
+        } catch (RejectedExecutionException expected) {
+        }
+        multicaster.multicastEvent(new SequenceEvent(this, 3));
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1, 3), listener.sequences);
+    }
+
+    @Test
+    public void testAcceptedSerialTasksNotLostOnRejection() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch reject = new CountDownLatch(1);
+        // 线程池拒绝所有任务，第一次提交时等待另一个发布者排队之后再拒绝
+        Executor executor = command -> {
+            executing.countDown();
+            try {
+                reject.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RejectedExecutionException("rejected");
+        };
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        multicaster.setTaskExecutor(executor);
+        multicaster.setDefaultEventOrdering(EventOrdering.STRICT);
+        SequenceListener listener = new SequenceListener(1);
+        multicaster.addApplicationListener(listener);
+
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        Thread rejected = new Thread(() -> {
+            try {
+                multicaster.multicastEvent(new SequenceEvent(this, 0));
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        rejected.start();
+        assertTrue(executing.await(5, TimeUnit.SECONDS));
+        // 队列已经在执行中，事件1只加入队列，发布成功
+        multicaster.multicastEvent(new SequenceEvent(this, 1));
+        reject.countDown();
+        rejected.join(5000);
+
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0) instanceof RejectedExecutionException);
+        // 已经接受的事件1由被拒绝的发布者在发布线程中执行
+        assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(1), listener.sequences);
+    }
+
+    @Test
+    public void testSyncListenersInvokedWhenAsyncRejected() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("taskExecutor", new BeanDefinition(RejectingExecutor.class));
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(beanFactory);
+        multicaster.addApplicationListener(new AsyncThreadRecordingListener());
+        multicaster.addApplicationListener(new AsyncThreadRecordingListener());
+        ThreadRecordingListener syncListener = new ThreadRecordingListener();
+        multicaster.addApplicationListener(syncListener);
+
+        try {
+            multicaster.multicastEvent(new SequenceEvent(this, 0));
+            fail();
+        } catch (RejectedExecutionException expected) {
+            // 两个异步监听器都尝试提交过
+            assertEquals(1, expected.getSuppressed().length);
+        }
+        // 同步监听器在抛出异常之前已经执行
+        assertEquals(Thread.currentThread().getName(), syncListener.threadName);
+    }
+
+    public static class RejectingExecutor implements Executor {
+
+        @Override
+        public void execute(Runnable command) {
+            throw new RejectedExecutionException("rejected");
+        }
+    }
+
+    public static class SequenceEvent extends ApplicationEvent {
+
+        private final int sequence;
+
+        public SequenceEvent(Object source, int sequence) {
+            super(source);
+            this.sequence = sequence;
+        }
+    }
+
+    public static class OrderedListener implements ApplicationListener<SequenceEvent>, Ordered {
+
+        private final String name;
+
+        private final int order;
+
+        private final List<String> calls;
+
+        OrderedListener(String name, int order, List<String> calls) {
+            this.name = name;
+            this.order = order;
+            this.calls = calls;
+        }
+
+        @Override
+        public void onApplicationEvent(SequenceEvent event) {
+            calls.add(name);
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    public static class FailingListener implements ApplicationListener<SequenceEvent>, Ordered {
+
+        @Override
+        public void onApplicationEvent(SequenceEvent event) {
+            throw new IllegalStateException("listener failed");
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+
+    public static class ThreadRecordingListener implements ApplicationListener<SequenceEvent> {
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        volatile String threadName;
+
+        @Override
+        public void onApplicationEvent(SequenceEvent event) {
+            threadName = Thread.currentThread().getName();
+            latch.countDown();
+        }
+    }
+
+    public static class AsyncThreadRecordingListener extends ThreadRecordingListener {
+
+        @Async
+        @Override
+        public void onApplicationEvent(SequenceEvent event) {
+            super.onApplicationEvent(event);
+        }
+    }
+
+    public static class SequenceListener implements ApplicationListener<SequenceEvent> {
+
+        final CountDownLatch latch;
+
+        final List<SequenceEvent> events = new CopyOnWriteArrayList<>();
+
+        final List<Integer> sequences = new CopyOnWriteArrayList<>();
+
+        SequenceListener(int expected) {
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onApplicationEvent(SequenceEvent event) {
+            events.add(event);
+            sequences.add(event.sequence);
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.PropertyValue;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.context.support.BeanDefinitionSnapshot;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.test.bean.Car;
+import org.qlspringframework.test.bean.Driver;
+import org.qlspringframework.test.service.HelloService;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * @author jixu
+ * @title BeanDefinitionSnapshotTest
+ * @date 2025/6/14 11:10
+ */
+public class BeanDefinitionSnapshotTest {
+
+    @Test
+    public void testLoadFromSnapshot() throws Exception {
+        File snapshotFile = File.createTempFile("bean-definition", ".snapshot");
+        snapshotFile.delete();
+        try {
+            // 第一次刷新解析XML并生成快照
+            ClassPathXmlApplicationContext first = createContext("classpath:constructor-arg.xml", snapshotFile);
+            Assert.assertTrue(snapshotFile.isFile());
+            first.close();
+
+            // 第二次刷新从快照加载
+            ClassPathXmlApplicationContext second = createContext("classpath:constructor-arg.xml", snapshotFile);
+            BeanDefinition beanDefinition = second.getBeanFactory().getBeanDefinition("driver");
+            Assert.assertTrue(beanDefinition.isPrototype());
+            Assert.assertEquals(3, beanDefinition.getConstructorArgumentValues().getArgumentCount());
+
+            Car car = second.getBean("car", Car.class);
+            Assert.assertEquals("bmw", car.getName());
+            Driver driver = second.getBean("driver", Driver.class);
+            Assert.assertEquals("jixu", driver.getName());
+            Assert.assertEquals(Integer.valueOf(18), driver.getAge());
+            Assert.assertSame(car, driver.getCar());
+            second.close();
+        } finally {
+            snapshotFile.delete();
+        }
+    }
+
+    @Test
+    public void testSnapshotWithComponentScan() throws Exception {
+        File snapshotFile = File.createTempFile("bean-definition", ".snapshot");
+        snapshotFile.delete();
+        try {
+            createContext("classpath:package-scan.xml", snapshotFile).close();
+            ClassPathXmlApplicationContext applicationContext = createContext("classpath:package-scan.xml", snapshotFile);
+            Assert.assertNotNull(applicationContext.getBean(HelloService.class));
+            applicationContext.close();
+        } finally {
+            snapshotFile.delete();
+        }
+    }
+
+    @Test
+    public void testSnapshotInvalidatedByChecksum() throws Exception {
+        File snapshotFile = File.createTempFile("bean-definition", ".snapshot");
+        try {
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+            beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+            Assert.assertTrue(BeanDefinitionSnapshot.write(snapshotFile, 1L, new String[0], 0L, beanFactory));
+
+            DefaultListableBeanFactory stale = new DefaultListableBeanFactory();
+            Assert.assertFalse(BeanDefinitionSnapshot.load(snapshotFile, 2L, stale, getClass().getClassLoader()));
+            Assert.assertEquals(0, stale.getBeanDefinitionNames().length);
+
+            DefaultListableBeanFactory fresh = new DefaultListableBeanFactory();
+            Assert.assertTrue(BeanDefinitionSnapshot.load(snapshotFile, 1L, fresh, getClass().getClassLoader()));
+            Assert.assertTrue(fresh.containsBeanDefinition("car"));
+        } finally {
+            snapshotFile.delete();
+        }
+    }
+
+    @Test
+    public void testWriteFailureRemovesPartialFile() throws Exception {
+        File snapshotFile = File.createTempFile("bean-definition", ".snapshot");
+        snapshotFile.delete();
+        File tempFile = new File(snapshotFile.getAbsolutePath() + ".tmp");
+        try {
+            // writeUTF无法写入编码后超过64KB的字符串
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 70000; i++) {
+                name.append('a');
+            }
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+            BeanDefinition beanDefinition = new BeanDefinition(Car.class);
+            beanDefinition.getPropertyValues().addPropertyValue(new PropertyValue("name", name.toString()));
+            beanFactory.registerBeanDefinition("car", beanDefinition);
+            try {
+                BeanDefinitionSnapshot.write(snapshotFile, 1L, new String[0], 0L, beanFactory);
+                Assert.fail();
+            } catch (IOException expected) {
+            }
+            Assert.assertFalse(snapshotFile.exists());
+            Assert.assertFalse(tempFile.exists());
+        } finally {
+            snapshotFile.delete();
+            tempFile.delete();
+        }
+    }
+
+    @Test
+    public void testRefreshWhenSnapshotNotWritable() throws Exception {
+        // 快照文件的父目录是一个普通文件，无法创建目录
+        File parent = File.createTempFile("bean-definition", ".parent");
+        try {
+            ClassPathXmlApplicationContext applicationContext = createContext("classpath:constructor-arg.xml", new File(parent, "bean-definition.snapshot"));
+            Assert.assertEquals("bmw", applicationContext.getBean("car", Car.class).getName());
+            applicationContext.close();
+        } finally {
+            parent.delete();
+        }
+    }
+
+    private ClassPathXmlApplicationContext createContext(String location, File snapshotFile) {
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(new String[]{location}, false);
+        applicationContext.setBeanDefinitionSnapshotLocation(snapshotFile.getAbsolutePath());
+        applicationContext.refresh();
+        return applicationContext;
+    }
+}
@@ -0,0 +1,56 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.SelectiveBeanPostProcessor;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.test.bean.Car;
+import org.qlspringframework.test.bean.Dog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author jixu
+ * @title BeanPostProcessorPipelineTest
+ * @date 2025/6/15 11:20
+ */
+public class BeanPostProcessorPipelineTest {
+
+    @Test
+    public void testSelectiveBeanPostProcessorSkipsUnsupportedTypes(){
+        List<String> processed = new ArrayList<>();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.addBeanPostProcessor(new SelectiveBeanPostProcessor() {
+            @Override
+            public boolean supportsBeanType(Class<?> beanType) {
+                return Dog.class.isAssignableFrom(beanType);
+            }
+
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                processed.add(beanName);
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean;
+            }
+        });
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+        beanFactory.registerBeanDefinition("dog", new BeanDefinition(Dog.class));
+
+        beanFactory.getBean("car");
+        beanFactory.getBean("dog");
+        Assert.assertEquals(1, processed.size());
+        Assert.assertEquals("dog", processed.get(0));
+        Assert.assertEquals(1, beanFactory.getBeanPostProcessors().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testBeanPostProcessorsAreReadOnly(){
+        new DefaultListableBeanFactory().getBeanPostProcessors().clear();
+    }
+}
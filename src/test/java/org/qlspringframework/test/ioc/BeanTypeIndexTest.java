@@ -0,0 +1,39 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.factory.InitializingBean;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.test.bean.Car;
+import org.qlspringframework.test.bean.SlowInitBean;
+import org.qlspringframework.test.service.HelloService;
+
+/**
+ * @author jixu
+ * @title BeanTypeIndexTest
+ * @date 2025/6/12 16:20
+ */
+public class BeanTypeIndexTest {
+
+    @Test
+    public void testBeanNamesForType(){
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+        beanFactory.registerBeanDefinition("slow1", new BeanDefinition(SlowInitBean.class));
+        beanFactory.registerBeanDefinition("slow2", new BeanDefinition(SlowInitBean.class));
+
+        Assert.assertArrayEquals(new String[]{"slow1", "slow2"}, beanFactory.getBeanNamesForType(InitializingBean.class));
+        Assert.assertArrayEquals(new String[]{"car", "slow1", "slow2"}, beanFactory.getBeanNamesForType(Object.class));
+        Assert.assertEquals(0, beanFactory.getBeanNamesForType(HelloService.class).length);
+        // 只查找名称，不会实例化Bean
+        Assert.assertNull(beanFactory.getSingletonBean("slow1"));
+
+        // 覆盖BeanDefinition后索引和缓存同步更新
+        beanFactory.registerBeanDefinition("slow2", new BeanDefinition(Car.class));
+        Assert.assertArrayEquals(new String[]{"slow1"}, beanFactory.getBeanNamesForType(InitializingBean.class));
+        Assert.assertArrayEquals(new String[]{"car", "slow2"}, beanFactory.getBeanNamesForType(Car.class));
+        Assert.assertEquals(2, beanFactory.getBeanOfType(Car.class).size());
+        Assert.assertTrue(beanFactory.getBean(SlowInitBean.class).isInitialized());
+    }
+}
@@ -0,0 +1,101 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.PropertyValue;
+import org.qlspringframework.beans.PropertyValues;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanReference;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.test.bean.CountingBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * 多线程并发获取单例Bean的压力测试
+ *
+ * @author jixu
+ * @title ConcurrentSingletonCreationTest
+ * @date 2025/6/13 10:20
+ */
+public class ConcurrentSingletonCreationTest {
+
+    private static final int THREADS = 64;
+
+    private static final int ROUNDS = 20;
+
+    private static final int BEANS = 8;
+
+    @Test
+    public void testConcurrentGetBean() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                CountingBean.INSTANCES.set(0);
+                CountingBean.INITIALIZATIONS.set(0);
+                DefaultListableBeanFactory beanFactory = createBeanFactory();
+
+                CyclicBarrier barrier = new CyclicBarrier(THREADS);
+                List<Future<Object[]>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    int offset = t;
+                    futures.add(executor.submit(() -> {
+                        barrier.await();
+                        Object[] beans = new Object[BEANS + 2];
+                        // 不同线程以不同顺序获取Bean，循环依赖的a、b也会被不同线程同时创建
+                        for (int i = 0; i < BEANS; i++) {
+                            int index = (i + offset) % BEANS;
+                            beans[index] = beanFactory.getBean("bean" + index);
+                        }
+                        if (offset % 2 == 0) {
+                            beans[BEANS] = beanFactory.getBean("a");
+                            beans[BEANS + 1] = beanFactory.getBean("b");
+                        } else {
+                            beans[BEANS + 1] = beanFactory.getBean("b");
+                            beans[BEANS] = beanFactory.getBean("a");
+                        }
+                        return beans;
+                    }));
+                }
+
+                Object[] expected = futures.get(0).get(30, TimeUnit.SECONDS);
+                for (Future<Object[]> future : futures) {
+                    Assert.assertArrayEquals(expected, future.get(30, TimeUnit.SECONDS));
+                }
+                Assert.assertEquals(BEANS + 2, CountingBean.INSTANCES.get());
+                Assert.assertEquals(BEANS + 2, CountingBean.INITIALIZATIONS.get());
+
+                CountingBean a = (CountingBean) expected[BEANS];
+                CountingBean b = (CountingBean) expected[BEANS + 1];
+                Assert.assertSame(b, a.getPeer());
+                Assert.assertSame(a, b.getPeer());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DefaultListableBeanFactory createBeanFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        for (int i = 0; i < BEANS; i++) {
+            BeanDefinition beanDefinition = new BeanDefinition(CountingBean.class);
+            beanDefinition.setInitMethodName("init");
+            beanFactory.registerBeanDefinition("bean" + i, beanDefinition);
+        }
+
+        PropertyValues aValues = new PropertyValues();
+        aValues.addPropertyValue(new PropertyValue("peer", new BeanReference("b")));
+        BeanDefinition a = new BeanDefinition(CountingBean.class, aValues);
+        a.setInitMethodName("init");
+        beanFactory.registerBeanDefinition("a", a);
+
+        PropertyValues bValues = new PropertyValues();
+        bValues.addPropertyValue(new PropertyValue("peer", new BeanReference("a")));
+        BeanDefinition b = new BeanDefinition(CountingBean.class, bValues);
+        b.setInitMethodName("init");
+        beanFactory.registerBeanDefinition("b", b);
+        return beanFactory;
+    }
+}
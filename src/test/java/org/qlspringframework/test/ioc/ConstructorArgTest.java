@@ -0,0 +1,75 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanReference;
+import org.qlspringframework.beans.factory.config.ConstructorArgumentValues;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.beans.factory.supper.FastClassInstantiationStrategy;
+import org.qlspringframework.beans.factory.supper.InstantiationStrategy;
+import org.qlspringframework.beans.factory.supper.SimpleInstantiationStrategy;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.test.bean.Car;
+import org.qlspringframework.test.bean.Driver;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author jixu
+ * @title ConstructorArgTest
+ * @date 2025/6/12 11:30
+ */
+public class ConstructorArgTest {
+
+    @Test
+    public void testConstructorArg(){
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:constructor-arg.xml");
+        Car car = applicationContext.getBean("car", Car.class);
+        for (int i = 0; i < 2; i++) {
+            Driver driver = applicationContext.getBean("driver", Driver.class);
+            Assert.assertEquals("jixu", driver.getName());
+            Assert.assertEquals(Integer.valueOf(18), driver.getAge());
+            Assert.assertSame(car, driver.getCar());
+        }
+    }
+
+    @Test
+    public void testFastClassInstantiationStrategy(){
+        FastClassInstantiationStrategy instantiationStrategy = new FastClassInstantiationStrategy();
+        BeanDefinition beanDefinition = new BeanDefinition(Car.class);
+        Object first = instantiationStrategy.instantiate(beanDefinition);
+        Object second = instantiationStrategy.instantiate(beanDefinition);
+        Assert.assertTrue(first instanceof Car);
+        Assert.assertNotSame(first, second);
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        Assert.assertTrue(beanFactory.getInstantiationStrategy() instanceof FastClassInstantiationStrategy);
+    }
+
+    @Test
+    public void testInstantiationStrategyWithoutConstructorOverload(){
+        // 只实现了instantiate(BeanDefinition)的策略仍然可以使用，有参数的构造函数由默认方法实例化
+        AtomicInteger instantiated = new AtomicInteger();
+        InstantiationStrategy instantiationStrategy = beanDefinition -> {
+            instantiated.incrementAndGet();
+            return new SimpleInstantiationStrategy().instantiate(beanDefinition);
+        };
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setInstantiationStrategy(instantiationStrategy);
+        beanFactory.registerBeanDefinition("car", new BeanDefinition(Car.class));
+        BeanDefinition driverDefinition = new BeanDefinition(Driver.class);
+        ConstructorArgumentValues argumentValues = driverDefinition.getConstructorArgumentValues();
+        argumentValues.addIndexedArgumentValue(0, new ConstructorArgumentValues.ValueHolder("jixu"));
+        argumentValues.addIndexedArgumentValue(1, new ConstructorArgumentValues.ValueHolder(18));
+        argumentValues.addIndexedArgumentValue(2, new ConstructorArgumentValues.ValueHolder(new BeanReference("car")));
+        beanFactory.registerBeanDefinition("driver", driverDefinition);
+
+        Car car = beanFactory.getBean("car", Car.class);
+        Assert.assertEquals(1, instantiated.get());
+        Driver driver = beanFactory.getBean("driver", Driver.class);
+        Assert.assertEquals("jixu", driver.getName());
+        Assert.assertEquals(Integer.valueOf(18), driver.getAge());
+        Assert.assertSame(car, driver.getCar());
+    }
+}
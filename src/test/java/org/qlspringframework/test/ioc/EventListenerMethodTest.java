@@ -0,0 +1,244 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Test;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanPostProcessor;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.context.event.EventListener;
+import org.qlspringframework.context.event.EventListenerMethodProcessor;
+import org.qlspringframework.context.event.GenericApplicationListenerAdapter;
+import org.qlspringframework.context.event.SimpleApplicationEventMulticaster;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.scheduling.annotation.Async;
+import org.qlspringframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.qlspringframework.test.common.CustomEvent;
+import org.qlspringframework.test.common.CountingBeforeAdvice;
+import org.qlspringframework.test.common.CustomEventMethodListener;
+import org.qlspringframework.test.service.AuditService;
+import org.qlspringframework.test.service.AuditServiceImpl;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @EventListener方法以及无法从泛型参数解析事件类型的监听器的测试
+ *
+ * @author jixu
+ * @title EventListenerMethodTest
+ * @date 2025/6/19 16:40
+ */
+public class EventListenerMethodTest {
+
+    @Test
+    public void testEventListenerMethods(){
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:event-listener.xml");
+        CustomEventMethodListener listener = applicationContext.getBean("customEventMethodListener", CustomEventMethodListener.class);
+        // 原型Bean不会注册为监听器
+        CustomEventMethodListener prototype = applicationContext.getBean("prototypeEventMethodListener", CustomEventMethodListener.class);
+        assertEquals(Collections.singletonList("context"), listener.getCalls());
+
+        applicationContext.publishEvent(new CustomEvent(applicationContext));
+        listener.setEnabled(false);
+        applicationContext.publishEvent(new CustomEvent(applicationContext));
+        applicationContext.close();
+
+        assertEquals(Arrays.asList("context", "custom", "enabled", "custom", "context"), listener.getCalls());
+        assertTrue(prototype.getCalls().isEmpty());
+        // 延迟初始化的Bean在第一次收到事件时创建
+        CustomEventMethodListener lazy = applicationContext.getBean("lazyEventMethodListener", CustomEventMethodListener.class);
+        assertEquals(Arrays.asList("context", "custom", "enabled", "custom", "enabled", "context"), lazy.getCalls());
+    }
+
+    @Test
+    public void testProxiedEventListenerBean(){
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:event-listener-proxy.xml");
+        AuditService auditService = applicationContext.getBean("auditService", AuditService.class);
+        CountingBeforeAdvice advice = applicationContext.getBean("countingBeforeAdvice", CountingBeforeAdvice.class);
+        assertNotSame(AuditServiceImpl.class, auditService.getClass());
+
+        applicationContext.publishEvent(new CustomEvent(applicationContext));
+        applicationContext.publishEvent(new CustomEvent(applicationContext));
+        // 监听方法通过代理对象调用，切面同样生效
+        assertEquals(2, advice.getCount());
+        assertEquals(2, auditService.getEvents().size());
+    }
+
+    @Test
+    public void testJdkProxiedEventListenerBean(){
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("auditService", new BeanDefinition(AuditServiceImpl.class));
+        List<String> invoked = new ArrayList<>();
+        beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{AuditService.class}, (proxy, method, args) -> {
+                    invoked.add(method.getName());
+                    return method.invoke(bean, args);
+                });
+            }
+        });
+        beanFactory.preInstantiateSingletons();
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        new EventListenerMethodProcessor(beanFactory, multicaster).registerEventListenerMethods();
+
+        // JDK动态代理时通过接口方法调用
+        multicaster.multicastEvent(new CustomEvent(this));
+        assertEquals(Collections.singletonList("onCustomEvent"), invoked);
+    }
+
+    @Test
+    public void testRouteByEventTypeAndOrder(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        EventListenerMethodProcessor processor = new EventListenerMethodProcessor(new DefaultListableBeanFactory(), multicaster);
+        OrderService orderService = new OrderService();
+        assertTrue(processor.hasEventListenerMethods(OrderService.class));
+        assertFalse(processor.hasEventListenerMethods(String.class));
+        processor.registerEventListenerMethods("orderService", orderService);
+
+        multicaster.multicastEvent(new OrderEvent(this, 1));
+        multicaster.multicastEvent(new PaymentEvent(this));
+        // 条件方法返回false时只跳过对应的监听方法
+        multicaster.multicastEvent(new OrderEvent(this, -1));
+        assertEquals(Arrays.asList("audit", "order:1", "any", "audit", "any", "audit", "any"), orderService.calls);
+    }
+
+    @Test
+    public void testInvalidEventListenerMethod(){
+        EventListenerMethodProcessor processor = new EventListenerMethodProcessor(new DefaultListableBeanFactory(), new SimpleApplicationEventMulticaster());
+        try {
+            processor.hasEventListenerMethods(InvalidListener.class);
+            fail("没有参数也没有指定事件类型的方法应该抛出异常");
+        } catch (BeansException expected) {
+        }
+    }
+
+    @Test
+    public void testAsyncEventListenerMethod() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("taskExecutor", new BeanDefinition(ThreadPoolTaskExecutor.class));
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster(beanFactory);
+        EventListenerMethodProcessor processor = new EventListenerMethodProcessor(beanFactory, multicaster);
+        AsyncOrderService asyncOrderService = new AsyncOrderService();
+        processor.registerEventListenerMethods("asyncOrderService", asyncOrderService);
+
+        multicaster.multicastEvent(new OrderEvent(this, 1));
+        assertTrue(asyncOrderService.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(asyncOrderService.threadName.startsWith("async-"));
+        beanFactory.getBean("taskExecutor", ThreadPoolTaskExecutor.class).destroy();
+    }
+
+    @Test
+    public void testLambdaListener(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        List<OrderEvent> events = new ArrayList<>();
+        ApplicationListener<OrderEvent> lambda = events::add;
+        multicaster.addApplicationListener(new GenericApplicationListenerAdapter(OrderEvent.class, lambda));
+
+        // Lambda监听器丢失了泛型参数，通过适配器指定事件类型后不会收到其他类型的事件
+        multicaster.multicastEvent(new PaymentEvent(this));
+        multicaster.multicastEvent(new OrderEvent(this, 1));
+        assertEquals(1, events.size());
+
+        multicaster.removeApplicationListener(lambda);
+        multicaster.multicastEvent(new OrderEvent(this, 2));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testProxiedListener(){
+        SimpleApplicationEventMulticaster multicaster = new SimpleApplicationEventMulticaster();
+        RecordingOrderListener target = new RecordingOrderListener();
+        ApplicationListener<ApplicationEvent> proxy = (ApplicationListener<ApplicationEvent>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ApplicationListener.class}, (p, method, args) -> method.invoke(target, args));
+        multicaster.addApplicationListener(new GenericApplicationListenerAdapter(proxy, RecordingOrderListener.class));
+
+        multicaster.multicastEvent(new PaymentEvent(this));
+        multicaster.multicastEvent(new OrderEvent(this, 1));
+        assertEquals(1, target.events.size());
+    }
+
+    public static class OrderEvent extends ApplicationEvent {
+
+        private final int amount;
+
+        public OrderEvent(Object source, int amount) {
+            super(source);
+            this.amount = amount;
+        }
+    }
+
+    public static class PaymentEvent extends ApplicationEvent {
+
+        public PaymentEvent(Object source) {
+            super(source);
+        }
+    }
+
+    public static class OrderService {
+
+        final List<String> calls = new ArrayList<>();
+
+        @EventListener(condition = "isPositive", order = 2)
+        public void onOrder(OrderEvent event) {
+            calls.add("order:" + event.amount);
+        }
+
+        @EventListener(order = 1)
+        public void audit(ApplicationEvent event) {
+            calls.add("audit");
+        }
+
+        @EventListener(value = {OrderEvent.class, PaymentEvent.class}, order = 3)
+        public void any() {
+            calls.add("any");
+        }
+
+        boolean isPositive(OrderEvent event) {
+            return event.amount > 0;
+        }
+    }
+
+    public static class AsyncOrderService {
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        volatile String threadName;
+
+        @Async
+        @EventListener
+        public void onOrder(OrderEvent event) {
+            threadName = Thread.currentThread().getName();
+            latch.countDown();
+        }
+    }
+
+    public static class InvalidListener {
+
+        @EventListener
+        public void onEvent() {
+        }
+    }
+
+    public static class RecordingOrderListener implements ApplicationListener<OrderEvent> {
+
+        final List<OrderEvent> events = new ArrayList<>();
+
+        @Override
+        public void onApplicationEvent(OrderEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.ConstructorArgumentValues;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.test.bean.CountingBean;
+import org.qlspringframework.test.bean.FinalLazyConsumer;
+import org.qlspringframework.test.bean.LazyClassConsumer;
+import org.qlspringframework.test.bean.LazyConsumer;
+import org.qlspringframework.test.bean.LazyGreeter;
+import org.qlspringframework.test.service.WorldServiceImpl;
+
+/**
+ * @author jixu
+ * @title LazyInitTest
+ * @date 2025/6/13 15:20
+ */
+public class LazyInitTest {
+
+    @Test
+    public void testLazyInitAttribute(){
+        CountingBean.INSTANCES.set(0);
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:lazy-init.xml");
+        Assert.assertEquals(1, CountingBean.INSTANCES.get());
+
+        applicationContext.getBean("lazyBean");
+        Assert.assertEquals(2, CountingBean.INSTANCES.get());
+    }
+
+    @Test
+    public void testLazyAnnotationOnClass(){
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        new ClassPathBeanDefinitionScanner(beanFactory).doScan("org.qlspringframework.test.bean");
+        Assert.assertTrue(beanFactory.getBeanDefinition("lazyComponent").isLazyInit());
+        Assert.assertFalse(beanFactory.getBeanDefinition("a").isLazyInit());
+    }
+
+    @Test
+    public void testLazyResolutionProxy(){
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AutowiredAnnotationBeanPostProcessor postProcessor = new AutowiredAnnotationBeanPostProcessor();
+        postProcessor.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(postProcessor);
+        beanFactory.registerBeanDefinition("worldService", new BeanDefinition(WorldServiceImpl.class));
+        beanFactory.registerBeanDefinition("lazyConsumer", new BeanDefinition(LazyConsumer.class));
+
+        LazyConsumer lazyConsumer = beanFactory.getBean("lazyConsumer", LazyConsumer.class);
+        Assert.assertNotNull(lazyConsumer.getWorldService());
+        // 注入的是代理对象，目标Bean尚未创建
+        Assert.assertNull(beanFactory.getSingletonBean("worldService"));
+
+        lazyConsumer.getWorldService().sayHello();
+        Assert.assertNotNull(beanFactory.getSingletonBean("worldService"));
+    }
+
+    @Test
+    public void testLazyResolutionProxyForClass(){
+        LazyGreeter.INSTANCES.set(0);
+        DefaultListableBeanFactory beanFactory = newAutowiringBeanFactory();
+        BeanDefinition greeterDefinition = new BeanDefinition(LazyGreeter.class);
+        greeterDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, new ConstructorArgumentValues.ValueHolder("world"));
+        beanFactory.registerBeanDefinition("lazyGreeter", greeterDefinition);
+        beanFactory.registerBeanDefinition("lazyClassConsumer", new BeanDefinition(LazyClassConsumer.class));
+
+        LazyClassConsumer consumer = beanFactory.getBean("lazyClassConsumer", LazyClassConsumer.class);
+        // 代理类没有无参构造函数也可以创建，并且不会执行LazyGreeter的构造函数
+        Assert.assertNotNull(consumer.getGreeter());
+        Assert.assertEquals(0, LazyGreeter.INSTANCES.get());
+        Assert.assertNull(beanFactory.getSingletonBean("lazyGreeter"));
+
+        Assert.assertEquals("hello world", consumer.getGreeter().greet());
+        Assert.assertEquals("hello world", consumer.getGreeter().greet());
+        Assert.assertEquals(1, LazyGreeter.INSTANCES.get());
+    }
+
+    @Test
+    public void testLazyResolutionProxyForFinalClass(){
+        DefaultListableBeanFactory beanFactory = newAutowiringBeanFactory();
+        beanFactory.registerBeanDefinition("finalLazyConsumer", new BeanDefinition(FinalLazyConsumer.class));
+        try {
+            beanFactory.getBean("finalLazyConsumer");
+            Assert.fail("final类型不能创建延迟解析的代理对象");
+        } catch (BeansException e) {
+            Assert.assertTrue(e.getMessage().contains("java.lang.String"));
+        }
+    }
+
+    private DefaultListableBeanFactory newAutowiringBeanFactory() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        AutowiredAnnotationBeanPostProcessor postProcessor = new AutowiredAnnotationBeanPostProcessor();
+        postProcessor.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(postProcessor);
+        return beanFactory;
+    }
+}
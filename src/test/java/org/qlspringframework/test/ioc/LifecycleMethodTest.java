@@ -0,0 +1,89 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.qlspringframework.beans.factory.DisposableBean;
+import org.qlspringframework.beans.factory.config.BeanDefinition;
+import org.qlspringframework.beans.factory.config.BeanPostProcessor;
+import org.qlspringframework.beans.factory.supper.DefaultListableBeanFactory;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.test.bean.LifecycleBean;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author jixu
+ * @title LifecycleMethodTest
+ * @date 2025/6/14 15:50
+ */
+public class LifecycleMethodTest {
+
+    @Test
+    public void testLifecycleOrder(){
+        LifecycleBean.EVENTS.clear();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition beanDefinition = new BeanDefinition(LifecycleBean.class);
+        beanDefinition.setInitMethodName("init");
+        beanDefinition.setDestroyMethodName("close");
+        beanFactory.registerBeanDefinition("lifecycleBean", beanDefinition);
+
+        beanFactory.getBean("lifecycleBean");
+        Assert.assertEquals(Arrays.asList("postConstruct", "afterPropertiesSet", "init"), LifecycleBean.EVENTS);
+
+        LifecycleBean.EVENTS.clear();
+        beanFactory.destroySingletons();
+        Assert.assertEquals(Arrays.asList("preDestroy", "destroy", "close"), LifecycleBean.EVENTS);
+    }
+
+    @Test
+    public void testDestroyRawBeanWhenProxied(){
+        LifecycleBean.EVENTS.clear();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        BeanDefinition beanDefinition = new BeanDefinition(LifecycleBean.class);
+        beanDefinition.setDestroyMethodName("close");
+        beanFactory.registerBeanDefinition("lifecycleBean", beanDefinition);
+        List<String> proxied = new ArrayList<>();
+        beanFactory.addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DisposableBean.class}, (proxy, method, args) -> {
+                    proxied.add(method.getName());
+                    return method.invoke(bean, args);
+                });
+            }
+        });
+        Assert.assertTrue(Proxy.isProxyClass(beanFactory.getBean("lifecycleBean").getClass()));
+
+        LifecycleBean.EVENTS.clear();
+        beanFactory.destroySingletons();
+        // 按照原始Bean解析销毁方法，JDK代理对象上不存在的@PreDestroy和close方法同样执行
+        Assert.assertEquals(Arrays.asList("preDestroy", "destroy", "close"), LifecycleBean.EVENTS);
+        Assert.assertTrue(proxied.isEmpty());
+    }
+
+    @Test
+    public void testSameNameMethodsInvokedOnce(){
+        LifecycleBean.EVENTS.clear();
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:lifecycle.xml");
+        LifecycleBean.EVENTS.clear();
+        applicationContext.getBean("prototypeLifecycleBean");
+        applicationContext.getBean("prototypeLifecycleBean");
+        Assert.assertEquals(Arrays.asList("postConstruct", "afterPropertiesSet", "init",
+                "postConstruct", "afterPropertiesSet", "init"), LifecycleBean.EVENTS);
+
+        LifecycleBean.EVENTS.clear();
+        applicationContext.close();
+        // lifecycleBean与sameNameLifecycleBean各执行一次销毁，同名的destroy方法不会重复执行
+        Assert.assertEquals(2, LifecycleBean.EVENTS.stream().filter("destroy"::equals).count());
+        Assert.assertEquals(1, LifecycleBean.EVENTS.stream().filter("close"::equals).count());
+        Assert.assertEquals(2, LifecycleBean.EVENTS.stream().filter("preDestroy"::equals).count());
+    }
+}
@@ -0,0 +1,305 @@
+package org.qlspringframework.test.ioc;
+
+import org.junit.Test;
+import org.qlspringframework.beans.BeansException;
+import org.qlspringframework.context.ApplicationEvent;
+import org.qlspringframework.context.ApplicationListener;
+import org.qlspringframework.context.BatchApplicationListener;
+import org.qlspringframework.context.event.*;
+import org.qlspringframework.context.support.AbstractApplicationContext;
+import org.qlspringframework.context.support.ClassPathXmlApplicationContext;
+import org.qlspringframework.test.common.CustomEvent;
+import org.qlspringframework.test.common.ContextCloseRecordingListener;
+import org.qlspringframework.test.common.CustomEventBatchListener;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 基于环形缓冲区的事件广播器测试
+ *
+ * @author jixu
+ * @title RingBufferEventMulticasterTest
+ * @date 2025/6/19 11:30
+ */
+public class RingBufferEventMulticasterTest {
+
+    @Test
+    public void testBatchDelivery() throws Exception {
+        RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+        multicaster.setBufferSize(64);
+        multicaster.setMaxBatchSize(16);
+        SequenceBatchListener batchListener = new SequenceBatchListener(1000);
+        SequenceListener listener = new SequenceListener(1000);
+        multicaster.addApplicationListener(batchListener);
+        multicaster.addApplicationListener(listener);
+        multicaster.afterPropertiesSet();
+
+        for (int i = 0; i < 1000; i++) {
+            multicaster.multicastEvent(new SequenceEvent(this, i));
+        }
+        assertTrue(batchListener.latch.await(10, TimeUnit.SECONDS));
+        assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+        assertInOrder(batchListener.sequences, 1000);
+        assertInOrder(listener.sequences, 1000);
+        for (int batchSize : batchListener.batchSizes) {
+            assertTrue(batchSize > 0 && batchSize <= 16);
+        }
+        multicaster.destroy();
+    }
+
+    @Test
+    public void testMultipleConsumers() throws Exception {
+        RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+        multicaster.setBufferSize(128);
+        multicaster.setConsumerCount(3);
+        List<SequenceListener> listeners = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            SequenceListener listener = new SequenceListener(2000);
+            listeners.add(listener);
+            multicaster.addApplicationListener(listener);
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            multicaster.multicastEvent(new SequenceEvent(this, i));
+        }
+        Set<String> threadNames = new HashSet<>();
+        for (SequenceListener listener : listeners) {
+            assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+            assertInOrder(listener.sequences, 2000);
+            // 每个监听器只由一个消费线程调用
+            assertEquals(1, listener.threadNames.size());
+            threadNames.addAll(listener.threadNames);
+        }
+        assertEquals(3, threadNames.size());
+        multicaster.destroy();
+    }
+
+    @Test
+    public void testWaitStrategies() throws Exception {
+        WaitStrategy[] waitStrategies = new WaitStrategy[]{
+                new BlockingWaitStrategy(), new SleepingWaitStrategy(), new YieldingWaitStrategy(), new BusySpinWaitStrategy()
+        };
+        for (WaitStrategy waitStrategy : waitStrategies) {
+            RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+            // 缓冲区远小于事件数量，发布者需要等待消费线程空出位置
+            multicaster.setBufferSize(16);
+            multicaster.setWaitStrategy(waitStrategy);
+            SequenceListener listener = new SequenceListener(500);
+            multicaster.addApplicationListener(listener);
+
+            for (int i = 0; i < 500; i++) {
+                multicaster.multicastEvent(new SequenceEvent(this, i));
+            }
+            assertTrue(waitStrategy.getClass().getSimpleName(), listener.latch.await(10, TimeUnit.SECONDS));
+            assertInOrder(listener.sequences, 500);
+            multicaster.destroy();
+        }
+    }
+
+    @Test
+    public void testDestroyDrainsPublishedEvents(){
+        RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+        SequenceListener listener = new SequenceListener(300);
+        multicaster.addApplicationListener(listener);
+        for (int i = 0; i < 300; i++) {
+            multicaster.multicastEvent(new SequenceEvent(this, i));
+        }
+        multicaster.destroy();
+        assertInOrder(listener.sequences, 300);
+
+        try {
+            multicaster.multicastEvent(new SequenceEvent(this, 300));
+            fail("关闭之后发布事件应该抛出异常");
+        } catch (BeansException expected) {
+        }
+    }
+
+    @Test
+    public void testDestroyWhilePublisherWaiting() throws Exception {
+        RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+        multicaster.setBufferSize(2);
+        multicaster.setAwaitTerminationMillis(100);
+        multicaster.setThreadNamePrefix("abandoned-bus-");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        multicaster.multicastEvent(new SequenceEvent(this, 0));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        multicaster.multicastEvent(new SequenceEvent(this, 1));
+
+        // 缓冲区已满，发布者等待消费线程空出位置
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        Thread publisher = new Thread(() -> {
+            try {
+                multicaster.multicastEvent(new SequenceEvent(this, 2));
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        publisher.start();
+        Thread.sleep(50);
+        multicaster.destroy();
+        publisher.join(5000);
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0) instanceof BeansException);
+
+        // 放弃发布的事件没有占用序号，消费线程处理完已经发布的事件之后退出
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (isThreadAlive("abandoned-bus-0") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(isThreadAlive("abandoned-bus-0"));
+    }
+
+    @Test
+    public void testErrorHandler() throws Exception {
+        RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        multicaster.setErrorHandler(errors::add);
+        multicaster.addApplicationListener((ApplicationListener<SequenceEvent>) event -> {
+            throw new IllegalStateException("listener failed");
+        });
+        SequenceListener listener = new SequenceListener(10);
+        multicaster.addApplicationListener(listener);
+
+        for (int i = 0; i < 10; i++) {
+            multicaster.multicastEvent(new SequenceEvent(this, i));
+        }
+        // 监听器的异常不会中断消费线程
+        assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+        multicaster.destroy();
+        assertEquals(10, errors.size());
+    }
+
+    @Test
+    public void testApplicationEventMulticasterBean(){
+        ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext("classpath:ring-buffer-event.xml");
+        assertTrue(applicationContext.getBean(AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME) instanceof RingBufferApplicationEventMulticaster);
+        for (int i = 0; i < 100; i++) {
+            applicationContext.publishEvent(new CustomEvent(applicationContext));
+        }
+        CustomEventBatchListener listener = applicationContext.getBean("customEventBatchListener", CustomEventBatchListener.class);
+        ContextCloseRecordingListener closeListener = applicationContext.getBean("contextCloseRecordingListener", ContextCloseRecordingListener.class);
+        // 关闭容器时先处理完已经发布的事件，包括容器关闭事件，之后才销毁监听器
+        applicationContext.close();
+        assertEquals(100, listener.getEvents().size());
+        assertEquals(Arrays.asList("close", "destroy"), closeListener.getCalls());
+    }
+
+    @Test
+    public void testPublishRacingDestroy() throws Exception {
+        RingBufferApplicationEventMulticaster multicaster = new RingBufferApplicationEventMulticaster();
+        multicaster.setBufferSize(64);
+        multicaster.setThreadNamePrefix("racing-bus-");
+        SequenceListener listener = new SequenceListener(0);
+        multicaster.addApplicationListener(listener);
+        multicaster.start();
+
+        AtomicInteger published = new AtomicInteger();
+        List<Thread> publishers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread publisher = new Thread(() -> {
+                while (true) {
+                    try {
+                        multicaster.multicastEvent(new SequenceEvent(this, 0));
+                    } catch (BeansException e) {
+                        return;
+                    }
+                    published.incrementAndGet();
+                }
+            });
+            publishers.add(publisher);
+            publisher.start();
+        }
+        Thread.sleep(20);
+        multicaster.destroy();
+        for (Thread publisher : publishers) {
+            publisher.join(5000);
+            assertFalse(publisher.isAlive());
+        }
+        // 发布成功的事件都被处理，关闭之后发布的事件全部抛出异常
+        assertEquals(published.get(), listener.sequences.size());
+    }
+
+    private static boolean isThreadAlive(String name) {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (name.equals(thread.getName()) && thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void assertInOrder(List<Integer> sequences, int expectedSize) {
+        assertEquals(expectedSize, sequences.size());
+        for (int i = 0; i < expectedSize; i++) {
+            assertEquals(i, (int) sequences.get(i));
+        }
+    }
+
+    public static class SequenceEvent extends ApplicationEvent {
+
+        private final int sequence;
+
+        public SequenceEvent(Object source, int sequence) {
+            super(source);
+            this.sequence = sequence;
+        }
+    }
+
+    public static class SequenceListener implements ApplicationListener<SequenceEvent> {
+
+        final CountDownLatch latch;
+
+        final List<Integer> sequences = new CopyOnWriteArrayList<>();
+
+        final Set<String> threadNames = Collections.synchronizedSet(new HashSet<>());
+
+        SequenceListener(int expected) {
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onApplicationEvent(SequenceEvent event) {
+            sequences.add(event.sequence);
+            threadNames.add(Thread.currentThread().getName());
+            latch.countDown();
+        }
+    }
+
+    public static class SequenceBatchListener implements BatchApplicationListener<SequenceEvent> {
+
+        final CountDownLatch latch;
+
+        final List<Integer> sequences = new CopyOnWriteArrayList<>();
+
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+        SequenceBatchListener(int expected) {
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onApplicationEvents(List<SequenceEvent> events) {
+            batchSizes.add(events.size());
+            for (SequenceEvent event : events) {
+                sequences.add(event.sequence);
+                latch.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.qlspringframework.test.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+/**
+ * @author jixu
+ * @title AsyncService
+ * @date 2025/6/17 17:30
+ */
+public interface AsyncService {
+
+    void record(CountDownLatch latch);
+
+    CompletableFuture<String> currentThreadName();
+
+    Future<Integer> divide(int a, int b);
+
+    String syncThreadName();
+
+    String getRecordedThreadName();
+}
@@ -0,0 +1,46 @@
+package org.qlspringframework.test.service;
+
+import org.qlspringframework.scheduling.annotation.Async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+/**
+ * @author jixu
+ * @title AsyncServiceImpl
+ * @date 2025/6/17 17:30
+ */
+public class AsyncServiceImpl implements AsyncService {
+
+    private volatile String recordedThreadName;
+
+    @Async
+    @Override
+    public void record(CountDownLatch latch) {
+        recordedThreadName = Thread.currentThread().getName();
+        latch.countDown();
+    }
+
+    @Async("reportExecutor")
+    @Override
+    public CompletableFuture<String> currentThreadName() {
+        return CompletableFuture.completedFuture(Thread.currentThread().getName());
+    }
+
+    @Async
+    @Override
+    public Future<Integer> divide(int a, int b) {
+        return CompletableFuture.completedFuture(a / b);
+    }
+
+    @Override
+    public String syncThreadName() {
+        return Thread.currentThread().getName();
+    }
+
+    @Override
+    public String getRecordedThreadName() {
+        return recordedThreadName;
+    }
+}
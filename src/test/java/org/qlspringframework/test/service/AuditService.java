@@ -0,0 +1,17 @@
+package org.qlspringframework.test.service;
+
+import org.qlspringframework.test.common.CustomEvent;
+
+import java.util.List;
+
+/**
+ * @author jixu
+ * @title AuditService
+ * @date 2025/6/19 18:00
+ */
+public interface AuditService {
+
+    void onCustomEvent(CustomEvent event);
+
+    List<CustomEvent> getEvents();
+}
@@ -0,0 +1,28 @@
+package org.qlspringframework.test.service;
+
+import org.qlspringframework.context.event.EventListener;
+import org.qlspringframework.test.common.CustomEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author jixu
+ * @title AuditServiceImpl
+ * @date 2025/6/19 18:00
+ */
+public class AuditServiceImpl implements AuditService {
+
+    private final List<CustomEvent> events = new CopyOnWriteArrayList<>();
+
+    @EventListener
+    @Override
+    public void onCustomEvent(CustomEvent event) {
+        events.add(event);
+    }
+
+    @Override
+    public List<CustomEvent> getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,15 @@
+package org.qlspringframework.test.service;
+
+/**
+ * @author jixu
+ * @title CalculatorService
+ * @date 2025/6/15 14:00
+ */
+public interface CalculatorService {
+
+    int add(int a, int b);
+
+    int negate(int a);
+
+    int divide(int a, int b);
+}
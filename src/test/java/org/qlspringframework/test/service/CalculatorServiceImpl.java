@@ -0,0 +1,24 @@
+package org.qlspringframework.test.service;
+
+/**
+ * @author jixu
+ * @title CalculatorServiceImpl
+ * @date 2025/6/15 14:00
+ */
+public class CalculatorServiceImpl implements CalculatorService {
+
+    @Override
+    public int add(int a, int b) {
+        return a + b;
+    }
+
+    @Override
+    public int negate(int a) {
+        return -a;
+    }
+
+    @Override
+    public int divide(int a, int b) {
+        return a / b;
+    }
+}
@@ -0,0 +1,19 @@
+package org.qlspringframework.test.service;
+
+/**
+ * @author jixu
+ * @title ExpensiveService
+ * @date 2025/6/18 14:00
+ */
+public interface ExpensiveService {
+
+    long fibonacci(int n);
+
+    String join(String first, String second);
+
+    void refresh(int n);
+
+    void refreshAll();
+
+    int getInvocationCount();
+}
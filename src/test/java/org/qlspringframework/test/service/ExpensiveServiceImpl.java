@@ -0,0 +1,51 @@
+package org.qlspringframework.test.service;
+
+import org.qlspringframework.cache.annotation.CacheEvict;
+import org.qlspringframework.cache.annotation.Cacheable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author jixu
+ * @title ExpensiveServiceImpl
+ * @date 2025/6/18 14:00
+ */
+public class ExpensiveServiceImpl implements ExpensiveService {
+
+    private final AtomicInteger invocationCount = new AtomicInteger();
+
+    @Cacheable("fibonacci")
+    @Override
+    public long fibonacci(int n) {
+        invocationCount.incrementAndGet();
+        long a = 0, b = 1;
+        for (int i = 0; i < n; i++) {
+            long next = a + b;
+            a = b;
+            b = next;
+        }
+        return a;
+    }
+
+    @Cacheable("join")
+    @Override
+    public String join(String first, String second) {
+        invocationCount.incrementAndGet();
+        return first == null ? null : first + second;
+    }
+
+    @CacheEvict("fibonacci")
+    @Override
+    public void refresh(int n) {
+    }
+
+    @CacheEvict(value = "fibonacci", allEntries = true)
+    @Override
+    public void refreshAll() {
+    }
+
+    @Override
+    public int getInvocationCount() {
+        return invocationCount.get();
+    }
+}